@@ -0,0 +1,35 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler enabled, so that allocation rates are
+ * reported alongside throughput.
+ * 
+ * <p>
+ * Accepts the same command-line arguments as {@code org.openjdk.jmh.Main}; for
+ * example, a regular expression selects the benchmarks to run.
+ * 
+ * @author Doug Valenta
+ */
+public final class BenchmarkRunner {
+	
+	public static void main(final String[] args) throws CommandLineOptionException, RunnerException {
+		new Runner(new OptionsBuilder()
+				.parent(new CommandLineOptions(args))
+				.addProfiler(GCProfiler.class)
+				.build()).run();
+	}
+	
+	private BenchmarkRunner() {}
+	
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import net.dougvalenta.scriptorium.json.Json;
+import net.dougvalenta.scriptorium.json.JsonObject;
+import net.dougvalenta.scriptorium.json.JsonObjectDocument;
+import net.dougvalenta.scriptorium.json.JsonObjectNode;
+import net.dougvalenta.scriptorium.json.scribe.JsonFragment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A response of catalog items whose details are unchanged between responses, written
+ * node by node or spliced from cached fragments.
+ * 
+ * @author Doug Valenta
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CachedFragmentBenchmark {
+	
+	@Param({"100"})
+	public int items;
+	
+	private final StringBuilder builder = new StringBuilder();
+	private final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+	private JsonFragment[] fragments;
+	
+	@Setup
+	public void setUp() throws IOException {
+		fragments = new JsonFragment[items];
+		for (int i = 0; i < items; i++) {
+			final StringBuilder details = new StringBuilder();
+			final JsonObjectDocument document = Json.object(details);
+			writeDetails(document, i);
+			document.close();
+			fragments[i] = JsonFragment.validated(details);
+		}
+	}
+	
+	private static void writeDetails(final JsonObject<?> object, final int item) throws IOException {
+		object.with("sku", "SKU-" + item)
+				.with("name", "Catalog item number " + item)
+				.with("description", "A \"quoted\" description\nspanning lines")
+				.with("price", item * 1.25)
+				.with("stock", item * 7)
+				.withTrue("active");
+	}
+	
+	@Benchmark
+	public int rebuilt() throws IOException {
+		builder.setLength(0);
+		final JsonObjectDocument document = Json.object(builder);
+		for (int i = 0; i < items; i++) {
+			final JsonObjectNode<JsonObjectDocument> item = document.key("item" + i).object();
+			writeDetails(item, i);
+			item.then();
+		}
+		document.close();
+		return builder.length();
+	}
+	
+	@Benchmark
+	public int spliced() throws IOException {
+		builder.setLength(0);
+		final JsonObjectDocument document = Json.object(builder);
+		for (int i = 0; i < items; i++) {
+			document.withRaw("item" + i, fragments[i]);
+		}
+		document.close();
+		return builder.length();
+	}
+	
+	@Benchmark
+	public int splicedUtf8() throws IOException {
+		stream.reset();
+		final JsonObjectDocument document = Json.objectTo(stream);
+		for (int i = 0; i < items; i++) {
+			document.withRaw("item" + i, fragments[i]);
+		}
+		document.close();
+		return stream.size();
+	}
+	
+}
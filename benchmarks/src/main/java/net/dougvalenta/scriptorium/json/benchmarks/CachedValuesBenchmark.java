@@ -0,0 +1,94 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.dougvalenta.scriptorium.json.scribe.JsonEscaper;
+import net.dougvalenta.scriptorium.json.scribe.JsonScribe;
+import net.dougvalenta.scriptorium.json.scribe.JsonValueCache;
+import net.dougvalenta.scriptorium.json.scribe.SafeJsonScribe;
+import net.dougvalenta.scriptorium.json.scribe.Utf8JsonAppender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * An array of short string values, 70% of which are drawn from a set of 300 ASCII or
+ * non-ASCII labels and
+ * the rest of which are unique, written with and without a {@link JsonValueCache}. Each
+ * invocation writes the next of many batches, so that the unique values do not recur
+ * until the batches cycle.
+ * 
+ * @author Doug Valenta
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CachedValuesBenchmark {
+	
+	private static final int VALUES = 1000;
+	private static final int LABELS = 300;
+	private static final int BATCHES = 1024;
+	
+	@Param({"ascii", "unicode"})
+	public String labels;
+	
+	private final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+	private final JsonValueCache cache = new JsonValueCache(512);
+	private String[][] batches;
+	private int batch;
+	
+	@Setup
+	public void setUp() {
+		final Random random = new Random(VALUES);
+		final String prefix = labels.equals("ascii") ? "STATUS_" : "Zürich – \"Österreich\" ";
+		batches = new String[BATCHES][VALUES];
+		for (final String[] values : batches) {
+			for (int i = 0; i < VALUES; i++) {
+				values[i] = random.nextInt(10) < 7
+						? prefix + random.nextInt(LABELS)
+						: "order-" + Long.toHexString(random.nextLong());
+			}
+		}
+	}
+	
+	private int write(final JsonValueCache cache) throws IOException {
+		stream.reset();
+		final Utf8JsonAppender appender = new Utf8JsonAppender(stream, new JsonEscaper());
+		final JsonScribe scribe = new SafeJsonScribe(appender, cache).pushArray();
+		batch = (batch + 1) % BATCHES;
+		for (final String value : batches[batch]) {
+			scribe.value(value);
+		}
+		scribe.close();
+		appender.flush();
+		return stream.size();
+	}
+	
+	@Benchmark
+	public int uncached() throws IOException {
+		return write(null);
+	}
+	
+	@Benchmark
+	public int cached() throws IOException {
+		return write(cache);
+	}
+	
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import net.dougvalenta.scriptorium.json.Json;
+import net.dougvalenta.scriptorium.json.JsonObject;
+import net.dougvalenta.scriptorium.json.JsonObjectDocument;
+import net.dougvalenta.scriptorium.json.scribe.JsonAppender;
+import net.dougvalenta.scriptorium.json.scribe.JsonEscaper;
+import net.dougvalenta.scriptorium.json.scribe.JsonScribe;
+import net.dougvalenta.scriptorium.json.scribe.SafeJsonScribe;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Deeply nested objects and arrays, each holding one value beside the next level.
+ * 
+ * @author Doug Valenta
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeepNestingBenchmark {
+	
+	@Param({"8", "64"})
+	public int depth;
+	
+	private final StringBuilder builder = new StringBuilder();
+	
+	@Benchmark
+	public int fluent() throws IOException {
+		builder.setLength(0);
+		final JsonObjectDocument document = Json.object(builder);
+		JsonObject<?> object = document;
+		for (int i = 0; i < depth; i++) {
+			object = object.with("level", i).key("items").array().with(i).object();
+		}
+		document.close();
+		return builder.length();
+	}
+	
+	@Benchmark
+	public int scribe() throws IOException {
+		builder.setLength(0);
+		final JsonScribe scribe = new SafeJsonScribe(new JsonAppender(builder, new JsonEscaper())).pushObject();
+		for (int i = 0; i < depth; i++) {
+			scribe.key("level").value(i).key("items").pushArray().value(i).pushObject();
+		}
+		scribe.close();
+		return builder.length();
+	}
+	
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.dougvalenta.scriptorium.json.Json;
+import net.dougvalenta.scriptorium.json.JsonArrayDocument;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * An array of enum constants, written as the strings returned by {@link Enum#name()} and
+ * as enum constants, whose names are quoted and escaped once for each enum class.
+ * 
+ * @author Doug Valenta
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnumValuesBenchmark {
+	
+	private static final int VALUES = 1000;
+	
+	private final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+	private DayOfWeek[] values;
+	
+	@Setup
+	public void setUp() {
+		final Random random = new Random(VALUES);
+		values = new DayOfWeek[VALUES];
+		for (int i = 0; i < VALUES; i++) {
+			values[i] = DayOfWeek.values()[random.nextInt(7)];
+		}
+	}
+	
+	@Benchmark
+	public int names() throws IOException {
+		stream.reset();
+		final JsonArrayDocument array = Json.arrayTo(stream);
+		for (final DayOfWeek value : values) {
+			array.with(value.name());
+		}
+		array.close();
+		return stream.size();
+	}
+	
+	@Benchmark
+	public int constants() throws IOException {
+		stream.reset();
+		final JsonArrayDocument array = Json.arrayTo(stream);
+		for (final DayOfWeek value : values) {
+			array.with(value);
+		}
+		array.close();
+		return stream.size();
+	}
+	
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.benchmarks;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.dougvalenta.scriptorium.json.Json;
+import net.dougvalenta.scriptorium.json.scribe.JsonAppender;
+import net.dougvalenta.scriptorium.json.scribe.JsonEscaper;
+import net.dougvalenta.scriptorium.json.scribe.JsonScribe;
+import net.dougvalenta.scriptorium.json.scribe.SafeJsonScribe;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Long string values: plain ASCII, ASCII with frequent characters that must be escaped,
+ * non-ASCII text, and control characters.
+ * 
+ * @author Doug Valenta
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EscapedStringBenchmark {
+	
+	private static final String PLAIN = "abcdefghijklmnopqrstuvwxyz ABCDEFGHIJKLMNOPQRSTUVWXYZ 0123456789";
+	private static final String ESCAPED = "abcdefgh\"ijklmnop\\qrstuvwx\nyz ABCDEF\tGHIJKLMN";
+	private static final String UNICODE = "абвгд éèê 中文 €";
+	
+	@Param({"64", "4096"})
+	public int length;
+	
+	@Param({"plain", "escaped", "unicode", "control"})
+	public String kind;
+	
+	private final StringBuilder builder = new StringBuilder();
+	private String value;
+	
+	@Setup
+	public void setUp() {
+		final StringBuilder source = new StringBuilder(length);
+		if (kind.equals("control")) {
+			final Random random = new Random(length);
+			while (source.length() < length) {
+				source.append((char) random.nextInt(0x80));
+			}
+		} else {
+			final String alphabet = kind.equals("plain") ? PLAIN : kind.equals("escaped") ? ESCAPED : UNICODE;
+			while (source.length() < length) {
+				source.append(alphabet);
+			}
+		}
+		source.setLength(length);
+		value = source.toString();
+	}
+	
+	@Benchmark
+	public int fluent() throws IOException {
+		builder.setLength(0);
+		Json.array(builder).with(value).close();
+		return builder.length();
+	}
+	
+	@Benchmark
+	public int scribe() throws IOException {
+		builder.setLength(0);
+		final JsonScribe scribe = new SafeJsonScribe(new JsonAppender(builder, new JsonEscaper()));
+		scribe.pushArray().value(value).close();
+		return builder.length();
+	}
+	
+	@Benchmark
+	public int appender() throws IOException {
+		builder.setLength(0);
+		new JsonAppender(builder, new JsonEscaper()).escape(value);
+		return builder.length();
+	}
+	
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import net.dougvalenta.scriptorium.json.Json;
+import net.dougvalenta.scriptorium.json.JsonLinesWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Audit-log records written by several threads to a shared destination, either through
+ * a {@link JsonLinesWriter} or through a {@link Writer} shared under a lock.
+ * 
+ * @author Doug Valenta
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class JsonLinesBenchmark {
+	
+	private static final OutputStream NULL_STREAM = new OutputStream() {
+		
+		@Override
+		public void write(final int b) {
+		}
+		
+		@Override
+		public void write(final byte[] b, final int off, final int len) {
+		}
+		
+	};
+	
+	private static final WritableByteChannel NULL_CHANNEL = new WritableByteChannel() {
+		
+		@Override
+		public int write(final ByteBuffer source) {
+			final int remaining = source.remaining();
+			source.position(source.limit());
+			return remaining;
+		}
+		
+		@Override
+		public boolean isOpen() {
+			return true;
+		}
+		
+		@Override
+		public void close() {
+		}
+		
+	};
+	
+	private JsonLinesWriter lines;
+	private Writer writer;
+	
+	@Setup
+	public void setUp() {
+		lines = new JsonLinesWriter(NULL_CHANNEL);
+		writer = new OutputStreamWriter(NULL_STREAM, StandardCharsets.UTF_8);
+	}
+	
+	@TearDown
+	public void tearDown() throws IOException {
+		lines.close();
+	}
+	
+	@Benchmark
+	public void jsonLines() throws IOException {
+		lines.write((record) -> record
+				.with("user", "alice")
+				.with("action", "login")
+				.with("timestamp", 1522586096000L)
+				.key("details").object().with("ip", "10.0.0.1").with("success", true));
+	}
+	
+	@Benchmark
+	public void synchronizedWriter() throws IOException {
+		synchronized (writer) {
+			Json.object(writer)
+					.with("user", "alice")
+					.with("action", "login")
+					.with("timestamp", 1522586096000L)
+					.key("details").object().with("ip", "10.0.0.1").with("success", true).then()
+			.close();
+			writer.write('\n');
+			writer.flush();
+		}
+	}
+	
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.benchmarks;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.dougvalenta.scriptorium.json.Json;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Arrays of values of mixed types, appended with {@code withAll}.
+ * 
+ * @author Doug Valenta
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MixedValuesBenchmark {
+	
+	@Param({"1000"})
+	public int size;
+	
+	private final StringBuilder builder = new StringBuilder();
+	private Object[] values;
+	
+	@Setup
+	public void setUp() {
+		final Random random = new Random(size);
+		values = new Object[size];
+		for (int i = 0; i < size; i++) {
+			switch (random.nextInt(6)) {
+				case 0:
+					values[i] = "value" + i;
+					break;
+				case 1:
+					values[i] = random.nextInt(1000);
+					break;
+				case 2:
+					values[i] = random.nextLong();
+					break;
+				case 3:
+					values[i] = random.nextDouble();
+					break;
+				case 4:
+					values[i] = random.nextBoolean();
+					break;
+				default:
+					values[i] = BigDecimal.valueOf(random.nextInt(100000), 2);
+			}
+		}
+	}
+	
+	@Benchmark
+	public int withAll() throws IOException {
+		builder.setLength(0);
+		Json.array(builder).withAll(values).close();
+		return builder.length();
+	}
+	
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.benchmarks;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.dougvalenta.scriptorium.json.Json;
+import net.dougvalenta.scriptorium.json.JsonArrayDocument;
+import net.dougvalenta.scriptorium.json.scribe.JsonAppender;
+import net.dougvalenta.scriptorium.json.scribe.JsonEscaper;
+import net.dougvalenta.scriptorium.json.scribe.JsonScribe;
+import net.dougvalenta.scriptorium.json.scribe.SafeJsonScribe;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Arrays of random ints, longs, and doubles.
+ * 
+ * @author Doug Valenta
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NumericArrayBenchmark {
+	
+	@Param({"1000", "100000"})
+	public int size;
+	
+	private final StringBuilder builder = new StringBuilder();
+	private int[] ints;
+	private long[] longs;
+	private double[] doubles;
+	private Object[] boxedDoubles;
+	
+	@Setup
+	public void setUp() {
+		final Random random = new Random(size);
+		ints = new int[size];
+		longs = new long[size];
+		doubles = new double[size];
+		boxedDoubles = new Object[size];
+		for (int i = 0; i < size; i++) {
+			ints[i] = random.nextInt();
+			longs[i] = random.nextLong();
+			doubles[i] = random.nextDouble() * Math.pow(10, random.nextInt(20) - 10);
+			boxedDoubles[i] = doubles[i];
+		}
+	}
+	
+	@Benchmark
+	public int fluentInts() throws IOException {
+		builder.setLength(0);
+		final JsonArrayDocument document = Json.array(builder);
+		for (final int value : ints) {
+			document.with(value);
+		}
+		document.close();
+		return builder.length();
+	}
+	
+	@Benchmark
+	public int fluentDoubles() throws IOException {
+		builder.setLength(0);
+		final JsonArrayDocument document = Json.array(builder);
+		for (final double value : doubles) {
+			document.with(value);
+		}
+		document.close();
+		return builder.length();
+	}
+	
+	@Benchmark
+	public int bulkInts() throws IOException {
+		builder.setLength(0);
+		Json.array(builder).withAll(ints).close();
+		return builder.length();
+	}
+	
+	@Benchmark
+	public int bulkLongs() throws IOException {
+		builder.setLength(0);
+		Json.array(builder).withAll(longs).close();
+		return builder.length();
+	}
+	
+	@Benchmark
+	public int bulkDoubles() throws IOException {
+		builder.setLength(0);
+		Json.array(builder).withAll(doubles).close();
+		return builder.length();
+	}
+	
+	@Benchmark
+	public int streamedDoubles() throws IOException {
+		builder.setLength(0);
+		Json.array(builder).withAll(Arrays.stream(doubles)).close();
+		return builder.length();
+	}
+	
+	@Benchmark
+	public int fluentBoxedDoubles() throws IOException {
+		builder.setLength(0);
+		Json.array(builder).withAll(boxedDoubles).close();
+		return builder.length();
+	}
+	
+	@Benchmark
+	public int parallelBoxedDoubles() throws IOException {
+		builder.setLength(0);
+		Json.array(builder).withAllParallel(boxedDoubles).close();
+		return builder.length();
+	}
+	
+	@Benchmark
+	public int scribeInts() throws IOException {
+		builder.setLength(0);
+		final JsonScribe scribe = new SafeJsonScribe(new JsonAppender(builder, new JsonEscaper())).pushArray();
+		for (final int value : ints) {
+			scribe.value(value);
+		}
+		scribe.close();
+		return builder.length();
+	}
+	
+	@Benchmark
+	public int scribeLongs() throws IOException {
+		builder.setLength(0);
+		final JsonScribe scribe = new SafeJsonScribe(new JsonAppender(builder, new JsonEscaper())).pushArray();
+		for (final long value : longs) {
+			scribe.value(value);
+		}
+		scribe.close();
+		return builder.length();
+	}
+	
+	@Benchmark
+	public int scribeDoubles() throws IOException {
+		builder.setLength(0);
+		final JsonScribe scribe = new SafeJsonScribe(new JsonAppender(builder, new JsonEscaper())).pushArray();
+		for (final double value : doubles) {
+			scribe.value(value);
+		}
+		scribe.close();
+		return builder.length();
+	}
+	
+}
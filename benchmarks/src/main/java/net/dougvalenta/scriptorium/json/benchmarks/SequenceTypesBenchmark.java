@@ -0,0 +1,95 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.CharBuffer;
+import java.util.concurrent.TimeUnit;
+import net.dougvalenta.scriptorium.json.scribe.BufferedJsonAppender;
+import net.dougvalenta.scriptorium.json.scribe.JsonAppender;
+import net.dougvalenta.scriptorium.json.scribe.JsonEscaper;
+import net.dougvalenta.scriptorium.json.scribe.Utf8JsonAppender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * String values given as a mix of {@link String}, {@link StringBuilder} and
+ * {@link CharBuffer}, as in services which write values from several sources, so that
+ * calls through {@link CharSequence} are megamorphic.
+ * 
+ * @author Doug Valenta
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SequenceTypesBenchmark {
+	
+	private static final String TEXT = "The quick brown fox \"jumps\" over the lazy dog. ";
+	
+	@Param({"16", "1024"})
+	public int length;
+	
+	private final StringBuilder builder = new StringBuilder();
+	private final StringWriter writer = new StringWriter();
+	private final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+	private CharSequence[] values;
+	
+	@Setup
+	public void setUp() {
+		final StringBuilder source = new StringBuilder(length);
+		while (source.length() < length) {
+			source.append(TEXT);
+		}
+		source.setLength(length);
+		values = new CharSequence[] {source.toString(), new StringBuilder(source), CharBuffer.wrap(source.toString().toCharArray())};
+	}
+	
+	@Benchmark
+	public int appender() throws IOException {
+		builder.setLength(0);
+		final JsonAppender appender = new JsonAppender(builder, new JsonEscaper());
+		for (final CharSequence value : values) {
+			appender.appendQuote().escape(value).appendQuote();
+		}
+		return builder.length();
+	}
+	
+	@Benchmark
+	public int buffered() throws IOException {
+		writer.getBuffer().setLength(0);
+		final BufferedJsonAppender appender = new BufferedJsonAppender(writer, new JsonEscaper());
+		for (final CharSequence value : values) {
+			appender.appendQuote().escape(value).appendQuote();
+		}
+		appender.flush();
+		return writer.getBuffer().length();
+	}
+	
+	@Benchmark
+	public int utf8() throws IOException {
+		stream.reset();
+		final Utf8JsonAppender appender = new Utf8JsonAppender(stream, new JsonEscaper());
+		for (final CharSequence value : values) {
+			appender.appendQuote().escape(value).appendQuote();
+		}
+		appender.flush();
+		return stream.size();
+	}
+	
+}
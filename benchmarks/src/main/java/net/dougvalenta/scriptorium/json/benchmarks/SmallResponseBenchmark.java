@@ -0,0 +1,157 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import net.dougvalenta.scriptorium.json.Json;
+import net.dougvalenta.scriptorium.json.JsonWriter;
+import net.dougvalenta.scriptorium.json.bind.JsonBinding;
+import net.dougvalenta.scriptorium.json.scribe.JsonAppender;
+import net.dougvalenta.scriptorium.json.scribe.JsonEscaper;
+import net.dougvalenta.scriptorium.json.scribe.JsonScribe;
+import net.dougvalenta.scriptorium.json.scribe.SafeJsonScribe;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A small REST response: a flat object with a nested object and a short array.
+ * 
+ * @author Doug Valenta
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SmallResponseBenchmark {
+	
+	public static final class Owner {
+		
+		private final int id;
+		private final String email;
+		
+		Owner(final int id, final String email) {
+			this.id = id;
+			this.email = email;
+		}
+		
+		public int getId() {
+			return id;
+		}
+		
+		public String getEmail() {
+			return email;
+		}
+		
+	}
+	
+	public static final class Product {
+		
+		public long id;
+		public String name;
+		public double price;
+		public int quantity;
+		public boolean available;
+		public Owner owner;
+		public String updated;
+		
+	}
+	
+	private static final JsonBinding<Product> PRODUCT = JsonBinding.bind(Product.class);
+	
+	private final StringBuilder builder = new StringBuilder(512);
+	private final JsonWriter writer = new JsonWriter();
+	
+	private final long id = 1234567L;
+	private final String name = "Standard widget, \"large\"";
+	private final double price = 19.99;
+	private final int quantity = 42;
+	private final boolean available = true;
+	private final String[] tags = {"hardware", "widgets", "sale"};
+	private final String ownerEmail = "owner@example.com";
+	private final String updated = "2018-04-01T12:34:56Z";
+	private final Product product = new Product();
+	
+	@Setup
+	public void setUp() {
+		product.id = id;
+		product.name = name;
+		product.price = price;
+		product.quantity = quantity;
+		product.available = available;
+		product.owner = new Owner(7, ownerEmail);
+		product.updated = updated;
+	}
+	
+	@Benchmark
+	public int fluent() throws IOException {
+		builder.setLength(0);
+		Json.object(builder)
+				.with("id", id)
+				.with("name", name)
+				.with("price", price)
+				.with("quantity", quantity)
+				.with("available", available)
+				.key("tags").array().with(tags[0]).with(tags[1]).with(tags[2]).then()
+				.key("owner").object().with("id", 7).with("email", ownerEmail).then()
+				.with("updated", updated)
+		.close();
+		return builder.length();
+	}
+	
+	@Benchmark
+	public int writer() throws IOException {
+		builder.setLength(0);
+		writer.object(builder)
+				.with("id", id)
+				.with("name", name)
+				.with("price", price)
+				.with("quantity", quantity)
+				.with("available", available)
+				.key("tags").array().with(tags[0]).with(tags[1]).with(tags[2]).then()
+				.key("owner").object().with("id", 7).with("email", ownerEmail).then()
+				.with("updated", updated)
+		.close();
+		return builder.length();
+	}
+	
+	@Benchmark
+	public int binding() throws IOException {
+		builder.setLength(0);
+		writer.object(builder)
+				.with(product, PRODUCT)
+				.key("tags").array().with(tags[0]).with(tags[1]).with(tags[2]).then()
+		.close();
+		return builder.length();
+	}
+	
+	@Benchmark
+	public int scribe() throws IOException {
+		builder.setLength(0);
+		final JsonScribe scribe = new SafeJsonScribe(new JsonAppender(builder, new JsonEscaper()));
+		scribe.pushObject()
+				.key("id").value(id)
+				.key("name").value(name)
+				.key("price").value(price)
+				.key("quantity").value(quantity)
+				.key("available").value(available)
+				.key("tags").pushArray().value(tags[0]).value(tags[1]).value(tags[2]).pop()
+				.key("owner").pushObject().key("id").value(7).key("email").value(ownerEmail).pop()
+				.key("updated").value(updated)
+		.close();
+		return builder.length();
+	}
+	
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.dougvalenta.scriptorium.json.Json;
+import net.dougvalenta.scriptorium.json.JsonArrayDocument;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * An array of events with four timestamps each, written as the strings returned by
+ * {@link Instant#toString()}, as instants formatted by the appender, and as epoch
+ * milliseconds.
+ * 
+ * @author Doug Valenta
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimestampsBenchmark {
+	
+	private static final int EVENTS = 250;
+	
+	private final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+	private Instant[] created;
+	private Instant[] started;
+	private Instant[] finished;
+	private Instant[] received;
+	
+	@Setup
+	public void setUp() {
+		final Random random = new Random(EVENTS);
+		created = new Instant[EVENTS];
+		started = new Instant[EVENTS];
+		finished = new Instant[EVENTS];
+		received = new Instant[EVENTS];
+		for (int i = 0; i < EVENTS; i++) {
+			created[i] = Instant.ofEpochSecond(1500000000 + random.nextInt(100000000), random.nextInt(1000) * 1000000);
+			started[i] = created[i].plusMillis(random.nextInt(1000));
+			finished[i] = started[i].plusNanos(random.nextInt(1000000000));
+			received[i] = finished[i].plusSeconds(random.nextInt(60));
+		}
+	}
+	
+	@Benchmark
+	public int strings() throws IOException {
+		stream.reset();
+		final JsonArrayDocument array = Json.arrayTo(stream);
+		for (int i = 0; i < EVENTS; i++) {
+			array.object()
+					.with("created", created[i].toString())
+					.with("started", started[i].toString())
+					.with("finished", finished[i].toString())
+					.with("received", received[i].toString())
+					.then();
+		}
+		array.close();
+		return stream.size();
+	}
+	
+	@Benchmark
+	public int instants() throws IOException {
+		stream.reset();
+		final JsonArrayDocument array = Json.arrayTo(stream);
+		for (int i = 0; i < EVENTS; i++) {
+			array.object()
+					.with("created", created[i])
+					.with("started", started[i])
+					.with("finished", finished[i])
+					.with("received", received[i])
+					.then();
+		}
+		array.close();
+		return stream.size();
+	}
+	
+	@Benchmark
+	public int epochMillis() throws IOException {
+		stream.reset();
+		final JsonArrayDocument array = Json.arrayTo(stream);
+		for (int i = 0; i < EVENTS; i++) {
+			array.object()
+					.withEpochMillis("created", created[i])
+					.withEpochMillis("started", started[i])
+					.withEpochMillis("finished", finished[i])
+					.withEpochMillis("received", received[i])
+					.then();
+		}
+		array.close();
+		return stream.size();
+	}
+	
+}
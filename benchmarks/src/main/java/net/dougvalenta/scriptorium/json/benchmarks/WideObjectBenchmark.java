@@ -0,0 +1,137 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import net.dougvalenta.scriptorium.json.Json;
+import net.dougvalenta.scriptorium.json.JsonObjectDocument;
+import net.dougvalenta.scriptorium.json.scribe.JsonAppender;
+import net.dougvalenta.scriptorium.json.scribe.JsonEscaper;
+import net.dougvalenta.scriptorium.json.scribe.JsonKeyName;
+import net.dougvalenta.scriptorium.json.scribe.JsonScribe;
+import net.dougvalenta.scriptorium.json.scribe.SafeJsonScribe;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A wide, flat object whose members cycle through string, int, double, and Boolean values.
+ * 
+ * @author Doug Valenta
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WideObjectBenchmark {
+	
+	@Param({"16", "256"})
+	public int width;
+	
+	private final StringBuilder builder = new StringBuilder();
+	private String[] keys;
+	private JsonKeyName[] keyNames;
+	private String[] strings;
+	private int[] ints;
+	private double[] doubles;
+	
+	@Setup
+	public void setUp() {
+		keys = new String[width];
+		keyNames = new JsonKeyName[width];
+		strings = new String[width];
+		ints = new int[width];
+		doubles = new double[width];
+		for (int i = 0; i < width; i++) {
+			keys[i] = "field" + i;
+			keyNames[i] = JsonKeyName.of(keys[i]);
+			strings[i] = "value number " + i;
+			ints[i] = i * 7919;
+			doubles[i] = i / 3.0;
+		}
+	}
+	
+	@Benchmark
+	public int fluent() throws IOException {
+		builder.setLength(0);
+		final JsonObjectDocument document = Json.object(builder);
+		for (int i = 0; i < width; i++) {
+			switch (i & 3) {
+				case 0:
+					document.with(keys[i], strings[i]);
+					break;
+				case 1:
+					document.with(keys[i], ints[i]);
+					break;
+				case 2:
+					document.with(keys[i], doubles[i]);
+					break;
+				default:
+					document.with(keys[i], (i & 4) == 0);
+			}
+		}
+		document.close();
+		return builder.length();
+	}
+	
+	@Benchmark
+	public int fluentKeyNames() throws IOException {
+		builder.setLength(0);
+		final JsonObjectDocument document = Json.object(builder);
+		for (int i = 0; i < width; i++) {
+			switch (i & 3) {
+				case 0:
+					document.with(keyNames[i], strings[i]);
+					break;
+				case 1:
+					document.with(keyNames[i], ints[i]);
+					break;
+				case 2:
+					document.with(keyNames[i], doubles[i]);
+					break;
+				default:
+					document.with(keyNames[i], (i & 4) == 0);
+			}
+		}
+		document.close();
+		return builder.length();
+	}
+	
+	@Benchmark
+	public int scribe() throws IOException {
+		builder.setLength(0);
+		final JsonScribe scribe = new SafeJsonScribe(new JsonAppender(builder, new JsonEscaper())).pushObject();
+		for (int i = 0; i < width; i++) {
+			scribe.key(keys[i]);
+			switch (i & 3) {
+				case 0:
+					scribe.value(strings[i]);
+					break;
+				case 1:
+					scribe.value(ints[i]);
+					break;
+				case 2:
+					scribe.value(doubles[i]);
+					break;
+				default:
+					scribe.value((i & 4) == 0);
+			}
+		}
+		scribe.close();
+		return builder.length();
+	}
+	
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * An annotation processor which generates a writer for each class annotated with
+ * {@code net.dougvalenta.scriptorium.json.bind.JsonWritable}.
+ *
+ * <p>
+ * The generated writer writes the same properties as {@code JsonBinding} would, as
+ * straight-line calls to {@code JsonObject} methods with pre-escaped key constants,
+ * without reflection. It is named as described by {@code JsonWritable}, and exposes its
+ * only instance as {@code INSTANCE}. The processor also claims {@code JsonName} and
+ * {@code JsonOmitIfNull}, which it reads from the properties of annotated classes.
+ *
+ * @author Doug Valenta
+ */
+@SupportedAnnotationTypes({
+		JsonWriterGenerator.JSON_WRITABLE,
+		JsonWriterGenerator.JSON_NAME,
+		JsonWriterGenerator.JSON_OMIT_IF_NULL
+})
+public final class JsonWritableProcessor extends AbstractProcessor {
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment round) {
+		for (final TypeElement annotation : annotations) {
+			// JsonName and JsonOmitIfNull are claimed, but read only while generating
+			if (!annotation.getQualifiedName().contentEquals(JsonWriterGenerator.JSON_WRITABLE)) continue;
+			for (final Element element : round.getElementsAnnotatedWith(annotation)) {
+				if (isWritable(element)) generate((TypeElement) element);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns true if a writer can be generated for the provided element, otherwise
+	 * reports an error and returns false.
+	 */
+	private boolean isWritable(final Element element) {
+		if (element.getKind() != ElementKind.CLASS && !element.getKind().name().equals("RECORD")) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "JsonWritable may only annotate a class or record", element);
+			return false;
+		}
+		for (Element current = element; current instanceof TypeElement; current = current.getEnclosingElement()) {
+			if (current.getModifiers().contains(Modifier.PRIVATE)) {
+				processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "JsonWritable may not annotate a private class", element);
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void generate(final TypeElement type) {
+		final JsonWriterGenerator generator = new JsonWriterGenerator(processingEnv, type);
+		try {
+			final JavaFileObject file = processingEnv.getFiler().createSourceFile(generator.getQualifiedName(), type);
+			try (final Writer writer = file.openWriter()) {
+				writer.write(generator.generate());
+			}
+		} catch (final IOException exception) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Cannot write " + generator.getQualifiedName() + ": " + exception.getMessage(), type);
+		}
+	}
+
+}
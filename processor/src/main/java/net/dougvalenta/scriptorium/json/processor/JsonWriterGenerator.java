@@ -0,0 +1,603 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.processor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+
+/**
+ * Generates the source of the writer for a single class annotated with
+ * {@code JsonWritable}.
+ *
+ * <p>
+ * Properties are found by the same rules as {@code JsonBinding}. Each property is
+ * written with the most specific {@code JsonObject} method for its declared type; values
+ * of types not known until they are read are written with {@code JsonBinding}.
+ *
+ * @author Doug Valenta
+ */
+final class JsonWriterGenerator {
+
+	static final String JSON_WRITABLE = "net.dougvalenta.scriptorium.json.bind.JsonWritable";
+	static final String JSON_NAME = "net.dougvalenta.scriptorium.json.bind.JsonName";
+	static final String JSON_OMIT_IF_NULL = "net.dougvalenta.scriptorium.json.bind.JsonOmitIfNull";
+
+	private static final String IO_BI_CONSUMER = "net.dougvalenta.scriptorium.function.IOBiConsumer";
+	private static final String JSON_OBJECT = "net.dougvalenta.scriptorium.json.JsonObject";
+	private static final String JSON_OBJECT_NODE = "net.dougvalenta.scriptorium.json.JsonObjectNode";
+	private static final String JSON_ARRAY_NODE = "net.dougvalenta.scriptorium.json.JsonArrayNode";
+	private static final String JSON_BINDING = "net.dougvalenta.scriptorium.json.bind.JsonBinding";
+	private static final String JSON_KEY_NAME = "net.dougvalenta.scriptorium.json.scribe.JsonKeyName";
+	private static final String JSON_FRAGMENT = "net.dougvalenta.scriptorium.json.scribe.JsonFragment";
+
+	private static final Map<String, String> UNBOXED = new HashMap<>();
+
+	static {
+		UNBOXED.put("java.lang.Byte", "byte");
+		UNBOXED.put("java.lang.Short", "short");
+		UNBOXED.put("java.lang.Integer", "int");
+		UNBOXED.put("java.lang.Long", "long");
+		UNBOXED.put("java.lang.Float", "float");
+		UNBOXED.put("java.lang.Double", "double");
+		UNBOXED.put("java.lang.Boolean", "boolean");
+		UNBOXED.put("java.lang.Character", "char");
+	}
+
+	/**
+	 * The types, other than strings and enums, for which {@code JsonObject} and
+	 * {@code JsonArray} have {@code with} methods.
+	 */
+	private static final Set<String> DIRECT = new HashSet<>(Arrays.asList("java.math.BigInteger",
+			"java.math.BigDecimal", "java.time.Instant", "java.time.LocalDate", "java.time.OffsetDateTime"));
+
+	/**
+	 * A property of the annotated class.
+	 */
+	private static final class Property {
+
+		final String name;
+		final TypeMirror type;
+		final String access;
+		final boolean omitIfNull;
+
+		Property(final String name, final TypeMirror type, final String access, final boolean omitIfNull) {
+			this.name = name;
+			this.type = type;
+			this.access = access;
+			this.omitIfNull = omitIfNull;
+		}
+
+	}
+
+	private final Elements elements;
+	private final Types types;
+	private final TypeElement type;
+	private final DeclaredType receiver;
+	private final String packageName;
+	private final String simpleName;
+	private final Map<String, String> keys = new LinkedHashMap<>();
+	private final Set<String> constants = new HashSet<>();
+	private final StringBuilder body = new StringBuilder();
+	private int variables;
+
+	JsonWriterGenerator(final ProcessingEnvironment environment, final TypeElement type) {
+		this.elements = environment.getElementUtils();
+		this.types = environment.getTypeUtils();
+		this.type = type;
+		this.receiver = (DeclaredType) types.erasure(type.asType());
+		this.packageName = elements.getPackageOf(type).getQualifiedName().toString();
+		this.simpleName = writerName(type);
+	}
+
+	/**
+	 * Returns the simple name of the writer generated for the provided class:
+	 * {@code FooJsonWriter} for {@code Foo}, or {@code Outer_FooJsonWriter} for
+	 * {@code Outer.Foo}.
+	 */
+	static String writerName(final TypeElement type) {
+		final StringBuilder name = new StringBuilder(type.getSimpleName());
+		for (Element enclosing = type.getEnclosingElement(); enclosing instanceof TypeElement; enclosing = enclosing.getEnclosingElement()) {
+			name.insert(0, '_').insert(0, enclosing.getSimpleName());
+		}
+		return name.append("JsonWriter").toString();
+	}
+
+	/**
+	 * Returns the fully qualified name of the generated writer.
+	 */
+	String getQualifiedName() {
+		return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+	}
+
+	/**
+	 * Returns the source of the generated writer.
+	 */
+	String generate() {
+		for (final Property property : isRecord(type) ? recordProperties() : beanProperties()) {
+			value(property.type, "instance." + property.access, "object", key(property.name), property.omitIfNull, 2);
+		}
+		final String typeName = sourceName(receiver);
+		final StringBuilder source = new StringBuilder();
+		if (!packageName.isEmpty()) source.append("package ").append(packageName).append(";\n\n");
+		source.append("/**\n")
+				.append(" * Writes instances of {@link ").append(typeName).append("} to JSON objects.\n")
+				.append(" *\n")
+				.append(" * <p>\n")
+				.append(" * Generated by the {@code scriptorium-json-processor} annotation processor.\n")
+				.append(" */\n")
+				.append("@SuppressWarnings({\"rawtypes\", \"unchecked\"})\n")
+				.append("public final class ").append(simpleName).append(" implements ").append(IO_BI_CONSUMER)
+				.append('<').append(typeName).append(", ").append(JSON_OBJECT).append("<?>> {\n\n")
+				.append("\t/**\n")
+				.append("\t * The writer.\n")
+				.append("\t */\n")
+				.append("\tpublic static final ").append(simpleName).append(" INSTANCE = new ").append(simpleName).append("();\n\n");
+		for (final Map.Entry<String, String> key : keys.entrySet()) {
+			source.append("\tprivate static final ").append(JSON_KEY_NAME).append(' ').append(key.getValue())
+					.append(" = ").append(JSON_KEY_NAME).append(".of(").append(literal(key.getKey())).append(");\n");
+		}
+		if (!keys.isEmpty()) source.append('\n');
+		source.append("\tprivate ").append(simpleName).append("() {\n")
+				.append("\t}\n\n")
+				.append("\t@Override\n")
+				.append("\tpublic void accept(final ").append(typeName).append(" instance, final ").append(JSON_OBJECT)
+				.append("<?> object) throws java.io.IOException {\n")
+				.append(body)
+				.append("\t}\n\n")
+				.append("}\n");
+		return source.toString();
+	}
+
+	private List<Property> recordProperties() {
+		final List<Property> properties = new ArrayList<>();
+		for (final Element element : type.getEnclosedElements()) {
+			if (!element.getKind().name().equals("RECORD_COMPONENT")) continue;
+			final String name = element.getSimpleName().toString();
+			ExecutableElement accessor = null;
+			for (final ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+				if (method.getSimpleName().contentEquals(name) && method.getParameters().isEmpty()) accessor = method;
+			}
+			VariableElement field = null;
+			for (final VariableElement candidate : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+				if (candidate.getSimpleName().contentEquals(name)) field = candidate;
+			}
+			properties.add(property(name, returnType(accessor), name + "()", accessor, field));
+		}
+		return properties;
+	}
+
+	private List<Property> beanProperties() {
+		final Map<String, ExecutableElement> getters = new TreeMap<>();
+		for (final ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+			final Set<Modifier> modifiers = method.getModifiers();
+			if (!modifiers.contains(Modifier.PUBLIC)
+					|| modifiers.contains(Modifier.STATIC)
+					|| !method.getParameters().isEmpty()
+					|| ((TypeElement) method.getEnclosingElement()).getQualifiedName().contentEquals("java.lang.Object")) continue;
+			final String name = propertyName(method);
+			if (name != null) getters.put(name, method);
+		}
+		final Map<String, VariableElement> fields = new LinkedHashMap<>();
+		for (final TypeElement declaring : hierarchy()) {
+			for (final VariableElement field : ElementFilter.fieldsIn(declaring.getEnclosedElements())) {
+				final Set<Modifier> modifiers = field.getModifiers();
+				if (modifiers.contains(Modifier.STATIC)) continue;
+				final String name = field.getSimpleName().toString();
+				if (modifiers.contains(Modifier.TRANSIENT)) getters.remove(name);
+				else if (!fields.containsKey(name)) fields.put(name, field);
+			}
+		}
+		final List<Property> properties = new ArrayList<>();
+		for (final VariableElement field : fields.values()) {
+			final String name = field.getSimpleName().toString();
+			final ExecutableElement getter = getters.remove(name);
+			if (getter != null) {
+				properties.add(property(name, returnType(getter), getter.getSimpleName() + "()", getter, field));
+			} else if (field.getModifiers().contains(Modifier.PUBLIC)) {
+				properties.add(property(name, types.asMemberOf(receiver, field), name, field));
+			}
+		}
+		for (final Map.Entry<String, ExecutableElement> getter : getters.entrySet()) {
+			final ExecutableElement method = getter.getValue();
+			properties.add(property(getter.getKey(), returnType(method), method.getSimpleName() + "()", method));
+		}
+		return properties;
+	}
+
+	/**
+	 * Returns a property read by the provided access expression, renamed or omitted if
+	 * null according to the annotations of the class and of the provided field or getter.
+	 */
+	private Property property(final String name, final TypeMirror type, final String access, final Element... annotated) {
+		String key = name;
+		boolean omitIfNull = Boolean.TRUE.equals(annotationValue(this.type, JSON_WRITABLE, "omitNulls"));
+		for (final Element element : annotated) {
+			if (element == null) continue;
+			final Object rename = annotationValue(element, JSON_NAME, "value");
+			if (rename != null) key = rename.toString();
+			if (annotation(element, JSON_OMIT_IF_NULL) != null) omitIfNull = true;
+		}
+		return new Property(key, resolve(type), access, omitIfNull);
+	}
+
+	/**
+	 * Returns the annotated class and its superclasses, excluding {@link Object}, with the
+	 * most distant superclass first.
+	 */
+	private List<TypeElement> hierarchy() {
+		final List<TypeElement> hierarchy = new ArrayList<>();
+		TypeElement current = type;
+		while (current != null && !current.getQualifiedName().contentEquals("java.lang.Object")) {
+			hierarchy.add(0, current);
+			final TypeMirror superclass = current.getSuperclass();
+			current = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) types.asElement(superclass) : null;
+		}
+		return hierarchy;
+	}
+
+	private TypeMirror returnType(final ExecutableElement method) {
+		return ((ExecutableType) types.asMemberOf(receiver, method)).getReturnType();
+	}
+
+	/**
+	 * Returns the name of the property read by the provided getter, or null if it is not
+	 * a getter.
+	 */
+	private static String propertyName(final ExecutableElement method) {
+		final String name = method.getSimpleName().toString();
+		final TypeKind returnKind = method.getReturnType().getKind();
+		if (returnKind == TypeKind.VOID) return null;
+		if (name.startsWith("get") && name.length() > 3) return decapitalize(name.substring(3));
+		if (name.startsWith("is") && name.length() > 2 && returnKind == TypeKind.BOOLEAN) return decapitalize(name.substring(2));
+		return null;
+	}
+
+	/**
+	 * Lowercases the first character of the provided name, unless its first two
+	 * characters are both uppercase, as by {@code java.beans.Introspector}.
+	 */
+	private static String decapitalize(final String name) {
+		if (name.length() > 1 && Character.isUpperCase(name.charAt(0)) && Character.isUpperCase(name.charAt(1))) return name;
+		return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+	}
+
+	/**
+	 * Appends the statements which write a value of the provided type, read by the
+	 * provided expression, to the provided target: with the provided key if it is an
+	 * object, or as an element if the key is null.
+	 */
+	private void value(final TypeMirror type, final String expression, final String target, final String key, final boolean omitIfNull, final int indent) {
+		if (type.getKind().isPrimitive()) {
+			line(indent, target + ".with(" + arguments(key, expression) + ");");
+			return;
+		}
+		final String value = variable("value");
+		line(indent, "final " + sourceName(type) + " " + value + " = " + expression + ";");
+		if (omitIfNull && key != null) {
+			line(indent, "if (" + value + " != null) {");
+		} else {
+			line(indent, "if (" + value + " == null) {");
+			line(indent + 1, target + ".withNull(" + (key == null ? "" : key) + ");");
+			line(indent, "} else {");
+		}
+		nonNullValue(type, value, target, key, indent + 1);
+		line(indent, "}");
+	}
+
+	private void nonNullValue(final TypeMirror type, final String value, final String target, final String key, final int indent) {
+		final String name = qualifiedName(type);
+		if (UNBOXED.containsKey(name)) {
+			line(indent, target + ".with(" + arguments(key, "(" + UNBOXED.get(name) + ") " + value) + ");");
+		} else if (isString(type) || DIRECT.contains(name) || isEnum(type)) {
+			line(indent, target + ".with(" + arguments(key, value) + ");");
+		} else if (name.equals("java.util.Optional")) {
+			final TypeMirror valueType = typeArgument(type, "java.util.Optional", 0);
+			value(valueType, cast(valueType, optionalType(type), value + ".orElse(null)"), target, key, false, indent);
+		} else if (isSubtype(type, "java.util.Map")) {
+			final String node = variable("object");
+			final String entry = variable("entry");
+			final TypeMirror valueType = typeArgument(type, "java.util.Map", 1);
+			line(indent, "final " + JSON_OBJECT_NODE + "<?> " + node + " = " + target + node(key, "object") + ";");
+			line(indent, "for (final java.lang.Object " + entry + " : " + value + ".entrySet()) {");
+			value(valueType, cast(valueType, object(), "((java.util.Map.Entry<?, ?>) " + entry + ").getValue()"), node,
+					"java.lang.String.valueOf(((java.util.Map.Entry<?, ?>) " + entry + ").getKey())", false, indent + 1);
+			line(indent, "}");
+			line(indent, node + ".then();");
+		} else if (isSubtype(type, "java.lang.Iterable")) {
+			final String node = variable("array");
+			final String element = variable("element");
+			final TypeMirror elementType = typeArgument(type, "java.lang.Iterable", 0);
+			line(indent, "final " + JSON_ARRAY_NODE + "<?> " + node + " = " + target + node(key, "array") + ";");
+			line(indent, "for (final java.lang.Object " + element + " : " + value + ") {");
+			value(elementType, cast(elementType, object(), element), node, null, false, indent + 1);
+			line(indent, "}");
+			line(indent, node + ".then();");
+		} else if (type.getKind() == TypeKind.ARRAY) {
+			final String node = variable("array");
+			final String element = variable("element");
+			final TypeMirror componentType = resolve(((ArrayType) type).getComponentType());
+			line(indent, "final " + JSON_ARRAY_NODE + "<?> " + node + " = " + target + node(key, "array") + ";");
+			line(indent, "for (final " + sourceName(componentType) + " " + element + " : " + value + ") {");
+			value(componentType, element, node, null, false, indent + 1);
+			line(indent, "}");
+			line(indent, node + ".then();");
+		} else if (hasGeneratedWriter(type)) {
+			final TypeElement element = (TypeElement) types.asElement(type);
+			final String packageName = elements.getPackageOf(element).getQualifiedName().toString();
+			final String writer = (packageName.isEmpty() ? "" : packageName + ".") + writerName(element);
+			line(indent, target + node(key, "object") + ".with(" + value + ", " + writer + ".INSTANCE).then();");
+		} else if (key == null) {
+			line(indent, JSON_BINDING + ".writeElement(" + target + ", " + value + ");");
+		} else {
+			line(indent, JSON_BINDING + ".writeValue(" + target + ", " + key + ", " + value + ");");
+		}
+	}
+
+	/**
+	 * Returns the provided expression, cast to the provided type unless the provided
+	 * static type of the expression is the same type, so that generated sources compile
+	 * without redundant cast warnings.
+	 */
+	private String cast(final TypeMirror type, final TypeMirror staticType, final String expression) {
+		if (staticType != null && types.isSameType(type, staticType)) return expression;
+		return "(" + sourceName(type) + ") " + expression;
+	}
+
+	/**
+	 * Returns the static type of {@code orElse} on a variable of the provided
+	 * {@code Optional} type as declared in the generated source, or null if it is a
+	 * captured wildcard.
+	 */
+	private TypeMirror optionalType(final TypeMirror type) {
+		final List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+		if (arguments.isEmpty()) return object();
+		final TypeMirror argument = arguments.get(0);
+		if (argument.getKind() == TypeKind.WILDCARD) return null;
+		return sourceName(argument).equals("java.lang.Object") ? object() : argument;
+	}
+
+	/**
+	 * Returns true if values of the provided type are always written by the writer
+	 * generated for it: it is a final, non-generic class annotated with
+	 * {@code JsonWritable}, so no subclass could be written differently by
+	 * {@code JsonBinding}.
+	 */
+	private boolean hasGeneratedWriter(final TypeMirror type) {
+		if (type.getKind() != TypeKind.DECLARED) return false;
+		final TypeElement element = (TypeElement) types.asElement(type);
+		return annotation(element, JSON_WRITABLE) != null
+				&& element.getTypeParameters().isEmpty()
+				&& (element.getModifiers().contains(Modifier.FINAL) || isRecord(element))
+				&& !element.getModifiers().contains(Modifier.PRIVATE);
+	}
+
+	private static String arguments(final String key, final String value) {
+		return key == null ? value : key + ", " + value;
+	}
+
+	private static String node(final String key, final String kind) {
+		return key == null ? "." + kind + "()" : ".key(" + key + ")." + kind + "()";
+	}
+
+	/**
+	 * Returns the name of the constant holding the provided key, declaring it if needed.
+	 */
+	private String key(final String name) {
+		String constant = keys.get(name);
+		if (constant != null) return constant;
+		final StringBuilder builder = new StringBuilder("KEY_");
+		for (int i = 0; i < name.length(); i++) {
+			final char c = name.charAt(i);
+			if (Character.isUpperCase(c) && i > 0 && Character.isLowerCase(name.charAt(i - 1))) builder.append('_');
+			builder.append(c < 128 && Character.isLetterOrDigit(c) ? Character.toUpperCase(c) : '_');
+		}
+		constant = builder.toString();
+		for (int suffix = 2; !constants.add(constant); suffix++) {
+			constant = builder.toString() + "_" + suffix;
+		}
+		keys.put(name, constant);
+		return constant;
+	}
+
+	private String variable(final String prefix) {
+		return prefix + ++variables;
+	}
+
+	private void line(final int indent, final String line) {
+		for (int i = 0; i < indent; i++) {
+			body.append('\t');
+		}
+		body.append(line).append('\n');
+	}
+
+	/**
+	 * Returns the provided type with wildcards replaced by their upper bounds and type
+	 * variables by their erasures, so that it may be named in the generated source.
+	 */
+	private TypeMirror resolve(final TypeMirror type) {
+		switch (type.getKind()) {
+			case WILDCARD:
+				final TypeMirror bound = ((WildcardType) type).getExtendsBound();
+				return bound == null ? object() : resolve(bound);
+			case TYPEVAR:
+			case INTERSECTION:
+				return types.erasure(type);
+			case DECLARED:
+				return containsTypeVariable(type) ? types.erasure(type) : type;
+			case ARRAY:
+				final TypeMirror component = ((ArrayType) type).getComponentType();
+				return component.getKind().isPrimitive() ? type : types.getArrayType(resolve(component));
+			default:
+				return type;
+		}
+	}
+
+	private static boolean containsTypeVariable(final TypeMirror type) {
+		switch (type.getKind()) {
+			case TYPEVAR:
+			case INTERSECTION:
+				return true;
+			case WILDCARD:
+				final WildcardType wildcard = (WildcardType) type;
+				return (wildcard.getExtendsBound() != null && containsTypeVariable(wildcard.getExtendsBound()))
+						|| (wildcard.getSuperBound() != null && containsTypeVariable(wildcard.getSuperBound()));
+			case ARRAY:
+				return containsTypeVariable(((ArrayType) type).getComponentType());
+			case DECLARED:
+				for (final TypeMirror argument : ((DeclaredType) type).getTypeArguments()) {
+					if (containsTypeVariable(argument)) return true;
+				}
+				return false;
+			default:
+				return false;
+		}
+	}
+
+	/**
+	 * Returns the resolved type argument of the provided supertype of the provided type,
+	 * or {@link Object} if the type is raw.
+	 */
+	private TypeMirror typeArgument(final TypeMirror type, final String supertype, final int index) {
+		final TypeMirror target = types.erasure(elements.getTypeElement(supertype).asType());
+		final Deque<TypeMirror> queue = new ArrayDeque<>();
+		queue.add(type);
+		while (!queue.isEmpty()) {
+			final TypeMirror current = queue.remove();
+			if (types.isSameType(types.erasure(current), target)) {
+				final List<? extends TypeMirror> arguments = ((DeclaredType) current).getTypeArguments();
+				return arguments.isEmpty() ? object() : resolve(arguments.get(index));
+			}
+			queue.addAll(types.directSupertypes(current));
+		}
+		return object();
+	}
+
+	private TypeMirror object() {
+		return elements.getTypeElement("java.lang.Object").asType();
+	}
+
+	private boolean isSubtype(final TypeMirror type, final String supertype) {
+		return types.isSubtype(types.erasure(type), types.erasure(elements.getTypeElement(supertype).asType()));
+	}
+
+	/**
+	 * Returns true if values of the provided type are always written as JSON strings: it
+	 * is a {@code CharSequence} which cannot hold a {@code JsonFragment}, which is written
+	 * raw.
+	 */
+	private boolean isString(final TypeMirror type) {
+		if (!isSubtype(type, "java.lang.CharSequence")) return false;
+		final TypeElement fragment = elements.getTypeElement(JSON_FRAGMENT);
+		return fragment == null || !types.isSubtype(fragment.asType(), types.erasure(type));
+	}
+
+	private boolean isEnum(final TypeMirror type) {
+		return type.getKind() == TypeKind.DECLARED && types.asElement(type).getKind() == ElementKind.ENUM;
+	}
+
+	private static boolean isRecord(final TypeElement type) {
+		return type.getKind().name().equals("RECORD");
+	}
+
+	private static String qualifiedName(final TypeMirror type) {
+		if (type.getKind() != TypeKind.DECLARED) return "";
+		return ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+	}
+
+	/**
+	 * Returns the name of the provided type in the generated source.
+	 */
+	private static String sourceName(final TypeMirror type) {
+		switch (type.getKind()) {
+			case ARRAY:
+				return sourceName(((ArrayType) type).getComponentType()) + "[]";
+			case DECLARED:
+				final StringBuilder name = new StringBuilder(qualifiedName(type));
+				final List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+				if (!arguments.isEmpty()) {
+					name.append('<');
+					for (int i = 0; i < arguments.size(); i++) {
+						if (i > 0) name.append(", ");
+						name.append(argumentName(arguments.get(i)));
+					}
+					name.append('>');
+				}
+				return name.toString();
+			case TYPEVAR:
+			case WILDCARD:
+			case INTERSECTION:
+				return "java.lang.Object";
+			default:
+				return type.getKind().name().toLowerCase(Locale.ROOT);
+		}
+	}
+
+	private static String argumentName(final TypeMirror argument) {
+		if (argument.getKind() != TypeKind.WILDCARD) return sourceName(argument);
+		final WildcardType wildcard = (WildcardType) argument;
+		if (wildcard.getExtendsBound() != null) return "? extends " + sourceName(wildcard.getExtendsBound());
+		if (wildcard.getSuperBound() != null) return "? super " + sourceName(wildcard.getSuperBound());
+		return "?";
+	}
+
+	/**
+	 * Returns the provided string as a Java string literal.
+	 */
+	private static String literal(final String string) {
+		final StringBuilder literal = new StringBuilder("\"");
+		for (int i = 0; i < string.length(); i++) {
+			final char c = string.charAt(i);
+			if (c == '"' || c == '\\') literal.append('\\').append(c);
+			else if (c < 0x20 || c > 0x7e) literal.append(String.format("\\u%04x", (int) c));
+			else literal.append(c);
+		}
+		return literal.append('"').toString();
+	}
+
+	private static AnnotationMirror annotation(final Element element, final String name) {
+		for (final AnnotationMirror mirror : element.getAnnotationMirrors()) {
+			if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(name)) return mirror;
+		}
+		return null;
+	}
+
+	private static Object annotationValue(final Element element, final String name, final String attribute) {
+		final AnnotationMirror mirror = annotation(element, name);
+		if (mirror == null) return null;
+		for (final Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value : mirror.getElementValues().entrySet()) {
+			if (value.getKey().getSimpleName().contentEquals(attribute)) return value.getValue().getValue();
+		}
+		return null;
+	}
+
+}
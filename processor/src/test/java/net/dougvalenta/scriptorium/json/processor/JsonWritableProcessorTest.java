@@ -0,0 +1,211 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.processor;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import net.dougvalenta.scriptorium.function.IOBiConsumer;
+import net.dougvalenta.scriptorium.json.Json;
+import net.dougvalenta.scriptorium.json.JsonObject;
+import net.dougvalenta.scriptorium.json.bind.JsonBinding;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Doug Valenta
+ */
+public class JsonWritableProcessorTest {
+
+	private static final String ORDER = "package sample;\n"
+			+ "import java.util.*;\n"
+			+ "import net.dougvalenta.scriptorium.json.bind.*;\n"
+			+ "@JsonWritable\n"
+			+ "public class Order {\n"
+			+ "	public enum Status { OPEN, CLOSED }\n"
+			+ "	@JsonWritable(omitNulls=true)\n"
+			+ "	public static final class Line {\n"
+			+ "		public final String sku;\n"
+			+ "		public final Integer quantity;\n"
+			+ "		public Line(String sku, Integer quantity) { this.sku = sku; this.quantity = quantity; }\n"
+			+ "	}\n"
+			+ "	public static class Note {\n"
+			+ "		public String text = \"note\";\n"
+			+ "	}\n"
+			+ "	private final long id = 7;\n"
+			+ "	@JsonName(\"customer_name\")\n"
+			+ "	public String customer = \"Zoë \\\"Z\\\"\";\n"
+			+ "	@JsonOmitIfNull\n"
+			+ "	public String coupon = null;\n"
+			+ "	public String comment = null;\n"
+			+ "	public Status status = Status.OPEN;\n"
+			+ "	public Double total = 12.5;\n"
+			+ "	public char grade = 'A';\n"
+			+ "	public short rank = 3;\n"
+			+ "	public Character flag = null;\n"
+			+ "	public List<Line> lines = Arrays.asList(new Line(\"a\", 1), new Line(\"b\", null), null);\n"
+			+ "	public Map<String, List<Integer>> counts = new LinkedHashMap<>();\n"
+			+ "	public int[][] matrix = {{1, 2}, {3}};\n"
+			+ "	public Set<?> tags = Collections.singleton(\"t\");\n"
+			+ "	public Object any = new Note();\n"
+			+ "	public Line first = new Line(\"c\", 2);\n"
+			+ "	public Note note = new Note();\n"
+			+ "	public java.time.Instant created = java.time.Instant.parse(\"2018-03-04T05:06:07Z\");\n"
+			+ "	public java.time.LocalDate due = java.time.LocalDate.of(2018, 3, 5);\n"
+			+ "	public java.time.LocalTime window = java.time.LocalTime.of(9, 30);\n"
+			+ "	public UUID reference = UUID.fromString(\"123e4567-e89b-12d3-a456-426614174000\");\n"
+			+ "	public Optional<String> gift = Optional.of(\"wrap\");\n"
+			+ "	public Optional<Line> extra = Optional.of(new Line(\"d\", 4));\n"
+			+ "	public Optional<Integer> discount = Optional.empty();\n"
+			+ "	public Object when = java.time.LocalDate.of(2018, 3, 6);\n"
+			+ "	public net.dougvalenta.scriptorium.json.scribe.JsonFragment raw = net.dougvalenta.scriptorium.json.scribe.JsonFragment.of(\"[0]\");\n"
+			+ "	private transient String hidden = \"hidden\";\n"
+			+ "	{ counts.put(\"x\", Arrays.asList(1, null)); counts.put(\"y\", null); }\n"
+			+ "	public long getId() { return id; }\n"
+			+ "	public String getHidden() { return hidden; }\n"
+			+ "	public boolean isOpen() { return status == Status.OPEN; }\n"
+			+ "	public Optional<String> getNothing() { return null; }\n"
+			+ "}\n";
+
+	private static final String ORDER_JSON = "{\"id\":7,\"customer_name\":\"Zoë \\\"Z\\\"\",\"comment\":null,\"status\":\"OPEN\","
+			+ "\"total\":12.5,\"grade\":\"A\",\"rank\":3,\"flag\":null,"
+			+ "\"lines\":[{\"sku\":\"a\",\"quantity\":1},{\"sku\":\"b\"},null],"
+			+ "\"counts\":{\"x\":[1,null],\"y\":null},\"matrix\":[[1,2],[3]],\"tags\":[\"t\"],"
+			+ "\"any\":{\"text\":\"note\"},\"first\":{\"sku\":\"c\",\"quantity\":2},\"note\":{\"text\":\"note\"},"
+			+ "\"created\":\"2018-03-04T05:06:07Z\",\"due\":\"2018-03-05\",\"window\":\"09:30\","
+			+ "\"reference\":\"123e4567-e89b-12d3-a456-426614174000\",\"gift\":\"wrap\","
+			+ "\"extra\":{\"sku\":\"d\",\"quantity\":4},\"discount\":null,\"when\":\"2018-03-06\",\"raw\":[0],"
+			+ "\"nothing\":null,\"open\":true}";
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	/**
+	 * Compiles the provided sources with the processor and returns the diagnostics.
+	 */
+	private DiagnosticCollector<JavaFileObject> compile(final File output, final String... sources) throws IOException {
+		final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+		final StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8);
+		final File sourceFolder = folder.newFolder();
+		final List<File> files = new ArrayList<>();
+		for (final String source : sources) {
+			final String name = source.substring(source.indexOf("public ") + 7).replaceFirst("^(class|final class|record) (\\w+)[\\s\\S]*", "$2");
+			final File file = new File(sourceFolder, name + ".java");
+			Files.write(file.toPath(), source.getBytes(StandardCharsets.UTF_8));
+			files.add(file);
+		}
+		final List<String> options = Arrays.asList("-d", output.getPath(), "-s", output.getPath(),
+				"-classpath", System.getProperty("java.class.path"), "-encoding", "UTF-8", "-Xlint:all");
+		final JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null, fileManager.getJavaFileObjectsFromFiles(files));
+		task.setProcessors(Collections.singletonList(new JsonWritableProcessor()));
+		task.call();
+		fileManager.close();
+		return diagnostics;
+	}
+
+	private ClassLoader compileAndLoad(final String... sources) throws IOException {
+		final File output = folder.newFolder();
+		final DiagnosticCollector<JavaFileObject> diagnostics = compile(output, sources);
+		for (final Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+			if (diagnostic.getKind() == Diagnostic.Kind.ERROR) Assert.fail(diagnostic.toString());
+		}
+		return new URLClassLoader(new URL[] {output.toURI().toURL()}, getClass().getClassLoader());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static String write(final Object instance, final Class<?> writer) throws Exception {
+		final StringBuilder builder = new StringBuilder();
+		Json.object(builder).with(instance, (IOBiConsumer<Object, JsonObject<?>>) writer.getField("INSTANCE").get(null)).close();
+		return builder.toString();
+	}
+
+	private static String bind(final Object instance) throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		Json.object(builder).with(instance, JsonBinding::write).close();
+		return builder.toString();
+	}
+
+	@Test
+	public void testGeneratedWriter() throws Exception {
+		final ClassLoader loader = compileAndLoad(ORDER);
+		final Object order = loader.loadClass("sample.Order").newInstance();
+		Assert.assertEquals(ORDER_JSON, write(order, loader.loadClass("sample.OrderJsonWriter")));
+	}
+
+	@Test
+	public void testNoWarnings() throws Exception {
+		final DiagnosticCollector<JavaFileObject> diagnostics = compile(folder.newFolder(), ORDER);
+		for (final Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+			if (diagnostic.getKind() != Diagnostic.Kind.NOTE) Assert.fail(diagnostic.toString());
+		}
+	}
+
+	@Test
+	public void testNestedWriterName() throws Exception {
+		final ClassLoader loader = compileAndLoad(ORDER);
+		Assert.assertNotNull(loader.loadClass("sample.Order_LineJsonWriter").getField("INSTANCE").get(null));
+	}
+
+	@Test
+	public void testBindingUsesGeneratedWriter() throws Exception {
+		final ClassLoader loader = compileAndLoad(ORDER);
+		final Class<?> type = loader.loadClass("sample.Order");
+		Assert.assertEquals(ORDER_JSON, bind(type.newInstance()));
+	}
+
+	@Test
+	public void testDefaultPackage() throws Exception {
+		final ClassLoader loader = compileAndLoad("@net.dougvalenta.scriptorium.json.bind.JsonWritable\n"
+				+ "public class Point {\n"
+				+ "	public int x = 1;\n"
+				+ "	public int y = 2;\n"
+				+ "}\n");
+		Assert.assertEquals("{\"x\":1,\"y\":2}", write(loader.loadClass("Point").newInstance(), loader.loadClass("PointJsonWriter")));
+	}
+
+	@Test
+	public void testGeneric() throws Exception {
+		final ClassLoader loader = compileAndLoad("package sample;\n"
+				+ "@net.dougvalenta.scriptorium.json.bind.JsonWritable\n"
+				+ "public class Box<T extends CharSequence> {\n"
+				+ "	public T value = (T) \"v\";\n"
+				+ "	public java.util.List<T> values = java.util.Arrays.asList(value);\n"
+				+ "}\n");
+		Assert.assertEquals("{\"value\":\"v\",\"values\":[\"v\"]}", write(loader.loadClass("sample.Box").newInstance(), loader.loadClass("sample.BoxJsonWriter")));
+	}
+
+	@Test
+	public void testPrivateClass() throws Exception {
+		final DiagnosticCollector<JavaFileObject> diagnostics = compile(folder.newFolder(), "package sample;\n"
+				+ "public class Outer {\n"
+				+ "	@net.dougvalenta.scriptorium.json.bind.JsonWritable\n"
+				+ "	private static class Inner {\n"
+				+ "	}\n"
+				+ "}\n");
+		boolean reported = false;
+		for (final Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+			if (diagnostic.getKind() == Diagnostic.Kind.ERROR && diagnostic.getMessage(null).contains("private")) reported = true;
+		}
+		Assert.assertTrue(reported);
+	}
+
+}
@@ -24,6 +24,14 @@ class AbstractJsonAppendable<THIS extends AbstractJsonAppendable<THIS>> implemen
 	
 	final JsonScribe scribe;
 	
+	/**
+	 * The pool this appendable was drawn from, or null.
+	 */
+	final JsonNodePool pool;
+	
+	int cursor;
+	int epoch;
+	
 	/**
 	 * The scribe passed in to this method should already have had 
 	 * {@link JsonScribe#pushValue()} or {@link JsonScribe#pushKey()} called.
@@ -31,24 +39,37 @@ class AbstractJsonAppendable<THIS extends AbstractJsonAppendable<THIS>> implemen
 	 * @param scribe 
 	 */
 	AbstractJsonAppendable(final JsonScribe scribe) {
+		this(scribe, null);
+	}
+	
+	AbstractJsonAppendable(final JsonScribe scribe, final JsonNodePool pool) {
 		this.scribe = scribe;
+		this.pool = pool;
+	}
+	
+	/**
+	 * Returns the scribe, after checking in debug mode that this appendable is not stale.
+	 */
+	final JsonScribe scribe() {
+		if (pool != null && pool.debug) pool.check(cursor, epoch);
+		return scribe;
 	}
 	
 	@Override
 	public THIS append(final CharSequence sequence) throws IOException {
-		scribe.append(sequence);
+		scribe().append(sequence);
 		return (THIS) this;
 	}
 	
 	@Override
 	public THIS append(final CharSequence sequence, final int start, final int end) throws IOException {
-		scribe.append(sequence, start, end);
+		scribe().append(sequence, start, end);
 		return (THIS) this;
 	}
 	
 	@Override
 	public THIS append(final char character) throws IOException {
-		scribe.append(character);
+		scribe().append(character);
 		return (THIS) this;
 	}
 
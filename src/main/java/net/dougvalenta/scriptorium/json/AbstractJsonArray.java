@@ -7,6 +7,17 @@ package net.dougvalenta.scriptorium.json;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Iterator;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import net.dougvalenta.scriptorium.function.IOBiConsumer;
 import net.dougvalenta.scriptorium.function.IOConsumer;
 import net.dougvalenta.scriptorium.json.scribe.JsonScribe;
@@ -17,86 +28,175 @@ import net.dougvalenta.scriptorium.json.scribe.JsonScribe;
  */
 abstract class AbstractJsonArray<THIS extends AbstractJsonArray<THIS>> implements JsonArray<THIS> {
 
+	/**
+	 * The number of elements of a primitive stream collected before they are output
+	 * together.
+	 */
+	private static final int STREAM_CHUNK_SIZE = 256;
+
 	final JsonScribe scribe;
-	final int cursor;
+	
+	/**
+	 * The pool this array draws its values and nested nodes from, or null if they
+	 * are created as needed.
+	 */
+	final JsonNodePool pool;
+	
+	int cursor;
+	int epoch;
 	
 	AbstractJsonArray(final JsonScribe scribe) {
+		this(scribe, null, scribe.getCursor());
+	}
+	
+	AbstractJsonArray(final JsonScribe scribe, final JsonNodePool pool, final int cursor) {
 		this.scribe = scribe;
-		this.cursor = scribe.getCursor();
+		this.pool = pool;
+		this.cursor = cursor;
+	}
+	
+	/**
+	 * Re-points this array at the array open at the provided cursor.
+	 */
+	final void recycle(final int cursor, final int epoch) {
+		this.cursor = cursor;
+		this.epoch = epoch;
+	}
+	
+	/**
+	 * Returns the scribe, after checking in debug mode that this array is not stale.
+	 */
+	final JsonScribe scribe() {
+		if (pool != null && pool.debug) pool.check(cursor, epoch);
+		return scribe;
+	}
+	
+	private JsonValue<THIS> nextValue() {
+		if (pool == null) return new JsonValue<>(scribe, (THIS) this);
+		return pool.value((THIS) this, scribe.getCursor());
+	}
+	
+	private JsonArrayNode<THIS> nextArray() {
+		if (pool == null) return new JsonArrayNode<>(scribe, (THIS) this);
+		return pool.array((THIS) this, scribe.getCursor());
+	}
+	
+	private JsonObjectNode<THIS> nextObject() {
+		if (pool == null) return new JsonObjectNode<>(scribe, (THIS) this);
+		return pool.object((THIS) this, scribe.getCursor());
+	}
+	
+	private InscribedJsonArray inscribed() {
+		if (pool == null) return new InscribedJsonArray(scribe);
+		return pool.inscribedArray(cursor, epoch);
 	}
 
 	@Override
 	public THIS withNull() throws IOException {
-		scribe.nullValue();
+		scribe().nullValue();
 		return (THIS) this;
 	}
 
 	@Override
 	public THIS withTrue() throws IOException {
-		scribe.trueValue();
+		scribe().trueValue();
 		return (THIS) this;
 	}
 
 	@Override
 	public THIS withFalse() throws IOException {
-		scribe.falseValue();
+		scribe().falseValue();
 		return (THIS) this;
 	}
 
 	@Override
 	public THIS with(final CharSequence element) throws IOException {
 		if (element == null) return withNull();
-		scribe.value(element);
+		scribe().value(element);
 		return (THIS) this;
 	}
 
 	@Override
 	public THIS with(final char element) throws IOException {
-		scribe.value(element);
+		scribe().value(element);
+		return (THIS) this;
+	}
+
+	@Override
+	public THIS with(final Enum<?> element) throws IOException {
+		if (element == null) return withNull();
+		scribe().value(element);
+		return (THIS) this;
+	}
+
+	@Override
+	public THIS with(final Instant element) throws IOException {
+		if (element == null) return withNull();
+		scribe().value(element);
+		return (THIS) this;
+	}
+
+	@Override
+	public THIS with(final LocalDate element) throws IOException {
+		if (element == null) return withNull();
+		scribe().value(element);
+		return (THIS) this;
+	}
+
+	@Override
+	public THIS with(final OffsetDateTime element) throws IOException {
+		if (element == null) return withNull();
+		scribe().value(element);
 		return (THIS) this;
 	}
 
 	@Override
 	public THIS with(final BigInteger element) throws IOException {
 		if (element == null) return withNull();
-		scribe.value(element);
+		scribe().value(element);
 		return (THIS) this;
 	}
 
 	@Override
 	public THIS with(final BigDecimal element) throws IOException {
 		if (element == null) return withNull();
-		scribe.value(element);
+		scribe().value(element);
 		return (THIS) this;
 	}
 
 	@Override
 	public THIS with(final int element) throws IOException {
-		scribe.value(element);
+		scribe().value(element);
 		return (THIS) this;
 	}
 
 	@Override
 	public THIS with(final float element) throws IOException {
-		scribe.value(element);
+		scribe().value(element);
 		return (THIS) this;
 	}
 
 	@Override
 	public THIS with(final long element) throws IOException {
-		scribe.value(element);
+		scribe().value(element);
 		return (THIS) this;
 	}
 
 	@Override
 	public THIS with(final double element) throws IOException {
-		scribe.value(element);
+		scribe().value(element);
 		return (THIS) this;
 	}
 
 	@Override
 	public THIS with(final boolean element) throws IOException {
-		scribe.value(element);
+		scribe().value(element);
+		return (THIS) this;
+	}
+
+	@Override
+	public THIS withValue(final Object element) throws IOException {
+		scribe().value(element);
 		return (THIS) this;
 	}
 
@@ -104,7 +204,7 @@ abstract class AbstractJsonArray<THIS extends AbstractJsonArray<THIS>> implement
 	public THIS withAll(final Object... elements) throws IOException {
 		if (elements == null) return (THIS) this;
 		for (Object element : elements) {
-			scribe.value(element);
+			scribe().value(element);
 		}
 		return (THIS) this;
 	}
@@ -113,65 +213,163 @@ abstract class AbstractJsonArray<THIS extends AbstractJsonArray<THIS>> implement
 	public THIS withAll(final Iterable<?> elements) throws IOException {
 		if (elements == null) return (THIS) this;
 		for (Object element : elements) {
-			scribe.value(element);
+			scribe().value(element);
 		}
 		return (THIS) this;
 	}
 
+	@Override
+	public THIS withAll(final int[] elements) throws IOException {
+		if (elements != null) scribe().values(elements, 0, elements.length);
+		return (THIS) this;
+	}
+
+	@Override
+	public THIS withAll(final IntStream elements) throws IOException {
+		if (elements == null) return (THIS) this;
+		final PrimitiveIterator.OfInt iterator = elements.iterator();
+		final int[] chunk = new int[STREAM_CHUNK_SIZE];
+		while (iterator.hasNext()) {
+			int length = 0;
+			while (length < STREAM_CHUNK_SIZE && iterator.hasNext()) {
+				chunk[length++] = iterator.nextInt();
+			}
+			scribe().values(chunk, 0, length);
+		}
+		return (THIS) this;
+	}
+
+	@Override
+	public THIS withAll(final long[] elements) throws IOException {
+		if (elements != null) scribe().values(elements, 0, elements.length);
+		return (THIS) this;
+	}
+
+	@Override
+	public THIS withAll(final LongStream elements) throws IOException {
+		if (elements == null) return (THIS) this;
+		final PrimitiveIterator.OfLong iterator = elements.iterator();
+		final long[] chunk = new long[STREAM_CHUNK_SIZE];
+		while (iterator.hasNext()) {
+			int length = 0;
+			while (length < STREAM_CHUNK_SIZE && iterator.hasNext()) {
+				chunk[length++] = iterator.nextLong();
+			}
+			scribe().values(chunk, 0, length);
+		}
+		return (THIS) this;
+	}
+
+	@Override
+	public THIS withAll(final double[] elements) throws IOException {
+		if (elements != null) scribe().values(elements, 0, elements.length);
+		return (THIS) this;
+	}
+
+	@Override
+	public THIS withAll(final DoubleStream elements) throws IOException {
+		if (elements == null) return (THIS) this;
+		final PrimitiveIterator.OfDouble iterator = elements.iterator();
+		final double[] chunk = new double[STREAM_CHUNK_SIZE];
+		while (iterator.hasNext()) {
+			int length = 0;
+			while (length < STREAM_CHUNK_SIZE && iterator.hasNext()) {
+				chunk[length++] = iterator.nextDouble();
+			}
+			scribe().values(chunk, 0, length);
+		}
+		return (THIS) this;
+	}
+
+	@Override
+	public THIS withAllParallel(final Spliterator<?> elements) throws IOException {
+		if (elements != null) withAllParallel(elements, null, ForkJoinPool.commonPool(), ParallelJsonArrayWriter.DEFAULT_CHUNK_SIZE);
+		return (THIS) this;
+	}
+
+	@Override
+	public <T> THIS withAllParallel(final Spliterator<T> elements, final IOBiConsumer<? super T, ? super JsonArray<?>> writer) throws IOException {
+		if (writer == null) throw new IllegalArgumentException("Missing writer");
+		if (elements != null) withAllParallel(elements, writer, ForkJoinPool.commonPool(), ParallelJsonArrayWriter.DEFAULT_CHUNK_SIZE);
+		return (THIS) this;
+	}
+
+	<T> void withAllParallel(final Spliterator<T> elements, final IOBiConsumer<? super T, ? super JsonArray<?>> writer, final ForkJoinPool pool, final long chunkSize) throws IOException {
+		if (pool.getParallelism() > 1 && elements.estimateSize() > chunkSize
+				&& new ParallelJsonArrayWriter<T>(writer, pool, chunkSize).write(scribe(), elements)) {
+			return;
+		}
+		// Splitting would only add overhead, or the scribe can't be copied, so write the
+		// elements in place
+		final Iterator<T> iterator = Spliterators.iterator(elements);
+		while (iterator.hasNext()) {
+			final T element = iterator.next();
+			if (writer == null) scribe().value(element);
+			else with(element, writer);
+		}
+	}
+
 	@Override
 	public THIS withEmptyArray() throws IOException {
-		scribe.emptyArray();
+		scribe().emptyArray();
 		return (THIS) this;
 	}
 
 	@Override
 	public THIS withEmptyObject() throws IOException {
-		scribe.emptyObject();
+		scribe().emptyObject();
+		return (THIS) this;
+	}
+
+	@Override
+	public THIS withRaw(final CharSequence json) throws IOException {
+		if (json == null) return withNull();
+		scribe().rawValue(json);
 		return (THIS) this;
 	}
 
 	@Override
 	public JsonValue<THIS> element() throws IOException {
-		scribe.pushValue();
-		return new JsonValue<>(scribe, (THIS) this);
+		scribe().pushValue();
+		return nextValue();
 	}
 
 	@Override
 	public JsonValue<THIS> element(final CharSequence element) throws IOException {
-		scribe.pushValue();
-		if (element != null) scribe.append(element);
-		return new JsonValue<>(scribe, (THIS) this);
+		scribe().pushValue();
+		if (element != null) scribe().append(element);
+		return nextValue();
 	}
 
 	@Override
 	public JsonValue<THIS> element(final char element) throws IOException {
-		scribe.pushValue().append(element);
-		return new JsonValue<>(scribe, (THIS) this);
+		scribe().pushValue().append(element);
+		return nextValue();
 	}
 
 	@Override
 	public JsonArrayNode<THIS> array() throws IOException {
-		scribe.pushArray();
-		return new JsonArrayNode<>(scribe, (THIS) this);
+		scribe().pushArray();
+		return nextArray();
 	}
 
 	@Override
 	public JsonObjectNode<THIS> object() throws IOException {
-		scribe.pushObject();
-		return new JsonObjectNode<>(scribe, (THIS) this);
+		scribe().pushObject();
+		return nextObject();
 	}
 
 	@Override
 	public THIS with(final IOConsumer<? super JsonArray<?>> consumer) throws IOException {
-		consumer.accept(new InscribedJsonArray(scribe));
-		scribe.pop(cursor);
+		consumer.accept(inscribed());
+		scribe().pop(cursor);
 		return (THIS) this;
 	}
 
 	@Override
 	public <T> THIS with(final T element, final IOBiConsumer<? super T, ? super JsonArray<?>> biConsumer) throws IOException {
-		biConsumer.accept(element, new InscribedJsonArray(scribe));
-		scribe.pop(cursor);
+		biConsumer.accept(element, inscribed());
+		scribe().pop(cursor);
 		return (THIS) this;
 	}
 	
@@ -7,8 +7,12 @@ package net.dougvalenta.scriptorium.json;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import net.dougvalenta.scriptorium.function.IOBiConsumer;
 import net.dougvalenta.scriptorium.function.IOConsumer;
+import net.dougvalenta.scriptorium.json.scribe.JsonKeyName;
 import net.dougvalenta.scriptorium.json.scribe.JsonScribe;
 
 /**
@@ -17,131 +21,362 @@ import net.dougvalenta.scriptorium.json.scribe.JsonScribe;
  */
 class AbstractJsonObject<THIS extends AbstractJsonObject<THIS>> implements JsonObject<THIS> {
 	
+	/**
+	 * Whether each scribe class overrides {@link JsonScribe#rawValue(CharSequence)},
+	 * rather than inheriting the default implementation that throws.
+	 */
+	private static final ClassValue<Boolean> RAW = new ClassValue<Boolean>() {
+		
+		@Override
+		protected Boolean computeValue(final Class<?> type) {
+			try {
+				return type.getMethod("rawValue", CharSequence.class).getDeclaringClass() != JsonScribe.class;
+			} catch (final NoSuchMethodException exception) {
+				return true;
+			}
+		}
+		
+	};
+	
 	final JsonScribe scribe;
-	final int cursor;
+	
+	/**
+	 * The pool this object draws its keys and nested nodes from, or null if they
+	 * are created as needed.
+	 */
+	final JsonNodePool pool;
+	
+	int cursor;
+	int epoch;
 	
 	AbstractJsonObject(final JsonScribe scribe) {
+		this(scribe, null, scribe.getCursor());
+	}
+	
+	AbstractJsonObject(final JsonScribe scribe, final JsonNodePool pool, final int cursor) {
 		this.scribe = scribe;
-		this.cursor = scribe.getCursor();
+		this.pool = pool;
+		this.cursor = cursor;
+	}
+	
+	/**
+	 * Re-points this object at the object open at the provided cursor.
+	 */
+	final void recycle(final int cursor, final int epoch) {
+		this.cursor = cursor;
+		this.epoch = epoch;
+	}
+	
+	/**
+	 * Returns the scribe, after checking in debug mode that this object is not stale.
+	 */
+	final JsonScribe scribe() {
+		if (pool != null && pool.debug) pool.check(cursor, epoch);
+		return scribe;
+	}
+	
+	/**
+	 * Returns the scribe, after checking that it can output raw values, so that no key
+	 * is written ahead of a raw value that would throw.
+	 */
+	private JsonScribe rawScribe() {
+		final JsonScribe scribe = scribe();
+		if (!RAW.get(scribe.getClass())) {
+			throw new UnsupportedOperationException("Raw values not supported by " + scribe.getClass().getName());
+		}
+		return scribe;
+	}
+	
+	private JsonKey<THIS> nextKey() {
+		if (pool == null) return new JsonKey<>(scribe, (THIS) this);
+		return pool.key((THIS) this, scribe.getCursor());
+	}
+	
+	private InscribedJsonObject inscribed() {
+		if (pool == null) return new InscribedJsonObject(scribe);
+		return pool.inscribedObject(cursor, epoch);
 	}
 
 	@Override
 	public THIS withNull(final CharSequence key) throws IOException {
-		if (key != null) scribe.key(key).nullValue();
+		if (key != null) scribe().key(key).nullValue();
 		return (THIS) this;
 	}
 
 	@Override
 	public THIS withTrue(final CharSequence key) throws IOException {
-		if (key != null) scribe.key(key).trueValue();
+		if (key != null) scribe().key(key).trueValue();
 		return (THIS) this;
 	}
 
 	@Override
 	public THIS withFalse(final CharSequence key) throws IOException {
-		if (key != null) scribe.key(key).falseValue();
+		if (key != null) scribe().key(key).falseValue();
 		return (THIS) this;
 	}
 
 	@Override
 	public THIS with(final CharSequence key, final CharSequence value) throws IOException {
 		if (value == null) return withNull(key);
-		if (key != null) scribe.key(key).value(value);
+		if (key != null) scribe().key(key).value(value);
 		return (THIS) this;
 	}
 
 	@Override
 	public THIS with(final CharSequence key, final char value) throws IOException {
-		if (key != null) scribe.key(key).value(value);
+		if (key != null) scribe().key(key).value(value);
+		return (THIS) this;
+	}
+
+	@Override
+	public THIS with(final CharSequence key, final Enum<?> value) throws IOException {
+		if (value == null) return withNull(key);
+		if (key != null) scribe().key(key).value(value);
+		return (THIS) this;
+	}
+
+	@Override
+	public THIS with(final CharSequence key, final Instant value) throws IOException {
+		if (value == null) return withNull(key);
+		if (key != null) scribe().key(key).value(value);
+		return (THIS) this;
+	}
+
+	@Override
+	public THIS with(final CharSequence key, final LocalDate value) throws IOException {
+		if (value == null) return withNull(key);
+		if (key != null) scribe().key(key).value(value);
+		return (THIS) this;
+	}
+
+	@Override
+	public THIS with(final CharSequence key, final OffsetDateTime value) throws IOException {
+		if (value == null) return withNull(key);
+		if (key != null) scribe().key(key).value(value);
 		return (THIS) this;
 	}
 
 	@Override
 	public THIS with(final CharSequence key, final BigInteger value) throws IOException {
 		if (value == null) return withNull(key);
-		if (key != null) scribe.key(key).value(value);
+		if (key != null) scribe().key(key).value(value);
 		return (THIS) this;
 	}
 
 	@Override
 	public THIS with(final CharSequence key, final BigDecimal value) throws IOException {
 		if (value == null) return withNull(key);
-		if (key != null) scribe.key(key).value(value);
+		if (key != null) scribe().key(key).value(value);
 		return (THIS) this;
 	}
 
 	@Override
 	public THIS with(final CharSequence key, final int value) throws IOException {
-		if (key != null) scribe.key(key).value(value);
+		if (key != null) scribe().key(key).value(value);
 		return (THIS) this;
 	}
 
 	@Override
 	public THIS with(final CharSequence key, final float value) throws IOException {
-		if (key != null) scribe.key(key).value(value);
+		if (key != null) scribe().key(key).value(value);
 		return (THIS) this;
 	}
 
 	@Override
 	public THIS with(final CharSequence key, final long value) throws IOException {
-		if (key != null) scribe.key(key).value(value);
+		if (key != null) scribe().key(key).value(value);
 		return (THIS) this;
 	}
 
 	@Override
 	public THIS with(final CharSequence key, final double value) throws IOException {
-		if (key != null) scribe.key(key).value(value);
+		if (key != null) scribe().key(key).value(value);
 		return (THIS) this;
 	}
 
 	@Override
 	public THIS with(final CharSequence key, final boolean value) throws IOException {
-		if (key != null) scribe.key(key).value(value);
+		if (key != null) scribe().key(key).value(value);
+		return (THIS) this;
+	}
+
+	@Override
+	public THIS withValue(final CharSequence key, final Object value) throws IOException {
+		if (key != null) scribe().key(key).value(value);
 		return (THIS) this;
 	}
 
 	@Override
 	public THIS withEmptyObject(final CharSequence key) throws IOException {
-		if (key != null) scribe.key(key).emptyObject();
+		if (key != null) scribe().key(key).emptyObject();
 		return (THIS) this;
 	}
 
 	@Override
 	public THIS withEmptyArray(final CharSequence key) throws IOException {
-		if (key != null) scribe.key(key).emptyArray();
+		if (key != null) scribe().key(key).emptyArray();
+		return (THIS) this;
+	}
+
+	@Override
+	public THIS withRaw(final CharSequence key, final CharSequence json) throws IOException {
+		if (json == null) return withNull(key);
+		if (key != null) rawScribe().key(key).rawValue(json);
+		return (THIS) this;
+	}
+
+	@Override
+	public THIS withNull(final JsonKeyName key) throws IOException {
+		if (key != null) scribe().key(key).nullValue();
+		return (THIS) this;
+	}
+
+	@Override
+	public THIS withTrue(final JsonKeyName key) throws IOException {
+		if (key != null) scribe().key(key).trueValue();
+		return (THIS) this;
+	}
+
+	@Override
+	public THIS withFalse(final JsonKeyName key) throws IOException {
+		if (key != null) scribe().key(key).falseValue();
+		return (THIS) this;
+	}
+
+	@Override
+	public THIS with(final JsonKeyName key, final CharSequence value) throws IOException {
+		if (value == null) return withNull(key);
+		if (key != null) scribe().key(key).value(value);
+		return (THIS) this;
+	}
+
+	@Override
+	public THIS with(final JsonKeyName key, final char value) throws IOException {
+		if (key != null) scribe().key(key).value(value);
+		return (THIS) this;
+	}
+
+	@Override
+	public THIS with(final JsonKeyName key, final Enum<?> value) throws IOException {
+		if (value == null) return withNull(key);
+		if (key != null) scribe().key(key).value(value);
+		return (THIS) this;
+	}
+
+	@Override
+	public THIS with(final JsonKeyName key, final Instant value) throws IOException {
+		if (value == null) return withNull(key);
+		if (key != null) scribe().key(key).value(value);
+		return (THIS) this;
+	}
+
+	@Override
+	public THIS with(final JsonKeyName key, final LocalDate value) throws IOException {
+		if (value == null) return withNull(key);
+		if (key != null) scribe().key(key).value(value);
+		return (THIS) this;
+	}
+
+	@Override
+	public THIS with(final JsonKeyName key, final OffsetDateTime value) throws IOException {
+		if (value == null) return withNull(key);
+		if (key != null) scribe().key(key).value(value);
+		return (THIS) this;
+	}
+
+	@Override
+	public THIS with(final JsonKeyName key, final BigInteger value) throws IOException {
+		if (value == null) return withNull(key);
+		if (key != null) scribe().key(key).value(value);
+		return (THIS) this;
+	}
+
+	@Override
+	public THIS with(final JsonKeyName key, final BigDecimal value) throws IOException {
+		if (value == null) return withNull(key);
+		if (key != null) scribe().key(key).value(value);
+		return (THIS) this;
+	}
+
+	@Override
+	public THIS with(final JsonKeyName key, final int value) throws IOException {
+		if (key != null) scribe().key(key).value(value);
+		return (THIS) this;
+	}
+
+	@Override
+	public THIS with(final JsonKeyName key, final float value) throws IOException {
+		if (key != null) scribe().key(key).value(value);
+		return (THIS) this;
+	}
+
+	@Override
+	public THIS with(final JsonKeyName key, final long value) throws IOException {
+		if (key != null) scribe().key(key).value(value);
+		return (THIS) this;
+	}
+
+	@Override
+	public THIS with(final JsonKeyName key, final double value) throws IOException {
+		if (key != null) scribe().key(key).value(value);
+		return (THIS) this;
+	}
+
+	@Override
+	public THIS with(final JsonKeyName key, final boolean value) throws IOException {
+		if (key != null) scribe().key(key).value(value);
+		return (THIS) this;
+	}
+
+	@Override
+	public THIS withEmptyObject(final JsonKeyName key) throws IOException {
+		if (key != null) scribe().key(key).emptyObject();
+		return (THIS) this;
+	}
+
+	@Override
+	public THIS withEmptyArray(final JsonKeyName key) throws IOException {
+		if (key != null) scribe().key(key).emptyArray();
+		return (THIS) this;
+	}
+
+	@Override
+	public THIS withRaw(final JsonKeyName key, final CharSequence json) throws IOException {
+		if (json == null) return withNull(key);
+		if (key != null) rawScribe().key(key).rawValue(json);
 		return (THIS) this;
 	}
 
 	@Override
 	public JsonKey<THIS> key() throws IOException {
-		scribe.pushKey();
-		return new JsonKey<>(scribe, (THIS) this);
+		scribe().pushKey();
+		return nextKey();
 	}
 
 	@Override
 	public JsonKey<THIS> key(final char key) throws IOException {
-		scribe.pushKey().append(key);
-		return new JsonKey<>(scribe, (THIS) this);
+		scribe().pushKey().append(key);
+		return nextKey();
 	}
 
 	@Override
 	public JsonKey<THIS> key(final CharSequence key) throws IOException {
-		scribe.pushKey();
-		if (key != null) scribe.append(key);
-		return new JsonKey<>(scribe, (THIS) this);
+		scribe().pushKey();
+		if (key != null) scribe().append(key);
+		return nextKey();
 	}
 
 	@Override
 	public THIS with(final IOConsumer<? super JsonObject<?>> consumer) throws IOException {
-		consumer.accept(new InscribedJsonObject(scribe));
-		scribe.pop(cursor);
+		consumer.accept(inscribed());
+		scribe().pop(cursor);
 		return (THIS) this;
 	}
 
 	@Override
 	public <T> THIS with(T element, IOBiConsumer<? super T, ? super JsonObject<?>> biConsumer) throws IOException {
-		biConsumer.accept(element, new InscribedJsonObject(scribe));
-		scribe.pop(cursor);
+		biConsumer.accept(element, inscribed());
+		scribe().pop(cursor);
 		return (THIS) this;
 	}
 	
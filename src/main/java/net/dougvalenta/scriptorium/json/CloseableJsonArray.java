@@ -5,6 +5,7 @@
 package net.dougvalenta.scriptorium.json;
 
 import java.io.Closeable;
+import java.io.Flushable;
 import java.io.IOException;
 import net.dougvalenta.scriptorium.json.scribe.JsonScribe;
 
@@ -14,18 +15,39 @@ import net.dougvalenta.scriptorium.json.scribe.JsonScribe;
  */
 abstract class CloseableJsonArray<THIS extends CloseableJsonArray<THIS>> extends AbstractJsonArray<THIS> implements Closeable {
 
+	/**
+	 * Flushed after this array is closed, or null.
+	 */
+	private final Flushable flushable;
+
 	public CloseableJsonArray(final JsonScribe scribe) {
+		this(scribe, null);
+	}
+	
+	CloseableJsonArray(final JsonScribe scribe, final Flushable flushable) {
 		super(scribe);
+		this.flushable = flushable;
+	}
+	
+	CloseableJsonArray(final JsonScribe scribe, final Flushable flushable, final JsonNodePool pool, final int cursor) {
+		super(scribe, pool, cursor);
+		this.flushable = flushable;
 	}
 	
 	/**
 	 * Closes this array and any nested arrays, objects, or values that remain open.
 	 * 
+	 * <p>
+	 * If this array was created with buffered output, such as by
+	 * {@link Json#arrayTo(java.io.OutputStream)}, the output is then flushed.
+	 * 
 	 * @throws IOException if an I/O error occurs
 	 */
 	@Override
 	public void close() throws IOException {
-		scribe.pop(cursor).pop();
+		scribe().pop(cursor).pop();
+		if (pool != null) pool.release(cursor);
+		if (flushable != null) flushable.flush();
 	}
 	
 }
@@ -5,6 +5,7 @@
 package net.dougvalenta.scriptorium.json;
 
 import java.io.Closeable;
+import java.io.Flushable;
 import java.io.IOException;
 import net.dougvalenta.scriptorium.json.scribe.JsonScribe;
 
@@ -14,18 +15,39 @@ import net.dougvalenta.scriptorium.json.scribe.JsonScribe;
  */
 abstract class CloseableJsonObject<THIS extends CloseableJsonObject<THIS>> extends AbstractJsonObject<THIS> implements Closeable {
 
+	/**
+	 * Flushed after this object is closed, or null.
+	 */
+	private final Flushable flushable;
+
 	public CloseableJsonObject(final JsonScribe scribe) {
+		this(scribe, null);
+	}
+	
+	CloseableJsonObject(final JsonScribe scribe, final Flushable flushable) {
 		super(scribe);
+		this.flushable = flushable;
+	}
+	
+	CloseableJsonObject(final JsonScribe scribe, final Flushable flushable, final JsonNodePool pool, final int cursor) {
+		super(scribe, pool, cursor);
+		this.flushable = flushable;
 	}
 	
 	/**
 	 * Closes this object and any nested array, objects, or values that remain open.
 	 * 
+	 * <p>
+	 * If this object was created with buffered output, such as by
+	 * {@link Json#objectTo(java.io.OutputStream)}, the output is then flushed.
+	 * 
 	 * @throws IOException if an I/O error occurs
 	 */
 	@Override
 	public void close() throws IOException {
-		scribe.pop(cursor).pop();
+		scribe().pop(cursor).pop();
+		if (pool != null) pool.release(cursor);
+		if (flushable != null) flushable.flush();
 	}
 	
 }
@@ -16,4 +16,8 @@ class InscribedJsonArray extends AbstractJsonArray<InscribedJsonArray> {
 		super(scribe);
 	}
 	
+	InscribedJsonArray(final JsonScribe scribe, final JsonNodePool pool, final int cursor) {
+		super(scribe, pool, cursor);
+	}
+	
 }
@@ -16,4 +16,8 @@ class InscribedJsonObject extends AbstractJsonObject<InscribedJsonObject> {
 		super(scribe);
 	}
 	
+	InscribedJsonObject(final JsonScribe scribe, final JsonNodePool pool, final int cursor) {
+		super(scribe, pool, cursor);
+	}
+	
 }
@@ -5,9 +5,13 @@
 package net.dougvalenta.scriptorium.json;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import net.dougvalenta.scriptorium.json.scribe.BufferedJsonAppender;
 import net.dougvalenta.scriptorium.json.scribe.JsonAppender;
 import net.dougvalenta.scriptorium.json.scribe.JsonEscaper;
+import net.dougvalenta.scriptorium.json.scribe.JsonScribe;
 import net.dougvalenta.scriptorium.json.scribe.SafeJsonScribe;
+import net.dougvalenta.scriptorium.json.scribe.Utf8JsonAppender;
 
 /**
  * Factory methods for creating new JSON documents and JSON document fragments.
@@ -35,6 +39,71 @@ public final class Json {
 		return new JsonObjectDocument(new SafeJsonScribe(new JsonAppender(appendable, new JsonEscaper())).pushObject());
 	}
 	
+	/**
+	 * Returns a {@link JsonObjectDocument} representing the top-level JSON object of 
+	 * a JSON document.
+	 * 
+	 * <p>
+	 * Output is buffered, and appended to the provided {@link Appendable} in chunks of
+	 * the provided size. When the returned document is closed, any remaining output is
+	 * appended, and the appendable is flushed if it is {@link java.io.Flushable}.
+	 * 
+	 * @param appendable an {@link Appendable} to output the JSON document to
+	 * @param bufferSize the size, in characters, of the output buffer
+	 * @return a {@link JsonObjectDocument} representing the top-level JSON object of a 
+	 * JSON document
+	 * @throws IOException if an I/O error occurs
+	 * @throws IllegalArgumentException if {@code appendable} is null, or if {@code bufferSize}
+	 * is less than {@link BufferedJsonAppender#MIN_BUFFER_SIZE}
+	 */
+	public static JsonObjectDocument object(final Appendable appendable, final int bufferSize) throws IOException {
+		if (appendable == null) throw new IllegalArgumentException("Missing appendable");
+		final BufferedJsonAppender appender = new BufferedJsonAppender(appendable, new JsonEscaper(), bufferSize);
+		return new JsonObjectDocument(new SafeJsonScribe(appender).pushObject(), appender);
+	}
+	
+	/**
+	 * Returns a {@link JsonObjectDocument} representing the top-level JSON object of 
+	 * a JSON document, encoded as UTF-8.
+	 * 
+	 * <p>
+	 * Output is buffered, and written to the provided {@link OutputStream} as the buffer
+	 * fills. When the returned document is closed, any remaining output is written and
+	 * the stream is flushed. The stream is not closed.
+	 * 
+	 * @param stream an {@link OutputStream} to output the JSON document to
+	 * @return a {@link JsonObjectDocument} representing the top-level JSON object of a 
+	 * JSON document
+	 * @throws IOException if an I/O error occurs
+	 * @throws IllegalArgumentException if {@code stream} is null
+	 */
+	public static JsonObjectDocument objectTo(final OutputStream stream) throws IOException {
+		if (stream == null) throw new IllegalArgumentException("Missing stream");
+		final Utf8JsonAppender appender = new Utf8JsonAppender(stream, new JsonEscaper());
+		return new JsonObjectDocument(new SafeJsonScribe(appender).pushObject(), appender);
+	}
+	
+	/**
+	 * Returns a {@link JsonObjectDocument} representing the top-level JSON object of 
+	 * a JSON document, output by the provided {@link JsonScribe}.
+	 * 
+	 * <p>
+	 * This method allows a scribe other than the default {@link SafeJsonScribe} to be
+	 * used, such as an {@link net.dougvalenta.scriptorium.json.scribe.UnsafeJsonScribe}.
+	 * The scribe must be in its initial state. When this method returns, an opening
+	 * brace will already have been output by the scribe.
+	 * 
+	 * @param scribe a {@link JsonScribe} to output the JSON document with
+	 * @return a {@link JsonObjectDocument} representing the top-level JSON object of a 
+	 * JSON document
+	 * @throws IOException if an I/O error occurs
+	 * @throws IllegalArgumentException if {@code scribe} is null
+	 */
+	public static JsonObjectDocument objectOf(final JsonScribe scribe) throws IOException {
+		if (scribe == null) throw new IllegalArgumentException("Missing scribe");
+		return new JsonObjectDocument(scribe.pushObject());
+	}
+	
 	/**
 	 * Returns a {@link JsonArrayDocument} representing the top-level JSON array of a 
 	 * JSON document fragment.
@@ -54,6 +123,71 @@ public final class Json {
 		return new JsonArrayDocument(new SafeJsonScribe(new JsonAppender(appendable, new JsonEscaper())).pushArray());
 	}
 	
+	/**
+	 * Returns a {@link JsonArrayDocument} representing the top-level JSON array of a 
+	 * JSON document fragment.
+	 * 
+	 * <p>
+	 * Output is buffered, and appended to the provided {@link Appendable} in chunks of
+	 * the provided size. When the returned document is closed, any remaining output is
+	 * appended, and the appendable is flushed if it is {@link java.io.Flushable}.
+	 * 
+	 * @param appendable an {@link Appendable} to output the JSON document to
+	 * @param bufferSize the size, in characters, of the output buffer
+	 * @return a {@link JsonArrayDocument} representing the top-level JSON array of a JSON 
+	 * document fragment
+	 * @throws IOException if an I/O error occurs
+	 * @throws IllegalArgumentException if {@code appendable} is null, or if {@code bufferSize}
+	 * is less than {@link BufferedJsonAppender#MIN_BUFFER_SIZE}
+	 */
+	public static JsonArrayDocument array(final Appendable appendable, final int bufferSize) throws IOException {
+		if (appendable == null) throw new IllegalArgumentException("Missing appendable");
+		final BufferedJsonAppender appender = new BufferedJsonAppender(appendable, new JsonEscaper(), bufferSize);
+		return new JsonArrayDocument(new SafeJsonScribe(appender).pushArray(), appender);
+	}
+	
+	/**
+	 * Returns a {@link JsonArrayDocument} representing the top-level JSON array of a 
+	 * JSON document fragment, encoded as UTF-8.
+	 * 
+	 * <p>
+	 * Output is buffered, and written to the provided {@link OutputStream} as the buffer
+	 * fills. When the returned document is closed, any remaining output is written and
+	 * the stream is flushed. The stream is not closed.
+	 * 
+	 * @param stream an {@link OutputStream} to output the JSON document to
+	 * @return a {@link JsonArrayDocument} representing the top-level JSON array of a JSON 
+	 * document fragment
+	 * @throws IOException if an I/O error occurs
+	 * @throws IllegalArgumentException if {@code stream} is null
+	 */
+	public static JsonArrayDocument arrayTo(final OutputStream stream) throws IOException {
+		if (stream == null) throw new IllegalArgumentException("Missing stream");
+		final Utf8JsonAppender appender = new Utf8JsonAppender(stream, new JsonEscaper());
+		return new JsonArrayDocument(new SafeJsonScribe(appender).pushArray(), appender);
+	}
+	
+	/**
+	 * Returns a {@link JsonArrayDocument} representing the top-level JSON array of a 
+	 * JSON document fragment, output by the provided {@link JsonScribe}.
+	 * 
+	 * <p>
+	 * This method allows a scribe other than the default {@link SafeJsonScribe} to be
+	 * used, such as an {@link net.dougvalenta.scriptorium.json.scribe.UnsafeJsonScribe}.
+	 * The scribe must be in its initial state. When this method returns, an opening
+	 * bracket will already have been output by the scribe.
+	 * 
+	 * @param scribe a {@link JsonScribe} to output the JSON document with
+	 * @return a {@link JsonArrayDocument} representing the top-level JSON array of a JSON 
+	 * document fragment
+	 * @throws IOException if an I/O error occurs
+	 * @throws IllegalArgumentException if {@code scribe} is null
+	 */
+	public static JsonArrayDocument arrayOf(final JsonScribe scribe) throws IOException {
+		if (scribe == null) throw new IllegalArgumentException("Missing scribe");
+		return new JsonArrayDocument(scribe.pushArray());
+	}
+	
 	private Json() {}
 	
 }
@@ -7,7 +7,17 @@ package net.dougvalenta.scriptorium.json;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import net.dougvalenta.scriptorium.Inscribable;
+import net.dougvalenta.scriptorium.function.IOBiConsumer;
 
 /**
  * Represents a JSON array currently being output.
@@ -117,6 +127,83 @@ public interface JsonArray<THIS extends JsonArray<THIS>> extends Inscribable<Jso
 		return with((char) element);
 	}
 	
+	/**
+	 * Appends the name of an enum constant to the array as a quoted string element and
+	 * returns this object.
+	 * 
+	 * <p>
+	 * If the provided element is null, a {@code null} literal element will be appended.
+	 * 
+	 * @param element the enum constant whose name to append to the array
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #withNull()
+	 * @see net.dougvalenta.scriptorium.json.scribe.JsonEnumName
+	 */
+	public THIS with(Enum<?> element) throws IOException;
+	
+	/**
+	 * Appends an instant to the array as a quoted ISO-8601 string element, in the same
+	 * form as {@link Instant#toString()}, and returns this object.
+	 * 
+	 * <p>
+	 * If the provided element is null, a {@code null} literal element will be appended.
+	 * 
+	 * @param element the instant to append to the array
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #withNull()
+	 */
+	public THIS with(Instant element) throws IOException;
+	
+	/**
+	 * Appends a date to the array as a quoted ISO-8601 string element, in the same
+	 * form as {@link LocalDate#toString()}, and returns this object.
+	 * 
+	 * <p>
+	 * If the provided element is null, a {@code null} literal element will be appended.
+	 * 
+	 * @param element the date to append to the array
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #withNull()
+	 */
+	public THIS with(LocalDate element) throws IOException;
+	
+	/**
+	 * Appends a date and time to the array as a quoted ISO-8601 string element, in the same
+	 * form as {@link OffsetDateTime#toString()}, and returns this object.
+	 * 
+	 * <p>
+	 * If the provided element is null, a {@code null} literal element will be appended.
+	 * 
+	 * @param element the date and time to append to the array
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #withNull()
+	 */
+	public THIS with(OffsetDateTime element) throws IOException;
+	
+	/**
+	 * Appends an instant to the array as a numeric literal element of milliseconds since
+	 * the epoch, as returned by {@link Instant#toEpochMilli()}, and returns this object.
+	 * 
+	 * <p>
+	 * If the provided element is null, a {@code null} literal element will be appended.
+	 * 
+	 * @param element the instant to append to the array
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @throws ArithmeticException if the instant is too far from the epoch to be
+	 * represented in milliseconds as a long
+	 * @see #withNull()
+	 * @see #with(Instant)
+	 */
+	public default THIS withEpochMillis(final Instant element) throws IOException {
+		if (element == null) return withNull();
+		return with(element.toEpochMilli());
+	}
+	
 	/**
 	 * Appends a numeric literal element to the array and returns
 	 * this object.
@@ -330,6 +417,21 @@ public interface JsonArray<THIS extends JsonArray<THIS>> extends Inscribable<Jso
 		return with((boolean) element);
 	}
 	
+	/**
+	 * Appends an element of a type known only at runtime to the array and returns this
+	 * object.
+	 * 
+	 * <p>
+	 * The element is appended as by {@link #withAll(Object...)}.
+	 * 
+	 * @param element the element to append to the array
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @throws IllegalArgumentException if the element is of an unsupported type
+	 * @see net.dougvalenta.scriptorium.json.scribe.JsonValueWriters#isSupported(Class)
+	 */
+	public THIS withValue(Object element) throws IOException;
+	
 	/**
 	 * Appends the provided elements to the array and returns this object.
 	 * 
@@ -349,7 +451,9 @@ public interface JsonArray<THIS extends JsonArray<THIS>> extends Inscribable<Jso
 	 * Any non-null {@link Boolean} elements will be appended as Boolean value literals.
 	 * 
 	 * <p>
-	 * Non-null elements of any other type will result in an {@link IllegalArgumentException}.
+	 * Non-null elements of other types will be appended as by
+	 * {@link net.dougvalenta.scriptorium.json.scribe.JsonValueWriters}, or result in an
+	 * {@link IllegalArgumentException} if unsupported.
 	 * 
 	 * <p>
 	 * If {@code elements} is null or empty, this method has no effect.
@@ -382,7 +486,9 @@ public interface JsonArray<THIS extends JsonArray<THIS>> extends Inscribable<Jso
 	 * Any non-null {@link Boolean} elements will be appended as Boolean value literals.
 	 * 
 	 * <p>
-	 * Non-null elements of any other type will result in an {@link IllegalArgumentException}.
+	 * Non-null elements of other types will be appended as by
+	 * {@link net.dougvalenta.scriptorium.json.scribe.JsonValueWriters}, or result in an
+	 * {@link IllegalArgumentException} if unsupported.
 	 * 
 	 * <p>
 	 * If {@code elements} is null or empty, this method has no effect.
@@ -396,6 +502,197 @@ public interface JsonArray<THIS extends JsonArray<THIS>> extends Inscribable<Jso
 	 */
 	public THIS withAll(Iterable<?> elements) throws IOException;
 	
+	/**
+	 * Appends the provided elements to the array as numeric literals and returns this
+	 * object.
+	 * 
+	 * <p>
+	 * If {@code elements} is null or empty, this method has no effect.
+	 * 
+	 * @param elements to append to the array
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #with(int)
+	 */
+	public THIS withAll(int[] elements) throws IOException;
+	
+	/**
+	 * Appends the remaining elements of the provided stream to the array as numeric
+	 * literals, in encounter order, and returns this object.
+	 * 
+	 * <p>
+	 * If {@code elements} is null or empty, this method has no effect.
+	 * 
+	 * @param elements to append to the array
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #withAll(int[])
+	 */
+	public THIS withAll(IntStream elements) throws IOException;
+	
+	/**
+	 * Appends the provided elements to the array as numeric literals and returns this
+	 * object.
+	 * 
+	 * <p>
+	 * If {@code elements} is null or empty, this method has no effect.
+	 * 
+	 * @param elements to append to the array
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #with(long)
+	 */
+	public THIS withAll(long[] elements) throws IOException;
+	
+	/**
+	 * Appends the remaining elements of the provided stream to the array as numeric
+	 * literals, in encounter order, and returns this object.
+	 * 
+	 * <p>
+	 * If {@code elements} is null or empty, this method has no effect.
+	 * 
+	 * @param elements to append to the array
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #withAll(long[])
+	 */
+	public THIS withAll(LongStream elements) throws IOException;
+	
+	/**
+	 * Appends the provided elements to the array as numeric literals and returns this
+	 * object.
+	 * 
+	 * <p>
+	 * Any elements which are not finite will be appended as {@code null} literals.
+	 * 
+	 * <p>
+	 * If {@code elements} is null or empty, this method has no effect.
+	 * 
+	 * @param elements to append to the array
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #with(double)
+	 */
+	public THIS withAll(double[] elements) throws IOException;
+	
+	/**
+	 * Appends the remaining elements of the provided stream to the array as numeric
+	 * literals, in encounter order, and returns this object.
+	 * 
+	 * <p>
+	 * Any elements which are not finite will be appended as {@code null} literals.
+	 * 
+	 * <p>
+	 * If {@code elements} is null or empty, this method has no effect.
+	 * 
+	 * @param elements to append to the array
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #withAll(double[])
+	 */
+	public THIS withAll(DoubleStream elements) throws IOException;
+	
+	/**
+	 * Appends each of the provided elements to the array, rendering them in parallel,
+	 * and returns this object.
+	 * 
+	 * <p>
+	 * The elements are split into chunks which are rendered into separate buffers on the
+	 * common {@link java.util.concurrent.ForkJoinPool}, and then appended in encounter
+	 * order. Elements are appended as by {@link #withAll(Iterable)}, by
+	 * {@linkplain net.dougvalenta.scriptorium.json.scribe.JsonScribe#copy(Appendable) copies}
+	 * of this array's scribe. If the pool has a single worker, there are too few elements
+	 * to be worth splitting, or the scribe can't be copied, the elements are appended in
+	 * place instead.
+	 * 
+	 * <p>
+	 * If {@code elements} is null or empty, this method has no effect.
+	 * 
+	 * @param elements the elements to append to the array
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @throws IllegalArgumentException if a non-null element of an unsupported type is
+	 * provided
+	 * @see #withAll(Iterable)
+	 */
+	public THIS withAllParallel(Spliterator<?> elements) throws IOException;
+	
+	/**
+	 * Appends each of the provided elements to the array, rendering them in parallel,
+	 * and returns this object.
+	 * 
+	 * @param elements the elements to append to the array
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @throws IllegalArgumentException if a non-null element of an unsupported type is
+	 * provided
+	 * @see #withAllParallel(Spliterator)
+	 */
+	public default THIS withAllParallel(final List<?> elements) throws IOException {
+		if (elements == null) return withAllParallel((Spliterator<?>) null);
+		return withAllParallel(elements.spliterator());
+	}
+	
+	/**
+	 * Appends each of the provided elements to the array, rendering them in parallel,
+	 * and returns this object.
+	 * 
+	 * @param elements the elements to append to the array
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @throws IllegalArgumentException if a non-null element of an unsupported type is
+	 * provided
+	 * @see #withAllParallel(Spliterator)
+	 */
+	public default THIS withAllParallel(final Object[] elements) throws IOException {
+		if (elements == null) return withAllParallel((Spliterator<?>) null);
+		return withAllParallel(Arrays.spliterator(elements));
+	}
+	
+	/**
+	 * Passes each of the provided elements, together with a JSON array, to the provided
+	 * writer, rendering them in parallel, and returns this object.
+	 * 
+	 * <p>
+	 * The elements are split into chunks which are rendered into separate buffers on the
+	 * common {@link java.util.concurrent.ForkJoinPool}, and then appended to this array
+	 * in encounter order. For each element, the writer may append any number of elements
+	 * to the JSON array it is passed, which is valid only until the writer returns. The
+	 * writer is called concurrently from several threads, and must be thread-safe. If
+	 * the pool has a single worker, there are too few elements to be worth splitting, or
+	 * this array's scribe can't be
+	 * {@linkplain net.dougvalenta.scriptorium.json.scribe.JsonScribe#copy(Appendable) copied},
+	 * the elements are written in place instead, as by
+	 * {@link #with(java.lang.Object, net.dougvalenta.scriptorium.function.IOBiConsumer)}.
+	 * 
+	 * <p>
+	 * If {@code elements} is null or empty, this method has no effect.
+	 * 
+	 * @param <T> the type of the elements
+	 * @param elements the elements to write
+	 * @param writer the writer which appends each element to a JSON array
+	 * @return this object
+	 * @throws IOException if an I/O error occurs, including within the writer
+	 * @see #with(java.lang.Object, net.dougvalenta.scriptorium.function.IOBiConsumer)
+	 */
+	public <T> THIS withAllParallel(Spliterator<T> elements, IOBiConsumer<? super T, ? super JsonArray<?>> writer) throws IOException;
+	
+	/**
+	 * Passes each of the provided elements, together with a JSON array, to the provided
+	 * writer, rendering them in parallel, and returns this object.
+	 * 
+	 * @param <T> the type of the elements
+	 * @param elements the elements to write
+	 * @param writer the writer which appends each element to a JSON array
+	 * @return this object
+	 * @throws IOException if an I/O error occurs, including within the writer
+	 * @see #withAllParallel(Spliterator, IOBiConsumer)
+	 */
+	public default <T> THIS withAllParallel(final List<T> elements, final IOBiConsumer<? super T, ? super JsonArray<?>> writer) throws IOException {
+		if (elements == null) return withAllParallel((Spliterator<T>) null, writer);
+		return withAllParallel(elements.spliterator(), writer);
+	}
+	
 	/**
 	 * Appends an empty JSON array as an element of this array and returns this object.
 	 * 
@@ -412,6 +709,28 @@ public interface JsonArray<THIS extends JsonArray<THIS>> extends Inscribable<Jso
 	 */
 	public THIS withEmptyObject() throws IOException;
 	
+	/**
+	 * Appends the provided JSON text unchanged as an element of this array and returns
+	 * this object.
+	 * 
+	 * <p>
+	 * The provided text must be a single well-formed JSON value; it is not validated
+	 * unless it is a fragment created by
+	 * {@link net.dougvalenta.scriptorium.json.scribe.JsonFragment#validated(CharSequence)}.
+	 * A {@link net.dougvalenta.scriptorium.json.scribe.JsonFragment} is output in its
+	 * prepared form, without copying or encoding it again.
+	 * 
+	 * <p>
+	 * If the provided text is null, a {@code null} literal will be appended instead.
+	 * 
+	 * @param json the JSON text to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @throws UnsupportedOperationException if the scribe cannot output raw JSON text
+	 * @see #withNull()
+	 */
+	public THIS withRaw(CharSequence json) throws IOException;
+	
 	/**
 	 * Begins a new string literal element of this array and returns a {@link JsonValue}
 	 * that can be used to append characters to it.
@@ -4,11 +4,19 @@
  */
 package net.dougvalenta.scriptorium.json;
 
+import java.io.Flushable;
 import net.dougvalenta.scriptorium.json.scribe.JsonScribe;
 
 /**
  * Represents a JSON array currently being output as a JSON document fragment.
  * 
+ * <p>
+ * The keys, values, and nodes returned within a document are recycled by depth; each
+ * may be used only until it is closed, or until another is opened at the same depth.
+ * Setting the system property {@code net.dougvalenta.scriptorium.json.debug} to
+ * {@code true} disables recycling, and causes use of a stale handle to throw
+ * {@link IllegalStateException}.
+ * 
  * @author Doug Valenta
  * @see Json#array(Appendable)
  */
@@ -16,7 +24,26 @@ public final class JsonArrayDocument extends CloseableJsonArray<JsonArrayDocumen
 	
 	
 	JsonArrayDocument(final JsonScribe scribe) {
-		super(scribe);
+		this(scribe, null);
+	}
+	
+	JsonArrayDocument(final JsonScribe scribe, final Flushable flushable) {
+		this(scribe, flushable, new JsonNodePool(scribe));
+	}
+	
+	JsonArrayDocument(final JsonScribe scribe, final Flushable flushable, final JsonNodePool pool) {
+		super(scribe, flushable, pool, scribe.getCursor());
+		recycle(cursor, pool.root(cursor));
+	}
+	
+	/**
+	 * Closes every key, value, and node of this document, then re-points it at the 
+	 * array open at the current cursor of its scribe, and returns it.
+	 */
+	JsonArrayDocument reopen() {
+		final int cursor = scribe.getCursor();
+		recycle(cursor, pool.root(cursor));
+		return this;
 	}
 	
 }
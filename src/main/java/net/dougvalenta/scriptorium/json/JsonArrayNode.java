@@ -13,17 +13,31 @@ import net.dougvalenta.scriptorium.json.scribe.JsonScribe;
  * containing {@link JsonArray} or {@link JsonObject}.
  * 
  * @author Doug Valenta
- * @param P the type of the parent object
+ * @param <P> the type of the parent object
  */
 public final class JsonArrayNode<P> extends CloseableJsonArray<JsonArrayNode<P>> implements FluentNode<P> {
 
-	private final P parent;
+	private P parent;
 	
 	JsonArrayNode(final JsonScribe scribe, final P parent) {
 		super(scribe);
 		this.parent = parent;
 	}
 	
+	JsonArrayNode(final JsonScribe scribe, final P parent, final JsonNodePool pool, final int cursor) {
+		super(scribe, null, pool, cursor);
+		this.parent = parent;
+	}
+	
+	/**
+	 * Re-points this node at the array open at the provided cursor, then returns it.
+	 */
+	JsonArrayNode<P> recycle(final P parent, final int cursor, final int epoch) {
+		this.parent = parent;
+		recycle(cursor, epoch);
+		return this;
+	}
+	
 	/**
 	 * Closes this JSON array and any nested arrays, objects, or values that remain open and returns
 	 * the parent object, typically a containing {@link JsonArray} or {@link JsonObject}.
@@ -7,6 +7,9 @@ package net.dougvalenta.scriptorium.json;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import net.dougvalenta.scriptorium.json.scribe.JsonScribe;
 
 /**
@@ -15,21 +18,47 @@ import net.dougvalenta.scriptorium.json.scribe.JsonScribe;
  */
 public final class JsonKey<P> extends AbstractJsonAppendable<JsonKey<P>> {
 
-	private final P parent;
+	private P parent;
 	
 	JsonKey(final JsonScribe scribe, final P parent) {
 		super(scribe);
 		this.parent = parent;
 	}
+	
+	JsonKey(final JsonScribe scribe, final P parent, final JsonNodePool pool) {
+		super(scribe, pool);
+		this.parent = parent;
+	}
+	
+	/**
+	 * Re-points this key at the key open at the provided cursor, then returns it.
+	 */
+	JsonKey<P> recycle(final P parent, final int cursor, final int epoch) {
+		this.parent = parent;
+		this.cursor = cursor;
+		this.epoch = epoch;
+		return this;
+	}
+	
+	private JsonValue<P> nextValue() {
+		if (pool == null) return new JsonValue(scribe, parent);
+		pool.release(cursor);
+		return pool.value(parent, scribe.getCursor());
+	}
+	
+	private P release() {
+		if (pool != null) pool.release(cursor);
+		return parent;
+	}
 
 	public JsonValue<P> value() throws IOException {
-		scribe.pop().pushValue();
-		return new JsonValue(scribe, parent);
+		scribe().pop().pushValue();
+		return nextValue();
 	}
 	
 	public JsonValue<P> value(final char value) throws IOException {
-		scribe.pop().pushValue().append(value);
-		return new JsonValue(scribe, parent);
+		scribe().pop().pushValue().append(value);
+		return nextValue();
 	}
 	
 	public JsonValue<P> value(final Character value) throws IOException {
@@ -38,35 +67,35 @@ public final class JsonKey<P> extends AbstractJsonAppendable<JsonKey<P>> {
 	}
 	
 	public JsonValue<P> value(final CharSequence value) throws IOException {
-		scribe.pop().pushValue();
-		if (value != null) scribe.append(value);
-		return new JsonValue(scribe, parent);
+		scribe().pop().pushValue();
+		if (value != null) scribe().append(value);
+		return nextValue();
 	}
 	
 	public P thenNull() throws IOException {
-		scribe.pop().nullValue();
-		return parent;
+		scribe().pop().nullValue();
+		return release();
 	}
 	
 	public P thenTrue() throws IOException {
-		scribe.pop().trueValue();
-		return parent;
+		scribe().pop().trueValue();
+		return release();
 	}
 	
 	public P thenFalse() throws IOException {
-		scribe.pop().falseValue();
-		return parent;
+		scribe().pop().falseValue();
+		return release();
 	}
 	
 	public P then(final CharSequence value) throws IOException {
 		if (value == null) return thenNull();
-		scribe.pop().value(value);
-		return parent;
+		scribe().pop().value(value);
+		return release();
 	}
 	
 	public P then(final char value) throws IOException {
-		scribe.pop().value(value);
-		return parent;
+		scribe().pop().value(value);
+		return release();
 	}
 	
 	public P then(final Character value) throws IOException {
@@ -74,14 +103,38 @@ public final class JsonKey<P> extends AbstractJsonAppendable<JsonKey<P>> {
 		return then((char) value);
 	}
 	
+	public P then(final Enum<?> value) throws IOException {
+		if (value == null) return thenNull();
+		scribe().pop().value(value);
+		return release();
+	}
+	
+	public P then(final Instant value) throws IOException {
+		if (value == null) return thenNull();
+		scribe().pop().value(value);
+		return release();
+	}
+	
+	public P then(final LocalDate value) throws IOException {
+		if (value == null) return thenNull();
+		scribe().pop().value(value);
+		return release();
+	}
+	
+	public P then(final OffsetDateTime value) throws IOException {
+		if (value == null) return thenNull();
+		scribe().pop().value(value);
+		return release();
+	}
+	
 	public P then(final BigInteger value) throws IOException {
-		scribe.pop().value(value);
-		return parent;
+		scribe().pop().value(value);
+		return release();
 	}
 	
 	public P then(final BigDecimal value) throws IOException {
-		scribe.pop().value(value);
-		return parent;
+		scribe().pop().value(value);
+		return release();
 	}
 	
 	public P then(final Byte value) throws IOException {
@@ -95,8 +148,8 @@ public final class JsonKey<P> extends AbstractJsonAppendable<JsonKey<P>> {
 	}
 	
 	public P then(final int value) throws IOException {
-		scribe.pop().value(value);
-		return parent;
+		scribe().pop().value(value);
+		return release();
 	}
 	
 	public P then(final Integer value) throws IOException {
@@ -105,8 +158,8 @@ public final class JsonKey<P> extends AbstractJsonAppendable<JsonKey<P>> {
 	}
 	
 	public P then(final float value) throws IOException {
-		scribe.pop().value(value);
-		return parent;
+		scribe().pop().value(value);
+		return release();
 	}
 	
 	public P then(final Float value) throws IOException {
@@ -115,8 +168,8 @@ public final class JsonKey<P> extends AbstractJsonAppendable<JsonKey<P>> {
 	}
 	
 	public P then(final long value) throws IOException {
-		scribe.pop().value(value);
-		return parent;
+		scribe().pop().value(value);
+		return release();
 	}
 	
 	public P then(final Long value) throws IOException {
@@ -125,8 +178,8 @@ public final class JsonKey<P> extends AbstractJsonAppendable<JsonKey<P>> {
 	}
 	
 	public P then(final double value) throws IOException {
-		scribe.pop().value(value);
-		return parent;
+		scribe().pop().value(value);
+		return release();
 	}
 	
 	public P then(final Double value) throws IOException {
@@ -135,8 +188,8 @@ public final class JsonKey<P> extends AbstractJsonAppendable<JsonKey<P>> {
 	}
 	
 	public P then(final boolean value) throws IOException {
-		scribe.pop().value(value);
-		return parent;
+		scribe().pop().value(value);
+		return release();
 	}
 	
 	public P then(final Boolean value) throws IOException {
@@ -145,13 +198,17 @@ public final class JsonKey<P> extends AbstractJsonAppendable<JsonKey<P>> {
 	}
 	
 	public JsonObjectNode<P> object() throws IOException {
-		scribe.pop().pushObject();
-		return new JsonObjectNode(scribe, parent);
+		scribe().pop().pushObject();
+		if (pool == null) return new JsonObjectNode(scribe, parent);
+		pool.release(cursor);
+		return pool.object(parent, scribe.getCursor());
 	}
 	
 	public JsonArrayNode<P> array() throws IOException {
-		scribe.pop().pushArray();
-		return new JsonArrayNode(scribe, parent);
+		scribe().pop().pushArray();
+		if (pool == null) return new JsonArrayNode(scribe, parent);
+		pool.release(cursor);
+		return pool.array(parent, scribe.getCursor());
 	}
 	
 }
@@ -0,0 +1,457 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import net.dougvalenta.scriptorium.function.IOConsumer;
+import net.dougvalenta.scriptorium.json.scribe.JsonEscaper;
+import net.dougvalenta.scriptorium.json.scribe.SafeJsonScribe;
+import net.dougvalenta.scriptorium.json.scribe.Utf8JsonAppender;
+
+/**
+ * A writer of newline-delimited JSON (JSON Lines) records, which may be shared by many
+ * threads.
+ * 
+ * <p>
+ * Each call to {@link #write(IOConsumer)} renders a single top-level JSON object, as
+ * UTF-8, into a buffer confined to the calling thread. The completed record is then
+ * handed off, without locking, to a single flusher thread, which copies records into a
+ * batch buffer and writes each batch to the channel when the buffer fills or no more
+ * records are waiting. Records from a single thread are written in the order they were
+ * completed; records from different threads are interleaved, but never mixed. Control
+ * characters within keys and strings are output as Unicode escapes, so no record
+ * contains a line break.
+ * 
+ * <p>
+ * If many records are waiting to be written, {@link #write(IOConsumer)} waits for the
+ * flusher to catch up before handing off another record.
+ * 
+ * <p>
+ * The channel must be in blocking mode. If writing to the channel fails, including
+ * with an unchecked exception or error, the exception is thrown, wrapped, by each later
+ * call to {@link #write(IOConsumer)}, {@link #flush()}, or {@link #close()}, and every
+ * record not yet written is discarded.
+ * 
+ * <p>
+ * The flusher thread is a daemon thread, so records that have not been written when
+ * the application exits are lost unless the writer is flushed or closed first. Closing
+ * the writer does not close the channel.
+ * 
+ * @author Doug Valenta
+ */
+public final class JsonLinesWriter implements Flushable, Closeable {
+	
+	/**
+	 * The default size, in bytes, of the batch buffer.
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 65536;
+	
+	/**
+	 * The number of records which may be waiting to be written before producers wait
+	 * for the flusher.
+	 */
+	static final int MAX_PENDING_RECORDS = 16384;
+	
+	private static final long WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+	
+	/**
+	 * The interval at which a flush checks that the flusher is still running.
+	 */
+	private static final long FLUSH_WAIT_MILLIS = 10;
+	
+	private static final byte NEWLINE = '\n';
+	
+	private final WritableByteChannel channel;
+	private final ByteBuffer buffer;
+	private final ThreadLocal<Producer> producers = new ThreadLocal<>();
+	private final Thread flusher;
+	
+	/**
+	 * The most recently added record; producers swap themselves in here.
+	 */
+	private final AtomicReference<Record> tail;
+	
+	private final AtomicInteger pending = new AtomicInteger();
+	
+	/**
+	 * The most recently taken record, whose successor is the next record to be written;
+	 * read and written only by the flusher.
+	 */
+	private Record head;
+	
+	private volatile boolean waiting;
+	private volatile boolean closed;
+	/**
+	 * The exception thrown by the channel, or by the flusher itself, if writing has
+	 * failed.
+	 */
+	private volatile Throwable failure;
+	
+	/**
+	 * Creates a writer with a batch buffer of {@link #DEFAULT_BUFFER_SIZE} bytes, and
+	 * starts its flusher thread.
+	 * 
+	 * @param channel the channel to write records to
+	 * @throws IllegalArgumentException if {@code channel} is null
+	 */
+	public JsonLinesWriter(final WritableByteChannel channel) {
+		this(channel, DEFAULT_BUFFER_SIZE);
+	}
+	
+	/**
+	 * Creates a writer with a batch buffer of the provided size, and starts its flusher
+	 * thread.
+	 * 
+	 * <p>
+	 * Records larger than the batch buffer are written to the channel directly.
+	 * 
+	 * @param channel the channel to write records to
+	 * @param bufferSize the size, in bytes, of the batch buffer
+	 * @throws IllegalArgumentException if {@code channel} is null, or if
+	 * {@code bufferSize} is less than 1
+	 */
+	public JsonLinesWriter(final WritableByteChannel channel, final int bufferSize) {
+		if (channel == null) throw new IllegalArgumentException("Missing channel");
+		if (bufferSize < 1) throw new IllegalArgumentException("Buffer size must be at least 1");
+		this.channel = channel;
+		this.buffer = ByteBuffer.allocateDirect(bufferSize);
+		this.head = new Record(null, null);
+		this.tail = new AtomicReference<>(head);
+		this.flusher = new Thread(this::run, "json-lines-writer");
+		flusher.setDaemon(true);
+		flusher.start();
+	}
+	
+	/**
+	 * Passes a {@link JsonObject} to the provided consumer, then writes the object as a
+	 * single record.
+	 * 
+	 * <p>
+	 * The object may only be used until the consumer returns. If the consumer throws an
+	 * exception, no record is written.
+	 * 
+	 * <p>
+	 * This method returns once the record has been handed off, normally before it has
+	 * been written to the channel; call {@link #flush()} to wait for it to be written.
+	 * 
+	 * @param record a consumer which appends the contents of the record
+	 * @throws IOException if an I/O error occurs, including within the consumer, or if
+	 * writing to the channel has failed
+	 * @throws IllegalArgumentException if {@code record} is null
+	 * @throws IllegalStateException if this writer is closed
+	 */
+	public void write(final IOConsumer<? super JsonObject<?>> record) throws IOException {
+		if (record == null) throw new IllegalArgumentException("Missing record");
+		checkOpen();
+		Producer producer = producers.get();
+		if (producer == null) producers.set(producer = new Producer());
+		final byte[] bytes;
+		try {
+			bytes = producer.render(record);
+		} catch (final IOException | RuntimeException | Error exception) {
+			// The producer may hold part of the abandoned record
+			producers.remove();
+			throw exception;
+		}
+		if (pending.incrementAndGet() > MAX_PENDING_RECORDS) awaitCapacity();
+		offer(new Record(bytes, null));
+	}
+	
+	/**
+	 * Waits until every record handed off before this method was called has been written
+	 * to the channel.
+	 * 
+	 * @throws IOException if writing to the channel has failed
+	 * @throws InterruptedIOException if the calling thread is interrupted while waiting
+	 * @throws IllegalStateException if this writer is closed, including concurrently
+	 * with this method
+	 */
+	@Override
+	public void flush() throws IOException {
+		checkOpen();
+		final CountDownLatch latch = new CountDownLatch(1);
+		offer(new Record(null, latch));
+		try {
+			// A concurrent close may queue its marker first, in which case the flusher
+			// stops without reaching this flush
+			while (!latch.await(FLUSH_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+				if (!flusher.isAlive() && latch.getCount() != 0) {
+					checkFailure();
+					throw new IllegalStateException("Writer closed");
+				}
+			}
+		} catch (final InterruptedException exception) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while flushing");
+		}
+		checkFailure();
+	}
+	
+	/**
+	 * Writes every record handed off before this method was called, then stops the
+	 * flusher thread. The channel is not closed.
+	 * 
+	 * <p>
+	 * Records handed off concurrently with this method may be discarded, and concurrent
+	 * calls to {@link #flush()} may fail. If this writer is already closed, this method
+	 * has no effect.
+	 * 
+	 * @throws IOException if writing to the channel has failed
+	 * @throws InterruptedIOException if the calling thread is interrupted while waiting
+	 */
+	@Override
+	public void close() throws IOException {
+		if (closed) return;
+		closed = true;
+		offer(new Record(null, null));
+		try {
+			flusher.join();
+		} catch (final InterruptedException exception) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while closing");
+		}
+		checkFailure();
+	}
+	
+	private void checkOpen() throws IOException {
+		if (closed) throw new IllegalStateException("Writer closed");
+		checkFailure();
+	}
+	
+	private void checkFailure() throws IOException {
+		final Throwable exception = failure;
+		if (exception != null) throw new IOException("Writing to channel failed", exception);
+	}
+	
+	/**
+	 * Waits until the flusher has caught up with the records waiting to be written.
+	 */
+	private void awaitCapacity() throws IOException {
+		while (pending.get() > MAX_PENDING_RECORDS && !closed) {
+			checkFailure();
+			if (waiting) LockSupport.unpark(flusher);
+			LockSupport.parkNanos(this, WAIT_NANOS);
+		}
+	}
+	
+	/**
+	 * Adds a record to the queue, and wakes the flusher if it is waiting. Safe to call
+	 * from any thread.
+	 */
+	private void offer(final Record record) {
+		tail.getAndSet(record).next = record;
+		if (waiting) LockSupport.unpark(flusher);
+	}
+	
+	/**
+	 * Takes the next record from the queue, or returns null if none has been completely
+	 * added. Called only by the flusher.
+	 */
+	private Record poll() {
+		final Record next = head.next;
+		if (next == null) return null;
+		head.next = null;
+		head = next;
+		return next;
+	}
+	
+	private void run() {
+		try {
+			writeRecords();
+		} catch (final RuntimeException | Error exception) {
+			// Wakes producers waiting for capacity, and fails later calls
+			if (failure == null) failure = exception;
+		}
+	}
+	
+	/**
+	 * Writes records until a close marker is taken. Called only by the flusher.
+	 */
+	private void writeRecords() {
+		while (true) {
+			final Record record = poll();
+			if (record == null) {
+				if (tail.get() != head) {
+					// A producer has swapped in a record but not yet linked it
+					Thread.yield();
+					continue;
+				}
+				drain();
+				waiting = true;
+				if (tail.get() == head) LockSupport.park(this);
+				waiting = false;
+			} else if (record.bytes != null) {
+				pending.decrementAndGet();
+				write(record.bytes);
+			} else {
+				drain();
+				if (record.latch == null) return;
+				record.latch.countDown();
+			}
+		}
+	}
+	
+	/**
+	 * Copies a record into the batch buffer, writing the buffer first if the record does
+	 * not fit.
+	 */
+	private void write(final byte[] bytes) {
+		if (failure != null) return;
+		if (bytes.length > buffer.remaining()) {
+			drain();
+			if (bytes.length > buffer.capacity()) {
+				write(ByteBuffer.wrap(bytes));
+				return;
+			}
+		}
+		buffer.put(bytes);
+	}
+	
+	/**
+	 * Writes the contents of the batch buffer to the channel.
+	 */
+	private void drain() {
+		if (buffer.position() == 0) return;
+		buffer.flip();
+		write(buffer);
+		buffer.clear();
+	}
+	
+	private void write(final ByteBuffer bytes) {
+		if (failure != null) return;
+		try {
+			while (bytes.hasRemaining()) {
+				channel.write(bytes);
+			}
+		} catch (final IOException | RuntimeException | Error exception) {
+			failure = exception;
+		}
+	}
+	
+	/**
+	 * A rendered record, or a marker for a flush or close, in the queue between producers
+	 * and the flusher.
+	 */
+	private static final class Record {
+		
+		final byte[] bytes;
+		
+		/**
+		 * Counted down once preceding records are written, or null for a close marker.
+		 */
+		final CountDownLatch latch;
+		
+		volatile Record next;
+		
+		Record(final byte[] bytes, final CountDownLatch latch) {
+			this.bytes = bytes;
+			this.latch = latch;
+		}
+		
+	}
+	
+	/**
+	 * The buffer, appender, scribe, and object of a single producer thread, reused for
+	 * each of its records.
+	 */
+	private static final class Producer {
+		
+		private final RecordStream stream = new RecordStream();
+		private final Utf8JsonAppender appender = new Utf8JsonAppender(stream, new LineEscaper());
+		private final SafeJsonScribe scribe = new SafeJsonScribe(appender);
+		private final JsonNodePool pool = new JsonNodePool(scribe);
+		private InscribedJsonObject object;
+		
+		byte[] render(final IOConsumer<? super JsonObject<?>> record) throws IOException {
+			stream.reset();
+			scribe.reset().pushObject();
+			final int cursor = scribe.getCursor();
+			if (object == null) object = new InscribedJsonObject(scribe, pool, cursor);
+			object.recycle(cursor, pool.root(cursor));
+			record.accept(object);
+			scribe.pop(cursor).pop();
+			appender.flush();
+			stream.write(NEWLINE);
+			return stream.toByteArray();
+		}
+		
+	}
+	
+	/**
+	 * A {@link JsonEscaper} which escapes every control character as a Unicode escape,
+	 * so that no record contains a line break. It escapes the same characters as
+	 * JsonEscaper, and overrides {@link #mustEscape(char)} only so that appenders still
+	 * append runs of other characters in bulk.
+	 */
+	private static final class LineEscaper extends JsonEscaper {
+		
+		private static final String HEX_DIGITS = "0123456789abcdef";
+		
+		@Override
+		public void escape(final char character, final Appendable appendable) throws IOException {
+			if (character < ' ') {
+				appendable.append("\\u00")
+						.append(HEX_DIGITS.charAt(character >> 4))
+						.append(HEX_DIGITS.charAt(character & 0xF));
+			} else {
+				super.escape(character, appendable);
+			}
+		}
+		
+		@Override
+		public boolean mustEscape(final char character) {
+			return super.mustEscape(character);
+		}
+		
+	}
+	
+	/**
+	 * A {@link ByteArrayOutputStream} without synchronization, since it is confined to a
+	 * single producer thread.
+	 */
+	private static final class RecordStream extends ByteArrayOutputStream {
+		
+		RecordStream() {
+			super(256);
+		}
+		
+		@Override
+		public void write(final int b) {
+			if (count == buf.length) buf = Arrays.copyOf(buf, count << 1);
+			buf[count++] = (byte) b;
+		}
+		
+		@Override
+		public void write(final byte[] b, final int off, final int len) {
+			if (count + len > buf.length) buf = Arrays.copyOf(buf, Math.max(count << 1, count + len));
+			System.arraycopy(b, off, buf, count, len);
+			count += len;
+		}
+		
+		@Override
+		public void reset() {
+			count = 0;
+		}
+		
+		@Override
+		public byte[] toByteArray() {
+			return Arrays.copyOf(buf, count);
+		}
+		
+	}
+	
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json;
+
+import java.util.Arrays;
+import net.dougvalenta.scriptorium.json.scribe.JsonScribe;
+
+/**
+ * The keys, values, nodes, and inscribed objects and arrays of a single document, kept
+ * by cursor so that each may be re-pointed rather than re-created.
+ *
+ * <p>
+ * Handles are keyed by the cursor their scribe returned from
+ * {@link JsonScribe#getCursor()} after they were pushed, which is treated as an opaque
+ * value. The cursors of the open handles are kept as a stack, and each handle occupies
+ * the slot of its cursor in that stack. At most one key, value, or node is open at each
+ * slot of a document, so a handle returned for a slot is recycled by the next request
+ * for a handle at the same slot. A handle that is used after it has been closed, or
+ * after its slot has been reused, is stale; its output is undefined.
+ *
+ * <p>
+ * In debug mode, enabled by the {@value #DEBUG_PROPERTY} system property, handles are
+ * never recycled, and each is stamped with the epoch of its slot. An epoch advances
+ * whenever a handle is opened at its slot, or closed at its slot or any shallower
+ * slot, and a handle whose epoch is no longer current throws
+ * {@link IllegalStateException} when used.
+ *
+ * @author Doug Valenta
+ */
+final class JsonNodePool {
+	
+	static final String DEBUG_PROPERTY = "net.dougvalenta.scriptorium.json.debug";
+	
+	static final boolean DEBUG = Boolean.getBoolean(DEBUG_PROPERTY);
+	
+	private static final int INITIAL_DEPTH = 16;
+	
+	private final JsonScribe scribe;
+	
+	final boolean debug;
+	
+	/**
+	 * The cursor open at each slot, up to {@link #depth}.
+	 */
+	private int[] cursors;
+	
+	/**
+	 * The number of open slots.
+	 */
+	private int depth;
+	
+	private int[] epochs;
+	private JsonKey<?>[] keys;
+	private JsonValue<?>[] values;
+	private JsonObjectNode<?>[] objects;
+	private JsonArrayNode<?>[] arrays;
+	private InscribedJsonObject[] inscribedObjects;
+	private InscribedJsonArray[] inscribedArrays;
+	
+	JsonNodePool(final JsonScribe scribe) {
+		this(scribe, DEBUG);
+	}
+	
+	JsonNodePool(final JsonScribe scribe, final boolean debug) {
+		this.scribe = scribe;
+		this.debug = debug;
+	}
+	
+	private void ensureDepth(final int slot) {
+		if (epochs == null) {
+			final int length = Math.max(INITIAL_DEPTH, slot + 1);
+			cursors = new int[length];
+			epochs = new int[length];
+			keys = new JsonKey<?>[length];
+			values = new JsonValue<?>[length];
+			objects = new JsonObjectNode<?>[length];
+			arrays = new JsonArrayNode<?>[length];
+			inscribedObjects = new InscribedJsonObject[length];
+			inscribedArrays = new InscribedJsonArray[length];
+		} else if (slot >= epochs.length) {
+			final int length = Math.max(epochs.length << 1, slot + 1);
+			cursors = Arrays.copyOf(cursors, length);
+			epochs = Arrays.copyOf(epochs, length);
+			keys = Arrays.copyOf(keys, length);
+			values = Arrays.copyOf(values, length);
+			objects = Arrays.copyOf(objects, length);
+			arrays = Arrays.copyOf(arrays, length);
+			inscribedObjects = Arrays.copyOf(inscribedObjects, length);
+			inscribedArrays = Arrays.copyOf(inscribedArrays, length);
+		}
+	}
+	
+	/**
+	 * Returns the slot of the provided cursor, or -1 if it is not open. The stack is
+	 * searched from the top, where the cursor of the handle in use usually is.
+	 */
+	private int slot(final int cursor) {
+		for (int slot = depth - 1; slot >= 0; slot--) {
+			if (cursors[slot] == cursor) return slot;
+		}
+		return -1;
+	}
+	
+	/**
+	 * Opens the slot of the provided cursor, closing the cursors above it, or pushes a
+	 * new slot if the cursor is not open, and returns the slot.
+	 */
+	private int open(final int cursor) {
+		int slot = slot(cursor);
+		if (slot < 0) {
+			slot = depth;
+			ensureDepth(slot);
+			cursors[slot] = cursor;
+		}
+		depth = slot + 1;
+		return slot;
+	}
+	
+	/**
+	 * Advances the epoch of the provided slot for a handle opened there, and returns it.
+	 */
+	private int stamp(final int slot) {
+		return debug ? ++epochs[slot] : 0;
+	}
+	
+	/**
+	 * Closes the handle at the provided cursor, and any handles nested within it.
+	 */
+	void release(final int cursor) {
+		final int slot = slot(cursor);
+		if (slot < 0) return;
+		if (debug) {
+			for (int i = slot; i < epochs.length; i++) {
+				epochs[i]++;
+			}
+		}
+		depth = slot;
+	}
+	
+	/**
+	 * Closes every handle.
+	 */
+	void reset() {
+		if (debug && epochs != null) {
+			for (int i = 0; i < epochs.length; i++) {
+				epochs[i]++;
+			}
+		}
+		depth = 0;
+	}
+	
+	/**
+	 * Closes every handle, then opens the document at the provided cursor, and returns
+	 * its epoch.
+	 */
+	int root(final int cursor) {
+		reset();
+		return stamp(open(cursor));
+	}
+	
+	/**
+	 * Returns the current epoch of the provided cursor, or -1 if it is not open.
+	 */
+	int epoch(final int cursor) {
+		final int slot = slot(cursor);
+		return slot < 0 ? -1 : epochs[slot];
+	}
+	
+	/**
+	 * @throws IllegalStateException if the provided epoch is not the current epoch of
+	 * the provided cursor
+	 */
+	void check(final int cursor, final int epoch) {
+		if (epoch != epoch(cursor)) throw new IllegalStateException("Stale handle at cursor " + cursor);
+	}
+	
+	<P> JsonKey<P> key(final P parent, final int cursor) {
+		final int slot = open(cursor);
+		JsonKey<P> key = (JsonKey<P>) keys[slot];
+		if (key == null || debug) {
+			key = new JsonKey<>(scribe, parent, this);
+			if (!debug) keys[slot] = key;
+		}
+		return key.recycle(parent, cursor, stamp(slot));
+	}
+	
+	<P> JsonValue<P> value(final P parent, final int cursor) {
+		final int slot = open(cursor);
+		JsonValue<P> value = (JsonValue<P>) values[slot];
+		if (value == null || debug) {
+			value = new JsonValue<>(scribe, parent, this);
+			if (!debug) values[slot] = value;
+		}
+		return value.recycle(parent, cursor, stamp(slot));
+	}
+	
+	<P> JsonObjectNode<P> object(final P parent, final int cursor) {
+		final int slot = open(cursor);
+		JsonObjectNode<P> object = (JsonObjectNode<P>) objects[slot];
+		if (object == null || debug) {
+			object = new JsonObjectNode<>(scribe, parent, this, cursor);
+			if (!debug) objects[slot] = object;
+		}
+		return object.recycle(parent, cursor, stamp(slot));
+	}
+	
+	<P> JsonArrayNode<P> array(final P parent, final int cursor) {
+		final int slot = open(cursor);
+		JsonArrayNode<P> array = (JsonArrayNode<P>) arrays[slot];
+		if (array == null || debug) {
+			array = new JsonArrayNode<>(scribe, parent, this, cursor);
+			if (!debug) arrays[slot] = array;
+		}
+		return array.recycle(parent, cursor, stamp(slot));
+	}
+	
+	/**
+	 * Returns an inscribed view of the object at the provided cursor, which remains
+	 * valid for as long as that object.
+	 */
+	InscribedJsonObject inscribedObject(final int cursor, final int epoch) {
+		final int slot = slot(cursor);
+		InscribedJsonObject object = slot < 0 ? null : inscribedObjects[slot];
+		if (object == null || debug) {
+			object = new InscribedJsonObject(scribe, this, cursor);
+			if (!debug && slot >= 0) inscribedObjects[slot] = object;
+		}
+		object.recycle(cursor, epoch);
+		return object;
+	}
+	
+	/**
+	 * Returns an inscribed view of the array at the provided cursor, which remains
+	 * valid for as long as that array.
+	 */
+	InscribedJsonArray inscribedArray(final int cursor, final int epoch) {
+		final int slot = slot(cursor);
+		InscribedJsonArray array = slot < 0 ? null : inscribedArrays[slot];
+		if (array == null || debug) {
+			array = new InscribedJsonArray(scribe, this, cursor);
+			if (!debug && slot >= 0) inscribedArrays[slot] = array;
+		}
+		array.recycle(cursor, epoch);
+		return array;
+	}
+	
+}
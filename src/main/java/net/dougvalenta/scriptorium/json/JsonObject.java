@@ -7,7 +7,11 @@ package net.dougvalenta.scriptorium.json;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import net.dougvalenta.scriptorium.Inscribable;
+import net.dougvalenta.scriptorium.json.scribe.JsonKeyName;
 
 /**
  * Represents a JSON object currently being output.
@@ -148,6 +152,123 @@ public interface JsonObject<THIS extends JsonObject<THIS>> extends Inscribable<J
 		return with(key, (char) value);
 	}
 	
+	/**
+	 * Appends a key to the JSON object with the name of an enum constant as a quoted
+	 * string value and returns this object.
+	 * 
+	 * <p>
+	 * The contents of the provided key will be double-quoted and escaped.
+	 * 
+	 * <p>
+	 * If the provided key is null, this method has no effect.
+	 * 
+	 * <p>
+	 * If the provided value is null, a {@code null} literal value will be appended.
+	 * 
+	 * @param key the key to append
+	 * @param value the enum constant whose name to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #withNull(CharSequence)
+	 * @see #withIfNotNull(CharSequence, Enum)
+	 * @see net.dougvalenta.scriptorium.json.scribe.JsonEnumName
+	 */
+	public THIS with(CharSequence key, Enum<?> value) throws IOException;
+	
+	/**
+	 * Appends a key to the JSON object with an instant as a quoted ISO-8601 string value,
+	 * in the same form as {@link Instant#toString()}, and returns this object.
+	 * 
+	 * <p>
+	 * The contents of the provided key will be double-quoted and escaped.
+	 * 
+	 * <p>
+	 * If the provided key is null, this method has no effect.
+	 * 
+	 * <p>
+	 * If the provided value is null, a {@code null} literal value will be appended.
+	 * 
+	 * @param key the key to append
+	 * @param value the instant to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #withNull(CharSequence)
+	 * @see #withIfNotNull(CharSequence, Instant)
+	 */
+	public THIS with(CharSequence key, Instant value) throws IOException;
+	
+	/**
+	 * Appends a key to the JSON object with a date as a quoted ISO-8601 string value,
+	 * in the same form as {@link LocalDate#toString()}, and returns this object.
+	 * 
+	 * <p>
+	 * The contents of the provided key will be double-quoted and escaped.
+	 * 
+	 * <p>
+	 * If the provided key is null, this method has no effect.
+	 * 
+	 * <p>
+	 * If the provided value is null, a {@code null} literal value will be appended.
+	 * 
+	 * @param key the key to append
+	 * @param value the date to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #withNull(CharSequence)
+	 * @see #withIfNotNull(CharSequence, LocalDate)
+	 */
+	public THIS with(CharSequence key, LocalDate value) throws IOException;
+	
+	/**
+	 * Appends a key to the JSON object with a date and time as a quoted ISO-8601 string value,
+	 * in the same form as {@link OffsetDateTime#toString()}, and returns this object.
+	 * 
+	 * <p>
+	 * The contents of the provided key will be double-quoted and escaped.
+	 * 
+	 * <p>
+	 * If the provided key is null, this method has no effect.
+	 * 
+	 * <p>
+	 * If the provided value is null, a {@code null} literal value will be appended.
+	 * 
+	 * @param key the key to append
+	 * @param value the date and time to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #withNull(CharSequence)
+	 * @see #withIfNotNull(CharSequence, OffsetDateTime)
+	 */
+	public THIS with(CharSequence key, OffsetDateTime value) throws IOException;
+	
+	/**
+	 * Appends a key to the JSON object with an instant as a numeric literal value of
+	 * milliseconds since the epoch, as returned by {@link Instant#toEpochMilli()}, and
+	 * returns this object.
+	 * 
+	 * <p>
+	 * The contents of the provided key will be double-quoted and escaped.
+	 * 
+	 * <p>
+	 * If the provided key is null, this method has no effect.
+	 * 
+	 * <p>
+	 * If the provided value is null, a {@code null} literal value will be appended.
+	 * 
+	 * @param key the key to append
+	 * @param value the instant to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @throws ArithmeticException if the instant is too far from the epoch to be
+	 * represented in milliseconds as a long
+	 * @see #withNull(CharSequence)
+	 * @see #with(CharSequence, Instant)
+	 */
+	public default THIS withEpochMillis(final CharSequence key, final Instant value) throws IOException {
+		if (value == null) return withNull(key);
+		return with(key, value.toEpochMilli());
+	}
+	
 	/**
 	 * Appends a key to the JSON object with a numeric literal value and returns this
 	 * object.
@@ -478,6 +599,35 @@ public interface JsonObject<THIS extends JsonObject<THIS>> extends Inscribable<J
 	 */
 	public THIS with(CharSequence key, boolean value) throws IOException;
 	
+	/**
+	 * Appends a key to the JSON object with a value of a type known only at runtime, and
+	 * returns this object.
+	 * 
+	 * <p>
+	 * The value is appended as by
+	 * {@link net.dougvalenta.scriptorium.json.scribe.JsonScribe#value(Object)}: values of
+	 * the types accepted by the other {@code with} methods are appended as those methods
+	 * would append them, and values of other types as by
+	 * {@link net.dougvalenta.scriptorium.json.scribe.JsonValueWriters}.
+	 * 
+	 * <p>
+	 * The contents of the provided key will be double-quoted and escaped.
+	 * 
+	 * <p>
+	 * If the provided key is null, this method has no effect.
+	 * 
+	 * <p>
+	 * If the provided value is null, a {@code null} literal value will be appended.
+	 * 
+	 * @param key the key to append
+	 * @param value the value to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @throws IllegalArgumentException if the value is of an unsupported type
+	 * @see net.dougvalenta.scriptorium.json.scribe.JsonValueWriters#isSupported(Class)
+	 */
+	public THIS withValue(CharSequence key, Object value) throws IOException;
+	
 	/**
 	 * Appends a key to the JSON object with a string literal value only if the provided
 	 * value is not null, and returns this object.
@@ -522,6 +672,90 @@ public interface JsonObject<THIS extends JsonObject<THIS>> extends Inscribable<J
 		return (THIS) this;
 	}
 	
+	/**
+	 * Appends a key to the JSON object with the name of an enum constant as a quoted
+	 * string value only if the provided value is not null, and returns this object.
+	 * 
+	 * <p>
+	 * The contents of the provided key will be double-quoted and escaped.
+	 * 
+	 * <p>
+	 * If the provided key or value is null, this method has no effect.
+	 * 
+	 * @param key the key to append
+	 * @param value the enum constant whose name to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #with(CharSequence, Enum)
+	 */
+	public default THIS withIfNotNull(final CharSequence key, final Enum<?> value) throws IOException {
+		if (value != null) return with(key, value);
+		return (THIS) this;
+	}
+	
+	/**
+	 * Appends a key to the JSON object with an instant as a quoted ISO-8601 string value
+	 * only if the provided value is not null, and returns this object.
+	 * 
+	 * <p>
+	 * The contents of the provided key will be double-quoted and escaped.
+	 * 
+	 * <p>
+	 * If the provided key or value is null, this method has no effect.
+	 * 
+	 * @param key the key to append
+	 * @param value the instant to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #with(CharSequence, Instant)
+	 */
+	public default THIS withIfNotNull(final CharSequence key, final Instant value) throws IOException {
+		if (value != null) return with(key, value);
+		return (THIS) this;
+	}
+	
+	/**
+	 * Appends a key to the JSON object with a date as a quoted ISO-8601 string value
+	 * only if the provided value is not null, and returns this object.
+	 * 
+	 * <p>
+	 * The contents of the provided key will be double-quoted and escaped.
+	 * 
+	 * <p>
+	 * If the provided key or value is null, this method has no effect.
+	 * 
+	 * @param key the key to append
+	 * @param value the date to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #with(CharSequence, LocalDate)
+	 */
+	public default THIS withIfNotNull(final CharSequence key, final LocalDate value) throws IOException {
+		if (value != null) return with(key, value);
+		return (THIS) this;
+	}
+	
+	/**
+	 * Appends a key to the JSON object with a date and time as a quoted ISO-8601 string value
+	 * only if the provided value is not null, and returns this object.
+	 * 
+	 * <p>
+	 * The contents of the provided key will be double-quoted and escaped.
+	 * 
+	 * <p>
+	 * If the provided key or value is null, this method has no effect.
+	 * 
+	 * @param key the key to append
+	 * @param value the date and time to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #with(CharSequence, OffsetDateTime)
+	 */
+	public default THIS withIfNotNull(final CharSequence key, final OffsetDateTime value) throws IOException {
+		if (value != null) return with(key, value);
+		return (THIS) this;
+	}
+	
 	/**
 	 * Appends a key to the JSON object with a numeric literal value only if the provided
 	 * value is not null, and returns this object.
@@ -785,6 +1019,538 @@ public interface JsonObject<THIS extends JsonObject<THIS>> extends Inscribable<J
 	 */
 	public THIS withEmptyArray(CharSequence key) throws IOException;
 	
+	/**
+	 * Appends a key to the JSON object with the provided JSON text as its value, unchanged,
+	 * and returns this object.
+	 * 
+	 * <p>
+	 * The provided text must be a single well-formed JSON value; it is not validated
+	 * unless it is a fragment created by
+	 * {@link net.dougvalenta.scriptorium.json.scribe.JsonFragment#validated(CharSequence)}.
+	 * A {@link net.dougvalenta.scriptorium.json.scribe.JsonFragment} is output in its
+	 * prepared form, without copying or encoding it again.
+	 * 
+	 * <p>
+	 * If the provided key is null, this method has no effect. If the provided text is
+	 * null, a {@code null} literal value will be appended instead.
+	 * 
+	 * @param key the key to append
+	 * @param json the JSON text to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @throws UnsupportedOperationException if the scribe cannot output raw JSON text,
+	 * in which case the key is not appended
+	 * @see #withNull(CharSequence)
+	 */
+	public THIS withRaw(CharSequence key, CharSequence json) throws IOException;
+	
+	/**
+	 * Appends a pre-escaped key to the JSON object with a {@code null} literal value and returns this
+	 * object.
+	 * 
+	 * <p>
+	 * If the provided key is null, this method has no effect.
+	 * 
+	 * @param key the key to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #withNull(CharSequence)
+	 */
+	public THIS withNull(JsonKeyName key) throws IOException;
+	
+	/**
+	 * Appends a pre-escaped key to the JSON object with a {@code true} literal value and returns this
+	 * object.
+	 * 
+	 * <p>
+	 * If the provided key is null, this method has no effect.
+	 * 
+	 * @param key the key to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #withTrue(CharSequence)
+	 */
+	public THIS withTrue(JsonKeyName key) throws IOException;
+	
+	/**
+	 * Appends a pre-escaped key to the JSON object with a {@code false} literal value and returns this
+	 * object.
+	 * 
+	 * <p>
+	 * If the provided key is null, this method has no effect.
+	 * 
+	 * @param key the key to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #withFalse(CharSequence)
+	 */
+	public THIS withFalse(JsonKeyName key) throws IOException;
+	
+	/**
+	 * Appends a pre-escaped key to the JSON object with a string literal value and returns this
+	 * object.
+	 * 
+	 * <p>
+	 * If the provided key is null, this method has no effect.
+	 * 
+	 * <p>
+	 * If the provided value is null, a {@code null} literal value will be appended.
+	 * 
+	 * @param key the key to append
+	 * @param value the value to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #with(CharSequence, CharSequence)
+	 */
+	public THIS with(JsonKeyName key, CharSequence value) throws IOException;
+	
+	/**
+	 * Appends a pre-escaped key to the JSON object with a single-character string literal value and returns this
+	 * object.
+	 * 
+	 * <p>
+	 * If the provided key is null, this method has no effect.
+	 * 
+	 * @param key the key to append
+	 * @param value the value to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #with(CharSequence, char)
+	 */
+	public THIS with(JsonKeyName key, char value) throws IOException;
+	
+	/**
+	 * Appends a pre-escaped key to the JSON object with a single-character string literal value and returns this
+	 * object.
+	 * 
+	 * <p>
+	 * If the provided key is null, this method has no effect.
+	 * 
+	 * <p>
+	 * If the provided value is null, a {@code null} literal value will be appended.
+	 * 
+	 * @param key the key to append
+	 * @param value the value to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #with(CharSequence, Character)
+	 */
+	public default THIS with(final JsonKeyName key, final Character value) throws IOException {
+		if (value == null) return withNull(key);
+		return with(key, (char) value);
+	}
+	
+	/**
+	 * Appends a pre-escaped key to the JSON object with the name of an enum constant as a
+	 * quoted string value and returns this object.
+	 * 
+	 * <p>
+	 * If the provided key is null, this method has no effect.
+	 * 
+	 * <p>
+	 * If the provided value is null, a {@code null} literal value will be appended.
+	 * 
+	 * @param key the key to append
+	 * @param value the enum constant whose name to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #with(CharSequence, Enum)
+	 */
+	public THIS with(JsonKeyName key, Enum<?> value) throws IOException;
+	
+	/**
+	 * Appends a pre-escaped key to the JSON object with an instant as a quoted ISO-8601
+	 * string value and returns this object.
+	 * 
+	 * <p>
+	 * If the provided key is null, this method has no effect.
+	 * 
+	 * <p>
+	 * If the provided value is null, a {@code null} literal value will be appended.
+	 * 
+	 * @param key the key to append
+	 * @param value the instant to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #with(CharSequence, Instant)
+	 */
+	public THIS with(JsonKeyName key, Instant value) throws IOException;
+	
+	/**
+	 * Appends a pre-escaped key to the JSON object with a date as a quoted ISO-8601
+	 * string value and returns this object.
+	 * 
+	 * <p>
+	 * If the provided key is null, this method has no effect.
+	 * 
+	 * <p>
+	 * If the provided value is null, a {@code null} literal value will be appended.
+	 * 
+	 * @param key the key to append
+	 * @param value the date to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #with(CharSequence, LocalDate)
+	 */
+	public THIS with(JsonKeyName key, LocalDate value) throws IOException;
+	
+	/**
+	 * Appends a pre-escaped key to the JSON object with a date and time as a quoted ISO-8601
+	 * string value and returns this object.
+	 * 
+	 * <p>
+	 * If the provided key is null, this method has no effect.
+	 * 
+	 * <p>
+	 * If the provided value is null, a {@code null} literal value will be appended.
+	 * 
+	 * @param key the key to append
+	 * @param value the date and time to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #with(CharSequence, OffsetDateTime)
+	 */
+	public THIS with(JsonKeyName key, OffsetDateTime value) throws IOException;
+	
+	/**
+	 * Appends a pre-escaped key to the JSON object with an instant as a numeric literal
+	 * value of milliseconds since the epoch and returns this object.
+	 * 
+	 * <p>
+	 * If the provided key is null, this method has no effect.
+	 * 
+	 * <p>
+	 * If the provided value is null, a {@code null} literal value will be appended.
+	 * 
+	 * @param key the key to append
+	 * @param value the instant to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @throws ArithmeticException if the instant is too far from the epoch to be
+	 * represented in milliseconds as a long
+	 * @see #withEpochMillis(CharSequence, Instant)
+	 */
+	public default THIS withEpochMillis(final JsonKeyName key, final Instant value) throws IOException {
+		if (value == null) return withNull(key);
+		return with(key, value.toEpochMilli());
+	}
+	
+	/**
+	 * Appends a pre-escaped key to the JSON object with a numeric literal value and returns this
+	 * object.
+	 * 
+	 * <p>
+	 * If the provided key is null, this method has no effect.
+	 * 
+	 * <p>
+	 * If the provided value is null, a {@code null} literal value will be appended.
+	 * 
+	 * @param key the key to append
+	 * @param value the value to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #with(CharSequence, BigInteger)
+	 */
+	public THIS with(JsonKeyName key, BigInteger value) throws IOException;
+	
+	/**
+	 * Appends a pre-escaped key to the JSON object with a numeric literal value and returns this
+	 * object.
+	 * 
+	 * <p>
+	 * If the provided key is null, this method has no effect.
+	 * 
+	 * <p>
+	 * If the provided value is null, a {@code null} literal value will be appended.
+	 * 
+	 * @param key the key to append
+	 * @param value the value to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #with(CharSequence, BigDecimal)
+	 */
+	public THIS with(JsonKeyName key, BigDecimal value) throws IOException;
+	
+	/**
+	 * Appends a pre-escaped key to the JSON object with a numeric literal value and returns this
+	 * object.
+	 * 
+	 * <p>
+	 * If the provided key is null, this method has no effect.
+	 * 
+	 * <p>
+	 * If the provided value is null, a {@code null} literal value will be appended.
+	 * 
+	 * @param key the key to append
+	 * @param value the value to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #with(CharSequence, Byte)
+	 */
+	public default THIS with(final JsonKeyName key, final Byte value) throws IOException {
+		if (value == null) return withNull(key);
+		return with(key, (int) value);
+	}
+	
+	/**
+	 * Appends a pre-escaped key to the JSON object with a numeric literal value and returns this
+	 * object.
+	 * 
+	 * <p>
+	 * If the provided key is null, this method has no effect.
+	 * 
+	 * <p>
+	 * If the provided value is null, a {@code null} literal value will be appended.
+	 * 
+	 * @param key the key to append
+	 * @param value the value to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #with(CharSequence, Short)
+	 */
+	public default THIS with(final JsonKeyName key, final Short value) throws IOException {
+		if (value == null) return withNull(key);
+		return with(key, (int) value);
+	}
+	
+	/**
+	 * Appends a pre-escaped key to the JSON object with a numeric literal value and returns this
+	 * object.
+	 * 
+	 * <p>
+	 * If the provided key is null, this method has no effect.
+	 * 
+	 * <p>
+	 * If the provided value is null, a {@code null} literal value will be appended.
+	 * 
+	 * @param key the key to append
+	 * @param value the value to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #with(CharSequence, Integer)
+	 */
+	public default THIS with(final JsonKeyName key, final Integer value) throws IOException {
+		if (value == null) return withNull(key);
+		return with(key, (int) value);
+	}
+	
+	/**
+	 * Appends a pre-escaped key to the JSON object with a numeric literal value and returns this
+	 * object.
+	 * 
+	 * <p>
+	 * If the provided key is null, this method has no effect.
+	 * 
+	 * <p>
+	 * If the provided value is null, a {@code null} literal value will be appended.
+	 * 
+	 * <p>
+	 * If the provided value is not finite, a {@code null} literal value will be appended.
+	 * 
+	 * @param key the key to append
+	 * @param value the value to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #with(CharSequence, Float)
+	 */
+	public default THIS with(final JsonKeyName key, final Float value) throws IOException {
+		if (value == null) return withNull(key);
+		return with(key, (float) value);
+	}
+	
+	/**
+	 * Appends a pre-escaped key to the JSON object with a numeric literal value and returns this
+	 * object.
+	 * 
+	 * <p>
+	 * If the provided key is null, this method has no effect.
+	 * 
+	 * <p>
+	 * If the provided value is null, a {@code null} literal value will be appended.
+	 * 
+	 * @param key the key to append
+	 * @param value the value to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #with(CharSequence, Long)
+	 */
+	public default THIS with(final JsonKeyName key, final Long value) throws IOException {
+		if (value == null) return withNull(key);
+		return with(key, (long) value);
+	}
+	
+	/**
+	 * Appends a pre-escaped key to the JSON object with a numeric literal value and returns this
+	 * object.
+	 * 
+	 * <p>
+	 * If the provided key is null, this method has no effect.
+	 * 
+	 * <p>
+	 * If the provided value is null, a {@code null} literal value will be appended.
+	 * 
+	 * <p>
+	 * If the provided value is not finite, a {@code null} literal value will be appended.
+	 * 
+	 * @param key the key to append
+	 * @param value the value to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #with(CharSequence, Double)
+	 */
+	public default THIS with(final JsonKeyName key, final Double value) throws IOException {
+		if (value == null) return withNull(key);
+		return with(key, (double) value);
+	}
+	
+	/**
+	 * Appends a pre-escaped key to the JSON object with a numeric literal value and returns this
+	 * object.
+	 * 
+	 * <p>
+	 * If the provided key is null, this method has no effect.
+	 * 
+	 * @param key the key to append
+	 * @param value the value to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #with(CharSequence, int)
+	 */
+	public THIS with(JsonKeyName key, int value) throws IOException;
+	
+	/**
+	 * Appends a pre-escaped key to the JSON object with a numeric literal value and returns this
+	 * object.
+	 * 
+	 * <p>
+	 * If the provided key is null, this method has no effect.
+	 * 
+	 * <p>
+	 * If the provided value is not finite, a {@code null} literal value will be appended.
+	 * 
+	 * @param key the key to append
+	 * @param value the value to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #with(CharSequence, float)
+	 */
+	public THIS with(JsonKeyName key, float value) throws IOException;
+	
+	/**
+	 * Appends a pre-escaped key to the JSON object with a numeric literal value and returns this
+	 * object.
+	 * 
+	 * <p>
+	 * If the provided key is null, this method has no effect.
+	 * 
+	 * @param key the key to append
+	 * @param value the value to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #with(CharSequence, long)
+	 */
+	public THIS with(JsonKeyName key, long value) throws IOException;
+	
+	/**
+	 * Appends a pre-escaped key to the JSON object with a numeric literal value and returns this
+	 * object.
+	 * 
+	 * <p>
+	 * If the provided key is null, this method has no effect.
+	 * 
+	 * <p>
+	 * If the provided value is not finite, a {@code null} literal value will be appended.
+	 * 
+	 * @param key the key to append
+	 * @param value the value to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #with(CharSequence, double)
+	 */
+	public THIS with(JsonKeyName key, double value) throws IOException;
+	
+	/**
+	 * Appends a pre-escaped key to the JSON object with a Boolean literal value and returns this
+	 * object.
+	 * 
+	 * <p>
+	 * If the provided key is null, this method has no effect.
+	 * 
+	 * <p>
+	 * If the provided value is null, a {@code null} literal value will be appended.
+	 * 
+	 * @param key the key to append
+	 * @param value the value to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #with(CharSequence, Boolean)
+	 */
+	public default THIS with(final JsonKeyName key, final Boolean value) throws IOException {
+		if (value == null) return withNull(key);
+		return with(key, (boolean) value);
+	}
+	
+	/**
+	 * Appends a pre-escaped key to the JSON object with a Boolean literal value and returns this
+	 * object.
+	 * 
+	 * <p>
+	 * If the provided key is null, this method has no effect.
+	 * 
+	 * @param key the key to append
+	 * @param value the value to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #with(CharSequence, boolean)
+	 */
+	public THIS with(JsonKeyName key, boolean value) throws IOException;
+	
+	/**
+	 * Appends a pre-escaped key to the JSON object with an empty object value and returns this
+	 * object.
+	 * 
+	 * <p>
+	 * If the provided key is null, this method has no effect.
+	 * 
+	 * @param key the key to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #withEmptyObject(CharSequence)
+	 */
+	public THIS withEmptyObject(JsonKeyName key) throws IOException;
+	
+	/**
+	 * Appends a pre-escaped key to the JSON object with an empty array value and returns this
+	 * object.
+	 * 
+	 * <p>
+	 * If the provided key is null, this method has no effect.
+	 * 
+	 * @param key the key to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see #withEmptyArray(CharSequence)
+	 */
+	public THIS withEmptyArray(JsonKeyName key) throws IOException;
+	
+	/**
+	 * Appends a pre-escaped key to the JSON object with the provided JSON text as its
+	 * value, unchanged, and returns this object.
+	 * 
+	 * <p>
+	 * If the provided key is null, this method has no effect. If the provided text is
+	 * null, a {@code null} literal value will be appended instead.
+	 * 
+	 * @param key the key to append
+	 * @param json the JSON text to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @throws UnsupportedOperationException if the scribe cannot output raw JSON text,
+	 * in which case the key is not appended
+	 * @see #withRaw(CharSequence, CharSequence)
+	 */
+	public THIS withRaw(JsonKeyName key, CharSequence json) throws IOException;
+	
 	/**
 	 * Begins a new key of this JSON object and returns a {@link JsonKey} object that
 	 * can be used to append characters to it and assign it a value.
@@ -14,13 +14,28 @@ import net.dougvalenta.scriptorium.json.scribe.JsonScribe;
  */
 public final class JsonValue<P> extends AbstractJsonAppendable<JsonValue<P>> implements FluentNode<P> {
 	
-	private final P parent;
+	private P parent;
 	
 	JsonValue(final JsonScribe scribe, final P parent) {
 		super(scribe);
 		this.parent = parent;
 	}
 	
+	JsonValue(final JsonScribe scribe, final P parent, final JsonNodePool pool) {
+		super(scribe, pool);
+		this.parent = parent;
+	}
+	
+	/**
+	 * Re-points this value at the value open at the provided cursor, then returns it.
+	 */
+	JsonValue<P> recycle(final P parent, final int cursor, final int epoch) {
+		this.parent = parent;
+		this.cursor = cursor;
+		this.epoch = epoch;
+		return this;
+	}
+	
 	@Override
 	public P then() throws IOException {
 		close();
@@ -29,7 +44,8 @@ public final class JsonValue<P> extends AbstractJsonAppendable<JsonValue<P>> imp
 	
 	@Override
 	public void close() throws IOException {
-		scribe.pop();
+		scribe().pop();
+		if (pool != null) pool.release(cursor);
 	}
 	
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json;
+
+import java.io.IOException;
+import net.dougvalenta.scriptorium.json.scribe.BufferedJsonAppender;
+import net.dougvalenta.scriptorium.json.scribe.JsonEscaper;
+import net.dougvalenta.scriptorium.json.scribe.SafeJsonScribe;
+
+/**
+ * A reusable source of JSON documents.
+ * 
+ * <p>
+ * Where {@link Json#object(Appendable)} and {@link Json#array(Appendable)} create a new
+ * escaper, appender, scribe, and document for every document, a writer creates them once,
+ * and resets them onto each new {@link Appendable}. Output is buffered as by
+ * {@link Json#object(Appendable, int)}, and appended when the document is closed.
+ * 
+ * <p>
+ * A document returned by a writer may only be used until the next call to 
+ * {@link #object(Appendable)} or {@link #array(Appendable)} on the same writer. Writers
+ * are not thread-safe; they are intended to be confined to a thread, for example by a 
+ * {@link ThreadLocal}, or to be borrowed from a pool.
+ * 
+ * @author Doug Valenta
+ */
+public final class JsonWriter {
+	
+	private final BufferedJsonAppender appender;
+	private final SafeJsonScribe scribe;
+	private JsonObjectDocument object;
+	private JsonArrayDocument array;
+	
+	/**
+	 * Creates a writer with a buffer of {@link BufferedJsonAppender#DEFAULT_BUFFER_SIZE}
+	 * characters.
+	 */
+	public JsonWriter() {
+		this(BufferedJsonAppender.DEFAULT_BUFFER_SIZE);
+	}
+	
+	/**
+	 * Creates a writer with a buffer of the provided size.
+	 * 
+	 * @param bufferSize the size, in characters, of the output buffer
+	 * @throws IllegalArgumentException if {@code bufferSize} is less than
+	 * {@link BufferedJsonAppender#MIN_BUFFER_SIZE}
+	 */
+	public JsonWriter(final int bufferSize) {
+		this.appender = new BufferedJsonAppender(null, new JsonEscaper(), bufferSize);
+		this.scribe = new SafeJsonScribe(appender);
+	}
+	
+	/**
+	 * Returns a {@link JsonObjectDocument} representing the top-level JSON object of 
+	 * a JSON document.
+	 * 
+	 * <p>
+	 * Any document previously returned by this writer is abandoned; output from it that
+	 * has not yet been appended is discarded.
+	 * 
+	 * @param appendable an {@link Appendable} to output the JSON document to
+	 * @return a {@link JsonObjectDocument} representing the top-level JSON object of a 
+	 * JSON document
+	 * @throws IOException if an I/O error occurs
+	 * @throws IllegalArgumentException if {@code appendable} is null
+	 */
+	public JsonObjectDocument object(final Appendable appendable) throws IOException {
+		if (appendable == null) throw new IllegalArgumentException("Missing appendable");
+		appender.reset(appendable);
+		scribe.reset().pushObject();
+		if (object == null) return object = new JsonObjectDocument(scribe, appender);
+		return object.reopen();
+	}
+	
+	/**
+	 * Returns a {@link JsonArrayDocument} representing the top-level JSON array of a 
+	 * JSON document fragment.
+	 * 
+	 * <p>
+	 * Any document previously returned by this writer is abandoned; output from it that
+	 * has not yet been appended is discarded.
+	 * 
+	 * @param appendable an {@link Appendable} to output the JSON document to
+	 * @return a {@link JsonArrayDocument} representing the top-level JSON array of a JSON 
+	 * document fragment
+	 * @throws IOException if an I/O error occurs
+	 * @throws IllegalArgumentException if {@code appendable} is null
+	 */
+	public JsonArrayDocument array(final Appendable appendable) throws IOException {
+		if (appendable == null) throw new IllegalArgumentException("Missing appendable");
+		appender.reset(appendable);
+		scribe.reset().pushArray();
+		if (array == null) return array = new JsonArrayDocument(scribe, appender);
+		return array.reopen();
+	}
+	
+}
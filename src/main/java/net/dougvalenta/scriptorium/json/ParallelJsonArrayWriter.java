@@ -0,0 +1,201 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+import java.util.ArrayDeque;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import net.dougvalenta.scriptorium.function.IOBiConsumer;
+import net.dougvalenta.scriptorium.json.scribe.JsonScribe;
+
+/**
+ * Writes the elements of a {@link Spliterator} to a JSON array in parallel.
+ *
+ * <p>
+ * The elements are split into chunks, and each chunk is rendered into its own buffer
+ * by a {@linkplain JsonScribe#copy(Appendable) copy} of the array's scribe on a
+ * {@link ForkJoinPool}, so that it is escaped and formatted as the rest of the
+ * document. The rendered chunks are then output in encounter order, by the calling
+ * thread, as raw values of the array. Chunks are split from the elements only as they
+ * are needed, and at most a few chunks per worker thread are rendered ahead of the
+ * chunk being output, so the memory used is bounded regardless of the number of
+ * elements, even when the number is not known in advance.
+ *
+ * @author Doug Valenta
+ */
+final class ParallelJsonArrayWriter<T> {
+	
+	/**
+	 * The number of elements below which chunks are not split further.
+	 */
+	static final int DEFAULT_CHUNK_SIZE = 1024;
+	
+	/**
+	 * The number of chunks rendered ahead of output, per worker thread.
+	 */
+	private static final int CHUNKS_PER_THREAD = 4;
+	
+	private final IOBiConsumer<? super T, ? super JsonArray<?>> writer;
+	private final ForkJoinPool pool;
+	private final long chunkSize;
+	
+	/**
+	 * @param writer the consumer which appends each element to a chunk, or null to
+	 * append each element with {@link JsonScribe#value(Object)}
+	 * @param pool the pool on which chunks are rendered
+	 * @param chunkSize the number of elements below which chunks are not split further
+	 */
+	ParallelJsonArrayWriter(final IOBiConsumer<? super T, ? super JsonArray<?>> writer, final ForkJoinPool pool, final long chunkSize) {
+		this.writer = writer;
+		this.pool = pool;
+		this.chunkSize = chunkSize;
+	}
+	
+	/**
+	 * Writes the provided elements as values of the array currently open in the provided
+	 * scribe, unless the scribe can't be copied.
+	 *
+	 * @param scribe the scribe of the array
+	 * @param elements the elements to write
+	 * @return true if the elements were written, or false, without any elements having
+	 * been consumed, if the scribe can't be copied
+	 * @throws IOException if an I/O error occurs
+	 */
+	boolean write(final JsonScribe scribe, final Spliterator<T> elements) throws IOException {
+		final Chunk first = new Chunk(scribe);
+		if (first.scribe == null) return false;
+		final ArrayDeque<Spliterator<T>> unsplit = new ArrayDeque<>();
+		unsplit.push(elements);
+		first.elements = split(unsplit);
+		if (unsplit.isEmpty()) {
+			output(scribe, first.render(first.elements));
+			return true;
+		}
+		final int window = Math.max(1, pool.getParallelism() * CHUNKS_PER_THREAD);
+		final ArrayDeque<Chunk> pending = new ArrayDeque<>(window);
+		pool.execute(first);
+		pending.add(first);
+		try {
+			while (!pending.isEmpty()) {
+				while (!unsplit.isEmpty() && pending.size() < window) {
+					final Chunk chunk = new Chunk(scribe);
+					chunk.elements = split(unsplit);
+					pool.execute(chunk);
+					pending.add(chunk);
+				}
+				output(scribe, join(pending.poll()));
+			}
+		} finally {
+			for (final Chunk chunk : pending) {
+				chunk.cancel(false);
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Removes and returns the next chunk of elements, no larger than the chunk size
+	 * where possible, from the provided stack of elements not yet split, whose top is
+	 * next in encounter order. Each split consumes only the prefix it returns, so
+	 * elements of unknown size are not read ahead of the chunks being rendered.
+	 */
+	private Spliterator<T> split(final ArrayDeque<Spliterator<T>> unsplit) {
+		Spliterator<T> chunk = unsplit.pop();
+		while (chunk.estimateSize() > chunkSize) {
+			final Spliterator<T> prefix = chunk.trySplit();
+			if (prefix == null) break;
+			unsplit.push(chunk);
+			chunk = prefix;
+		}
+		return chunk;
+	}
+	
+	/**
+	 * Outputs the values rendered by a chunk, skipping its opening bracket.
+	 */
+	private static void output(final JsonScribe scribe, final StringBuilder rendered) throws IOException {
+		if (rendered.length() > 1) scribe.rawValue(CharBuffer.wrap(rendered, 1, rendered.length()));
+	}
+	
+	private static StringBuilder join(final RecursiveTask<StringBuilder> chunk) throws IOException {
+		try {
+			return chunk.join();
+		} catch (final UncheckedIOException exception) {
+			throw exception.getCause();
+		}
+	}
+	
+	/**
+	 * Renders the elements of a chunk as comma-separated JSON values, after an opening
+	 * bracket.
+	 */
+	private final class Chunk extends RecursiveTask<StringBuilder> {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final StringBuilder builder = new StringBuilder();
+		
+		/**
+		 * The copy of the array's scribe which outputs to the builder, or null if the
+		 * array's scribe can't be copied.
+		 */
+		final JsonScribe scribe;
+		
+		/**
+		 * The elements to render; set before the chunk is executed.
+		 */
+		Spliterator<T> elements;
+		
+		Chunk(final JsonScribe parent) {
+			this.scribe = parent.copy(builder);
+		}
+		
+		@Override
+		protected StringBuilder compute() {
+			try {
+				return render(elements);
+			} catch (final IOException exception) {
+				throw new UncheckedIOException(exception);
+			}
+		}
+		
+		private InscribedJsonArray inscribed() {
+			final JsonNodePool pool = new JsonNodePool(scribe);
+			final int cursor = scribe.getCursor();
+			final InscribedJsonArray array = new InscribedJsonArray(scribe, pool, cursor);
+			array.recycle(cursor, pool.root(cursor));
+			return array;
+		}
+		
+		StringBuilder render(final Spliterator<T> elements) throws IOException {
+			scribe.pushArray();
+			final InscribedJsonArray array = writer == null ? null : inscribed();
+			try {
+				elements.forEachRemaining((element) -> {
+					try {
+						if (array == null) {
+							scribe.value(element);
+						} else {
+							writer.accept(element, array);
+							scribe.pop(array.cursor);
+						}
+					} catch (final IOException exception) {
+						throw new UncheckedIOException(exception);
+					}
+				});
+			} catch (final UncheckedIOException exception) {
+				throw exception.getCause();
+			}
+			// The array is never closed
+			return builder;
+		}
+		
+	}
+	
+}
@@ -0,0 +1,449 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.bind;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import net.dougvalenta.scriptorium.function.IOBiConsumer;
+import net.dougvalenta.scriptorium.json.JsonArray;
+import net.dougvalenta.scriptorium.json.JsonArrayNode;
+import net.dougvalenta.scriptorium.json.JsonObject;
+import net.dougvalenta.scriptorium.json.JsonObjectNode;
+import net.dougvalenta.scriptorium.json.scribe.JsonValueWriters;
+
+/**
+ * Writes the properties of instances of a class as the keys and values of a
+ * {@link JsonObject}.
+ *
+ * <p>
+ * A binding is built once per class, the first time it is requested, and cached for the
+ * life of the class. The properties of a class are, in order:
+ * <ul>
+ * <li>for a record class, its record components, in declaration order;</li>
+ * <li>otherwise, its public getters ({@code getX()}, or {@code isX()} returning
+ * {@code boolean}) and the public fields for which there is no getter, ordered as the
+ * fields with the same names are declared, superclass fields first, followed by any
+ * remaining getters in alphabetical order.</li>
+ * </ul>
+ * Static and transient fields, the getters of transient fields, and static methods are
+ * never properties.
+ *
+ * <p>
+ * Each property is read through a {@link MethodHandle}, with no reflection or boxing
+ * once the binding is built. Properties of primitive types, {@link CharSequence},
+ * {@link BigInteger}, and {@link BigDecimal} are written as JSON values; other
+ * properties are written as by {@link #writeValue(JsonObject, CharSequence, Object)}.
+ * The key of a property may be set with {@link JsonName}, and a property which is null
+ * may be omitted with {@link JsonOmitIfNull} or {@link JsonWritable#omitNulls()}.
+ *
+ * <p>
+ * A binding is an {@link IOBiConsumer}, so it may be passed to
+ * {@link JsonObject#with(java.lang.Object, net.dougvalenta.scriptorium.function.IOBiConsumer)}:
+ * <pre>{@code
+ * Json.object(writer).with(order, JsonBinding.bind(Order.class)).close();
+ * }</pre>
+ *
+ * <p>
+ * Bindings are immutable and thread-safe.
+ *
+ * @param <T> the bound class
+ * @author Doug Valenta
+ */
+public final class JsonBinding<T> implements IOBiConsumer<T, JsonObject<?>> {
+	
+	private static final ClassValue<JsonBinding<?>> BINDINGS = new ClassValue<JsonBinding<?>>() {
+		
+		@Override
+		protected JsonBinding<?> computeValue(final Class<?> type) {
+			return new JsonBinding<>(type);
+		}
+		
+	};
+	
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+	
+	/**
+	 * {@code Class.isRecord()}, or null before Java 16.
+	 */
+	private static final Method IS_RECORD = method(Class.class, "isRecord");
+	
+	/**
+	 * {@code Class.getRecordComponents()}, or null before Java 16.
+	 */
+	private static final Method GET_RECORD_COMPONENTS = method(Class.class, "getRecordComponents");
+	
+	private final Class<T> type;
+	
+	/**
+	 * The writer generated for the class by the annotation processor, or null.
+	 */
+	private final IOBiConsumer<Object, JsonObject<?>> writer;
+	
+	private final JsonProperty[] properties;
+	
+	private JsonBinding(final Class<T> type) {
+		if (!isBindable(type)) throw new IllegalArgumentException("Cannot bind " + type.getName());
+		this.type = type;
+		final JsonWritable writable = type.getAnnotation(JsonWritable.class);
+		this.writer = writable == null ? null : generatedWriter(type);
+		if (writer != null) {
+			this.properties = null;
+		} else {
+			final boolean omitNulls = writable != null && writable.omitNulls();
+			this.properties = isRecord(type) ? recordProperties(type, omitNulls) : beanProperties(type, omitNulls);
+		}
+	}
+	
+	/**
+	 * Returns the binding of the provided class, building it if necessary.
+	 *
+	 * @param <T> the class to bind
+	 * @param type the class to bind
+	 * @return the binding of the class
+	 * @throws IllegalArgumentException if {@code type} is null, or is a primitive type, an
+	 * array, iterable, map, or enum type, or a type written as a JSON value
+	 */
+	public static <T> JsonBinding<T> bind(final Class<T> type) {
+		if (type == null) throw new IllegalArgumentException("Missing type");
+		return (JsonBinding<T>) BINDINGS.get(type);
+	}
+	
+	/**
+	 * Writes the properties of the provided instance to the provided object, using the
+	 * binding of its runtime class.
+	 *
+	 * @param instance the instance to write
+	 * @param object the object to write the properties to
+	 * @throws IOException if an I/O error occurs, including within a getter
+	 * @throws IllegalArgumentException if {@code instance} or {@code object} is null, or
+	 * if the class of {@code instance} cannot be bound
+	 */
+	public static void write(final Object instance, final JsonObject<?> object) throws IOException {
+		if (instance == null) throw new IllegalArgumentException("Missing instance");
+		if (object == null) throw new IllegalArgumentException("Missing object");
+		bind(instance.getClass()).writeProperties(instance, object);
+	}
+	
+	/**
+	 * Returns the bound class.
+	 *
+	 * @return the bound class
+	 */
+	public Class<T> getType() {
+		return type;
+	}
+	
+	/**
+	 * Writes the properties of the provided instance to the provided object.
+	 *
+	 * @param instance the instance to write
+	 * @param object the object to write the properties to
+	 * @throws IOException if an I/O error occurs, including within a getter
+	 */
+	@Override
+	public void accept(final T instance, final JsonObject<?> object) throws IOException {
+		writeProperties(instance, object);
+	}
+	
+	void writeProperties(final Object instance, final JsonObject<?> object) throws IOException {
+		if (writer != null) {
+			writer.accept(instance, object);
+			return;
+		}
+		for (final JsonProperty property : properties) {
+			property.write(instance, object);
+		}
+	}
+	
+	/**
+	 * Writes the provided value with the provided key, as a property of a type not known
+	 * until it is read.
+	 * 
+	 * <p>
+	 * Null and empty {@link Optional}s are written as {@code null}; present optionals as
+	 * their values; maps as JSON objects, with keys converted by
+	 * {@link String#valueOf(Object)}; iterables other than {@link Path}s, and arrays of
+	 * objects, as JSON arrays; and optional values, entry values, and elements as by this
+	 * method. Values of the other
+	 * types supported by {@link JsonValueWriters}, such as enum constants,
+	 * {@code java.time} values, {@link java.util.UUID}s, and paths, are written as by
+	 * {@link net.dougvalenta.scriptorium.json.scribe.JsonScribe#value(Object)}; any other
+	 * value is written as a JSON object, by the binding of its runtime class.
+	 * 
+	 * @param object the object to write the property to
+	 * @param key the key of the property
+	 * @param value the value of the property
+	 * @throws IOException if an I/O error occurs, including within a getter
+	 * @throws IllegalArgumentException if the class of a value cannot be bound
+	 */
+	public static void writeValue(final JsonObject<?> object, final CharSequence key, final Object value) throws IOException {
+		if (value == null) object.withNull(key);
+		else if (value instanceof Optional) writeValue(object, key, ((Optional<?>) value).orElse(null));
+		else if (value instanceof Map) {
+			final JsonObjectNode<?> node = object.key(key).object();
+			writeEntries(node, (Map<?, ?>) value);
+			node.then();
+		} else if (value instanceof Iterable && !(value instanceof Path)) {
+			final JsonArrayNode<?> node = object.key(key).array();
+			writeElements(node, (Iterable<?>) value);
+			node.then();
+		} else if (value instanceof Object[]) {
+			final JsonArrayNode<?> node = object.key(key).array();
+			writeArray(node, (Object[]) value);
+			node.then();
+		} else if (JsonValueWriters.isSupported(value.getClass())) {
+			object.withValue(key, value);
+		} else {
+			final JsonObjectNode<?> node = object.key(key).object();
+			bind(value.getClass()).writeProperties(value, node);
+			node.then();
+		}
+	}
+	
+	/**
+	 * Appends the provided value to the provided array, as an element of a type not
+	 * known until it is read, as by {@link #writeValue(JsonObject, CharSequence, Object)}.
+	 * 
+	 * @param array the array to append the element to
+	 * @param value the element
+	 * @throws IOException if an I/O error occurs, including within a getter
+	 * @throws IllegalArgumentException if the class of a value cannot be bound
+	 */
+	public static void writeElement(final JsonArray<?> array, final Object value) throws IOException {
+		if (value == null) array.withNull();
+		else if (value instanceof Optional) writeElement(array, ((Optional<?>) value).orElse(null));
+		else if (value instanceof Map) {
+			final JsonObjectNode<?> node = array.object();
+			writeEntries(node, (Map<?, ?>) value);
+			node.then();
+		} else if (value instanceof Iterable && !(value instanceof Path)) {
+			final JsonArrayNode<?> node = array.array();
+			writeElements(node, (Iterable<?>) value);
+			node.then();
+		} else if (value instanceof Object[]) {
+			final JsonArrayNode<?> node = array.array();
+			writeArray(node, (Object[]) value);
+			node.then();
+		} else if (JsonValueWriters.isSupported(value.getClass())) {
+			array.withValue(value);
+		} else {
+			final JsonObjectNode<?> node = array.object();
+			bind(value.getClass()).writeProperties(value, node);
+			node.then();
+		}
+	}
+	
+	private static void writeEntries(final JsonObject<?> object, final Map<?, ?> map) throws IOException {
+		for (final Map.Entry<?, ?> entry : map.entrySet()) {
+			writeValue(object, String.valueOf(entry.getKey()), entry.getValue());
+		}
+	}
+	
+	private static void writeElements(final JsonArray<?> array, final Iterable<?> elements) throws IOException {
+		for (final Object element : elements) {
+			writeElement(array, element);
+		}
+	}
+	
+	private static void writeArray(final JsonArray<?> array, final Object[] elements) throws IOException {
+		for (final Object element : elements) {
+			writeElement(array, element);
+		}
+	}
+	
+	/**
+	 * Returns the instance of the writer generated for the provided class by the
+	 * annotation processor, or null if none was generated.
+	 */
+	@SuppressWarnings("unchecked")
+	private static IOBiConsumer<Object, JsonObject<?>> generatedWriter(final Class<?> type) {
+		final String name = type.getName();
+		final int packageEnd = name.lastIndexOf('.') + 1;
+		final String writerName = name.substring(0, packageEnd) + name.substring(packageEnd).replace('$', '_') + "JsonWriter";
+		try {
+			final Class<?> writerClass = Class.forName(writerName, true, type.getClassLoader());
+			return (IOBiConsumer<Object, JsonObject<?>>) writerClass.getField("INSTANCE").get(null);
+		} catch (final ClassNotFoundException exception) {
+			return null;
+		} catch (final ReflectiveOperationException exception) {
+			throw new IllegalArgumentException("Cannot bind " + type.getName(), exception);
+		}
+	}
+	
+	private static boolean isBindable(final Class<?> type) {
+		return !type.isPrimitive()
+				&& !type.isArray()
+				&& !Iterable.class.isAssignableFrom(type)
+				&& !Map.class.isAssignableFrom(type)
+				&& !Number.class.isAssignableFrom(type)
+				&& !JsonValueWriters.isSupported(type)
+				&& type != Class.class;
+	}
+	
+	private static Method method(final Class<?> type, final String name) {
+		try {
+			return type.getMethod(name);
+		} catch (final NoSuchMethodException exception) {
+			return null;
+		}
+	}
+	
+	private static boolean isRecord(final Class<?> type) {
+		if (IS_RECORD == null) return false;
+		try {
+			return (Boolean) IS_RECORD.invoke(type);
+		} catch (final ReflectiveOperationException exception) {
+			throw new IllegalStateException(exception);
+		}
+	}
+	
+	private static JsonProperty[] recordProperties(final Class<?> type, final boolean omitNulls) {
+		try {
+			final Object[] components = (Object[]) GET_RECORD_COMPONENTS.invoke(type);
+			final JsonProperty[] properties = new JsonProperty[components.length];
+			for (int i = 0; i < components.length; i++) {
+				final Class<?> componentClass = components[i].getClass();
+				final String name = (String) componentClass.getMethod("getName").invoke(components[i]);
+				final Method accessor = (Method) componentClass.getMethod("getAccessor").invoke(components[i]);
+				properties[i] = property(name, accessor.getReturnType(), unreflect(accessor), omitNulls, accessor, type.getDeclaredField(name));
+			}
+			return properties;
+		} catch (final ReflectiveOperationException exception) {
+			throw new IllegalArgumentException("Cannot bind " + type.getName(), exception);
+		}
+	}
+	
+	private static JsonProperty[] beanProperties(final Class<?> type, final boolean omitNulls) {
+		final Map<String, Method> getters = new TreeMap<>();
+		for (final Method method : type.getMethods()) {
+			if (Modifier.isStatic(method.getModifiers())
+					|| method.isBridge()
+					|| method.getParameterCount() != 0
+					|| method.getDeclaringClass() == Object.class) continue;
+			final String name = propertyName(method);
+			if (name != null) getters.put(name, method);
+		}
+		final Map<String, Field> fields = new LinkedHashMap<>();
+		for (final Class<?> declaring : hierarchy(type)) {
+			for (final Field field : declaring.getDeclaredFields()) {
+				final int modifiers = field.getModifiers();
+				if (Modifier.isStatic(modifiers) || field.isSynthetic()) continue;
+				if (Modifier.isTransient(modifiers)) getters.remove(field.getName());
+				else fields.putIfAbsent(field.getName(), field);
+			}
+		}
+		final List<JsonProperty> properties = new ArrayList<>();
+		final Map<String, Boolean> written = new HashMap<>();
+		try {
+			for (final Field field : fields.values()) {
+				final String name = field.getName();
+				final Method getter = getters.get(name);
+				if (getter != null) {
+					properties.add(property(name, getter.getReturnType(), unreflect(getter), omitNulls, getter, field));
+				} else if (Modifier.isPublic(field.getModifiers())) {
+					properties.add(property(name, field.getType(), unreflect(field), omitNulls, field));
+				} else {
+					continue;
+				}
+				written.put(name, Boolean.TRUE);
+			}
+			for (final Map.Entry<String, Method> getter : getters.entrySet()) {
+				if (written.containsKey(getter.getKey())) continue;
+				final Method method = getter.getValue();
+				properties.add(property(getter.getKey(), method.getReturnType(), unreflect(method), omitNulls, method));
+			}
+		} catch (final IllegalAccessException exception) {
+			throw new IllegalArgumentException("Cannot bind " + type.getName(), exception);
+		}
+		return properties.toArray(new JsonProperty[properties.size()]);
+	}
+	
+	/**
+	 * Returns a property with the provided name and getter, renamed or omitted if null
+	 * according to the annotations of the provided field or getter.
+	 */
+	private static JsonProperty property(final String name, final Class<?> type, final MethodHandle getter, final boolean omitNulls, final AnnotatedElement... annotated) {
+		String key = name;
+		boolean omitIfNull = omitNulls;
+		for (final AnnotatedElement element : annotated) {
+			final JsonName rename = element.getAnnotation(JsonName.class);
+			if (rename != null) key = rename.value();
+			if (element.isAnnotationPresent(JsonOmitIfNull.class)) omitIfNull = true;
+		}
+		return JsonProperty.of(key, type, getter, omitIfNull);
+	}
+	
+	/**
+	 * Returns the provided class and its superclasses, excluding {@link Object}, with the
+	 * most distant superclass first.
+	 */
+	private static List<Class<?>> hierarchy(final Class<?> type) {
+		final List<Class<?>> hierarchy = new ArrayList<>();
+		for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+			hierarchy.add(0, current);
+		}
+		return hierarchy;
+	}
+	
+	/**
+	 * Returns the name of the property read by the provided getter, or null if it is not
+	 * a getter.
+	 */
+	private static String propertyName(final Method method) {
+		final String name = method.getName();
+		final Class<?> returnType = method.getReturnType();
+		if (returnType == void.class) return null;
+		if (name.startsWith("get") && name.length() > 3) return decapitalize(name.substring(3));
+		if (name.startsWith("is") && name.length() > 2 && returnType == boolean.class) return decapitalize(name.substring(2));
+		return null;
+	}
+	
+	/**
+	 * Lowercases the first character of the provided name, unless its first two
+	 * characters are both uppercase, as by {@code java.beans.Introspector}.
+	 */
+	private static String decapitalize(final String name) {
+		if (name.length() > 1 && Character.isUpperCase(name.charAt(0)) && Character.isUpperCase(name.charAt(1))) return name;
+		return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+	}
+	
+	private static MethodHandle unreflect(final Method method) throws IllegalAccessException {
+		trySetAccessible(method);
+		return LOOKUP.unreflect(method);
+	}
+	
+	private static MethodHandle unreflect(final Field field) throws IllegalAccessException {
+		trySetAccessible(field);
+		return LOOKUP.unreflectGetter(field);
+	}
+	
+	/**
+	 * Allows public members of non-public classes to be read.
+	 */
+	private static void trySetAccessible(final AccessibleObject member) {
+		try {
+			member.setAccessible(true);
+		} catch (final RuntimeException exception) {
+			// Fall back to the access of this class
+		}
+	}
+	
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.bind;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Sets the key of a property, in place of the name of its field or getter.
+ * 
+ * <p>
+ * The annotation may be placed on either the field or the getter of a property.
+ * 
+ * @author Doug Valenta
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface JsonName {
+	
+	/**
+	 * The unquoted and unescaped key of the property.
+	 * 
+	 * @return the key of the property
+	 */
+	String value();
+	
+}
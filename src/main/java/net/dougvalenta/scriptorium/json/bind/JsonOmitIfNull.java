@@ -0,0 +1,29 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.bind;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Omits a property when its value is null, as by
+ * {@link net.dougvalenta.scriptorium.json.JsonObject#withIfNotNull(java.lang.CharSequence, java.lang.CharSequence)},
+ * rather than writing it as {@code null}.
+ * 
+ * <p>
+ * The annotation may be placed on either the field or the getter of a property. It has
+ * no effect on properties of primitive types.
+ * 
+ * @author Doug Valenta
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface JsonOmitIfNull {
+	
+}
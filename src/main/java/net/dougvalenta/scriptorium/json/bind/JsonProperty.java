@@ -0,0 +1,258 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.bind;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.UndeclaredThrowableException;
+import net.dougvalenta.scriptorium.json.JsonObject;
+import net.dougvalenta.scriptorium.json.scribe.JsonFragment;
+import net.dougvalenta.scriptorium.json.scribe.JsonKeyName;
+
+/**
+ * A single property of a bound class, which reads its value from an instance and writes
+ * it to a {@link JsonObject}.
+ *
+ * <p>
+ * Each property holds a {@link MethodHandle} adapted to take an {@link Object} and
+ * return the exact type written, so that no boxing or reflection occurs when a property
+ * of a primitive type is written.
+ *
+ * @author Doug Valenta
+ */
+abstract class JsonProperty {
+	
+	final JsonKeyName name;
+	
+	/**
+	 * Whether the property is omitted, rather than written as {@code null}, when its
+	 * value is null.
+	 */
+	final boolean omitIfNull;
+	
+	JsonProperty(final JsonKeyName name, final boolean omitIfNull) {
+		this.name = name;
+		this.omitIfNull = omitIfNull;
+	}
+	
+	/**
+	 * Writes this property of the provided instance to the provided object.
+	 */
+	abstract void write(Object instance, JsonObject<?> object) throws IOException;
+	
+	/**
+	 * Returns a property which reads its value with the provided getter, which takes
+	 * an instance of the bound class and returns a value of the provided type.
+	 */
+	static JsonProperty of(final String name, final Class<?> type, final MethodHandle getter, final boolean omitIfNull) {
+		final JsonKeyName key = JsonKeyName.of(name);
+		if (type == int.class || type == short.class || type == byte.class) return new IntProperty(key, omitIfNull, adapt(getter, int.class));
+		if (type == long.class) return new LongProperty(key, omitIfNull, adapt(getter, long.class));
+		if (type == float.class) return new FloatProperty(key, omitIfNull, adapt(getter, float.class));
+		if (type == double.class) return new DoubleProperty(key, omitIfNull, adapt(getter, double.class));
+		if (type == boolean.class) return new BooleanProperty(key, omitIfNull, adapt(getter, boolean.class));
+		if (type == char.class) return new CharProperty(key, omitIfNull, adapt(getter, char.class));
+		// A property which may hold a JsonFragment is written raw, as by writeValue
+		if (CharSequence.class.isAssignableFrom(type) && !type.isAssignableFrom(JsonFragment.class)) return new CharSequenceProperty(key, omitIfNull, adapt(getter, CharSequence.class));
+		return new ObjectProperty(key, omitIfNull, adapt(getter, Object.class));
+	}
+	
+	private static MethodHandle adapt(final MethodHandle getter, final Class<?> type) {
+		return getter.asType(MethodType.methodType(type, Object.class));
+	}
+	
+	/**
+	 * Rethrows an exception thrown by a getter, wrapping it if it is a checked exception
+	 * other than {@link IOException}.
+	 */
+	static IOException rethrow(final Throwable throwable) throws IOException {
+		if (throwable instanceof IOException) throw (IOException) throwable;
+		if (throwable instanceof RuntimeException) throw (RuntimeException) throwable;
+		if (throwable instanceof Error) throw (Error) throwable;
+		throw new UndeclaredThrowableException(throwable);
+	}
+	
+	private static final class IntProperty extends JsonProperty {
+		
+		private final MethodHandle getter;
+		
+		IntProperty(final JsonKeyName name, final boolean omitIfNull, final MethodHandle getter) {
+			super(name, omitIfNull);
+			this.getter = getter;
+		}
+		
+		@Override
+		void write(final Object instance, final JsonObject<?> object) throws IOException {
+			final int value;
+			try {
+				value = (int) getter.invokeExact(instance);
+			} catch (final Throwable throwable) {
+				throw rethrow(throwable);
+			}
+			object.with(name, value);
+		}
+		
+	}
+	
+	private static final class LongProperty extends JsonProperty {
+		
+		private final MethodHandle getter;
+		
+		LongProperty(final JsonKeyName name, final boolean omitIfNull, final MethodHandle getter) {
+			super(name, omitIfNull);
+			this.getter = getter;
+		}
+		
+		@Override
+		void write(final Object instance, final JsonObject<?> object) throws IOException {
+			final long value;
+			try {
+				value = (long) getter.invokeExact(instance);
+			} catch (final Throwable throwable) {
+				throw rethrow(throwable);
+			}
+			object.with(name, value);
+		}
+		
+	}
+	
+	private static final class FloatProperty extends JsonProperty {
+		
+		private final MethodHandle getter;
+		
+		FloatProperty(final JsonKeyName name, final boolean omitIfNull, final MethodHandle getter) {
+			super(name, omitIfNull);
+			this.getter = getter;
+		}
+		
+		@Override
+		void write(final Object instance, final JsonObject<?> object) throws IOException {
+			final float value;
+			try {
+				value = (float) getter.invokeExact(instance);
+			} catch (final Throwable throwable) {
+				throw rethrow(throwable);
+			}
+			object.with(name, value);
+		}
+		
+	}
+	
+	private static final class DoubleProperty extends JsonProperty {
+		
+		private final MethodHandle getter;
+		
+		DoubleProperty(final JsonKeyName name, final boolean omitIfNull, final MethodHandle getter) {
+			super(name, omitIfNull);
+			this.getter = getter;
+		}
+		
+		@Override
+		void write(final Object instance, final JsonObject<?> object) throws IOException {
+			final double value;
+			try {
+				value = (double) getter.invokeExact(instance);
+			} catch (final Throwable throwable) {
+				throw rethrow(throwable);
+			}
+			object.with(name, value);
+		}
+		
+	}
+	
+	private static final class BooleanProperty extends JsonProperty {
+		
+		private final MethodHandle getter;
+		
+		BooleanProperty(final JsonKeyName name, final boolean omitIfNull, final MethodHandle getter) {
+			super(name, omitIfNull);
+			this.getter = getter;
+		}
+		
+		@Override
+		void write(final Object instance, final JsonObject<?> object) throws IOException {
+			final boolean value;
+			try {
+				value = (boolean) getter.invokeExact(instance);
+			} catch (final Throwable throwable) {
+				throw rethrow(throwable);
+			}
+			object.with(name, value);
+		}
+		
+	}
+	
+	private static final class CharProperty extends JsonProperty {
+		
+		private final MethodHandle getter;
+		
+		CharProperty(final JsonKeyName name, final boolean omitIfNull, final MethodHandle getter) {
+			super(name, omitIfNull);
+			this.getter = getter;
+		}
+		
+		@Override
+		void write(final Object instance, final JsonObject<?> object) throws IOException {
+			final char value;
+			try {
+				value = (char) getter.invokeExact(instance);
+			} catch (final Throwable throwable) {
+				throw rethrow(throwable);
+			}
+			object.with(name, value);
+		}
+		
+	}
+	
+	private static final class CharSequenceProperty extends JsonProperty {
+		
+		private final MethodHandle getter;
+		
+		CharSequenceProperty(final JsonKeyName name, final boolean omitIfNull, final MethodHandle getter) {
+			super(name, omitIfNull);
+			this.getter = getter;
+		}
+		
+		@Override
+		void write(final Object instance, final JsonObject<?> object) throws IOException {
+			final CharSequence value;
+			try {
+				value = (CharSequence) getter.invokeExact(instance);
+			} catch (final Throwable throwable) {
+				throw rethrow(throwable);
+			}
+			if (value == null) {
+				if (!omitIfNull) object.withNull(name);
+			} else {
+				object.with(name, value);
+			}
+		}
+		
+	}
+	
+	private static final class ObjectProperty extends JsonProperty {
+		
+		private final MethodHandle getter;
+		
+		ObjectProperty(final JsonKeyName name, final boolean omitIfNull, final MethodHandle getter) {
+			super(name, omitIfNull);
+			this.getter = getter;
+		}
+		
+		@Override
+		void write(final Object instance, final JsonObject<?> object) throws IOException {
+			final Object value;
+			try {
+				value = (Object) getter.invokeExact(instance);
+			} catch (final Throwable throwable) {
+				throw rethrow(throwable);
+			}
+			if (value != null || !omitIfNull) JsonBinding.writeValue(object, name, value);
+		}
+		
+	}
+	
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.bind;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class for which the {@code scriptorium-json-processor} annotation processor
+ * generates a writer at compile time.
+ * 
+ * <p>
+ * For a class {@code Foo}, the processor generates {@code FooJsonWriter} in the same
+ * package (for a nested class {@code Outer.Foo}, {@code Outer_FooJsonWriter}), which
+ * writes the same properties as {@link JsonBinding} would, with no reflection.
+ * {@link JsonBinding#bind(Class)} uses the generated writer when it is present.
+ * 
+ * @author Doug Valenta
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface JsonWritable {
+	
+	/**
+	 * Whether every property with a null value is omitted, rather than written as
+	 * {@code null}, as if annotated with {@link JsonOmitIfNull}.
+	 * 
+	 * @return true if null properties are omitted
+	 */
+	boolean omitNulls() default false;
+	
+}
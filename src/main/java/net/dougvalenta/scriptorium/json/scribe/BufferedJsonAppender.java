@@ -0,0 +1,530 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.scribe;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import net.dougvalenta.scriptorium.Escaper;
+
+/**
+ * A {@link JsonAppender} which collects its output in a fixed-size character buffer,
+ * and appends the buffer to an {@link Appendable} in a single call whenever it fills.
+ *
+ * <p>
+ * The cost of output is thereby independent of the cost of each call to the underlying
+ * {@link Appendable}, which matters for synchronized or unbuffered appendables such as
+ * {@link StringBuffer}, {@link java.io.PrintWriter}, or an unbuffered {@link Writer}.
+ *
+ * <p>
+ * Output is not appended until the buffer fills or {@link #flush()} is called.
+ *
+ * @author Doug Valenta
+ */
+public class BufferedJsonAppender extends JsonAppender implements Flushable {
+	
+	/**
+	 * The size, in characters, of the buffer used when none is specified.
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 4096;
+	
+	/**
+	 * The smallest permitted buffer size, in characters.
+	 */
+	public static final int MIN_BUFFER_SIZE = 32;
+	
+	private static final char COMMA = ',';
+	private static final char OPEN_BRACE = '{';
+	private static final char CLOSE_BRACE = '}';
+	private static final char OPEN_BRACKET = '[';
+	private static final char CLOSE_BRACKET = ']';
+	private static final char QUOTE = '"';
+	private static final String CLOSE_KEY = "\":";
+	private static final String NULL = "null";
+	private static final String TRUE = "true";
+	private static final String FALSE = "false";
+	private static final String EMPTY_OBJECT = "{}";
+	private static final String EMPTY_ARRAY = "[]";
+	
+	private static final int MAX_NUMBER_LENGTH = Math.max(NumberFormatter.MAX_INTEGER_LENGTH, FloatingPointFormatter.MAX_LENGTH);
+	
+	/**
+	 * The number of characters first copied into the buffer and scanned for characters
+	 * to escape; the number doubles with each scan which finds none.
+	 */
+	private static final int MIN_SCAN_LENGTH = 16;
+	
+	private final Sink sink;
+	private final JsonEscaper jsonEscaper;
+	private final boolean preEscaped;
+	private final boolean scannable;
+	
+	public BufferedJsonAppender(final Appendable appendable, final Escaper escaper) {
+		this(appendable, escaper, DEFAULT_BUFFER_SIZE);
+	}
+	
+	/**
+	 * @param appendable the appendable to append output to
+	 * @param escaper the escaper used to escape the contents of keys and strings
+	 * @param bufferSize the size, in characters, of the output buffer
+	 * @throws IllegalArgumentException if {@code bufferSize} is less than
+	 * {@link #MIN_BUFFER_SIZE}
+	 */
+	public BufferedJsonAppender(final Appendable appendable, final Escaper escaper, final int bufferSize) {
+		this(new Sink(appendable, bufferSize), escaper);
+	}
+	
+	private BufferedJsonAppender(final Sink sink, final Escaper escaper) {
+		super(sink, escaper);
+		this.sink = sink;
+		this.jsonEscaper = JsonEscaper.runEscaper(escaper);
+		this.preEscaped = JsonKeyName.isPreEscaped(escaper);
+		this.scannable = JsonEscaper.isScannable(escaper);
+	}
+	
+	/**
+	 * Discards any buffered output, and directs further output to the provided
+	 * {@link Appendable}, then returns this object.
+	 * 
+	 * <p>
+	 * The buffer is kept, so an appender may be reused for many documents without
+	 * allocating.
+	 * 
+	 * @param appendable the appendable to append further output to
+	 * @return this object
+	 */
+	public BufferedJsonAppender reset(final Appendable appendable) {
+		sink.reset(appendable);
+		return this;
+	}
+	
+	/**
+	 * Appends any buffered output to the underlying {@link Appendable}, then flushes it
+	 * if it is {@link Flushable}.
+	 * 
+	 * @throws IOException if an I/O error occurs
+	 */
+	@Override
+	public void flush() throws IOException {
+		sink.drain();
+		if (sink.appendable instanceof Flushable) ((Flushable) sink.appendable).flush();
+	}
+	
+	@Override
+	public BufferedJsonAppender appendComma() throws IOException {
+		sink.append(COMMA);
+		return this;
+	}
+	
+	@Override
+	public BufferedJsonAppender appendOpenBrace() throws IOException {
+		sink.append(OPEN_BRACE);
+		return this;
+	}
+	
+	@Override
+	public BufferedJsonAppender appendCloseBrace() throws IOException {
+		sink.append(CLOSE_BRACE);
+		return this;
+	}
+	
+	@Override
+	public BufferedJsonAppender appendOpenBracket() throws IOException {
+		sink.append(OPEN_BRACKET);
+		return this;
+	}
+	
+	@Override
+	public BufferedJsonAppender appendCloseBracket() throws IOException {
+		sink.append(CLOSE_BRACKET);
+		return this;
+	}
+	
+	@Override
+	public BufferedJsonAppender appendEmptyObject() throws IOException {
+		sink.write(EMPTY_OBJECT);
+		return this;
+	}
+	
+	@Override
+	public BufferedJsonAppender appendEmptyArray() throws IOException {
+		sink.write(EMPTY_ARRAY);
+		return this;
+	}
+	
+	@Override
+	public BufferedJsonAppender appendQuote() throws IOException {
+		sink.append(QUOTE);
+		return this;
+	}
+	
+	@Override
+	public BufferedJsonAppender appendCloseKey() throws IOException {
+		sink.write(CLOSE_KEY);
+		return this;
+	}
+	
+	@Override
+	public BufferedJsonAppender appendKeyName(final JsonKeyName name) throws IOException {
+		if (preEscaped) {
+			sink.write(name.chars, name.string);
+		} else {
+			super.appendKeyName(name);
+		}
+		return this;
+	}
+	
+	@Override
+	public BufferedJsonAppender appendEnumName(final JsonEnumName name) throws IOException {
+		if (preEscaped) {
+			sink.write(name.quoted.chars, name.quoted.string);
+		} else {
+			super.appendEnumName(name);
+		}
+		return this;
+	}
+	
+	@Override
+	public BufferedJsonAppender appendRaw(final CharSequence json) throws IOException {
+		sink.append(json);
+		return this;
+	}
+	
+	@Override
+	public BufferedJsonAppender appendRaw(final JsonFragment fragment) throws IOException {
+		sink.write(fragment.chars, fragment.string);
+		return this;
+	}
+	
+	@Override
+	public BufferedJsonAppender appendNull() throws IOException {
+		sink.write(NULL);
+		return this;
+	}
+	
+	@Override
+	public BufferedJsonAppender appendTrue() throws IOException {
+		sink.write(TRUE);
+		return this;
+	}
+	
+	@Override
+	public BufferedJsonAppender appendFalse() throws IOException {
+		sink.write(FALSE);
+		return this;
+	}
+	
+	@Override
+	public BufferedJsonAppender appendBoolean(final boolean value) throws IOException {
+		sink.write(value ? TRUE : FALSE);
+		return this;
+	}
+	
+	@Override
+	public BufferedJsonAppender appendNumber(final int value) throws IOException {
+		sink.reserve(MAX_NUMBER_LENGTH);
+		sink.position = NumberFormatter.formatInt(value, sink.buffer, sink.position);
+		return this;
+	}
+	
+	@Override
+	public BufferedJsonAppender appendNumber(final float value) throws IOException {
+		sink.reserve(MAX_NUMBER_LENGTH);
+		sink.position = FloatingPointFormatter.formatFloat(value, sink.buffer, sink.position);
+		return this;
+	}
+	
+	@Override
+	public BufferedJsonAppender appendNumber(final long value) throws IOException {
+		sink.reserve(MAX_NUMBER_LENGTH);
+		sink.position = NumberFormatter.formatLong(value, sink.buffer, sink.position);
+		return this;
+	}
+	
+	@Override
+	public BufferedJsonAppender appendNumber(final double value) throws IOException {
+		sink.reserve(MAX_NUMBER_LENGTH);
+		sink.position = FloatingPointFormatter.formatDouble(value, sink.buffer, sink.position);
+		return this;
+	}
+	
+	@Override
+	public BufferedJsonAppender appendTime(final Instant value) throws IOException {
+		if (sink.buffer.length >= TimeFormatter.MAX_LENGTH) {
+			sink.reserve(TimeFormatter.MAX_LENGTH);
+			final int end = TimeFormatter.formatInstant(value, sink.buffer, sink.position);
+			if (end >= 0) {
+				sink.position = end;
+				return this;
+			}
+		}
+		return appendQuote().appendRaw(value.toString()).appendQuote();
+	}
+	
+	@Override
+	public BufferedJsonAppender appendTime(final LocalDate value) throws IOException {
+		if (sink.buffer.length >= TimeFormatter.MAX_LENGTH) {
+			sink.reserve(TimeFormatter.MAX_LENGTH);
+			final int end = TimeFormatter.formatDate(value, sink.buffer, sink.position);
+			if (end >= 0) {
+				sink.position = end;
+				return this;
+			}
+		}
+		return appendQuote().appendRaw(value.toString()).appendQuote();
+	}
+	
+	@Override
+	public BufferedJsonAppender appendTime(final OffsetDateTime value) throws IOException {
+		if (sink.buffer.length >= TimeFormatter.MAX_LENGTH) {
+			sink.reserve(TimeFormatter.MAX_LENGTH);
+			final int end = TimeFormatter.formatDateTime(value, sink.buffer, sink.position);
+			if (end >= 0) {
+				sink.position = end;
+				return this;
+			}
+		}
+		return appendQuote().appendRaw(value.toString()).appendQuote();
+	}
+	
+	@Override
+	public BufferedJsonAppender appendNumbers(final int[] values, final int start, final int end) throws IOException {
+		final char[] buffer = sink.buffer;
+		for (int i = start; i < end; i++) {
+			sink.reserve(MAX_NUMBER_LENGTH + 1);
+			int position = sink.position;
+			if (i != start) buffer[position++] = COMMA;
+			sink.position = NumberFormatter.formatInt(values[i], buffer, position);
+		}
+		return this;
+	}
+	
+	@Override
+	public BufferedJsonAppender appendNumbers(final long[] values, final int start, final int end) throws IOException {
+		final char[] buffer = sink.buffer;
+		for (int i = start; i < end; i++) {
+			sink.reserve(MAX_NUMBER_LENGTH + 1);
+			int position = sink.position;
+			if (i != start) buffer[position++] = COMMA;
+			sink.position = NumberFormatter.formatLong(values[i], buffer, position);
+		}
+		return this;
+	}
+	
+	@Override
+	public BufferedJsonAppender appendNumbers(final double[] values, final int start, final int end) throws IOException {
+		final char[] buffer = sink.buffer;
+		for (int i = start; i < end; i++) {
+			sink.reserve(MAX_NUMBER_LENGTH + 1);
+			int position = sink.position;
+			if (i != start) buffer[position++] = COMMA;
+			final double value = values[i];
+			if (Double.isFinite(value)) {
+				sink.position = FloatingPointFormatter.formatDouble(value, buffer, position);
+			} else {
+				NULL.getChars(0, NULL.length(), buffer, position);
+				sink.position = position + NULL.length();
+			}
+		}
+		return this;
+	}
+	
+	/**
+	 * Outputs the characters of the provided {@link CharSequence} or their escape
+	 * sequences, using the provided {@link net.dougvalenta.scriptorium.Escaper},
+	 * and returns this object.
+	 * 
+	 * <p>
+	 * When the provided {@link net.dougvalenta.scriptorium.Escaper} is a {@link JsonEscaper}
+	 * which overrides {@link JsonEscaper#mustEscape(char)} whenever it overrides
+	 * {@link JsonEscaper#escape(char, Appendable)}, characters that need no escaping are
+	 * copied directly into the buffer, and only the characters that must be escaped are
+	 * passed to the escaper. Unless the escaper overrides either method, characters are copied in blocks,
+	 * with the bulk copy of {@link String}, {@link StringBuilder} or a heap
+	 * {@link java.nio.CharBuffer} where possible, and the blocks are then scanned for
+	 * characters to escape several characters at a time.
+	 * 
+	 * <p>
+	 * Behavior is undefined if the provided CharSequence is null.
+	 * 
+	 * @param sequence the {@link CharSequence} containing characters to output or escape
+	 * @param start the index of the first character in {@code sequence} to output or escape
+	 * @param end the index of the first character in {@code sequence} after the last character
+	 * that will be output or escaped
+	 * @return this object
+	 * @throws IOException if an exception occurs while appending to the underlying
+	 * {@link Appendable}
+	 */
+	@Override
+	public BufferedJsonAppender escape(final CharSequence sequence, final int start, final int end) throws IOException {
+		if (jsonEscaper == null) {
+			super.escape(sequence, start, end);
+			return this;
+		}
+		if (scannable) return scan(sequence, start, end);
+		final Sink sink = this.sink;
+		final char[] buffer = sink.buffer;
+		int position = sink.position;
+		for (int i = start; i < end; i++) {
+			final char character = sequence.charAt(i);
+			if (jsonEscaper.mustEscape(character)) {
+				sink.position = position;
+				jsonEscaper.escape(character, sink);
+				position = sink.position;
+			} else {
+				if (position == buffer.length) {
+					sink.position = position;
+					sink.drain();
+					position = 0;
+				}
+				buffer[position++] = character;
+			}
+		}
+		sink.position = position;
+		return this;
+	}
+	
+	/**
+	 * Copies the provided range into the buffer in blocks, and escapes the first
+	 * character of each block which must be escaped, as found by {@link EscapeScanner}.
+	 * A block is abandoned at the character to escape, and the remainder of the block is
+	 * copied again, so blocks start small and grow only while no characters are escaped.
+	 */
+	private BufferedJsonAppender scan(final CharSequence sequence, final int start, final int end) throws IOException {
+		final Sink sink = this.sink;
+		final char[] buffer = sink.buffer;
+		int length = MIN_SCAN_LENGTH;
+		int i = start;
+		while (i < end) {
+			if (sink.position == buffer.length) sink.drain();
+			final int position = sink.position;
+			final int count = Math.min(length, Math.min(end - i, buffer.length - position));
+			CharSequences.getChars(sequence, i, i + count, buffer, position);
+			final int escape = EscapeScanner.indexOfEscape(buffer, position, position + count);
+			sink.position = escape;
+			i += escape - position;
+			if (escape == position + count) {
+				if (length < buffer.length) length <<= 1;
+			} else {
+				jsonEscaper.escape(buffer[escape], sink);
+				i++;
+				length = MIN_SCAN_LENGTH;
+			}
+		}
+		return this;
+	}
+	
+	/**
+	 * The {@link Appendable} passed to the escaper, which collects appended characters
+	 * in the buffer.
+	 */
+	private static final class Sink implements Appendable {
+		
+		Appendable appendable;
+		StringBuilder builder;
+		StringBuffer stringBuffer;
+		Writer writer;
+		final char[] buffer;
+		
+		/**
+		 * A {@link CharSequence} view of {@link #buffer}, for appendables that accept
+		 * neither char arrays nor a {@link Writer}.
+		 */
+		final CharBuffer view;
+		
+		int position;
+		
+		Sink(final Appendable appendable, final int bufferSize) {
+			if (bufferSize < MIN_BUFFER_SIZE) throw new IllegalArgumentException("Buffer size " + bufferSize);
+			this.buffer = new char[bufferSize];
+			this.view = CharBuffer.wrap(buffer);
+			reset(appendable);
+		}
+		
+		void reset(final Appendable appendable) {
+			this.appendable = appendable;
+			this.builder = appendable instanceof StringBuilder ? (StringBuilder) appendable : null;
+			this.stringBuffer = appendable instanceof StringBuffer ? (StringBuffer) appendable : null;
+			this.writer = appendable instanceof Writer ? (Writer) appendable : null;
+			this.position = 0;
+		}
+		
+		void drain() throws IOException {
+			if (position == 0) return;
+			if (builder != null) {
+				builder.append(buffer, 0, position);
+			} else if (stringBuffer != null) {
+				stringBuffer.append(buffer, 0, position);
+			} else if (writer != null) {
+				writer.write(buffer, 0, position);
+			} else {
+				appendable.append(view, 0, position);
+			}
+			position = 0;
+		}
+		
+		void reserve(final int length) throws IOException {
+			if (buffer.length - position < length) drain();
+		}
+		
+		/**
+		 * Copies the provided characters into the buffer, or appends their string form
+		 * directly if they are longer than the buffer.
+		 */
+		void write(final char[] characters, final String string) throws IOException {
+			final int length = characters.length;
+			if (length > buffer.length) {
+				drain();
+				appendable.append(string);
+				return;
+			}
+			reserve(length);
+			System.arraycopy(characters, 0, buffer, position, length);
+			position += length;
+		}
+		
+		/**
+		 * Copies a string no longer than {@link #MIN_BUFFER_SIZE} into the buffer.
+		 */
+		void write(final String string) throws IOException {
+			final int length = string.length();
+			reserve(length);
+			string.getChars(0, length, buffer, position);
+			position += length;
+		}
+		
+		@Override
+		public Sink append(final CharSequence sequence) throws IOException {
+			return append(sequence, 0, sequence.length());
+		}
+		
+		@Override
+		public Sink append(final CharSequence sequence, final int start, final int end) throws IOException {
+			if (end - start > buffer.length) {
+				drain();
+				appendable.append(sequence, start, end);
+				return this;
+			}
+			reserve(end - start);
+			for (int i = start; i < end; i++) {
+				buffer[position++] = sequence.charAt(i);
+			}
+			return this;
+		}
+		
+		@Override
+		public Sink append(final char character) throws IOException {
+			if (position == buffer.length) drain();
+			buffer[position++] = character;
+			return this;
+		}
+		
+	}
+	
+}
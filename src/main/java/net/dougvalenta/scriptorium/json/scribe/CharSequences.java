@@ -0,0 +1,51 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.scribe;
+
+import java.nio.Buffer;
+import java.nio.CharBuffer;
+
+/**
+ * Copies characters out of {@link CharSequence CharSequences} with the bulk methods of
+ * the common concrete types, so that the appenders may scan and output char arrays
+ * without calling {@link CharSequence#charAt(int)} through the interface for each
+ * character.
+ *
+ * @author Doug Valenta
+ */
+final class CharSequences {
+	
+	/**
+	 * The length below which copying a sequence costs more than reading it in place.
+	 */
+	static final int MIN_COPY_LENGTH = 32;
+	
+	private CharSequences() {
+	}
+	
+	/**
+	 * Copies the characters of the provided range of the provided sequence into the
+	 * provided array, starting at the provided offset.
+	 */
+	static void getChars(final CharSequence sequence, final int start, final int end, final char[] destination, final int offset) {
+		if (sequence instanceof String) {
+			((String) sequence).getChars(start, end, destination, offset);
+		} else if (sequence instanceof StringBuilder) {
+			((StringBuilder) sequence).getChars(start, end, destination, offset);
+		} else if (sequence instanceof JsonFragment) {
+			System.arraycopy(((JsonFragment) sequence).chars, start, destination, offset, end - start);
+		} else if (sequence instanceof CharBuffer && ((CharBuffer) sequence).hasArray()) {
+			final CharBuffer buffer = (CharBuffer) sequence;
+			// Through Buffer, which declares position() on every release
+			final int position = ((Buffer) buffer).position();
+			System.arraycopy(buffer.array(), buffer.arrayOffset() + position + start, destination, offset, end - start);
+		} else {
+			for (int i = start; i < end; i++) {
+				destination[offset + i - start] = sequence.charAt(i);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.scribe;
+
+/**
+ * Finds the characters which {@link JsonEscaper} must escape, so that the characters
+ * between them may be output in bulk.
+ *
+ * <p>
+ * This implementation scans with {@link SwarEscapeScanner}. On Java 17 and later, the
+ * multi-release jar replaces it with one which scans character arrays with the
+ * {@code jdk.incubator.vector} API when that module is available.
+ *
+ * @author Doug Valenta
+ */
+final class EscapeScanner {
+	
+	private EscapeScanner() {
+	}
+	
+	/**
+	 * Returns the index of the first character in the provided range which must be
+	 * escaped, or {@code end} if there is none.
+	 */
+	static int indexOfEscape(final char[] chars, final int start, final int end) {
+		return SwarEscapeScanner.indexOfEscape(chars, start, end);
+	}
+	
+	/**
+	 * Returns the index of the first character in the provided range which must be
+	 * escaped, or {@code end} if there is none.
+	 */
+	static int indexOfEscape(final CharSequence sequence, final int start, final int end) {
+		return SwarEscapeScanner.indexOfEscape(sequence, start, end);
+	}
+	
+	/**
+	 * Returns the index of the first character in the provided range which must be
+	 * escaped or is not ASCII, or {@code end} if there is none.
+	 */
+	static int indexOfEscapeOrNonAscii(final char[] chars, final int start, final int end) {
+		return SwarEscapeScanner.indexOfEscapeOrNonAscii(chars, start, end);
+	}
+	
+	/**
+	 * Returns the index of the first character in the provided range which must be
+	 * escaped or is not ASCII, or {@code end} if there is none.
+	 */
+	static int indexOfEscapeOrNonAscii(final CharSequence sequence, final int start, final int end) {
+		return SwarEscapeScanner.indexOfEscapeOrNonAscii(sequence, start, end);
+	}
+
+}
@@ -0,0 +1,361 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.scribe;
+
+import java.math.BigInteger;
+
+/**
+ * Formats doubles and floats as the shortest decimal strings that round-trip to the
+ * same value, directly into a {@code char[]}, without allocating.
+ *
+ * <p>
+ * Digits are computed with Raffaello Giulietti's Schubfach algorithm. Output follows the
+ * layout of {@link Double#toString(double)} and {@link Float#toString(float)}: plain
+ * notation with at least one fractional digit for magnitudes from 10<sup>-3</sup>
+ * (inclusive) to 10<sup>7</sup> (exclusive), and computerized scientific notation
+ * (e.g. {@code 1.0E-5}) otherwise.
+ *
+ * @author Doug Valenta
+ */
+final class FloatingPointFormatter {
+
+	/**
+	 * The number of characters of buffer space, starting at the offset, used by
+	 * {@link #formatDouble(double, char[], int)} and {@link #formatFloat(float, char[], int)}.
+	 * No more than 24 characters are output, but digits are staged beyond them.
+	 */
+	static final int MAX_LENGTH = 25;
+
+	private static final String NAN = "NaN";
+	private static final String POSITIVE_INFINITY = "Infinity";
+	private static final String NEGATIVE_INFINITY = "-Infinity";
+	private static final String POSITIVE_ZERO = "0.0";
+	private static final String NEGATIVE_ZERO = "-0.0";
+
+	private static final int DOUBLE_P = 53;
+	private static final int DOUBLE_Q_MIN = -1074;
+	private static final long DOUBLE_C_MIN = 1L << DOUBLE_P - 1;
+	private static final long DOUBLE_T_MASK = DOUBLE_C_MIN - 1;
+	private static final int DOUBLE_BQ_MASK = 0x7FF;
+	private static final int DOUBLE_C_TINY = 3;
+
+	private static final int FLOAT_P = 24;
+	private static final int FLOAT_Q_MIN = -149;
+	private static final int FLOAT_C_MIN = 1 << FLOAT_P - 1;
+	private static final int FLOAT_T_MASK = FLOAT_C_MIN - 1;
+	private static final int FLOAT_BQ_MASK = 0xFF;
+	private static final int FLOAT_C_TINY = 8;
+
+	private static final long MASK_63 = (1L << 63) - 1;
+	private static final long MASK_32 = (1L << 32) - 1;
+
+	/**
+	 * The smallest and largest decimal exponents k for which {@link #G} holds entries.
+	 */
+	private static final int K_MIN = -324;
+	private static final int K_MAX = 292;
+
+	/**
+	 * For each k from {@link #K_MIN} to {@link #K_MAX}, the 126-bit value
+	 * g = floor(10<sup>-k</sup> 2<sup>125 - flog2pow10(-k)</sup>) + 1, split into its
+	 * upper 63 bits at index {@code 2 (k - K_MIN)} and its lower 63 bits at index
+	 * {@code 2 (k - K_MIN) + 1}.
+	 */
+	private static final long[] G = new long[K_MAX - K_MIN + 1 << 1];
+
+	static {
+		final BigInteger mask = BigInteger.ONE.shiftLeft(63).subtract(BigInteger.ONE);
+		for (int k = K_MIN; k <= K_MAX; k++) {
+			final int shift = 125 - flog2pow10(-k);
+			BigInteger numerator = k <= 0 ? BigInteger.TEN.pow(-k) : BigInteger.ONE;
+			BigInteger denominator = k > 0 ? BigInteger.TEN.pow(k) : BigInteger.ONE;
+			if (shift >= 0) {
+				numerator = numerator.shiftLeft(shift);
+			} else {
+				denominator = denominator.shiftLeft(-shift);
+			}
+			final BigInteger g = numerator.divide(denominator).add(BigInteger.ONE);
+			G[k - K_MIN << 1] = g.shiftRight(63).longValue();
+			G[k - K_MIN << 1 | 1] = g.and(mask).longValue();
+		}
+	}
+
+	/**
+	 * Writes the shortest decimal representation of the provided double to the provided
+	 * buffer, starting at the provided offset, and returns the index after the last
+	 * character written.
+	 *
+	 * @param value the value to format
+	 * @param buffer the buffer to write to
+	 * @param offset the index of the first character to write
+	 * @return the index after the last character written
+	 */
+	static int formatDouble(final double value, final char[] buffer, final int offset) {
+		final long bits = Double.doubleToRawLongBits(value);
+		final long t = bits & DOUBLE_T_MASK;
+		final int bq = (int) (bits >>> DOUBLE_P - 1) & DOUBLE_BQ_MASK;
+		if (bq == DOUBLE_BQ_MASK) {
+			if (t != 0) return copy(NAN, buffer, offset);
+			return copy(bits < 0 ? NEGATIVE_INFINITY : POSITIVE_INFINITY, buffer, offset);
+		}
+		int position = offset;
+		if (bq != 0) {
+			if (bits < 0) buffer[position++] = '-';
+			final int mq = -DOUBLE_Q_MIN + 1 - bq;
+			final long c = DOUBLE_C_MIN | t;
+			if (0 < mq && mq < DOUBLE_P) {
+				final long f = c >> mq;
+				if (f << mq == c) return layout(f, 0, buffer, position);
+			}
+			return toDecimal(-mq, c, 0, buffer, position);
+		}
+		if (t != 0) {
+			if (bits < 0) buffer[position++] = '-';
+			return t < DOUBLE_C_TINY
+					? toDecimal(DOUBLE_Q_MIN, 10 * t, -1, buffer, position)
+					: toDecimal(DOUBLE_Q_MIN, t, 0, buffer, position);
+		}
+		return copy(bits == 0 ? POSITIVE_ZERO : NEGATIVE_ZERO, buffer, offset);
+	}
+
+	/**
+	 * Writes the shortest decimal representation of the provided float to the provided
+	 * buffer, starting at the provided offset, and returns the index after the last
+	 * character written.
+	 *
+	 * @param value the value to format
+	 * @param buffer the buffer to write to
+	 * @param offset the index of the first character to write
+	 * @return the index after the last character written
+	 */
+	static int formatFloat(final float value, final char[] buffer, final int offset) {
+		final int bits = Float.floatToRawIntBits(value);
+		final int t = bits & FLOAT_T_MASK;
+		final int bq = bits >>> FLOAT_P - 1 & FLOAT_BQ_MASK;
+		if (bq == FLOAT_BQ_MASK) {
+			if (t != 0) return copy(NAN, buffer, offset);
+			return copy(bits < 0 ? NEGATIVE_INFINITY : POSITIVE_INFINITY, buffer, offset);
+		}
+		int position = offset;
+		if (bq != 0) {
+			if (bits < 0) buffer[position++] = '-';
+			final int mq = -FLOAT_Q_MIN + 1 - bq;
+			final int c = FLOAT_C_MIN | t;
+			if (0 < mq && mq < FLOAT_P) {
+				final int f = c >> mq;
+				if (f << mq == c) return layout(f, 0, buffer, position);
+			}
+			return toDecimal(-mq, c, 0, buffer, position);
+		}
+		if (t != 0) {
+			if (bits < 0) buffer[position++] = '-';
+			return t < FLOAT_C_TINY
+					? toDecimal(FLOAT_Q_MIN, 10 * t, -1, buffer, position)
+					: toDecimal(FLOAT_Q_MIN, t, 0, buffer, position);
+		}
+		return copy(bits == 0 ? POSITIVE_ZERO : NEGATIVE_ZERO, buffer, offset);
+	}
+
+	/**
+	 * Computes the shortest decimal for the double c 2<sup>q</sup> and lays it out,
+	 * where {@code dk} corrects the decimal exponent when c was pre-scaled by ten.
+	 */
+	private static int toDecimal(final int q, final long c, final int dk, final char[] buffer, final int offset) {
+		final int out = (int) c & 0x1;
+		final long cb = c << 2;
+		final long cbr = cb + 2;
+		final long cbl;
+		final int k;
+		if (c != DOUBLE_C_MIN | q == DOUBLE_Q_MIN) {
+			cbl = cb - 2;
+			k = flog10pow2(q);
+		} else {
+			cbl = cb - 1;
+			k = flog10threeQuartersPow2(q);
+		}
+		final int h = q + flog2pow10(-k) + 2;
+		final long g1 = G[k - K_MIN << 1];
+		final long g0 = G[k - K_MIN << 1 | 1];
+		final long vb = rop(g1, g0, cb << h);
+		final long vbl = rop(g1, g0, cbl << h);
+		final long vbr = rop(g1, g0, cbr << h);
+		final long s = vb >> 2;
+		if (s >= 100) {
+			final long sp10 = 10 * multiplyHigh(s, 115_292_150_460_684_698L << 4);
+			final long tp10 = sp10 + 10;
+			final boolean upin = vbl + out <= sp10 << 2;
+			final boolean wpin = (tp10 << 2) + out <= vbr;
+			if (upin != wpin) return layout(upin ? sp10 : tp10, k, buffer, offset);
+		}
+		final long t = s + 1;
+		final boolean uin = vbl + out <= s << 2;
+		final boolean win = (t << 2) + out <= vbr;
+		if (uin != win) return layout(uin ? s : t, k + dk, buffer, offset);
+		final long cmp = vb - (s + t << 1);
+		return layout(cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t, k + dk, buffer, offset);
+	}
+
+	/**
+	 * Computes the shortest decimal for the float c 2<sup>q</sup> and lays it out,
+	 * where {@code dk} corrects the decimal exponent when c was pre-scaled by ten.
+	 */
+	private static int toDecimal(final int q, final int c, final int dk, final char[] buffer, final int offset) {
+		final int out = c & 0x1;
+		final long cb = (long) c << 2;
+		final long cbr = cb + 2;
+		final long cbl;
+		final int k;
+		if (c != FLOAT_C_MIN | q == FLOAT_Q_MIN) {
+			cbl = cb - 2;
+			k = flog10pow2(q);
+		} else {
+			cbl = cb - 1;
+			k = flog10threeQuartersPow2(q);
+		}
+		final int h = q + flog2pow10(-k) + 33;
+		final long g = G[k - K_MIN << 1] + 1;
+		final int vb = rop(g, cb << h);
+		final int vbl = rop(g, cbl << h);
+		final int vbr = rop(g, cbr << h);
+		final int s = vb >> 2;
+		if (s >= 100) {
+			final int sp10 = 10 * (int) (s * 1_717_986_919L >>> 34);
+			final int tp10 = sp10 + 10;
+			final boolean upin = vbl + out <= sp10 << 2;
+			final boolean wpin = (tp10 << 2) + out <= vbr;
+			if (upin != wpin) return layout(upin ? sp10 : tp10, k, buffer, offset);
+		}
+		final int t = s + 1;
+		final boolean uin = vbl + out <= s << 2;
+		final boolean win = (t << 2) + out <= vbr;
+		if (uin != win) return layout(uin ? s : t, k + dk, buffer, offset);
+		final int cmp = vb - (s + t << 1);
+		return layout(cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t, k + dk, buffer, offset);
+	}
+
+	/**
+	 * Writes the decimal f 10<sup>e</sup>, where f is positive, in the layout of
+	 * {@link Double#toString(double)}, and returns the index after the last character written.
+	 */
+	private static int layout(final long f, final int e, final char[] buffer, final int offset) {
+		// Format the significand at the far end of the buffer, then move digits into place
+		final int digitsStart = offset + MAX_LENGTH - 1 - NumberFormatter.MAX_INTEGER_LENGTH;
+		int digitsEnd = NumberFormatter.formatLong(f, buffer, digitsStart);
+		int exponent = e;
+		while (buffer[digitsEnd - 1] == '0') {
+			digitsEnd--;
+			exponent++;
+		}
+		final int length = digitsEnd - digitsStart;
+		// The scientific exponent: the value is d.ddd times ten to this power
+		final int scientific = exponent + length - 1;
+		int position = offset;
+		if (0 <= scientific && scientific < 7) {
+			final int integerLength = scientific + 1;
+			if (length <= integerLength) {
+				position = move(buffer, digitsStart, digitsEnd, position);
+				for (int i = length; i < integerLength; i++) buffer[position++] = '0';
+				buffer[position++] = '.';
+				buffer[position++] = '0';
+			} else {
+				position = move(buffer, digitsStart, digitsStart + integerLength, position);
+				buffer[position++] = '.';
+				position = move(buffer, digitsStart + integerLength, digitsEnd, position);
+			}
+		} else if (-3 <= scientific && scientific < 0) {
+			buffer[position++] = '0';
+			buffer[position++] = '.';
+			for (int i = -1; i > scientific; i--) buffer[position++] = '0';
+			position = move(buffer, digitsStart, digitsEnd, position);
+		} else {
+			buffer[position++] = buffer[digitsStart];
+			buffer[position++] = '.';
+			if (length == 1) {
+				buffer[position++] = '0';
+			} else {
+				position = move(buffer, digitsStart + 1, digitsEnd, position);
+			}
+			buffer[position++] = 'E';
+			position = NumberFormatter.formatInt(scientific, buffer, position);
+		}
+		return position;
+	}
+
+	/**
+	 * Copies characters toward the start of the buffer; the destination never overtakes
+	 * the source, so overlapping ranges are safe.
+	 */
+	private static int move(final char[] buffer, final int start, final int end, int position) {
+		for (int i = start; i < end; i++) buffer[position++] = buffer[i];
+		return position;
+	}
+
+	private static int copy(final String string, final char[] buffer, final int offset) {
+		string.getChars(0, string.length(), buffer, offset);
+		return offset + string.length();
+	}
+
+	/**
+	 * Returns the rounded-to-odd product of g and cp, scaled down by 2<sup>127</sup>
+	 */
+	private static long rop(final long g1, final long g0, final long cp) {
+		final long x1 = multiplyHigh(g0, cp);
+		final long y0 = g1 * cp;
+		final long y1 = multiplyHigh(g1, cp);
+		final long z = (y0 >>> 1) + x1;
+		final long vbp = y1 + (z >>> 63);
+		return vbp | (z & MASK_63) + MASK_63 >>> 63;
+	}
+
+	/**
+	 * Returns the rounded-to-odd product of g and cp, scaled down by 2<sup>95</sup>
+	 */
+	private static int rop(final long g, final long cp) {
+		final long x1 = multiplyHigh(g, cp);
+		final long vbp = x1 >>> 31;
+		return (int) (vbp | (x1 & MASK_32) + MASK_32 >>> 32);
+	}
+
+	/**
+	 * Returns the high 64 bits of the 128-bit product of x and y, as
+	 * {@code Math.multiplyHigh} does on Java 9 and later.
+	 */
+	private static long multiplyHigh(final long x, final long y) {
+		final long x1 = x >> 32;
+		final long x2 = x & 0xFFFFFFFFL;
+		final long y1 = y >> 32;
+		final long y2 = y & 0xFFFFFFFFL;
+		final long z2 = x2 * y2;
+		final long t = x1 * y2 + (z2 >>> 32);
+		long z1 = t & 0xFFFFFFFFL;
+		final long z0 = t >> 32;
+		z1 += x2 * y1;
+		return x1 * y1 + z0 + (z1 >> 32);
+	}
+
+	/**
+	 * Returns floor(log<sub>10</sub>(2<sup>e</sup>)) for |e| &le; 5456721.
+	 */
+	private static int flog10pow2(final int e) {
+		return (int) (e * 661_971_961_083L >> 41);
+	}
+
+	/**
+	 * Returns floor(log<sub>10</sub>(3/4 2<sup>e</sup>)) for |e| &le; 2796203.
+	 */
+	private static int flog10threeQuartersPow2(final int e) {
+		return (int) (e * 661_971_961_083L + -274_743_187_321L >> 41);
+	}
+
+	/**
+	 * Returns floor(log<sub>2</sub>(10<sup>e</sup>)) for |e| &le; 1838394.
+	 */
+	private static int flog2pow10(final int e) {
+		return (int) (e * 913_124_641_741L >> 38);
+	}
+
+	private FloatingPointFormatter() {}
+
+}
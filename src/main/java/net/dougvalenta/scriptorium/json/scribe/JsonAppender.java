@@ -5,8 +5,13 @@
 package net.dougvalenta.scriptorium.json.scribe;
 
 import java.io.IOException;
+import java.io.Writer;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.CharBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import net.dougvalenta.scriptorium.Escaper;
 
 /**
@@ -28,12 +33,103 @@ public class JsonAppender {
 	private static final String EMPTY_OBJECT = "{}";
 	private static final String EMPTY_ARRAY = "[]";
 	
+	private static final int MAX_NUMBER_LENGTH = Math.max(NumberFormatter.MAX_INTEGER_LENGTH, FloatingPointFormatter.MAX_LENGTH);
+	
+	/**
+	 * The size, in characters, of the buffer for runs of numbers; a run is appended
+	 * whenever the buffer may not have room for another number.
+	 */
+	private static final int RUN_SIZE = 1024;
+	private static final int RUN_LIMIT = RUN_SIZE - MAX_NUMBER_LENGTH - 1;
+	
 	private final Appendable appendable;
 	private final Escaper escaper;
+	private final JsonEscaper jsonEscaper;
+	private final StringBuilder builder;
+	private final Writer writer;
+	private final boolean preEscaped;
+	private final boolean scannable;
+	
+	/**
+	 * Reusable buffer for formatting numbers and times without allocating strings.
+	 */
+	private final char[] scratch = new char[Math.max(MAX_NUMBER_LENGTH, TimeFormatter.MAX_LENGTH)];
+	
+	/**
+	 * A {@link CharSequence} view of {@link #scratch}, for appendables that accept neither
+	 * char arrays nor a {@link Writer}.
+	 */
+	private final CharBuffer scratchSequence = CharBuffer.wrap(scratch);
+	
+	/**
+	 * Buffer for formatting runs of numbers, allocated when first needed.
+	 */
+	private char[] run;
+	
+	/**
+	 * A {@link CharSequence} view of {@link #run}.
+	 */
+	private CharBuffer runSequence;
 	
 	public JsonAppender(final Appendable appendable, final Escaper escaper) {
 		this.appendable = appendable;
 		this.escaper = escaper;
+		this.jsonEscaper = JsonEscaper.runEscaper(escaper);
+		this.builder = appendable instanceof StringBuilder ? (StringBuilder) appendable : null;
+		this.writer = appendable instanceof Writer ? (Writer) appendable : null;
+		this.preEscaped = JsonKeyName.isPreEscaped(escaper);
+		this.scannable = JsonEscaper.isScannable(escaper);
+	}
+	
+	/**
+	 * Outputs the characters of the scratch buffer from {@code start} (inclusive) to
+	 * {@code end} (exclusive) in a single call to the underlying {@link Appendable}.
+	 */
+	private void appendScratch(final int start, final int end) throws IOException {
+		if (builder != null) {
+			builder.append(scratch, start, end - start);
+		} else if (writer != null) {
+			writer.write(scratch, start, end - start);
+		} else {
+			appendable.append(scratchSequence, start, end);
+		}
+	}
+	
+	/**
+	 * Returns the escaper used by this appender.
+	 */
+	Escaper getEscaper() {
+		return escaper;
+	}
+	
+	private char[] run() {
+		if (run == null) {
+			run = new char[RUN_SIZE];
+			runSequence = CharBuffer.wrap(run);
+		}
+		return run;
+	}
+	
+	/**
+	 * Outputs the characters of the run buffer up to {@code end} (exclusive) in a single
+	 * call to the underlying {@link Appendable}.
+	 */
+	private void appendRun(final int end) throws IOException {
+		appendRun(0, end);
+	}
+	
+	/**
+	 * Outputs the characters of the run buffer from {@code start} (inclusive) to
+	 * {@code end} (exclusive) in a single call to the underlying {@link Appendable}.
+	 */
+	private void appendRun(final int start, final int end) throws IOException {
+		if (builder != null) {
+			builder.append(run, start, end - start);
+		} else if (writer != null) {
+			writer.write(run, start, end - start);
+		} else {
+			appendable.append(runSequence, start, end);
+		}
 	}
 	
 	/**
@@ -159,6 +255,86 @@ public class JsonAppender {
 		return this;
 	}
 	
+	/**
+	 * Outputs the provided key name, double-quoted and escaped and followed by a colon
+	 * character, and returns this object.
+	 * 
+	 * <p>
+	 * When the provided {@link net.dougvalenta.scriptorium.Escaper} is a {@link JsonEscaper},
+	 * the pre-escaped form of the key name is output with a single call to the underlying
+	 * {@link Appendable}.
+	 * 
+	 * @param name the key name to output
+	 * @return this object
+	 * @throws IOException if an exception occurs while appending to the underlying 
+	 * {@link Appendable} 
+	 */
+	public JsonAppender appendKeyName(final JsonKeyName name) throws IOException {
+		if (!preEscaped) return appendQuote().escape(name).appendCloseKey();
+		if (builder != null) {
+			builder.append(name.chars);
+		} else if (writer != null) {
+			writer.write(name.chars);
+		} else {
+			appendable.append(name.string);
+		}
+		return this;
+	}
+	
+	/**
+	 * Outputs the provided enum constant name as a quoted and escaped string and returns
+	 * this object.
+	 * 
+	 * <p>
+	 * When the provided {@link net.dougvalenta.scriptorium.Escaper} is a {@link JsonEscaper},
+	 * the pre-escaped form of the name is output with a single call to the underlying
+	 * {@link Appendable}.
+	 * 
+	 * @param name the enum constant name to output
+	 * @return this object
+	 * @throws IOException if an exception occurs while appending to the underlying 
+	 * {@link Appendable} 
+	 */
+	public JsonAppender appendEnumName(final JsonEnumName name) throws IOException {
+		if (!preEscaped) return appendQuote().escape(name).appendQuote();
+		return appendRaw(name.quoted);
+	}
+	
+	/**
+	 * Outputs the provided JSON text unchanged and returns this object.
+	 * 
+	 * @param json the JSON text to output
+	 * @return this object
+	 * @throws IOException if an exception occurs while appending to the underlying 
+	 * {@link Appendable} 
+	 */
+	public JsonAppender appendRaw(final CharSequence json) throws IOException {
+		appendable.append(json);
+		return this;
+	}
+	
+	/**
+	 * Outputs the text of the provided fragment unchanged and returns this object.
+	 * 
+	 * <p>
+	 * The fragment is output with a single call to the underlying {@link Appendable}.
+	 * 
+	 * @param fragment the fragment to output
+	 * @return this object
+	 * @throws IOException if an exception occurs while appending to the underlying 
+	 * {@link Appendable} 
+	 */
+	public JsonAppender appendRaw(final JsonFragment fragment) throws IOException {
+		if (builder != null) {
+			builder.append(fragment.chars);
+		} else if (writer != null) {
+			writer.write(fragment.chars);
+		} else {
+			appendable.append(fragment.string);
+		}
+		return this;
+	}
+	
 	/**
 	 * Outputs the string "null" and returns this object.
 	 * 
@@ -236,7 +412,7 @@ public class JsonAppender {
 	 * {@link Appendable} 
 	 */
 	public JsonAppender appendNumber(final int value) throws IOException {
-		appendable.append(String.valueOf(value));
+		appendScratch(0, NumberFormatter.formatInt(value, scratch, 0));
 		return this;
 	}
 	
@@ -244,12 +420,16 @@ public class JsonAppender {
 	 * Outputs the provided float as a JSON numeric literal and returns
 	 * this object.
 	 * 
+	 * <p>
+	 * The shortest decimal that rounds to the same float is output, in the same layout
+	 * as {@link Float#toString(float)}.
+	 * 
 	 * @return this object
 	 * @throws IOException if an exception occurs while appending to the underlying 
 	 * {@link Appendable} 
 	 */
 	public JsonAppender appendNumber(final float value) throws IOException {
-		appendable.append(String.valueOf(value));
+		appendScratch(0, FloatingPointFormatter.formatFloat(value, scratch, 0));
 		return this;
 	}
 	
@@ -262,7 +442,7 @@ public class JsonAppender {
 	 * {@link Appendable} 
 	 */
 	public JsonAppender appendNumber(final long value) throws IOException {
-		appendable.append(String.valueOf(value));
+		appendScratch(0, NumberFormatter.formatLong(value, scratch, 0));
 		return this;
 	}
 	
@@ -270,12 +450,164 @@ public class JsonAppender {
 	 * Outputs the provided double as a JSON numeric literal and returns
 	 * this object.
 	 * 
+	 * <p>
+	 * The shortest decimal that rounds to the same double is output, in the same layout
+	 * as {@link Double#toString(double)}.
+	 * 
 	 * @return this object
 	 * @throws IOException if an exception occurs while appending to the underlying 
 	 * {@link Appendable} 
 	 */
 	public JsonAppender appendNumber(final double value) throws IOException {
-		appendable.append(String.valueOf(value));
+		appendScratch(0, FloatingPointFormatter.formatDouble(value, scratch, 0));
+		return this;
+	}
+	
+	/**
+	 * Outputs the provided instant as a quoted ISO-8601 string, in the same form as
+	 * {@link Instant#toString()}, and returns this object.
+	 * 
+	 * <p>
+	 * The string is formatted without allocation and is not escaped, as it contains no
+	 * characters which must be escaped.
+	 * 
+	 * @param value the instant to output
+	 * @return this object
+	 * @throws IOException if an exception occurs while appending to the underlying 
+	 * {@link Appendable} 
+	 */
+	public JsonAppender appendTime(final Instant value) throws IOException {
+		return appendFormatted(value, TimeFormatter.formatInstant(value, scratch, 0));
+	}
+	
+	/**
+	 * Outputs the provided date as a quoted ISO-8601 string, in the same form as
+	 * {@link LocalDate#toString()}, and returns this object.
+	 * 
+	 * <p>
+	 * The string is formatted without allocation and is not escaped, as it contains no
+	 * characters which must be escaped.
+	 * 
+	 * @param value the date to output
+	 * @return this object
+	 * @throws IOException if an exception occurs while appending to the underlying 
+	 * {@link Appendable} 
+	 */
+	public JsonAppender appendTime(final LocalDate value) throws IOException {
+		return appendFormatted(value, TimeFormatter.formatDate(value, scratch, 0));
+	}
+	
+	/**
+	 * Outputs the provided date and time as a quoted ISO-8601 string, in the same form as
+	 * {@link OffsetDateTime#toString()}, and returns this object.
+	 * 
+	 * <p>
+	 * The string is formatted without allocation and is not escaped, as it contains no
+	 * characters which must be escaped.
+	 * 
+	 * @param value the date and time to output
+	 * @return this object
+	 * @throws IOException if an exception occurs while appending to the underlying 
+	 * {@link Appendable} 
+	 */
+	public JsonAppender appendTime(final OffsetDateTime value) throws IOException {
+		return appendFormatted(value, TimeFormatter.formatDateTime(value, scratch, 0));
+	}
+	
+	/**
+	 * Outputs the scratch buffer up to the provided end, or, if the value could not be
+	 * formatted, its quoted string form.
+	 */
+	private JsonAppender appendFormatted(final Object value, final int end) throws IOException {
+		if (end < 0) return appendQuote().appendRaw(value.toString()).appendQuote();
+		appendScratch(0, end);
+		return this;
+	}
+	
+	/**
+	 * Outputs the provided range of ints as JSON numeric literals separated by commas, and
+	 * returns this object.
+	 * 
+	 * @param values the values to output
+	 * @param start the index of the first value to output
+	 * @param end the index after the last value to output
+	 * @return this object
+	 * @throws IOException if an exception occurs while appending to the underlying 
+	 * {@link Appendable} 
+	 */
+	public JsonAppender appendNumbers(final int[] values, final int start, final int end) throws IOException {
+		final char[] chars = run();
+		int position = 0;
+		for (int i = start; i < end; i++) {
+			if (position > RUN_LIMIT) {
+				appendRun(position);
+				position = 0;
+			}
+			if (i != start) chars[position++] = COMMA;
+			position = NumberFormatter.formatInt(values[i], chars, position);
+		}
+		appendRun(position);
+		return this;
+	}
+	
+	/**
+	 * Outputs the provided range of longs as JSON numeric literals separated by commas, and
+	 * returns this object.
+	 * 
+	 * @param values the values to output
+	 * @param start the index of the first value to output
+	 * @param end the index after the last value to output
+	 * @return this object
+	 * @throws IOException if an exception occurs while appending to the underlying 
+	 * {@link Appendable} 
+	 */
+	public JsonAppender appendNumbers(final long[] values, final int start, final int end) throws IOException {
+		final char[] chars = run();
+		int position = 0;
+		for (int i = start; i < end; i++) {
+			if (position > RUN_LIMIT) {
+				appendRun(position);
+				position = 0;
+			}
+			if (i != start) chars[position++] = COMMA;
+			position = NumberFormatter.formatLong(values[i], chars, position);
+		}
+		appendRun(position);
+		return this;
+	}
+	
+	/**
+	 * Outputs the provided range of doubles as JSON numeric literals separated by commas, and
+	 * returns this object.
+	 * 
+	 * <p>
+	 * Values which are not finite are output as the string "null".
+	 * 
+	 * @param values the values to output
+	 * @param start the index of the first value to output
+	 * @param end the index after the last value to output
+	 * @return this object
+	 * @throws IOException if an exception occurs while appending to the underlying 
+	 * {@link Appendable} 
+	 */
+	public JsonAppender appendNumbers(final double[] values, final int start, final int end) throws IOException {
+		final char[] chars = run();
+		int position = 0;
+		for (int i = start; i < end; i++) {
+			if (position > RUN_LIMIT) {
+				appendRun(position);
+				position = 0;
+			}
+			if (i != start) chars[position++] = COMMA;
+			final double value = values[i];
+			if (Double.isFinite(value)) {
+				position = FloatingPointFormatter.formatDouble(value, chars, position);
+			} else {
+				NULL.getChars(0, NULL.length(), chars, position);
+				position += NULL.length();
+			}
+		}
+		appendRun(position);
 		return this;
 	}
 	
@@ -312,6 +644,18 @@ public class JsonAppender {
 	 * and returns this object.
 	 * 
 	 * <p>
+	 * When the provided {@link net.dougvalenta.scriptorium.Escaper} is a {@link JsonEscaper}
+	 * which overrides {@link JsonEscaper#mustEscape(char)} whenever it overrides
+	 * {@link JsonEscaper#escape(char, Appendable)}, runs of characters that need no
+	 * escaping are output with a single call to
+	 * {@link Appendable#append(CharSequence, int, int)}, and only the characters that
+	 * must be escaped are passed to the escaper. Unless the escaper overrides either
+	 * method, runs are found several characters at a time,
+	 * and longer sequences are first copied in blocks into a reusable char array, with
+	 * the bulk copy of {@link String}, {@link StringBuilder} or a heap
+	 * {@link java.nio.CharBuffer} where possible.
+	 * 
+	 * <p>
 	 * Behavior is undefined if the provided CharSequence is null.
 	 * 
 	 * @param sequence the {@link CharSequence} containing characters to output or escape
@@ -323,9 +667,45 @@ public class JsonAppender {
 	 * {@link Appendable} 
 	 */
 	public JsonAppender escape(final CharSequence sequence, int start, int end) throws IOException {
+		if (jsonEscaper == null) {
+			for (int i = start; i < end; i++) {
+				escaper.escape(sequence.charAt(i), appendable);
+			}
+			return this;
+		}
+		if (scannable && end - start >= CharSequences.MIN_COPY_LENGTH) {
+			final char[] chars = run();
+			for (int block = start; block < end; block += RUN_SIZE) {
+				final int count = Math.min(end - block, RUN_SIZE);
+				CharSequences.getChars(sequence, block, block + count, chars, 0);
+				for (int position = 0; position < count; ) {
+					final int i = EscapeScanner.indexOfEscape(chars, position, count);
+					if (position < i) appendRun(position, i);
+					if (i < count) jsonEscaper.escape(chars[i], appendable);
+					position = i + 1;
+				}
+			}
+			return this;
+		}
+		if (scannable) {
+			for (int from = start; from < end; ) {
+				final int i = EscapeScanner.indexOfEscape(sequence, from, end);
+				if (from < i) appendable.append(sequence, from, i);
+				if (i < end) jsonEscaper.escape(sequence.charAt(i), appendable);
+				from = i + 1;
+			}
+			return this;
+		}
+		int from = start;
 		for (int i = start; i < end; i++) {
-			escaper.escape(sequence.charAt(i), appendable);
+			final char character = sequence.charAt(i);
+			if (jsonEscaper.mustEscape(character)) {
+				if (from < i) appendable.append(sequence, from, i);
+				jsonEscaper.escape(character, appendable);
+				from = i + 1;
+			}
 		}
+		if (from < end) appendable.append(sequence, from, end);
 		return this;
 	}
 
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.scribe;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * The JSON string value of an enum constant, which is quoted and escaped once for each
+ * enum class rather than each time it is output.
+ *
+ * <p>
+ * The names of the constants of each enum class are resolved together, the first time a
+ * constant of the class is written, and cached with a {@link ClassValue}. A constant is
+ * named by its {@link Enum#name()}, unless a naming function has been
+ * {@linkplain #register(Class, Function) registered} for its class.
+ *
+ * <p>
+ * As for {@link JsonKeyName}, the pre-escaped form is only used by appenders whose
+ * escaper is a {@link JsonEscaper}; appenders with any other escaper escape the name as
+ * they would any other string.
+ *
+ * @author Doug Valenta
+ * @see JsonScribe#value(Enum)
+ */
+public final class JsonEnumName implements CharSequence {
+	
+	private static final Map<Class<?>, Function<Object, ? extends CharSequence>> REGISTERED = new ConcurrentHashMap<>();
+	
+	private static volatile ClassValue<JsonEnumName[]> names = newNames();
+	
+	private final String name;
+	
+	/**
+	 * The quoted and escaped name.
+	 */
+	final JsonFragment quoted;
+	
+	private JsonEnumName(final String name) {
+		final StringBuilder builder = new StringBuilder(name.length() + 2);
+		try {
+			new JsonAppender(builder, new JsonEscaper()).appendQuote().escape(name).appendQuote();
+		} catch (final IOException exception) {
+			throw new UncheckedIOException(exception);
+		}
+		this.name = name;
+		this.quoted = JsonFragment.of(builder);
+	}
+	
+	/**
+	 * Returns the name of the provided enum constant.
+	 *
+	 * @param constant the enum constant
+	 * @return the name
+	 * @throws IllegalArgumentException if {@code constant} is null, or the registered
+	 * naming function of its class returns null
+	 */
+	public static JsonEnumName of(final Enum<?> constant) {
+		if (constant == null) throw new IllegalArgumentException("Missing constant");
+		return names.get(constant.getDeclaringClass())[constant.ordinal()];
+	}
+	
+	/**
+	 * Registers a function which names the constants of the provided enum class, replacing
+	 * any function previously registered for the class.
+	 *
+	 * <p>
+	 * Registration discards the cached names of all enum classes, and so is best done
+	 * once, before writing.
+	 *
+	 * @param <E> the enum class
+	 * @param type the enum class
+	 * @param naming the function which returns the unquoted and unescaped name of each
+	 * constant
+	 * @throws IllegalArgumentException if {@code type} or {@code naming} is null
+	 */
+	@SuppressWarnings("unchecked")
+	public static <E extends Enum<E>> void register(final Class<E> type, final Function<? super E, ? extends CharSequence> naming) {
+		if (type == null) throw new IllegalArgumentException("Missing type");
+		if (naming == null) throw new IllegalArgumentException("Missing naming function");
+		REGISTERED.put(type, (Function<Object, ? extends CharSequence>) naming);
+		names = newNames();
+	}
+	
+	/**
+	 * Removes the naming function registered for the provided enum class, if any.
+	 *
+	 * @param type the enum class
+	 */
+	public static void unregister(final Class<?> type) {
+		if (type != null && REGISTERED.remove(type) != null) names = newNames();
+	}
+	
+	private static ClassValue<JsonEnumName[]> newNames() {
+		return new ClassValue<JsonEnumName[]>() {
+			
+			@Override
+			protected JsonEnumName[] computeValue(final Class<?> type) {
+				final Function<Object, ? extends CharSequence> naming = REGISTERED.get(type);
+				final Enum<?>[] constants = (Enum<?>[]) type.getEnumConstants();
+				final JsonEnumName[] names = new JsonEnumName[constants.length];
+				for (final Enum<?> constant : constants) {
+					final CharSequence name = naming == null ? constant.name() : naming.apply(constant);
+					if (name == null) throw new IllegalArgumentException("Missing name for " + constant);
+					names[constant.ordinal()] = new JsonEnumName(name.toString());
+				}
+				return names;
+			}
+		
+		};
+	}
+	
+	@Override
+	public int length() {
+		return name.length();
+	}
+	
+	@Override
+	public char charAt(final int index) {
+		return name.charAt(index);
+	}
+	
+	@Override
+	public CharSequence subSequence(final int start, final int end) {
+		return name.subSequence(start, end);
+	}
+	
+	/**
+	 * Returns the unquoted and unescaped name.
+	 *
+	 * @return the name
+	 */
+	@Override
+	public String toString() {
+		return name;
+	}
+
+}
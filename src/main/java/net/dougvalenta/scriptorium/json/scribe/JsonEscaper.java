@@ -27,8 +27,120 @@ public class JsonEscaper implements Escaper {
 	private static final String ESCAPED_TAB = "\\\t";
 	private static final String ESCAPED_BACKSLASH = "\\\\";
 	private static final String ESCAPED_QUOTE = "\\\"";
-	private static final String ESCAPED_UNICODE = "\\u";
-	private static final String UNICODE_FORMAT = "%04x";
+	private static final String ESCAPED_UNICODE = "\\u00";
+	private static final String HEX_DIGITS = "0123456789abcdef";
+	private static final int TABLE_SIZE = 128;
+	
+	/**
+	 * The escape sequence for each ASCII character, or null if the character is
+	 * appended unchanged.
+	 */
+	private static final String[] ESCAPES = new String[TABLE_SIZE];
+	
+	/**
+	 * Whether each ASCII character is appended unchanged.
+	 */
+	private static final boolean[] SAFE = new boolean[TABLE_SIZE];
+	
+	/**
+	 * Whether each subclass tests and escapes characters with {@link #mustEscape(char)}
+	 * and {@link #escape(char, Appendable)} as declared by this class, and so may be
+	 * scanned by {@link EscapeScanner}.
+	 */
+	private static final ClassValue<Boolean> SCANNABLE = new ClassValue<Boolean>() {
+		
+		@Override
+		protected Boolean computeValue(final Class<?> type) {
+			return !overrides(type, "mustEscape", char.class)
+					&& !overrides(type, "escape", char.class, Appendable.class);
+		}
+		
+	};
+	
+	/**
+	 * Whether each subclass either does not override {@link #escape(char, Appendable)}
+	 * or overrides {@link #mustEscape(char)} along with it, and so may have runs of
+	 * characters found with {@link #mustEscape(char)}.
+	 */
+	private static final ClassValue<Boolean> RUNNABLE = new ClassValue<Boolean>() {
+		
+		@Override
+		protected Boolean computeValue(final Class<?> type) {
+			return !overrides(type, "escape", char.class, Appendable.class)
+					|| overrides(type, "mustEscape", char.class);
+		}
+		
+	};
+	
+	static {
+		for (char character = 0; character < 32; character++) {
+			ESCAPES[character] = ESCAPED_UNICODE
+					+ HEX_DIGITS.charAt(character >> 4)
+					+ HEX_DIGITS.charAt(character & 0xF);
+		}
+		ESCAPES[BACKSPACE] = ESCAPED_BACKSPACE;
+		ESCAPES[FORMFEED] = ESCAPED_FORMFEED;
+		ESCAPES[NEWLINE] = ESCAPED_NEWLINE;
+		ESCAPES[RETURN] = ESCAPED_RETURN;
+		ESCAPES[TAB] = ESCAPED_TAB;
+		ESCAPES[BACKSLASH] = ESCAPED_BACKSLASH;
+		ESCAPES[QUOTE] = ESCAPED_QUOTE;
+		for (int character = 0; character < TABLE_SIZE; character++) {
+			SAFE[character] = ESCAPES[character] == null;
+		}
+	}
+	
+	/**
+	 * Returns true if the provided character must be replaced with an escape sequence
+	 * by {@link #escape(char, Appendable)}, or false if it is appended unchanged.
+	 * 
+	 * <p>
+	 * {@link JsonAppender} uses this method to find runs of characters that may be
+	 * appended in bulk. Subclasses which override {@link #escape(char, Appendable)}
+	 * should override this method consistently; if they do not, appenders pass every
+	 * character to {@link #escape(char, Appendable)}.
+	 * 
+	 * @param character the character to test
+	 * @return true if the character must be escaped
+	 */
+	public boolean mustEscape(final char character) {
+		return character < TABLE_SIZE && !SAFE[character];
+	}
+	
+	/**
+	 * Returns true if appenders using the provided escaper may find the characters to
+	 * escape with an {@link EscapeScanner}, that is, if it is a JsonEscaper which
+	 * overrides neither {@link #mustEscape(char)} nor {@link #escape(char, Appendable)}.
+	 */
+	static boolean isScannable(final Escaper escaper) {
+		return escaper instanceof JsonEscaper && SCANNABLE.get(escaper.getClass());
+	}
+	
+	/**
+	 * Returns the provided escaper if appenders may find the characters to escape with
+	 * its {@link #mustEscape(char)} method, or null if every character must be passed to
+	 * {@link #escape(char, Appendable)}, that is, if it is not a JsonEscaper or it
+	 * overrides {@link #escape(char, Appendable)} without overriding
+	 * {@link #mustEscape(char)}.
+	 */
+	static JsonEscaper runEscaper(final Escaper escaper) {
+		if (escaper instanceof JsonEscaper && RUNNABLE.get(escaper.getClass())) {
+			return (JsonEscaper) escaper;
+		}
+		return null;
+	}
+	
+	/**
+	 * Returns true if the provided subclass overrides the named public method of this
+	 * class.
+	 */
+	private static boolean overrides(final Class<?> type, final String name, final Class<?>... parameterTypes) {
+		try {
+			return type.getMethod(name, parameterTypes).getDeclaringClass() != JsonEscaper.class;
+		} catch (final NoSuchMethodException exception) {
+			return true;
+		}
+	}
 	
 	/**
 	 * Appends the provided character or its escape sequence to the provided
@@ -37,7 +149,8 @@ public class JsonEscaper implements Escaper {
 	 * <p>
 	 * This {@link net.dougvalenta.scriptorium.Escaper} escapes only those characters
 	 * which MUST be escaped within double-quoted JSON strings: double-quote, backslash,
-	 * and control codes (U+0000 - U+001F).
+	 * and control codes (U+0000 - U+001F). Escape sequences are precomputed, so no
+	 * objects are allocated.
 	 * 
 	 * @param character the character to escape or append
 	 * @param appendable the appendable to append the character or its escape sequence to
@@ -46,37 +159,10 @@ public class JsonEscaper implements Escaper {
 	 */
 	@Override
 	public void escape(final char character, final Appendable appendable) throws IOException {
-		if (character < 32) {
-			switch (character) {
-				case BACKSPACE:
-					appendable.append(ESCAPED_BACKSPACE);
-					return;
-				case FORMFEED:
-					appendable.append(ESCAPED_FORMFEED);
-					return;
-				case NEWLINE:
-					appendable.append(ESCAPED_NEWLINE);
-					return;
-				case RETURN:
-					appendable.append(ESCAPED_RETURN);
-					return;
-				case TAB:
-					appendable.append(ESCAPED_TAB);
-					return;
-				default:
-					appendable.append(ESCAPED_UNICODE).append(String.format(UNICODE_FORMAT, (int) character));
-			}
+		if (character < TABLE_SIZE && !SAFE[character]) {
+			appendable.append(ESCAPES[character]);
 		} else {
-			switch (character) {
-				case BACKSLASH: 
-					appendable.append(ESCAPED_BACKSLASH);
-					return;
-				case QUOTE:
-					appendable.append(ESCAPED_QUOTE);
-					return;
-				default:
-					appendable.append(character);
-			}
+			appendable.append(character);
 		}
 	}
 	
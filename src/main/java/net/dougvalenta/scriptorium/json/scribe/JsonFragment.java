@@ -0,0 +1,209 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.scribe;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A fragment of JSON text which is prepared once, when it is created, to be output
+ * unchanged any number of times.
+ *
+ * <p>
+ * A fragment holds its text both as characters and as UTF-8 bytes, so that a
+ * {@link JsonAppender} can output it with a single bulk append whether it outputs
+ * characters or bytes. Fragments are intended for pre-rendered JSON, such as cached
+ * sub-documents, which would otherwise be rebuilt value by value.
+ *
+ * <p>
+ * Fragments created by {@link #of(CharSequence)} or {@link #of(byte[])} are not
+ * validated. Fragments created by {@link #validated(CharSequence)} or
+ * {@link #validated(byte[])} are checked to contain exactly one JSON value with
+ * balanced brackets and braces and terminated strings; the check is structural, and
+ * does not verify literals, numbers, or the placement of commas and colons.
+ *
+ * @author Doug Valenta
+ * @see JsonScribe#rawValue(JsonFragment)
+ */
+public final class JsonFragment implements CharSequence {
+	
+	private static final int INITIAL_DEPTH = 16;
+	
+	/**
+	 * The text of the fragment, as a string.
+	 */
+	final String string;
+	
+	/**
+	 * The text of the fragment, as characters.
+	 */
+	final char[] chars;
+	
+	/**
+	 * The text of the fragment, encoded as UTF-8.
+	 */
+	final byte[] bytes;
+	
+	private JsonFragment(final String string, final byte[] bytes) {
+		this.string = string;
+		this.chars = string.toCharArray();
+		this.bytes = bytes;
+	}
+	
+	/**
+	 * Returns a fragment of the provided JSON text, without validating it.
+	 *
+	 * @param json the JSON text
+	 * @return the fragment
+	 * @throws IllegalArgumentException if {@code json} is null
+	 */
+	public static JsonFragment of(final CharSequence json) {
+		if (json == null) throw new IllegalArgumentException("Missing JSON");
+		if (json instanceof JsonFragment) return (JsonFragment) json;
+		final String string = json.toString();
+		return new JsonFragment(string, string.getBytes(StandardCharsets.UTF_8));
+	}
+	
+	/**
+	 * Returns a fragment of the provided UTF-8 encoded JSON text, without validating it.
+	 *
+	 * <p>
+	 * The provided array is copied.
+	 *
+	 * @param json the JSON text, encoded as UTF-8
+	 * @return the fragment
+	 * @throws IllegalArgumentException if {@code json} is null
+	 */
+	public static JsonFragment of(final byte[] json) {
+		if (json == null) throw new IllegalArgumentException("Missing JSON");
+		return new JsonFragment(new String(json, StandardCharsets.UTF_8), json.clone());
+	}
+	
+	/**
+	 * Returns a fragment of the provided JSON text, after checking that it is a single
+	 * structurally valid JSON value.
+	 *
+	 * @param json the JSON text
+	 * @return the fragment
+	 * @throws IllegalArgumentException if {@code json} is null or is not a single
+	 * structurally valid JSON value
+	 */
+	public static JsonFragment validated(final CharSequence json) {
+		if (json == null) throw new IllegalArgumentException("Missing JSON");
+		validate(json);
+		return of(json);
+	}
+	
+	/**
+	 * Returns a fragment of the provided UTF-8 encoded JSON text, after checking that it
+	 * is a single structurally valid JSON value.
+	 *
+	 * <p>
+	 * The provided array is copied.
+	 *
+	 * @param json the JSON text, encoded as UTF-8
+	 * @return the fragment
+	 * @throws IllegalArgumentException if {@code json} is null or is not a single
+	 * structurally valid JSON value
+	 */
+	public static JsonFragment validated(final byte[] json) {
+		final JsonFragment fragment = of(json);
+		validate(fragment.string);
+		return fragment;
+	}
+	
+	private static void validate(final CharSequence json) {
+		final int length = json.length();
+		char[] open = new char[INITIAL_DEPTH];
+		int depth = 0;
+		int values = 0;
+		boolean literal = false;
+		for (int i = 0; i < length; i++) {
+			final char character = json.charAt(i);
+			switch (character) {
+				case '"':
+					if (depth == 0) values++;
+					literal = false;
+					i = endOfString(json, i);
+					break;
+				case '{':
+				case '[':
+					if (depth == 0) values++;
+					literal = false;
+					if (depth == open.length) open = Arrays.copyOf(open, depth << 1);
+					open[depth++] = character;
+					break;
+				case '}':
+				case ']':
+					literal = false;
+					if (depth == 0 || open[--depth] != (character == '}' ? '{' : '[')) throw invalid(i);
+					break;
+				case ',':
+				case ':':
+					literal = false;
+					if (depth == 0) throw invalid(i);
+					break;
+				case ' ':
+				case '\t':
+				case '\n':
+				case '\r':
+					literal = false;
+					break;
+				default:
+					if (depth == 0 && !literal) values++;
+					literal = true;
+			}
+		}
+		if (depth != 0 || values != 1) throw invalid(length);
+	}
+	
+	/**
+	 * Returns the index of the quotation mark which closes the string opened at the
+	 * provided index.
+	 */
+	private static int endOfString(final CharSequence json, final int start) {
+		final int length = json.length();
+		for (int i = start + 1; i < length; i++) {
+			switch (json.charAt(i)) {
+				case '"':
+					return i;
+				case '\\':
+					i++;
+					break;
+			}
+		}
+		throw invalid(length);
+	}
+	
+	private static IllegalArgumentException invalid(final int index) {
+		return new IllegalArgumentException("Invalid JSON fragment at index " + index);
+	}
+	
+	@Override
+	public int length() {
+		return string.length();
+	}
+	
+	@Override
+	public char charAt(final int index) {
+		return string.charAt(index);
+	}
+	
+	@Override
+	public CharSequence subSequence(final int start, final int end) {
+		return string.subSequence(start, end);
+	}
+	
+	/**
+	 * Returns the JSON text of this fragment.
+	 *
+	 * @return the JSON text
+	 */
+	@Override
+	public String toString() {
+		return string;
+	}
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.scribe;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import net.dougvalenta.scriptorium.Escaper;
+
+/**
+ * A JSON object key which is quoted and escaped once, when it is created, rather than
+ * each time it is output.
+ *
+ * <p>
+ * A key name holds its output both as characters and as UTF-8 bytes, so that a
+ * {@link JsonAppender} can output it with a single bulk append. Key names are
+ * interned: {@link #of(CharSequence)} returns the same instance for equal names, and
+ * instances are retained for the life of the application. Key names are intended to
+ * be held in constants for a fixed set of field names, not created for arbitrary keys.
+ *
+ * <p>
+ * The pre-escaped form is only used by appenders whose escaper is a {@link JsonEscaper};
+ * appenders with any other escaper, including a subclass of JsonEscaper, escape the
+ * name as they would any other key.
+ *
+ * @author Doug Valenta
+ */
+public final class JsonKeyName implements CharSequence {
+	
+	private static final ConcurrentMap<String, JsonKeyName> NAMES = new ConcurrentHashMap<>();
+	
+	private final String name;
+	
+	/**
+	 * The quoted and escaped name followed by a colon, as characters.
+	 */
+	final char[] chars;
+	
+	/**
+	 * The quoted and escaped name followed by a colon, as a string.
+	 */
+	final String string;
+	
+	/**
+	 * The quoted and escaped name followed by a colon, encoded as UTF-8.
+	 */
+	final byte[] bytes;
+	
+	private JsonKeyName(final String name) {
+		final StringBuilder builder = new StringBuilder(name.length() + 3);
+		try {
+			new JsonAppender(builder, new JsonEscaper()).appendQuote().escape(name).appendCloseKey();
+		} catch (final IOException exception) {
+			throw new UncheckedIOException(exception);
+		}
+		this.name = name;
+		this.string = builder.toString();
+		this.chars = string.toCharArray();
+		this.bytes = string.getBytes(StandardCharsets.UTF_8);
+	}
+	
+	/**
+	 * Returns the key name for the provided name.
+	 * 
+	 * @param name the unquoted and unescaped name
+	 * @return the key name
+	 * @throws IllegalArgumentException if {@code name} is null
+	 */
+	public static JsonKeyName of(final CharSequence name) {
+		if (name == null) throw new IllegalArgumentException("Missing name");
+		final String string = name.toString();
+		final JsonKeyName keyName = NAMES.get(string);
+		if (keyName != null) return keyName;
+		return NAMES.computeIfAbsent(string, JsonKeyName::new);
+	}
+	
+	/**
+	 * Returns true if appenders using the provided escaper may output pre-escaped key
+	 * names.
+	 */
+	static boolean isPreEscaped(final Escaper escaper) {
+		return escaper != null && escaper.getClass() == JsonEscaper.class;
+	}
+	
+	@Override
+	public int length() {
+		return name.length();
+	}
+	
+	@Override
+	public char charAt(final int index) {
+		return name.charAt(index);
+	}
+	
+	@Override
+	public CharSequence subSequence(final int start, final int end) {
+		return name.subSequence(start, end);
+	}
+	
+	/**
+	 * Returns the unquoted and unescaped name.
+	 * 
+	 * @return the name
+	 */
+	@Override
+	public String toString() {
+		return name;
+	}
+	
+}
@@ -9,6 +9,9 @@ import net.dougvalenta.scriptorium.FluentAppendable;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
 
 /**
  *
@@ -109,6 +112,106 @@ public interface JsonScribe extends FluentAppendable<JsonScribe>, Closeable {
 	 */
 	public JsonScribe value(char value) throws IOException;
 	
+	/**
+	 * Outputs the name of an enum constant as a quoted string, preceded by a comma if
+	 * necessary, and returns this object.
+	 * 
+	 * <p>
+	 * Implementations should output the pre-escaped form of the name where possible.
+	 * The default implementation calls {@link #value(CharSequence)} with the
+	 * {@link JsonEnumName} of the constant, or {@link #nullValue()} if it is null.
+	 * 
+	 * <p>
+	 * To produce a well-formed JSON document, this method should only be called when
+	 * in the array state, or when in the object state immediately following a key.
+	 * Implementations <b>may</b> throw an {@link IllegalStateException} if this
+	 * method is called at another time.
+	 * 
+	 * @param value the enum constant whose name to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see JsonAppender#appendEnumName(JsonEnumName)
+	 */
+	public default JsonScribe value(final Enum<?> value) throws IOException {
+		if (value == null) return nullValue();
+		return value((CharSequence) JsonEnumName.of(value));
+	}
+	
+	/**
+	 * Outputs the provided instant as a quoted ISO-8601 string, in the same form as
+	 * {@link Instant#toString()}, preceded by a comma if necessary, and returns this object.
+	 * 
+	 * <p>
+	 * Implementations should format the instant without allocation where possible.
+	 * The default implementation calls {@link #value(CharSequence)} with the string form
+	 * of the instant, or {@link #nullValue()} if it is null.
+	 * 
+	 * <p>
+	 * To produce a well-formed JSON document, this method should only be called when
+	 * in the array state, or when in the object state immediately following a key.
+	 * Implementations <b>may</b> throw an {@link IllegalStateException} if this
+	 * method is called at another time.
+	 * 
+	 * @param value the instant to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see JsonAppender#appendTime(Instant)
+	 */
+	public default JsonScribe value(final Instant value) throws IOException {
+		if (value == null) return nullValue();
+		return value((CharSequence) value.toString());
+	}
+	
+	/**
+	 * Outputs the provided date as a quoted ISO-8601 string, in the same form as
+	 * {@link LocalDate#toString()}, preceded by a comma if necessary, and returns this object.
+	 * 
+	 * <p>
+	 * Implementations should format the date without allocation where possible.
+	 * The default implementation calls {@link #value(CharSequence)} with the string form
+	 * of the date, or {@link #nullValue()} if it is null.
+	 * 
+	 * <p>
+	 * To produce a well-formed JSON document, this method should only be called when
+	 * in the array state, or when in the object state immediately following a key.
+	 * Implementations <b>may</b> throw an {@link IllegalStateException} if this
+	 * method is called at another time.
+	 * 
+	 * @param value the date to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see JsonAppender#appendTime(LocalDate)
+	 */
+	public default JsonScribe value(final LocalDate value) throws IOException {
+		if (value == null) return nullValue();
+		return value((CharSequence) value.toString());
+	}
+	
+	/**
+	 * Outputs the provided date and time as a quoted ISO-8601 string, in the same form as
+	 * {@link OffsetDateTime#toString()}, preceded by a comma if necessary, and returns this object.
+	 * 
+	 * <p>
+	 * Implementations should format the date and time without allocation where possible.
+	 * The default implementation calls {@link #value(CharSequence)} with the string form
+	 * of the date and time, or {@link #nullValue()} if it is null.
+	 * 
+	 * <p>
+	 * To produce a well-formed JSON document, this method should only be called when
+	 * in the array state, or when in the object state immediately following a key.
+	 * Implementations <b>may</b> throw an {@link IllegalStateException} if this
+	 * method is called at another time.
+	 * 
+	 * @param value the date and time to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see JsonAppender#appendTime(OffsetDateTime)
+	 */
+	public default JsonScribe value(final OffsetDateTime value) throws IOException {
+		if (value == null) return nullValue();
+		return value((CharSequence) value.toString());
+	}
+	
 	/**
 	 * Outputs a numeric literal, preceded by a comma if necessary, and returns this
 	 * object.
@@ -239,7 +342,8 @@ public interface JsonScribe extends FluentAppendable<JsonScribe>, Closeable {
 	 * Implementations should dispatch to type-specific overloads based on the runtime
 	 * type of the provided argument. {@link Byte}, {@link Short}, {@link Integer}, 
 	 * {@link Float}, {@link Long}, {@link Double}, {@link Character}, and {@link Boolean}
-	 * arguments should be auto-unboxed.
+	 * arguments should be auto-unboxed. Arguments of other types should be written by
+	 * {@link JsonValueWriters}.
 	 * 
 	 * <p>
 	 * Null arguments of any type should output {@code null} literals.
@@ -257,6 +361,123 @@ public interface JsonScribe extends FluentAppendable<JsonScribe>, Closeable {
 	 */
 	public JsonScribe value(Object value) throws IOException;
 	
+	/**
+	 * Outputs the provided range of values as numeric literals, each preceded by a comma
+	 * if necessary, and returns this object.
+	 * 
+	 * <p>
+	 * This method should only be called when in the array state. Implementations
+	 * <b>may</b> throw an {@link IllegalStateException} if this method is called at
+	 * another time. The default implementation calls {@link #value(int)} for each value.
+	 * 
+	 * @param values the values to output
+	 * @param start the index of the first value to output
+	 * @param end the index after the last value to output
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 */
+	public default JsonScribe values(final int[] values, final int start, final int end) throws IOException {
+		for (int i = start; i < end; i++) {
+			value(values[i]);
+		}
+		return this;
+	}
+	
+	/**
+	 * Outputs the provided range of values as numeric literals, each preceded by a comma
+	 * if necessary, and returns this object.
+	 * 
+	 * <p>
+	 * This method should only be called when in the array state. Implementations
+	 * <b>may</b> throw an {@link IllegalStateException} if this method is called at
+	 * another time. The default implementation calls {@link #value(long)} for each value.
+	 * 
+	 * @param values the values to output
+	 * @param start the index of the first value to output
+	 * @param end the index after the last value to output
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 */
+	public default JsonScribe values(final long[] values, final int start, final int end) throws IOException {
+		for (int i = start; i < end; i++) {
+			value(values[i]);
+		}
+		return this;
+	}
+	
+	/**
+	 * Outputs the provided range of values as numeric literals, each preceded by a comma
+	 * if necessary, and returns this object.
+	 * 
+	 * <p>
+	 * Values which are not finite are output as {@code null} literals.
+	 * 
+	 * <p>
+	 * This method should only be called when in the array state. Implementations
+	 * <b>may</b> throw an {@link IllegalStateException} if this method is called at
+	 * another time. The default implementation calls {@link #value(double)} for each value.
+	 * 
+	 * @param values the values to output
+	 * @param start the index of the first value to output
+	 * @param end the index after the last value to output
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 */
+	public default JsonScribe values(final double[] values, final int start, final int end) throws IOException {
+		for (int i = start; i < end; i++) {
+			value(values[i]);
+		}
+		return this;
+	}
+	
+	/**
+	 * Outputs the provided JSON text unchanged, preceded by a comma if necessary, and
+	 * returns this object.
+	 * 
+	 * <p>
+	 * The provided text must be a single well-formed JSON value, or, in the array state,
+	 * one or more well-formed JSON values separated by commas. It is not validated.
+	 * 
+	 * <p>
+	 * To produce a well-formed JSON document, this method should only be called when
+	 * in the array state, or when in the object state immediately following a key.
+	 * Implementations <b>may</b> throw an {@link IllegalStateException} if this
+	 * method is called at another time.
+	 * 
+	 * @param json the JSON text to output
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @throws UnsupportedOperationException if this scribe cannot output raw JSON text,
+	 * as by the default implementation
+	 */
+	public default JsonScribe rawValue(final CharSequence json) throws IOException {
+		throw new UnsupportedOperationException("Raw values not supported");
+	}
+	
+	/**
+	 * Outputs the text of the provided fragment unchanged, preceded by a comma if
+	 * necessary, and returns this object.
+	 * 
+	 * <p>
+	 * Implementations should output the prepared form of the fragment where possible.
+	 * The default implementation calls {@link #rawValue(CharSequence)}.
+	 * 
+	 * <p>
+	 * To produce a well-formed JSON document, this method should only be called when
+	 * in the array state, or when in the object state immediately following a key.
+	 * Implementations <b>may</b> throw an {@link IllegalStateException} if this
+	 * method is called at another time.
+	 * 
+	 * @param fragment the fragment to output
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @throws UnsupportedOperationException if this scribe cannot output raw JSON text
+	 * @see JsonAppender#appendRaw(JsonFragment)
+	 */
+	public default JsonScribe rawValue(final JsonFragment fragment) throws IOException {
+		return rawValue((CharSequence) fragment);
+	}
+	
 	/**
 	 * Outputs a {@code null} literal, preceded by a comma if necessary, and returns this
 	 * object.
@@ -380,6 +601,29 @@ public interface JsonScribe extends FluentAppendable<JsonScribe>, Closeable {
 	 */
 	public JsonScribe key(CharSequence key) throws IOException;
 	
+	/**
+	 * Outputs a JSON key from the provided pre-escaped key name, preceded by a comma
+	 * if necessary, and returns this object.
+	 * 
+	 * <p>
+	 * Implementations should output the pre-escaped form of the key name where possible.
+	 * The default implementation calls {@link #key(CharSequence)}.
+	 * 
+	 * <p>
+	 * To produce a well-formed JSON document, this method should only be called when
+	 * in the object state.
+	 * Implementations <b>may</b> throw an {@link IllegalStateException} if this
+	 * method is called at another time.
+	 * 
+	 * @param key the key name to append
+	 * @return this object
+	 * @throws IOException if an I/O error occurs
+	 * @see JsonAppender#appendKeyName(JsonKeyName)
+	 */
+	public default JsonScribe key(final JsonKeyName key) throws IOException {
+		return key((CharSequence) key);
+	}
+	
 	/**
 	 * Returns to the previous scribe state and returns this object.
 	 * 
@@ -433,6 +677,24 @@ public interface JsonScribe extends FluentAppendable<JsonScribe>, Closeable {
 	 */
 	public JsonScribe pop(int cursor) throws IOException;
 	
+	/**
+	 * Returns a new scribe, in its initial state, which outputs to the provided
+	 * {@link Appendable} exactly as this scribe would, or null if this scribe can't be
+	 * copied.
+	 * 
+	 * <p>
+	 * The copy uses the same escaper, and value cache if any, as this scribe, and may be
+	 * used on a different thread. A scribe which formats values according to their
+	 * position in the document, such as a {@link PrettyJsonScribe}, can't be copied.
+	 * The default implementation returns null.
+	 * 
+	 * @param appendable an {@link Appendable} to output to
+	 * @return a new scribe, or null if this scribe can't be copied
+	 */
+	public default JsonScribe copy(final Appendable appendable) {
+		return null;
+	}
+	
 	/**
 	 * Returns the scribe to its initial state.
 	 * 
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.scribe;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A size-bounded cache of quoted and escaped string values, for documents in which a
+ * small set of values, such as status or country codes, is written repeatedly.
+ *
+ * <p>
+ * A scribe constructed with a cache looks up each {@link String} value no longer than
+ * the cache's maximum length, and outputs the cached form, as characters or as UTF-8
+ * bytes, with a single bulk append in place of quoting and escaping the value. A value
+ * which is not cached is added the second time it is missed, so that values which
+ * occur only once do not displace values which recur; when the cache is full, an entry
+ * is evicted by the CLOCK algorithm, which spares once each entry that has been used
+ * since the clock hand last passed it. Values of other {@link CharSequence} types,
+ * whose content may change, are never cached.
+ *
+ * <p>
+ * A lookup costs about as much as escaping a short ASCII value, so a cache pays off
+ * for recurring values which must be escaped or, for UTF-8 output, encoded.
+ *
+ * <p>
+ * A cache is safe for use by any number of scribes on any number of threads. Like
+ * {@link JsonKeyName}, the cached form is only used by appenders whose escaper is a
+ * {@link JsonEscaper}; scribes whose appender has any other escaper, including a
+ * subclass of JsonEscaper, ignore the cache.
+ *
+ * @author Doug Valenta
+ * @see SafeJsonScribe#SafeJsonScribe(JsonAppender, JsonValueCache)
+ * @see UnsafeJsonScribe#UnsafeJsonScribe(JsonAppender, JsonValueCache)
+ */
+public final class JsonValueCache {
+	
+	/**
+	 * The default length, in characters, of the longest value which is cached.
+	 */
+	public static final int DEFAULT_MAX_LENGTH = 64;
+	
+	private static final int MAX_MISSED = 1 << 20;
+	
+	private final ConcurrentMap<String, Entry> entries;
+	private final int maxLength;
+	
+	/**
+	 * The hash codes of recently missed values, indexed by their low bits; a value is
+	 * added when its hash code is found here. Written without synchronization, as a lost
+	 * update only delays adding a value.
+	 */
+	private final int[] missed;
+	
+	/**
+	 * The entries in the order in which the clock hand visits them; guarded by this.
+	 */
+	private final Entry[] clock;
+	
+	private int size;
+	private int hand;
+	
+	/**
+	 * Striped counters, so that threads sharing the cache do not contend on a single
+	 * counter or lose updates.
+	 */
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	
+	/**
+	 * Guarded by this.
+	 */
+	private long evictions;
+	
+	/**
+	 * Creates a cache of at most the provided number of values, each no longer than
+	 * {@value #DEFAULT_MAX_LENGTH} characters.
+	 *
+	 * @param capacity the maximum number of values to cache
+	 * @throws IllegalArgumentException if {@code capacity} is less than one
+	 */
+	public JsonValueCache(final int capacity) {
+		this(capacity, DEFAULT_MAX_LENGTH);
+	}
+	
+	/**
+	 * Creates a cache of at most the provided number of values, each no longer than the
+	 * provided length.
+	 *
+	 * @param capacity the maximum number of values to cache
+	 * @param maxLength the length, in characters, of the longest value to cache
+	 * @throws IllegalArgumentException if {@code capacity} is less than one, or
+	 * {@code maxLength} is negative
+	 */
+	public JsonValueCache(final int capacity, final int maxLength) {
+		if (capacity < 1) throw new IllegalArgumentException("Capacity " + capacity);
+		if (maxLength < 0) throw new IllegalArgumentException("Max length " + maxLength);
+		this.entries = new ConcurrentHashMap<>(capacity * 4 / 3 + 1);
+		this.clock = new Entry[capacity];
+		this.missed = new int[Integer.highestOneBit(Math.min(capacity, MAX_MISSED)) << 2];
+		this.maxLength = maxLength;
+	}
+	
+	/**
+	 * Returns the quoted and escaped form of the provided value, or null if the value is
+	 * not cached; a value which is missed for the second time is added.
+	 */
+	JsonFragment get(final CharSequence value) {
+		if (!(value instanceof String) || value.length() > maxLength) return null;
+		final Entry entry = entries.get(value);
+		if (entry != null) {
+			// Read before writing, so that hits on a hot entry do not keep dirtying its cache line
+			if (!entry.referenced) entry.referenced = true;
+			hits.increment();
+			return entry.fragment;
+		}
+		misses.increment();
+		final int hash = value.hashCode();
+		final int index = hash & (missed.length - 1);
+		if (missed[index] != hash) {
+			missed[index] = hash;
+			return null;
+		}
+		return add((String) value);
+	}
+	
+	private synchronized JsonFragment add(final String value) {
+		final Entry existing = entries.get(value);
+		if (existing != null) return existing.fragment;
+		final Entry entry = new Entry(value);
+		if (size < clock.length) {
+			clock[size++] = entry;
+		} else {
+			while (clock[hand].referenced) {
+				clock[hand].referenced = false;
+				hand = (hand + 1) % clock.length;
+			}
+			entries.remove(clock[hand].value);
+			evictions++;
+			clock[hand] = entry;
+			hand = (hand + 1) % clock.length;
+		}
+		entries.put(value, entry);
+		return entry.fragment;
+	}
+	
+	/**
+	 * Returns the number of values currently cached.
+	 *
+	 * @return the number of values
+	 */
+	public int getSize() {
+		return entries.size();
+	}
+	
+	/**
+	 * Returns the number of lookups which found their value in the cache. While threads
+	 * are using the cache, lookups in progress may not be counted.
+	 *
+	 * @return the number of hits
+	 */
+	public long getHits() {
+		return hits.sum();
+	}
+	
+	/**
+	 * Returns the number of lookups of cacheable values which did not find their value
+	 * in the cache. While threads are using the cache, lookups in progress may not be
+	 * counted.
+	 *
+	 * @return the number of misses
+	 */
+	public long getMisses() {
+		return misses.sum();
+	}
+	
+	/**
+	 * Returns the number of values which have been evicted to make room for others.
+	 *
+	 * @return the number of evictions
+	 */
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+	
+	private static final class Entry {
+		
+		final String value;
+		
+		/**
+		 * The quoted and escaped value.
+		 */
+		final JsonFragment fragment;
+		
+		/**
+		 * Whether the entry has been used since the clock hand last passed it; written
+		 * without synchronization, as a lost update only affects which entry is evicted.
+		 */
+		boolean referenced;
+		
+		Entry(final String value) {
+			final StringBuilder builder = new StringBuilder(value.length() + 2);
+			try {
+				new JsonAppender(builder, new JsonEscaper()).appendQuote().escape(value).appendQuote();
+			} catch (final IOException exception) {
+				throw new UncheckedIOException(exception);
+			}
+			this.value = value;
+			this.fragment = JsonFragment.of(builder);
+		}
+	
+	}
+
+}
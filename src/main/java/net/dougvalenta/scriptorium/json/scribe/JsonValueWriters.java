@@ -0,0 +1,321 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.scribe;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.MonthDay;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Period;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import net.dougvalenta.scriptorium.function.IOBiConsumer;
+
+/**
+ * The writers used by {@link JsonScribe#value(Object)} implementations to write values of
+ * types known only at runtime.
+ *
+ * <p>
+ * The writer for each class is resolved once and cached with a {@link ClassValue}, so
+ * that writing a value costs a single lookup regardless of its type. In addition to the
+ * types written as JSON literals, the following types are supported:
+ *
+ * <ul>
+ * <li>{@link JsonFragment}s are written unchanged, as by
+ * {@link JsonScribe#rawValue(JsonFragment)}</li>
+ * <li>{@link Map}s are written as JSON objects, with keys converted by
+ * {@link String#valueOf(Object)}</li>
+ * <li>{@link Iterable}s and arrays are written as JSON arrays</li>
+ * <li>enum constants are written as their names, as by {@link JsonEnumName}</li>
+ * <li>{@link Optional}, {@link OptionalInt}, {@link OptionalLong}, and
+ * {@link OptionalDouble} are written as their values, or {@code null} if empty</li>
+ * <li>{@link UUID}s and {@code java.time} values are written as strings, in their
+ * ISO-8601 forms</li>
+ * <li>{@link Path}s are written as strings, as by {@link Path#toString()}, rather than
+ * as the arrays of names they iterate over</li>
+ * </ul>
+ *
+ * <p>
+ * Elements, entry values, and optional values are themselves written by
+ * {@link JsonScribe#value(Object)}.
+ *
+ * <p>
+ * Writers for other types may be {@linkplain #register(Class, IOBiConsumer) registered};
+ * a registered writer applies to the provided type and its subtypes, and takes
+ * precedence over the built-in writers.
+ *
+ * @author Doug Valenta
+ */
+public final class JsonValueWriters {
+
+	private static final IOBiConsumer<Object, JsonScribe> UNSUPPORTED = (value, scribe) -> {
+		throw new IllegalArgumentException("Invalid type " + value.getClass().getName());
+	};
+
+	private static final Map<Class<?>, IOBiConsumer<Object, JsonScribe>> BUILT_IN = new HashMap<>();
+
+	private static final Map<Class<?>, IOBiConsumer<Object, JsonScribe>> REGISTERED = new ConcurrentHashMap<>();
+
+	static {
+		BUILT_IN.put(String.class, (value, scribe) -> scribe.value((CharSequence) value));
+		BUILT_IN.put(Integer.class, (value, scribe) -> scribe.value(((Integer) value).intValue()));
+		BUILT_IN.put(Long.class, (value, scribe) -> scribe.value(((Long) value).longValue()));
+		BUILT_IN.put(Double.class, (value, scribe) -> scribe.value(((Double) value).doubleValue()));
+		BUILT_IN.put(Float.class, (value, scribe) -> scribe.value(((Float) value).floatValue()));
+		BUILT_IN.put(Short.class, (value, scribe) -> scribe.value(((Short) value).intValue()));
+		BUILT_IN.put(Byte.class, (value, scribe) -> scribe.value(((Byte) value).intValue()));
+		BUILT_IN.put(Boolean.class, (value, scribe) -> scribe.value(((Boolean) value).booleanValue()));
+		BUILT_IN.put(Character.class, (value, scribe) -> scribe.value(((Character) value).charValue()));
+		BUILT_IN.put(JsonFragment.class, (value, scribe) -> scribe.rawValue((JsonFragment) value));
+		BUILT_IN.put(Instant.class, (value, scribe) -> scribe.value((Instant) value));
+		BUILT_IN.put(LocalDate.class, (value, scribe) -> scribe.value((LocalDate) value));
+		BUILT_IN.put(OffsetDateTime.class, (value, scribe) -> scribe.value((OffsetDateTime) value));
+		BUILT_IN.put(Optional.class, (value, scribe) -> scribe.value(((Optional<?>) value).orElse(null)));
+		BUILT_IN.put(OptionalInt.class, (value, scribe) -> {
+			final OptionalInt optional = (OptionalInt) value;
+			if (optional.isPresent()) scribe.value(optional.getAsInt());
+			else scribe.nullValue();
+		});
+		BUILT_IN.put(OptionalLong.class, (value, scribe) -> {
+			final OptionalLong optional = (OptionalLong) value;
+			if (optional.isPresent()) scribe.value(optional.getAsLong());
+			else scribe.nullValue();
+		});
+		BUILT_IN.put(OptionalDouble.class, (value, scribe) -> {
+			final OptionalDouble optional = (OptionalDouble) value;
+			if (optional.isPresent()) scribe.value(optional.getAsDouble());
+			else scribe.nullValue();
+		});
+		BUILT_IN.put(int[].class, (value, scribe) -> {
+			final int[] array = (int[]) value;
+			scribe.pushArray();
+			scribe.values(array, 0, array.length);
+			scribe.pop();
+		});
+		BUILT_IN.put(long[].class, (value, scribe) -> {
+			final long[] array = (long[]) value;
+			scribe.pushArray();
+			scribe.values(array, 0, array.length);
+			scribe.pop();
+		});
+		BUILT_IN.put(double[].class, (value, scribe) -> {
+			final double[] array = (double[]) value;
+			scribe.pushArray();
+			scribe.values(array, 0, array.length);
+			scribe.pop();
+		});
+		BUILT_IN.put(float[].class, (value, scribe) -> {
+			scribe.pushArray();
+			for (final float element : (float[]) value) {
+				scribe.value(element);
+			}
+			scribe.pop();
+		});
+		BUILT_IN.put(short[].class, (value, scribe) -> {
+			scribe.pushArray();
+			for (final short element : (short[]) value) {
+				scribe.value(element);
+			}
+			scribe.pop();
+		});
+		BUILT_IN.put(byte[].class, (value, scribe) -> {
+			scribe.pushArray();
+			for (final byte element : (byte[]) value) {
+				scribe.value(element);
+			}
+			scribe.pop();
+		});
+		BUILT_IN.put(char[].class, (value, scribe) -> {
+			scribe.pushArray();
+			for (final char element : (char[]) value) {
+				scribe.value(element);
+			}
+			scribe.pop();
+		});
+		BUILT_IN.put(boolean[].class, (value, scribe) -> {
+			scribe.pushArray();
+			for (final boolean element : (boolean[]) value) {
+				scribe.value(element);
+			}
+			scribe.pop();
+		});
+		for (final Class<?> type : new Class<?>[] {UUID.class, LocalTime.class,
+				LocalDateTime.class, OffsetTime.class, ZonedDateTime.class, Year.class,
+				YearMonth.class, MonthDay.class, Duration.class, Period.class}) {
+			BUILT_IN.put(type, JsonValueWriters::writeString);
+		}
+	}
+
+	private static volatile ClassValue<IOBiConsumer<Object, JsonScribe>> writers = newWriters();
+
+	private JsonValueWriters() {
+	}
+
+	/**
+	 * Registers a writer for values of the provided type and its subtypes, replacing any
+	 * writer previously registered for the provided type.
+	 *
+	 * <p>
+	 * The writer must write exactly one JSON value to the provided scribe, as by
+	 * {@link JsonScribe#value(Object)}. Registration discards the cached writers of all
+	 * types, and so is best done once, before writing.
+	 *
+	 * @param <T> the type of values
+	 * @param type the type of values
+	 * @param writer the writer
+	 * @throws IllegalArgumentException if {@code type} or {@code writer} is null
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> void register(final Class<T> type, final IOBiConsumer<? super T, ? super JsonScribe> writer) {
+		if (type == null) throw new IllegalArgumentException("Missing type");
+		if (writer == null) throw new IllegalArgumentException("Missing writer");
+		REGISTERED.put(type, (IOBiConsumer<Object, JsonScribe>) writer);
+		writers = newWriters();
+	}
+
+	/**
+	 * Removes the writer registered for the provided type, if any.
+	 *
+	 * @param type the type of values
+	 */
+	public static void unregister(final Class<?> type) {
+		if (type != null && REGISTERED.remove(type) != null) writers = newWriters();
+	}
+
+	/**
+	 * Returns whether values of the provided class are written by a registered or
+	 * built-in writer, rather than rejected by {@link JsonScribe#value(Object)}.
+	 *
+	 * @param type the class of values
+	 * @return true if values of the class are supported
+	 */
+	public static boolean isSupported(final Class<?> type) {
+		return type != null && writers.get(type) != UNSUPPORTED;
+	}
+
+	/**
+	 * Writes the provided value to the provided scribe with the writer for its runtime
+	 * class, or writes a {@code null} literal if the value is null.
+	 *
+	 * <p>
+	 * {@link JsonScribe#value(Object)} implementations, including those outside this
+	 * package, may delegate to this method to write values as the built-in scribes do.
+	 *
+	 * @param value the value to write
+	 * @param scribe the scribe to write the value to
+	 * @throws IOException if an I/O error occurs
+	 * @throws IllegalArgumentException if the runtime class of a non-null value is not
+	 * supported
+	 */
+	public static void write(final Object value, final JsonScribe scribe) throws IOException {
+		if (value == null) scribe.nullValue();
+		else writers.get(value.getClass()).accept(value, scribe);
+	}
+
+	private static ClassValue<IOBiConsumer<Object, JsonScribe>> newWriters() {
+		return new ClassValue<IOBiConsumer<Object, JsonScribe>>() {
+
+			@Override
+			protected IOBiConsumer<Object, JsonScribe> computeValue(final Class<?> type) {
+				return resolve(type);
+			}
+
+		};
+	}
+
+	private static IOBiConsumer<Object, JsonScribe> resolve(final Class<?> type) {
+		if (!REGISTERED.isEmpty()) {
+			final IOBiConsumer<Object, JsonScribe> registered = registered(type);
+			if (registered != null) return registered;
+		}
+		final IOBiConsumer<Object, JsonScribe> builtIn = BUILT_IN.get(type);
+		if (builtIn != null) return builtIn;
+		if (CharSequence.class.isAssignableFrom(type)) return (value, scribe) -> scribe.value((CharSequence) value);
+		if (BigInteger.class.isAssignableFrom(type)) return (value, scribe) -> scribe.value((BigInteger) value);
+		if (BigDecimal.class.isAssignableFrom(type)) return (value, scribe) -> scribe.value((BigDecimal) value);
+		if (Enum.class.isAssignableFrom(type)) return (value, scribe) -> scribe.value((Enum<?>) value);
+		if (Map.class.isAssignableFrom(type)) return JsonValueWriters::writeMap;
+		if (Path.class.isAssignableFrom(type)) return JsonValueWriters::writeString;
+		if (Iterable.class.isAssignableFrom(type)) return JsonValueWriters::writeIterable;
+		if (Object[].class.isAssignableFrom(type)) return JsonValueWriters::writeArray;
+		if (ZoneId.class.isAssignableFrom(type)) return JsonValueWriters::writeString;
+		return UNSUPPORTED;
+	}
+
+	/**
+	 * Returns the writer registered for the nearest supertype of the provided type, with
+	 * superclasses preferred to interfaces, or null if none is registered.
+	 */
+	private static IOBiConsumer<Object, JsonScribe> registered(final Class<?> type) {
+		for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+			final IOBiConsumer<Object, JsonScribe> writer = REGISTERED.get(current);
+			if (writer != null) return writer;
+		}
+		final Deque<Class<?>> interfaces = new ArrayDeque<>();
+		for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+			for (final Class<?> implemented : current.getInterfaces()) {
+				interfaces.add(implemented);
+			}
+		}
+		while (!interfaces.isEmpty()) {
+			final Class<?> current = interfaces.remove();
+			final IOBiConsumer<Object, JsonScribe> writer = REGISTERED.get(current);
+			if (writer != null) return writer;
+			for (final Class<?> extended : current.getInterfaces()) {
+				interfaces.add(extended);
+			}
+		}
+		return null;
+	}
+
+	private static void writeString(final Object value, final JsonScribe scribe) throws IOException {
+		scribe.value(value.toString());
+	}
+
+	private static void writeMap(final Object value, final JsonScribe scribe) throws IOException {
+		scribe.pushObject();
+		for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+			scribe.key(String.valueOf(entry.getKey())).value(entry.getValue());
+		}
+		scribe.pop();
+	}
+
+	private static void writeIterable(final Object value, final JsonScribe scribe) throws IOException {
+		scribe.pushArray();
+		for (final Object element : (Iterable<?>) value) {
+			scribe.value(element);
+		}
+		scribe.pop();
+	}
+
+	private static void writeArray(final Object value, final JsonScribe scribe) throws IOException {
+		scribe.pushArray();
+		for (final Object element : (Object[]) value) {
+			scribe.value(element);
+		}
+		scribe.pop();
+	}
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.scribe;
+
+/**
+ * Formats numbers as JSON numeric literals directly into a {@code char[]}, without
+ * allocating intermediate strings.
+ *
+ * @author Doug Valenta
+ */
+final class NumberFormatter {
+
+	/**
+	 * The maximum number of characters written by {@link #formatInt(int, char[], int)}
+	 * or {@link #formatLong(long, char[], int)}.
+	 */
+	static final int MAX_INTEGER_LENGTH = 20;
+
+	private static final String MIN_INT = "-2147483648";
+	private static final String MIN_LONG = "-9223372036854775808";
+
+	/**
+	 * The tens digit of each number from 0 to 99.
+	 */
+	private static final char[] TENS = new char[100];
+
+	/**
+	 * The ones digit of each number from 0 to 99.
+	 */
+	private static final char[] ONES = new char[100];
+
+	static {
+		for (int i = 0; i < 100; i++) {
+			TENS[i] = (char) ('0' + i / 10);
+			ONES[i] = (char) ('0' + i % 10);
+		}
+	}
+
+	/**
+	 * Writes the decimal representation of the provided int to the provided buffer,
+	 * starting at the provided offset, and returns the index after the last character
+	 * written.
+	 *
+	 * @param value the value to format
+	 * @param buffer the buffer to write to
+	 * @param offset the index of the first character to write
+	 * @return the index after the last character written
+	 */
+	static int formatInt(final int value, final char[] buffer, final int offset) {
+		if (value == Integer.MIN_VALUE) return copy(MIN_INT, buffer, offset);
+		int remaining = value < 0 ? -value : value;
+		final int end = value < 0 ? offset + 1 + intLength(remaining) : offset + intLength(remaining);
+		int position = end;
+		while (remaining >= 100) {
+			final int quotient = remaining / 100;
+			final int pair = remaining - quotient * 100;
+			remaining = quotient;
+			buffer[--position] = ONES[pair];
+			buffer[--position] = TENS[pair];
+		}
+		buffer[--position] = ONES[remaining];
+		if (remaining >= 10) buffer[--position] = TENS[remaining];
+		if (value < 0) buffer[--position] = '-';
+		return end;
+	}
+
+	/**
+	 * Writes the decimal representation of the provided long to the provided buffer,
+	 * starting at the provided offset, and returns the index after the last character
+	 * written.
+	 *
+	 * @param value the value to format
+	 * @param buffer the buffer to write to
+	 * @param offset the index of the first character to write
+	 * @return the index after the last character written
+	 */
+	static int formatLong(final long value, final char[] buffer, final int offset) {
+		if (value == (int) value) return formatInt((int) value, buffer, offset);
+		if (value == Long.MIN_VALUE) return copy(MIN_LONG, buffer, offset);
+		long remaining = value < 0 ? -value : value;
+		final int end = value < 0 ? offset + 1 + longLength(remaining) : offset + longLength(remaining);
+		int position = end;
+		while (remaining > Integer.MAX_VALUE) {
+			final long quotient = remaining / 100;
+			final int pair = (int) (remaining - quotient * 100);
+			remaining = quotient;
+			buffer[--position] = ONES[pair];
+			buffer[--position] = TENS[pair];
+		}
+		int small = (int) remaining;
+		while (small >= 100) {
+			final int quotient = small / 100;
+			final int pair = small - quotient * 100;
+			small = quotient;
+			buffer[--position] = ONES[pair];
+			buffer[--position] = TENS[pair];
+		}
+		buffer[--position] = ONES[small];
+		if (small >= 10) buffer[--position] = TENS[small];
+		if (value < 0) buffer[--position] = '-';
+		return end;
+	}
+
+	/**
+	 * Returns the number of decimal digits in the provided non-negative int.
+	 */
+	static int intLength(final int value) {
+		int limit = 10;
+		for (int length = 1; length < 10; length++) {
+			if (value < limit) return length;
+			limit *= 10;
+		}
+		return 10;
+	}
+
+	/**
+	 * Returns the number of decimal digits in the provided non-negative long.
+	 */
+	static int longLength(final long value) {
+		long limit = 10;
+		for (int length = 1; length < 19; length++) {
+			if (value < limit) return length;
+			limit *= 10;
+		}
+		return 19;
+	}
+
+	private static int copy(final String string, final char[] buffer, final int offset) {
+		string.getChars(0, string.length(), buffer, offset);
+		return offset + string.length();
+	}
+
+	private NumberFormatter() {}
+
+}
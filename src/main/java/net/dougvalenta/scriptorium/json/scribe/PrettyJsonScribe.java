@@ -0,0 +1,538 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.scribe;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+
+/**
+ * A {@link JsonScribe} which outputs indented JSON, with each key and array element on
+ * its own line.
+ *
+ * <p>
+ * Like a {@link SafeJsonScribe}, this scribe validates its state. The indentation of
+ * each depth is computed once and cached, so a line costs a single call to the
+ * {@link JsonAppender}. Arrays of scalar values may be kept on one line, as in
+ * {@code [1, 2, 3]}, when they fit within a maximum width; the values of such an array
+ * are held until the array is closed or grows too wide, so the width bounds the memory
+ * used.
+ *
+ * <p>
+ * When used with a {@link BufferedJsonAppender}, the appender must be flushed after
+ * the document is closed.
+ *
+ * @author Doug Valenta
+ */
+public class PrettyJsonScribe implements JsonScribe {
+	
+	private static final byte NONE = -1;
+	private static final byte OBJECT = 0;
+	private static final byte ARRAY = 1;
+	private static final byte KEY = 2;
+	private static final byte VALUE = 3;
+	private static final byte KEYVALUE = 4;
+	
+	private static final int INITIAL_CAPACITY = 16;
+	
+	public static final int DEFAULT_INDENT_WIDTH = 2;
+	
+	private static final String SPACE = " ";
+	
+	protected final JsonAppender appender;
+	
+	private final int indentWidth;
+	private final boolean keySpacing;
+	private final int maxInlineArrayWidth;
+	private final String separator;
+	
+	/**
+	 * The state stack; the current state is at {@code depth - 1}.
+	 */
+	private byte[] state = new byte[INITIAL_CAPACITY];
+	
+	private int depth;
+	
+	/**
+	 * The number of open objects and arrays.
+	 */
+	private int level;
+	
+	private boolean comma;
+	
+	/**
+	 * A newline followed by the indentation of each level, computed when first needed.
+	 */
+	private String[] indents = new String[INITIAL_CAPACITY];
+	
+	/**
+	 * True while the values of the innermost array are being held in {@link #inline}.
+	 */
+	private boolean pending;
+	
+	private StringBuilder inline;
+	private JsonAppender inlineAppender;
+	
+	/**
+	 * The end index in {@link #inline} of each held value.
+	 */
+	private int[] ends;
+	
+	private int count;
+	
+	/**
+	 * Constructs a scribe which indents by {@link #DEFAULT_INDENT_WIDTH} spaces, follows
+	 * each key with a space, and outputs each array element on its own line.
+	 *
+	 * @param appender the appender to output to
+	 */
+	public PrettyJsonScribe(final JsonAppender appender) {
+		this(appender, DEFAULT_INDENT_WIDTH, true, 0);
+	}
+	
+	/**
+	 * Constructs a scribe with the provided style.
+	 *
+	 * @param appender the appender to output to
+	 * @param indentWidth the number of spaces to indent each level by
+	 * @param keySpacing true to follow each key with a space, and each comma of an
+	 * inline array with a space
+	 * @param maxInlineArrayWidth the maximum width, in characters, of an array of scalar
+	 * values output on one line, or zero to output each array element on its own line
+	 * @throws IllegalArgumentException if {@code indentWidth} or
+	 * {@code maxInlineArrayWidth} is negative
+	 */
+	public PrettyJsonScribe(final JsonAppender appender, final int indentWidth, final boolean keySpacing, final int maxInlineArrayWidth) {
+		if (indentWidth < 0) throw new IllegalArgumentException("Invalid indent width " + indentWidth);
+		if (maxInlineArrayWidth < 0) throw new IllegalArgumentException("Invalid inline array width " + maxInlineArrayWidth);
+		this.appender = appender;
+		this.indentWidth = indentWidth;
+		this.keySpacing = keySpacing;
+		this.maxInlineArrayWidth = maxInlineArrayWidth;
+		this.separator = keySpacing ? ", " : ",";
+	}
+	
+	private byte peek() {
+		return depth == 0 ? NONE : state[depth - 1];
+	}
+	
+	private void push(final byte next) {
+		if (depth == state.length) state = Arrays.copyOf(state, depth << 1);
+		state[depth++] = next;
+	}
+	
+	/**
+	 * Outputs a newline followed by the indentation of the provided level.
+	 */
+	private void newline(final int level) throws IOException {
+		if (level >= indents.length) indents = Arrays.copyOf(indents, Math.max(level + 1, indents.length << 1));
+		String indent = indents[level];
+		if (indent == null) {
+			final char[] chars = new char[level * indentWidth + 1];
+			Arrays.fill(chars, ' ');
+			chars[0] = '\n';
+			indent = indents[level] = new String(chars);
+		}
+		appender.appendRaw(indent);
+	}
+	
+	private void afterKey() throws IOException {
+		if (keySpacing) appender.appendRaw(SPACE);
+	}
+	
+	/**
+	 * Begins holding the values of a newly opened array.
+	 */
+	private void hold() {
+		if (inline == null) {
+			inline = new StringBuilder(maxInlineArrayWidth);
+			inlineAppender = new JsonAppender(inline, appender.getEscaper());
+			ends = new int[INITIAL_CAPACITY];
+		}
+		inline.setLength(0);
+		count = 0;
+		pending = true;
+	}
+	
+	/**
+	 * Outputs the held values of the innermost array, each on its own line, and stops
+	 * holding values.
+	 */
+	private void expand() throws IOException {
+		pending = false;
+		int start = 0;
+		for (int i = 0; i < count; i++) {
+			if (i != 0) appender.appendComma();
+			newline(level);
+			appender.appendRaw(inline.subSequence(start, ends[i]));
+			start = ends[i];
+		}
+	}
+	
+	/**
+	 * Returns the width of the held values when output on one line, including brackets.
+	 */
+	private int inlineWidth() {
+		return inline.length() + (count - 1) * separator.length() + 2;
+	}
+	
+	private void beforeNode() throws IOException {
+		if (pending) expand();
+		if (depth != 0) {
+			switch (state[depth - 1]) {
+				case ARRAY:
+					if (comma) appender.appendComma();
+					newline(level);
+					break;
+				case KEYVALUE:
+					depth--;
+					break;
+				default:
+					throw new IllegalStateException("Not an array or key-value");
+			}
+		}
+	}
+	
+	/**
+	 * Prepares to output a scalar value, and returns the appender to output it to.
+	 */
+	private JsonAppender beforeValue() throws IOException {
+		if (depth == 0) throw new IllegalStateException("Not an array or key-value");
+		switch (state[depth - 1]) {
+			case ARRAY:
+				if (pending) return inlineAppender;
+				if (comma) appender.appendComma();
+				newline(level);
+				return appender;
+			case KEYVALUE:
+				depth--;
+				return appender;
+			default:
+				throw new IllegalStateException("Not an array or key-value");
+		}
+	}
+	
+	private PrettyJsonScribe afterValue() throws IOException {
+		comma = true;
+		if (pending) {
+			if (count == ends.length) ends = Arrays.copyOf(ends, count << 1);
+			ends[count++] = inline.length();
+			if (inlineWidth() > maxInlineArrayWidth) expand();
+		}
+		return this;
+	}
+	
+	private void beforeKey() throws IOException {
+		if (peek() != OBJECT) {
+			throw new IllegalStateException("Not an object");
+		}
+		if (comma) appender.appendComma();
+		newline(level);
+	}
+	
+	@Override
+	public PrettyJsonScribe emptyObject() throws IOException {
+		beforeValue().appendEmptyObject();
+		return afterValue();
+	}
+	
+	@Override
+	public PrettyJsonScribe pushObject() throws IOException {
+		beforeNode();
+		push(OBJECT);
+		level++;
+		appender.appendOpenBrace();
+		comma = false;
+		return this;
+	}
+	
+	@Override
+	public PrettyJsonScribe key(final CharSequence key) throws IOException {
+		if (key instanceof JsonKeyName) return key((JsonKeyName) key);
+		beforeKey();
+		push(KEYVALUE);
+		appender.appendQuote().escape(key).appendCloseKey();
+		afterKey();
+		return this;
+	}
+	
+	@Override
+	public PrettyJsonScribe key(final JsonKeyName key) throws IOException {
+		beforeKey();
+		push(KEYVALUE);
+		appender.appendKeyName(key);
+		afterKey();
+		return this;
+	}
+	
+	@Override
+	public PrettyJsonScribe pushKey() throws IOException {
+		beforeKey();
+		push(KEY);
+		appender.appendQuote();
+		return this;
+	}
+	
+	@Override
+	public PrettyJsonScribe emptyArray() throws IOException {
+		beforeValue().appendEmptyArray();
+		return afterValue();
+	}
+	
+	@Override
+	public PrettyJsonScribe pushArray() throws IOException {
+		beforeNode();
+		push(ARRAY);
+		level++;
+		appender.appendOpenBracket();
+		comma = false;
+		if (maxInlineArrayWidth != 0) hold();
+		return this;
+	}
+	
+	@Override
+	public PrettyJsonScribe value(final Object value) throws IOException {
+		if (value == null) return nullValue();
+		JsonValueWriters.write(value, this);
+		return this;
+	}
+	
+	@Override
+	public PrettyJsonScribe value(final CharSequence value) throws IOException {
+		beforeValue().appendQuote().escape(value).appendQuote();
+		return afterValue();
+	}
+	
+	@Override
+	public PrettyJsonScribe value(final char value) throws IOException {
+		beforeValue().appendQuote().escape(value).appendQuote();
+		return afterValue();
+	}
+	
+	@Override
+	public PrettyJsonScribe value(final Enum<?> value) throws IOException {
+		if (value == null) return nullValue();
+		beforeValue().appendEnumName(JsonEnumName.of(value));
+		return afterValue();
+	}
+	
+	@Override
+	public PrettyJsonScribe value(final Instant value) throws IOException {
+		if (value == null) return nullValue();
+		beforeValue().appendTime(value);
+		return afterValue();
+	}
+	
+	@Override
+	public PrettyJsonScribe value(final LocalDate value) throws IOException {
+		if (value == null) return nullValue();
+		beforeValue().appendTime(value);
+		return afterValue();
+	}
+	
+	@Override
+	public PrettyJsonScribe value(final OffsetDateTime value) throws IOException {
+		if (value == null) return nullValue();
+		beforeValue().appendTime(value);
+		return afterValue();
+	}
+	
+	@Override
+	public PrettyJsonScribe value(final BigInteger value) throws IOException {
+		beforeValue().appendNumber(value);
+		return afterValue();
+	}
+	
+	@Override
+	public PrettyJsonScribe value(final BigDecimal value) throws IOException {
+		beforeValue().appendNumber(value);
+		return afterValue();
+	}
+	
+	@Override
+	public PrettyJsonScribe value(final int value) throws IOException {
+		beforeValue().appendNumber(value);
+		return afterValue();
+	}
+	
+	@Override
+	public PrettyJsonScribe value(final float value) throws IOException {
+		if (!Float.isFinite(value)) return nullValue();
+		beforeValue().appendNumber(value);
+		return afterValue();
+	}
+	
+	@Override
+	public PrettyJsonScribe value(final long value) throws IOException {
+		beforeValue().appendNumber(value);
+		return afterValue();
+	}
+	
+	@Override
+	public PrettyJsonScribe value(final double value) throws IOException {
+		if (!Double.isFinite(value)) return nullValue();
+		beforeValue().appendNumber(value);
+		return afterValue();
+	}
+	
+	@Override
+	public PrettyJsonScribe value(final boolean value) throws IOException {
+		beforeValue().appendBoolean(value);
+		return afterValue();
+	}
+	
+	@Override
+	public PrettyJsonScribe rawValue(final CharSequence json) throws IOException {
+		if (json instanceof JsonFragment) return rawValue((JsonFragment) json);
+		beforeValue().appendRaw(json);
+		return afterValue();
+	}
+	
+	@Override
+	public PrettyJsonScribe rawValue(final JsonFragment fragment) throws IOException {
+		beforeValue().appendRaw(fragment);
+		return afterValue();
+	}
+	
+	@Override
+	public PrettyJsonScribe nullValue() throws IOException {
+		beforeValue().appendNull();
+		return afterValue();
+	}
+	
+	@Override
+	public PrettyJsonScribe trueValue() throws IOException {
+		beforeValue().appendTrue();
+		return afterValue();
+	}
+	
+	@Override
+	public PrettyJsonScribe falseValue() throws IOException {
+		beforeValue().appendFalse();
+		return afterValue();
+	}
+	
+	@Override
+	public PrettyJsonScribe pushValue() throws IOException {
+		if (pending) expand();
+		beforeValue();
+		push(VALUE);
+		appender.appendQuote();
+		return this;
+	}
+	
+	@Override
+	public PrettyJsonScribe pop() throws IOException {
+		if (depth == 0) {
+			throw new IllegalStateException("No state");
+		}
+		switch (state[--depth]) {
+			case KEYVALUE:
+				depth++;
+				throw new IllegalStateException("Cannot pop state");
+			case OBJECT:
+				level--;
+				if (comma) newline(level);
+				appender.appendCloseBrace();
+				break;
+			case ARRAY:
+				level--;
+				if (pending) {
+					pending = false;
+					int start = 0;
+					for (int i = 0; i < count; i++) {
+						if (i != 0) appender.appendRaw(separator);
+						appender.appendRaw(inline.subSequence(start, ends[i]));
+						start = ends[i];
+					}
+				} else if (comma) {
+					newline(level);
+				}
+				appender.appendCloseBracket();
+				break;
+			case KEY:
+				appender.appendCloseKey();
+				afterKey();
+				state[depth++] = KEYVALUE;
+				return this;
+			case VALUE:
+				appender.appendQuote();
+				break;
+		}
+		comma = true;
+		return this;
+	}
+	
+	@Override
+	public PrettyJsonScribe append(final CharSequence sequence) throws IOException {
+		return append(sequence, 0, sequence.length());
+	}
+	
+	@Override
+	public PrettyJsonScribe append(final CharSequence sequence, final int start, final int end) throws IOException {
+		switch (peek()) {
+			case KEY:
+			case VALUE:
+				break;
+			default:
+				throw new IllegalStateException("Not a key or value");
+		}
+		appender.escape(sequence, start, end);
+		return this;
+	}
+	
+	@Override
+	public PrettyJsonScribe append(final char character) throws IOException {
+		switch (peek()) {
+			case KEY:
+			case VALUE:
+				break;
+			default:
+				throw new IllegalStateException("Not a key or value");
+		}
+		appender.escape(character);
+		return this;
+	}
+	
+	@Override
+	public void close() throws IOException {
+		while (depth != 0) pop();
+	}
+	
+	/**
+	 * Returns this scribe to its initial state without producing any output, discarding
+	 * any open states and held values, and returns this object.
+	 *
+	 * @return this object
+	 * @see SafeJsonScribe#reset()
+	 */
+	public PrettyJsonScribe reset() {
+		depth = 0;
+		level = 0;
+		comma = false;
+		pending = false;
+		return this;
+	}
+	
+	@Override
+	public int getCursor() {
+		return depth;
+	}
+	
+	@Override
+	public PrettyJsonScribe pop(final int cursor) throws IOException {
+		if (cursor < 0) throw new IllegalStateException("Invalid cursor " + cursor);
+		if (cursor > depth) throw new IllegalStateException("Future cursor " + cursor);
+		while (cursor < depth) {
+			pop();
+		}
+		return this;
+	}
+
+}
@@ -7,8 +7,10 @@ package net.dougvalenta.scriptorium.json.scribe;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.util.Deque;
-import java.util.LinkedList;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
 
 /**
  *
@@ -16,32 +18,64 @@ import java.util.LinkedList;
  */
 public class SafeJsonScribe implements JsonScribe {
 	
-	private enum State {
-		OBJECT,
-		ARRAY,
-		KEY,
-		VALUE,
-		KEYVALUE
-	}
+	private static final byte NONE = -1;
+	private static final byte OBJECT = 0;
+	private static final byte ARRAY = 1;
+	private static final byte KEY = 2;
+	private static final byte VALUE = 3;
+	private static final byte KEYVALUE = 4;
+	
+	private static final int INITIAL_CAPACITY = 16;
 	
 	protected final JsonAppender appender;
 	
-	private final Deque<State> state = new LinkedList<>();
+	/**
+	 * The state stack; the current state is at {@code depth - 1}.
+	 */
+	private byte[] state = new byte[INITIAL_CAPACITY];
+	
+	private int depth;
 	
 	private boolean comma;
 	
+	/**
+	 * The cache of quoted and escaped string values, or null.
+	 */
+	private final JsonValueCache cache;
+	
 	public SafeJsonScribe(final JsonAppender appender) {
+		this(appender, null);
+	}
+	
+	/**
+	 * Creates a scribe which outputs string values through the provided cache, if the
+	 * appender's escaper is a {@link JsonEscaper}.
+	 * 
+	 * @param appender the appender
+	 * @param cache the cache of string values, or null for none
+	 */
+	public SafeJsonScribe(final JsonAppender appender, final JsonValueCache cache) {
 		this.appender = appender;
+		this.cache = cache != null && JsonKeyName.isPreEscaped(appender.getEscaper()) ? cache : null;
+	}
+	
+	private byte peek() {
+		return depth == 0 ? NONE : state[depth - 1];
+	}
+	
+	private void push(final byte next) {
+		if (depth == state.length) state = Arrays.copyOf(state, depth << 1);
+		state[depth++] = next;
 	}
 	
 	private SafeJsonScribe beforeNode() throws IOException {
-		if (!state.isEmpty()) {
-			switch (state.peek()) {
+		if (depth != 0) {
+			switch (state[depth - 1]) {
 				case ARRAY:
 					if (comma) appender.appendComma();
 					break;
 				case KEYVALUE:
-					state.pop();
+					depth--;
 					break;
 				default:
 					throw new IllegalStateException("Not an array or key-value");
@@ -51,13 +85,13 @@ public class SafeJsonScribe implements JsonScribe {
 	}
 	
 	private SafeJsonScribe beforeValue() throws IOException {
-		if (state.isEmpty()) throw new IllegalStateException("Not an array or key-value");
-		switch (state.peek()) {
+		if (depth == 0) throw new IllegalStateException("Not an array or key-value");
+		switch (state[depth - 1]) {
 			case ARRAY:
 				if (comma) appender.appendComma();
 				break;
 			case KEYVALUE:
-				state.pop();
+				depth--;
 				break;
 			default:
 				throw new IllegalStateException("Not an array or key-value");
@@ -76,7 +110,7 @@ public class SafeJsonScribe implements JsonScribe {
 	@Override
 	public SafeJsonScribe pushObject() throws IOException {
 		beforeNode();
-		state.push(State.OBJECT);
+		push(OBJECT);
 		appender.appendOpenBrace();
 		comma = false;
 		return this;
@@ -84,22 +118,34 @@ public class SafeJsonScribe implements JsonScribe {
 	
 	@Override
 	public SafeJsonScribe key(final CharSequence key) throws IOException {
-		if (state.peek() != State.OBJECT) {
+		if (key instanceof JsonKeyName) return key((JsonKeyName) key);
+		if (peek() != OBJECT) {
 			throw new IllegalStateException("Not an object");
 		}
 		if (comma) appender.appendComma();
-		state.push(State.KEYVALUE);
+		push(KEYVALUE);
 		appender.appendQuote().escape(key).appendCloseKey();
 		return this;
 	}
 	
+	@Override
+	public SafeJsonScribe key(final JsonKeyName key) throws IOException {
+		if (peek() != OBJECT) {
+			throw new IllegalStateException("Not an object");
+		}
+		if (comma) appender.appendComma();
+		push(KEYVALUE);
+		appender.appendKeyName(key);
+		return this;
+	}
+	
 	@Override
 	public SafeJsonScribe pushKey() throws IOException {
-		if (state.peek() != State.OBJECT) {
+		if (peek() != OBJECT) {
 			throw new IllegalStateException("Not an object");
 		}
 		if (comma) appender.appendComma();
-		state.push(State.KEY);
+		push(KEY);
 		appender.appendQuote();
 		return this;
 	}
@@ -115,7 +161,7 @@ public class SafeJsonScribe implements JsonScribe {
 	@Override
 	public SafeJsonScribe pushArray() throws IOException {
 		beforeNode();
-		state.push(State.ARRAY);
+		push(ARRAY);
 		appender.appendOpenBracket();
 		comma = false;
 		return this;
@@ -124,24 +170,19 @@ public class SafeJsonScribe implements JsonScribe {
 	@Override
 	public SafeJsonScribe value(final Object value) throws IOException {
 		if (value == null) return nullValue();
-		if (value instanceof CharSequence) return value((CharSequence) value);
-		if (value instanceof Character) return value((char) value);
-		if (value instanceof BigInteger) return value((BigInteger) value);
-		if (value instanceof BigDecimal) return value((BigDecimal) value);
-		if (value instanceof Byte) return value((int) value);
-		if (value instanceof Short) return value((int) value);
-		if (value instanceof Integer) return value((int) value);
-		if (value instanceof Float) return value((float) value);
-		if (value instanceof Long) return value((long) value);
-		if (value instanceof Double) return value((double) value);
-		if (value instanceof Boolean) return value((boolean) value);
-		throw new IllegalArgumentException("Invalid type " + value.getClass().getName());
+		JsonValueWriters.write(value, this);
+		return this;
 	}
 	
 	@Override
 	public SafeJsonScribe value(final CharSequence value) throws IOException {
 		beforeValue();
-		appender.appendQuote().escape(value).appendQuote();
+		final JsonFragment cached = cache == null ? null : cache.get(value);
+		if (cached != null) {
+			appender.appendRaw(cached);
+		} else {
+			appender.appendQuote().escape(value).appendQuote();
+		}
 		comma = true;
 		return this;
 	}
@@ -154,6 +195,42 @@ public class SafeJsonScribe implements JsonScribe {
 		return this;
 	}
 	
+	@Override
+	public SafeJsonScribe value(final Enum<?> value) throws IOException {
+		if (value == null) return nullValue();
+		beforeValue();
+		appender.appendEnumName(JsonEnumName.of(value));
+		comma = true;
+		return this;
+	}
+	
+	@Override
+	public SafeJsonScribe value(final Instant value) throws IOException {
+		if (value == null) return nullValue();
+		beforeValue();
+		appender.appendTime(value);
+		comma = true;
+		return this;
+	}
+	
+	@Override
+	public SafeJsonScribe value(final LocalDate value) throws IOException {
+		if (value == null) return nullValue();
+		beforeValue();
+		appender.appendTime(value);
+		comma = true;
+		return this;
+	}
+	
+	@Override
+	public SafeJsonScribe value(final OffsetDateTime value) throws IOException {
+		if (value == null) return nullValue();
+		beforeValue();
+		appender.appendTime(value);
+		comma = true;
+		return this;
+	}
+	
 	@Override
 	public SafeJsonScribe value(final BigInteger value) throws IOException {
 		beforeValue();
@@ -212,6 +289,53 @@ public class SafeJsonScribe implements JsonScribe {
 		return this;
 	}
 	
+	/**
+	 * Prepares to output the provided range of values in the array state, and returns
+	 * true if the range is not empty.
+	 */
+	private boolean beforeValues(final int start, final int end) throws IOException {
+		if (peek() != ARRAY) throw new IllegalStateException("Not an array");
+		if (start >= end) return false;
+		if (comma) appender.appendComma();
+		comma = true;
+		return true;
+	}
+	
+	@Override
+	public SafeJsonScribe values(final int[] values, final int start, final int end) throws IOException {
+		if (beforeValues(start, end)) appender.appendNumbers(values, start, end);
+		return this;
+	}
+	
+	@Override
+	public SafeJsonScribe values(final long[] values, final int start, final int end) throws IOException {
+		if (beforeValues(start, end)) appender.appendNumbers(values, start, end);
+		return this;
+	}
+	
+	@Override
+	public SafeJsonScribe values(final double[] values, final int start, final int end) throws IOException {
+		if (beforeValues(start, end)) appender.appendNumbers(values, start, end);
+		return this;
+	}
+	
+	@Override
+	public SafeJsonScribe rawValue(final CharSequence json) throws IOException {
+		if (json instanceof JsonFragment) return rawValue((JsonFragment) json);
+		beforeValue();
+		appender.appendRaw(json);
+		comma = true;
+		return this;
+	}
+	
+	@Override
+	public SafeJsonScribe rawValue(final JsonFragment fragment) throws IOException {
+		beforeValue();
+		appender.appendRaw(fragment);
+		comma = true;
+		return this;
+	}
+	
 	@Override
 	public SafeJsonScribe nullValue() throws IOException {
 		beforeValue();
@@ -239,17 +363,17 @@ public class SafeJsonScribe implements JsonScribe {
 	@Override
 	public SafeJsonScribe pushValue() throws IOException {
 		beforeValue();
-		state.push(State.VALUE);
+		push(VALUE);
 		appender.appendQuote();
 		return this;
 	}
 	
 	@Override
 	public SafeJsonScribe pop() throws IOException {
-		if (state.isEmpty()) {
+		if (depth == 0) {
 			throw new IllegalStateException("No state");
 		}
-		switch (state.peek()) {
+		switch (state[depth - 1]) {
 			case KEYVALUE:
 				throw new IllegalStateException("Cannot pop state");
 			case OBJECT:
@@ -257,7 +381,7 @@ public class SafeJsonScribe implements JsonScribe {
 			case VALUE:
 				comma = true;
 		}
-		switch (state.pop()) {
+		switch (state[--depth]) {
 			case OBJECT:
 				appender.appendCloseBrace();
 				break;
@@ -266,7 +390,7 @@ public class SafeJsonScribe implements JsonScribe {
 				break;
 			case KEY:
 				appender.appendCloseKey();
-				state.push(State.KEYVALUE);
+				state[depth++] = KEYVALUE;
 				break;
 			case VALUE:
 				appender.appendQuote();
@@ -282,8 +406,8 @@ public class SafeJsonScribe implements JsonScribe {
 	
 	@Override
 	public SafeJsonScribe append(final CharSequence sequence, final int start, final int end) throws IOException {
-		if (state.isEmpty()) throw new IllegalStateException("No state");
-		switch (state.peek()) {
+		if (depth == 0) throw new IllegalStateException("No state");
+		switch (state[depth - 1]) {
 			case KEY:
 			case VALUE:
 				break;
@@ -296,8 +420,8 @@ public class SafeJsonScribe implements JsonScribe {
 	
 	@Override
 	public SafeJsonScribe append(final char character) throws IOException {
-		if (state.isEmpty()) throw new IllegalStateException("No state");
-		switch (state.peek()) {
+		if (depth == 0) throw new IllegalStateException("No state");
+		switch (state[depth - 1]) {
 			case KEY:
 			case VALUE:
 				break;
@@ -310,19 +434,48 @@ public class SafeJsonScribe implements JsonScribe {
 	
 	@Override
 	public void close() throws IOException {
-		while (!state.isEmpty()) pop();
+		while (depth != 0) pop();
+	}
+	
+	/**
+	 * Returns this scribe to its initial state without producing any output, discarding
+	 * any open states, and returns this object.
+	 * 
+	 * <p>
+	 * This allows a scribe to be reused for another document after its
+	 * {@link JsonAppender} has been redirected, as by
+	 * {@link BufferedJsonAppender#reset(Appendable)}.
+	 * 
+	 * @return this object
+	 */
+	public SafeJsonScribe reset() {
+		depth = 0;
+		comma = false;
+		return this;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>
+	 * A subclass of this class can't be copied unless it overrides this method.
+	 */
+	@Override
+	public SafeJsonScribe copy(final Appendable appendable) {
+		if (getClass() != SafeJsonScribe.class) return null;
+		return new SafeJsonScribe(new JsonAppender(appendable, appender.getEscaper()), cache);
 	}
 	
 	@Override
 	public int getCursor() {
-		return state.size();
+		return depth;
 	}
 	
 	@Override
 	public SafeJsonScribe pop(final int cursor) throws IOException {
 		if (cursor < 0) throw new IllegalStateException("Invalid cursor " + cursor);
-		if (cursor > state.size()) throw new IllegalStateException("Future cursor " + cursor);
-		while (cursor < state.size()) {
+		if (cursor > depth) throw new IllegalStateException("Future cursor " + cursor);
+		while (cursor < depth) {
 			pop();
 		}
 		return this;
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.scribe;
+
+/**
+ * Finds the characters which {@link JsonEscaper} must escape by testing four characters
+ * at a time, packed into the 16-bit lanes of a {@code long}.
+ *
+ * <p>
+ * Each test sets the high bit of every lane which matches; a lane above a matching lane
+ * may also be set by a borrow, so only the lowest set lane is meaningful, and it is
+ * always exact. Characters are packed with the first in the lowest lane.
+ *
+ * @author Doug Valenta
+ */
+final class SwarEscapeScanner {
+	
+	private static final long ONES = 0x0001000100010001L;
+	private static final long HIGH = 0x8000800080008000L;
+	private static final long CONTROL = 0x0020 * ONES;
+	private static final long QUOTE = '"' * ONES;
+	private static final long BACKSLASH = '\\' * ONES;
+	private static final long LOW = 0x7FFF * ONES;
+	private static final long NON_ASCII = 0x7F80 * ONES;
+	
+	private SwarEscapeScanner() {
+	}
+	
+	/**
+	 * Returns the high bits of the lanes of the provided word which hold characters that
+	 * must be escaped.
+	 */
+	static long escapes(final long word) {
+		final long quote = word ^ QUOTE;
+		final long backslash = word ^ BACKSLASH;
+		return ((word - CONTROL) & ~word | (quote - ONES) & ~quote | (backslash - ONES) & ~backslash) & HIGH;
+	}
+	
+	/**
+	 * Returns the high bits of the lanes of the provided word which hold characters that
+	 * are not ASCII.
+	 */
+	static long nonAscii(final long word) {
+		return ((word & LOW) + NON_ASCII | word) & HIGH;
+	}
+	
+	private static boolean mustEscape(final char character) {
+		return character < 0x20 || character == '"' || character == '\\';
+	}
+	
+	private static long pack(final char[] chars, final int index) {
+		return chars[index]
+				| (long) chars[index + 1] << 16
+				| (long) chars[index + 2] << 32
+				| (long) chars[index + 3] << 48;
+	}
+	
+	private static long pack(final CharSequence sequence, final int index) {
+		return sequence.charAt(index)
+				| (long) sequence.charAt(index + 1) << 16
+				| (long) sequence.charAt(index + 2) << 32
+				| (long) sequence.charAt(index + 3) << 48;
+	}
+	
+	private static int lane(final long mask) {
+		return Long.numberOfTrailingZeros(mask) >>> 4;
+	}
+	
+	/**
+	 * Returns the index of the first character in the provided range which must be
+	 * escaped, or {@code end} if there is none.
+	 */
+	static int indexOfEscape(final char[] chars, final int start, final int end) {
+		int i = start;
+		for (final int bound = end - 7; i < bound; i += 8) {
+			final long low = escapes(pack(chars, i));
+			final long high = escapes(pack(chars, i + 4));
+			if ((low | high) != 0) return low != 0 ? i + lane(low) : i + 4 + lane(high);
+		}
+		for (; i < end; i++) {
+			if (mustEscape(chars[i])) return i;
+		}
+		return end;
+	}
+	
+	/**
+	 * Returns the index of the first character in the provided range which must be
+	 * escaped, or {@code end} if there is none.
+	 */
+	static int indexOfEscape(final CharSequence sequence, final int start, final int end) {
+		int i = start;
+		for (final int bound = end - 3; i < bound; i += 4) {
+			final long mask = escapes(pack(sequence, i));
+			if (mask != 0) return i + lane(mask);
+		}
+		for (; i < end; i++) {
+			if (mustEscape(sequence.charAt(i))) return i;
+		}
+		return end;
+	}
+	
+	/**
+	 * Returns the index of the first character in the provided range which must be
+	 * escaped or is not ASCII, or {@code end} if there is none.
+	 */
+	static int indexOfEscapeOrNonAscii(final char[] chars, final int start, final int end) {
+		int i = start;
+		for (final int bound = end - 3; i < bound; i += 4) {
+			final long word = pack(chars, i);
+			final long mask = escapes(word) | nonAscii(word);
+			if (mask != 0) return i + lane(mask);
+		}
+		for (; i < end; i++) {
+			final char character = chars[i];
+			if (character >= 0x80 || mustEscape(character)) return i;
+		}
+		return end;
+	}
+	
+	/**
+	 * Returns the index of the first character in the provided range which must be
+	 * escaped or is not ASCII, or {@code end} if there is none.
+	 */
+	static int indexOfEscapeOrNonAscii(final CharSequence sequence, final int start, final int end) {
+		int i = start;
+		for (final int bound = end - 3; i < bound; i += 4) {
+			final long word = pack(sequence, i);
+			final long mask = escapes(word) | nonAscii(word);
+			if (mask != 0) return i + lane(mask);
+		}
+		for (; i < end; i++) {
+			final char character = sequence.charAt(i);
+			if (character >= 0x80 || mustEscape(character)) return i;
+		}
+		return end;
+	}
+
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.scribe;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+/**
+ * Formats {@code java.time} values as quoted ISO-8601 strings directly into a
+ * {@code char[]}, without allocating intermediate strings.
+ *
+ * <p>
+ * The text written is the same as that returned by the {@code toString()} method of
+ * each value. Values with years before 0 or after 9999, which {@code toString()} writes
+ * with a sign, are not formatted; the caller falls back to {@code toString()}.
+ *
+ * @author Doug Valenta
+ */
+final class TimeFormatter {
+	
+	/**
+	 * The maximum number of characters written by any of the format methods.
+	 */
+	static final int MAX_LENGTH = 40;
+	
+	private static final int SECONDS_PER_DAY = 86400;
+	
+	/**
+	 * The epoch second of 10000-01-01T00:00:00Z.
+	 */
+	private static final long MAX_EPOCH_SECOND = 253402300800L;
+	
+	/**
+	 * The epoch second of 0000-01-01T00:00:00Z.
+	 */
+	private static final long MIN_EPOCH_SECOND = -62167219200L;
+	
+	private TimeFormatter() {
+	}
+	
+	/**
+	 * Writes the provided instant, quoted, to the provided buffer, starting at the
+	 * provided offset, and returns the index after the last character written, or -1 if
+	 * the year of the instant is not between 0 and 9999.
+	 */
+	static int formatInstant(final Instant value, final char[] buffer, final int offset) {
+		final long epochSecond = value.getEpochSecond();
+		if (epochSecond < MIN_EPOCH_SECOND || epochSecond >= MAX_EPOCH_SECOND) return -1;
+		final long epochDay = Math.floorDiv(epochSecond, SECONDS_PER_DAY);
+		final int secondOfDay = (int) (epochSecond - epochDay * SECONDS_PER_DAY);
+		// Days since 0000-03-01, so that leap days fall at the end of each year
+		final int day = (int) epochDay + 719468;
+		final int era = Math.floorDiv(day, 146097);
+		final int dayOfEra = day - era * 146097;
+		final int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+		final int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+		final int shiftedMonth = (5 * dayOfYear + 2) / 153;
+		final int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+		final int year = era * 400 + yearOfEra + (month <= 2 ? 1 : 0);
+		int position = offset;
+		buffer[position++] = '"';
+		position = formatDate(year, month, dayOfYear - (153 * shiftedMonth + 2) / 5 + 1, buffer, position);
+		buffer[position++] = 'T';
+		position = formatTwoDigits(secondOfDay / 3600, buffer, position);
+		buffer[position++] = ':';
+		position = formatTwoDigits(secondOfDay / 60 % 60, buffer, position);
+		buffer[position++] = ':';
+		position = formatTwoDigits(secondOfDay % 60, buffer, position);
+		position = formatNano(value.getNano(), buffer, position);
+		buffer[position++] = 'Z';
+		buffer[position++] = '"';
+		return position;
+	}
+	
+	/**
+	 * Writes the provided date, quoted, to the provided buffer, starting at the provided
+	 * offset, and returns the index after the last character written, or -1 if the year
+	 * of the date is not between 0 and 9999.
+	 */
+	static int formatDate(final LocalDate value, final char[] buffer, final int offset) {
+		final int year = value.getYear();
+		if (year < 0 || year > 9999) return -1;
+		int position = offset;
+		buffer[position++] = '"';
+		position = formatDate(year, value.getMonthValue(), value.getDayOfMonth(), buffer, position);
+		buffer[position++] = '"';
+		return position;
+	}
+	
+	/**
+	 * Writes the provided date and time, quoted, to the provided buffer, starting at the
+	 * provided offset, and returns the index after the last character written, or -1 if
+	 * the year of the date is not between 0 and 9999.
+	 */
+	static int formatDateTime(final OffsetDateTime value, final char[] buffer, final int offset) {
+		final int year = value.getYear();
+		if (year < 0 || year > 9999) return -1;
+		int position = offset;
+		buffer[position++] = '"';
+		position = formatDate(year, value.getMonthValue(), value.getDayOfMonth(), buffer, position);
+		buffer[position++] = 'T';
+		position = formatTwoDigits(value.getHour(), buffer, position);
+		buffer[position++] = ':';
+		position = formatTwoDigits(value.getMinute(), buffer, position);
+		final int second = value.getSecond();
+		final int nano = value.getNano();
+		if (second != 0 || nano != 0) {
+			buffer[position++] = ':';
+			position = formatTwoDigits(second, buffer, position);
+			position = formatNano(nano, buffer, position);
+		}
+		final String offsetId = value.getOffset().getId();
+		offsetId.getChars(0, offsetId.length(), buffer, position);
+		position += offsetId.length();
+		buffer[position++] = '"';
+		return position;
+	}
+	
+	private static int formatDate(final int year, final int month, final int day, final char[] buffer, final int offset) {
+		int position = formatTwoDigits(year / 100, buffer, offset);
+		position = formatTwoDigits(year % 100, buffer, position);
+		buffer[position++] = '-';
+		position = formatTwoDigits(month, buffer, position);
+		buffer[position++] = '-';
+		return formatTwoDigits(day, buffer, position);
+	}
+	
+	private static int formatTwoDigits(final int value, final char[] buffer, final int offset) {
+		buffer[offset] = (char) ('0' + value / 10);
+		buffer[offset + 1] = (char) ('0' + value % 10);
+		return offset + 2;
+	}
+	
+	/**
+	 * Writes a nanosecond fraction, if it is not zero, as three, six or nine digits, as
+	 * few as represent it exactly.
+	 */
+	private static int formatNano(final int nano, final char[] buffer, final int offset) {
+		if (nano == 0) return offset;
+		final int digits;
+		int remaining;
+		if (nano % 1000000 == 0) {
+			digits = 3;
+			remaining = nano / 1000000;
+		} else if (nano % 1000 == 0) {
+			digits = 6;
+			remaining = nano / 1000;
+		} else {
+			digits = 9;
+			remaining = nano;
+		}
+		buffer[offset] = '.';
+		final int end = offset + 1 + digits;
+		for (int position = end - 1; position > offset; position--) {
+			buffer[position] = (char) ('0' + remaining % 10);
+			remaining /= 10;
+		}
+		return end;
+	}
+
+}
@@ -0,0 +1,403 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.scribe;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+
+/**
+ * A {@link JsonScribe} which does not validate its state.
+ *
+ * <p>
+ * This scribe tracks only what it needs to place commas and to close open nodes. Calls
+ * made out of order are not detected, and produce malformed JSON rather than throwing
+ * {@link IllegalStateException}. It is intended for callers, such as generated
+ * serializers, which are known to use the scribe correctly; otherwise, use a
+ * {@link SafeJsonScribe}.
+ *
+ * @author Doug Valenta
+ */
+public class UnsafeJsonScribe implements JsonScribe {
+	
+	private static final byte OBJECT = 0;
+	private static final byte ARRAY = 1;
+	private static final byte KEY = 2;
+	private static final byte VALUE = 3;
+	
+	private static final int INITIAL_CAPACITY = 16;
+	
+	protected final JsonAppender appender;
+	
+	/**
+	 * The stack of open nodes; the innermost node is at {@code depth - 1}.
+	 */
+	private byte[] state = new byte[INITIAL_CAPACITY];
+	
+	private int depth;
+	
+	private boolean comma;
+	
+	/**
+	 * The cache of quoted and escaped string values, or null.
+	 */
+	private final JsonValueCache cache;
+	
+	public UnsafeJsonScribe(final JsonAppender appender) {
+		this(appender, null);
+	}
+	
+	/**
+	 * Creates a scribe which outputs string values through the provided cache, if the
+	 * appender's escaper is a {@link JsonEscaper}.
+	 * 
+	 * @param appender the appender
+	 * @param cache the cache of string values, or null for none
+	 */
+	public UnsafeJsonScribe(final JsonAppender appender, final JsonValueCache cache) {
+		this.appender = appender;
+		this.cache = cache != null && JsonKeyName.isPreEscaped(appender.getEscaper()) ? cache : null;
+	}
+	
+	private void push(final byte next) {
+		if (depth == state.length) state = Arrays.copyOf(state, depth << 1);
+		state[depth++] = next;
+	}
+	
+	@Override
+	public UnsafeJsonScribe emptyObject() throws IOException {
+		if (comma) appender.appendComma();
+		appender.appendEmptyObject();
+		comma = true;
+		return this;
+	}
+	
+	@Override
+	public UnsafeJsonScribe pushObject() throws IOException {
+		if (comma) appender.appendComma();
+		push(OBJECT);
+		appender.appendOpenBrace();
+		comma = false;
+		return this;
+	}
+	
+	@Override
+	public UnsafeJsonScribe key(final CharSequence key) throws IOException {
+		if (key instanceof JsonKeyName) return key((JsonKeyName) key);
+		if (comma) appender.appendComma();
+		appender.appendQuote().escape(key).appendCloseKey();
+		comma = false;
+		return this;
+	}
+	
+	@Override
+	public UnsafeJsonScribe key(final JsonKeyName key) throws IOException {
+		if (comma) appender.appendComma();
+		appender.appendKeyName(key);
+		comma = false;
+		return this;
+	}
+	
+	@Override
+	public UnsafeJsonScribe pushKey() throws IOException {
+		if (comma) appender.appendComma();
+		push(KEY);
+		appender.appendQuote();
+		return this;
+	}
+	
+	@Override
+	public UnsafeJsonScribe emptyArray() throws IOException {
+		if (comma) appender.appendComma();
+		appender.appendEmptyArray();
+		comma = true;
+		return this;
+	}
+	
+	@Override
+	public UnsafeJsonScribe pushArray() throws IOException {
+		if (comma) appender.appendComma();
+		push(ARRAY);
+		appender.appendOpenBracket();
+		comma = false;
+		return this;
+	}
+	
+	@Override
+	public UnsafeJsonScribe value(final Object value) throws IOException {
+		if (value == null) return nullValue();
+		JsonValueWriters.write(value, this);
+		return this;
+	}
+	
+	@Override
+	public UnsafeJsonScribe value(final CharSequence value) throws IOException {
+		if (comma) appender.appendComma();
+		final JsonFragment cached = cache == null ? null : cache.get(value);
+		if (cached != null) {
+			appender.appendRaw(cached);
+		} else {
+			appender.appendQuote().escape(value).appendQuote();
+		}
+		comma = true;
+		return this;
+	}
+	
+	@Override
+	public UnsafeJsonScribe value(final char value) throws IOException {
+		if (comma) appender.appendComma();
+		appender.appendQuote().escape(value).appendQuote();
+		comma = true;
+		return this;
+	}
+	
+	@Override
+	public UnsafeJsonScribe value(final Enum<?> value) throws IOException {
+		if (value == null) return nullValue();
+		if (comma) appender.appendComma();
+		appender.appendEnumName(JsonEnumName.of(value));
+		comma = true;
+		return this;
+	}
+	
+	@Override
+	public UnsafeJsonScribe value(final Instant value) throws IOException {
+		if (value == null) return nullValue();
+		if (comma) appender.appendComma();
+		appender.appendTime(value);
+		comma = true;
+		return this;
+	}
+	
+	@Override
+	public UnsafeJsonScribe value(final LocalDate value) throws IOException {
+		if (value == null) return nullValue();
+		if (comma) appender.appendComma();
+		appender.appendTime(value);
+		comma = true;
+		return this;
+	}
+	
+	@Override
+	public UnsafeJsonScribe value(final OffsetDateTime value) throws IOException {
+		if (value == null) return nullValue();
+		if (comma) appender.appendComma();
+		appender.appendTime(value);
+		comma = true;
+		return this;
+	}
+	
+	@Override
+	public UnsafeJsonScribe value(final BigInteger value) throws IOException {
+		if (comma) appender.appendComma();
+		appender.appendNumber(value);
+		comma = true;
+		return this;
+	}
+	
+	@Override
+	public UnsafeJsonScribe value(final BigDecimal value) throws IOException {
+		if (comma) appender.appendComma();
+		appender.appendNumber(value);
+		comma = true;
+		return this;
+	}
+	
+	@Override
+	public UnsafeJsonScribe value(final int value) throws IOException {
+		if (comma) appender.appendComma();
+		appender.appendNumber(value);
+		comma = true;
+		return this;
+	}
+	
+	@Override
+	public UnsafeJsonScribe value(final float value) throws IOException {
+		if (!Float.isFinite(value)) return nullValue();
+		if (comma) appender.appendComma();
+		appender.appendNumber(value);
+		comma = true;
+		return this;
+	}
+	
+	@Override
+	public UnsafeJsonScribe value(final long value) throws IOException {
+		if (comma) appender.appendComma();
+		appender.appendNumber(value);
+		comma = true;
+		return this;
+	}
+	
+	@Override
+	public UnsafeJsonScribe value(final double value) throws IOException {
+		if (!Double.isFinite(value)) return nullValue();
+		if (comma) appender.appendComma();
+		appender.appendNumber(value);
+		comma = true;
+		return this;
+	}
+	
+	@Override
+	public UnsafeJsonScribe value(final boolean value) throws IOException {
+		if (comma) appender.appendComma();
+		appender.appendBoolean(value);
+		comma = true;
+		return this;
+	}
+	
+	/**
+	 * Prepares to output the provided range of values, and returns true if the range is
+	 * not empty.
+	 */
+	private boolean beforeValues(final int start, final int end) throws IOException {
+		if (start >= end) return false;
+		if (comma) appender.appendComma();
+		comma = true;
+		return true;
+	}
+	
+	@Override
+	public UnsafeJsonScribe values(final int[] values, final int start, final int end) throws IOException {
+		if (beforeValues(start, end)) appender.appendNumbers(values, start, end);
+		return this;
+	}
+	
+	@Override
+	public UnsafeJsonScribe values(final long[] values, final int start, final int end) throws IOException {
+		if (beforeValues(start, end)) appender.appendNumbers(values, start, end);
+		return this;
+	}
+	
+	@Override
+	public UnsafeJsonScribe values(final double[] values, final int start, final int end) throws IOException {
+		if (beforeValues(start, end)) appender.appendNumbers(values, start, end);
+		return this;
+	}
+	
+	@Override
+	public UnsafeJsonScribe rawValue(final CharSequence json) throws IOException {
+		if (json instanceof JsonFragment) return rawValue((JsonFragment) json);
+		if (comma) appender.appendComma();
+		appender.appendRaw(json);
+		comma = true;
+		return this;
+	}
+	
+	@Override
+	public UnsafeJsonScribe rawValue(final JsonFragment fragment) throws IOException {
+		if (comma) appender.appendComma();
+		appender.appendRaw(fragment);
+		comma = true;
+		return this;
+	}
+	
+	@Override
+	public UnsafeJsonScribe nullValue() throws IOException {
+		if (comma) appender.appendComma();
+		appender.appendNull();
+		comma = true;
+		return this;
+	}
+	
+	@Override
+	public UnsafeJsonScribe trueValue() throws IOException {
+		if (comma) appender.appendComma();
+		appender.appendTrue();
+		comma = true;
+		return this;
+	}
+	
+	@Override
+	public UnsafeJsonScribe falseValue() throws IOException {
+		if (comma) appender.appendComma();
+		appender.appendFalse();
+		comma = true;
+		return this;
+	}
+	
+	@Override
+	public UnsafeJsonScribe pushValue() throws IOException {
+		if (comma) appender.appendComma();
+		push(VALUE);
+		appender.appendQuote();
+		return this;
+	}
+	
+	@Override
+	public UnsafeJsonScribe pop() throws IOException {
+		switch (state[--depth]) {
+			case OBJECT:
+				appender.appendCloseBrace();
+				comma = depth != 0;
+				break;
+			case ARRAY:
+				appender.appendCloseBracket();
+				comma = depth != 0;
+				break;
+			case KEY:
+				appender.appendCloseKey();
+				comma = false;
+				break;
+			case VALUE:
+				appender.appendQuote();
+				comma = true;
+				break;
+		}
+		return this;
+	}
+	
+	@Override
+	public UnsafeJsonScribe append(final CharSequence sequence) throws IOException {
+		appender.escape(sequence, 0, sequence.length());
+		return this;
+	}
+	
+	@Override
+	public UnsafeJsonScribe append(final CharSequence sequence, final int start, final int end) throws IOException {
+		appender.escape(sequence, start, end);
+		return this;
+	}
+	
+	@Override
+	public UnsafeJsonScribe append(final char character) throws IOException {
+		appender.escape(character);
+		return this;
+	}
+	
+	@Override
+	public void close() throws IOException {
+		while (depth != 0) pop();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>
+	 * A subclass of this class can't be copied unless it overrides this method.
+	 */
+	@Override
+	public UnsafeJsonScribe copy(final Appendable appendable) {
+		if (getClass() != UnsafeJsonScribe.class) return null;
+		return new UnsafeJsonScribe(new JsonAppender(appendable, appender.getEscaper()), cache);
+	}
+	
+	@Override
+	public int getCursor() {
+		return depth;
+	}
+	
+	@Override
+	public UnsafeJsonScribe pop(final int cursor) throws IOException {
+		while (cursor < depth) {
+			pop();
+		}
+		return this;
+	}
+	
+}
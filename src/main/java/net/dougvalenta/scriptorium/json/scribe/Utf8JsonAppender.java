@@ -0,0 +1,536 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.scribe;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import net.dougvalenta.scriptorium.Escaper;
+
+/**
+ * A {@link JsonAppender} which encodes its output as UTF-8 directly into a byte buffer,
+ * and writes the buffer to an {@link OutputStream} whenever it fills.
+ *
+ * <p>
+ * Structural characters, literals, and numbers are written to the buffer as bytes.
+ * When the provided {@link net.dougvalenta.scriptorium.Escaper} is a {@link JsonEscaper},
+ * strings are escaped and encoded in a single pass; otherwise the escaper appends to
+ * an {@link Appendable} which encodes each character as it is appended. Unpaired
+ * surrogates are encoded as {@code '?'}.
+ *
+ * <p>
+ * Output is not written to the stream until the buffer fills or {@link #flush()} is
+ * called. The stream is never closed by this appender.
+ *
+ * @author Doug Valenta
+ */
+public class Utf8JsonAppender extends JsonAppender implements Flushable {
+	
+	/**
+	 * The size, in bytes, of the buffer used when none is specified.
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 8192;
+	
+	/**
+	 * The smallest permitted buffer size, in bytes.
+	 */
+	public static final int MIN_BUFFER_SIZE = 32;
+	
+	/**
+	 * The size, in characters, of the blocks in which escaped sequences are copied.
+	 */
+	private static final int BLOCK_SIZE = 512;
+	
+	private static final byte COMMA = ',';
+	private static final byte OPEN_BRACE = '{';
+	private static final byte CLOSE_BRACE = '}';
+	private static final byte OPEN_BRACKET = '[';
+	private static final byte CLOSE_BRACKET = ']';
+	private static final byte QUOTE = '"';
+	private static final byte REPLACEMENT = '?';
+	private static final byte[] CLOSE_KEY = "\":".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] FALSE = "false".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] EMPTY_OBJECT = "{}".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] EMPTY_ARRAY = "[]".getBytes(StandardCharsets.US_ASCII);
+	
+	private final Sink sink;
+	private final JsonEscaper jsonEscaper;
+	private final boolean preEscaped;
+	private final boolean scannable;
+	
+	/**
+	 * Reusable buffer for formatting numbers and times, whose characters are always ASCII.
+	 */
+	private final char[] scratch = new char[Math.max(Math.max(NumberFormatter.MAX_INTEGER_LENGTH, FloatingPointFormatter.MAX_LENGTH), TimeFormatter.MAX_LENGTH)];
+	
+	/**
+	 * Reusable buffer into which sequences are copied to be scanned and encoded.
+	 */
+	private final char[] block = new char[BLOCK_SIZE];
+	
+	public Utf8JsonAppender(final OutputStream stream, final Escaper escaper) {
+		this(stream, escaper, DEFAULT_BUFFER_SIZE);
+	}
+	
+	/**
+	 * @param stream the stream to write UTF-8 output to
+	 * @param escaper the escaper used to escape the contents of keys and strings
+	 * @param bufferSize the size, in bytes, of the output buffer
+	 * @throws IllegalArgumentException if {@code bufferSize} is less than
+	 * {@link #MIN_BUFFER_SIZE}
+	 */
+	public Utf8JsonAppender(final OutputStream stream, final Escaper escaper, final int bufferSize) {
+		this(new Sink(stream, bufferSize), escaper);
+	}
+	
+	private Utf8JsonAppender(final Sink sink, final Escaper escaper) {
+		super(sink, escaper);
+		this.sink = sink;
+		this.jsonEscaper = JsonEscaper.runEscaper(escaper);
+		this.preEscaped = JsonKeyName.isPreEscaped(escaper);
+		this.scannable = JsonEscaper.isScannable(escaper);
+	}
+	
+	/**
+	 * Writes any buffered output to the underlying {@link OutputStream}, then flushes
+	 * the stream.
+	 * 
+	 * <p>
+	 * A trailing high surrogate remains buffered, in case its low surrogate follows.
+	 * 
+	 * @throws IOException if an I/O error occurs
+	 */
+	@Override
+	public void flush() throws IOException {
+		sink.drain();
+		sink.stream.flush();
+	}
+	
+	@Override
+	public Utf8JsonAppender appendComma() throws IOException {
+		sink.write(COMMA);
+		return this;
+	}
+	
+	@Override
+	public Utf8JsonAppender appendOpenBrace() throws IOException {
+		sink.write(OPEN_BRACE);
+		return this;
+	}
+	
+	@Override
+	public Utf8JsonAppender appendCloseBrace() throws IOException {
+		sink.write(CLOSE_BRACE);
+		return this;
+	}
+	
+	@Override
+	public Utf8JsonAppender appendOpenBracket() throws IOException {
+		sink.write(OPEN_BRACKET);
+		return this;
+	}
+	
+	@Override
+	public Utf8JsonAppender appendCloseBracket() throws IOException {
+		sink.write(CLOSE_BRACKET);
+		return this;
+	}
+	
+	@Override
+	public Utf8JsonAppender appendEmptyObject() throws IOException {
+		sink.write(EMPTY_OBJECT);
+		return this;
+	}
+	
+	@Override
+	public Utf8JsonAppender appendEmptyArray() throws IOException {
+		sink.write(EMPTY_ARRAY);
+		return this;
+	}
+	
+	@Override
+	public Utf8JsonAppender appendQuote() throws IOException {
+		sink.write(QUOTE);
+		return this;
+	}
+	
+	@Override
+	public Utf8JsonAppender appendCloseKey() throws IOException {
+		sink.write(CLOSE_KEY);
+		return this;
+	}
+	
+	@Override
+	public Utf8JsonAppender appendKeyName(final JsonKeyName name) throws IOException {
+		if (preEscaped) {
+			sink.write(name.bytes);
+		} else {
+			super.appendKeyName(name);
+		}
+		return this;
+	}
+	
+	@Override
+	public Utf8JsonAppender appendEnumName(final JsonEnumName name) throws IOException {
+		if (preEscaped) {
+			sink.write(name.quoted.bytes);
+		} else {
+			super.appendEnumName(name);
+		}
+		return this;
+	}
+	
+	@Override
+	public Utf8JsonAppender appendRaw(final CharSequence json) throws IOException {
+		sink.append(json);
+		return this;
+	}
+	
+	@Override
+	public Utf8JsonAppender appendRaw(final JsonFragment fragment) throws IOException {
+		sink.write(fragment.bytes);
+		return this;
+	}
+	
+	@Override
+	public Utf8JsonAppender appendNull() throws IOException {
+		sink.write(NULL);
+		return this;
+	}
+	
+	@Override
+	public Utf8JsonAppender appendTrue() throws IOException {
+		sink.write(TRUE);
+		return this;
+	}
+	
+	@Override
+	public Utf8JsonAppender appendFalse() throws IOException {
+		sink.write(FALSE);
+		return this;
+	}
+	
+	@Override
+	public Utf8JsonAppender appendBoolean(final boolean value) throws IOException {
+		sink.write(value ? TRUE : FALSE);
+		return this;
+	}
+	
+	@Override
+	public Utf8JsonAppender appendNumber(final int value) throws IOException {
+		sink.writeAscii(scratch, NumberFormatter.formatInt(value, scratch, 0));
+		return this;
+	}
+	
+	@Override
+	public Utf8JsonAppender appendNumber(final float value) throws IOException {
+		sink.writeAscii(scratch, FloatingPointFormatter.formatFloat(value, scratch, 0));
+		return this;
+	}
+	
+	@Override
+	public Utf8JsonAppender appendNumber(final long value) throws IOException {
+		sink.writeAscii(scratch, NumberFormatter.formatLong(value, scratch, 0));
+		return this;
+	}
+	
+	@Override
+	public Utf8JsonAppender appendNumber(final double value) throws IOException {
+		sink.writeAscii(scratch, FloatingPointFormatter.formatDouble(value, scratch, 0));
+		return this;
+	}
+	
+	@Override
+	public Utf8JsonAppender appendTime(final Instant value) throws IOException {
+		return appendFormatted(value, TimeFormatter.formatInstant(value, scratch, 0));
+	}
+	
+	@Override
+	public Utf8JsonAppender appendTime(final LocalDate value) throws IOException {
+		return appendFormatted(value, TimeFormatter.formatDate(value, scratch, 0));
+	}
+	
+	@Override
+	public Utf8JsonAppender appendTime(final OffsetDateTime value) throws IOException {
+		return appendFormatted(value, TimeFormatter.formatDateTime(value, scratch, 0));
+	}
+	
+	/**
+	 * Outputs the scratch buffer up to the provided end, or, if the value could not be
+	 * formatted, its quoted string form.
+	 */
+	private Utf8JsonAppender appendFormatted(final Object value, final int end) throws IOException {
+		if (end < 0) return appendQuote().appendRaw(value.toString()).appendQuote();
+		sink.writeAscii(scratch, end);
+		return this;
+	}
+	
+	@Override
+	public Utf8JsonAppender appendNumbers(final int[] values, final int start, final int end) throws IOException {
+		for (int i = start; i < end; i++) {
+			if (i != start) sink.write(COMMA);
+			sink.writeAscii(scratch, NumberFormatter.formatInt(values[i], scratch, 0));
+		}
+		return this;
+	}
+	
+	@Override
+	public Utf8JsonAppender appendNumbers(final long[] values, final int start, final int end) throws IOException {
+		for (int i = start; i < end; i++) {
+			if (i != start) sink.write(COMMA);
+			sink.writeAscii(scratch, NumberFormatter.formatLong(values[i], scratch, 0));
+		}
+		return this;
+	}
+	
+	@Override
+	public Utf8JsonAppender appendNumbers(final double[] values, final int start, final int end) throws IOException {
+		for (int i = start; i < end; i++) {
+			if (i != start) sink.write(COMMA);
+			final double value = values[i];
+			if (Double.isFinite(value)) sink.writeAscii(scratch, FloatingPointFormatter.formatDouble(value, scratch, 0));
+			else sink.write(NULL);
+		}
+		return this;
+	}
+	
+	/**
+	 * Outputs the characters of the provided {@link CharSequence} or their escape
+	 * sequences, using the provided {@link net.dougvalenta.scriptorium.Escaper},
+	 * and returns this object.
+	 * 
+	 * <p>
+	 * When the provided {@link net.dougvalenta.scriptorium.Escaper} is a {@link JsonEscaper}
+	 * which overrides {@link JsonEscaper#mustEscape(char)} whenever it overrides
+	 * {@link JsonEscaper#escape(char, Appendable)}, characters that need no escaping are
+	 * encoded directly into the buffer, and only the characters that must be escaped are
+	 * passed to the escaper. Unless the escaper overrides either method, the sequence is copied in blocks into
+	 * a reusable char array, with the bulk copy of {@link String}, {@link StringBuilder}
+	 * or a heap {@link java.nio.CharBuffer} where possible, and runs of ASCII characters
+	 * that need no escaping are found several characters at a time.
+	 * 
+	 * <p>
+	 * Behavior is undefined if the provided CharSequence is null.
+	 * 
+	 * @param sequence the {@link CharSequence} containing characters to output or escape
+	 * @param start the index of the first character in {@code sequence} to output or escape
+	 * @param end the index of the first character in {@code sequence} after the last character
+	 * that will be output or escaped
+	 * @return this object
+	 * @throws IOException if an exception occurs while writing to the underlying
+	 * {@link OutputStream}
+	 */
+	@Override
+	public Utf8JsonAppender escape(final CharSequence sequence, final int start, final int end) throws IOException {
+		if (jsonEscaper == null) {
+			super.escape(sequence, start, end);
+			return this;
+		}
+		if (scannable) return scan(sequence, start, end);
+		final Sink sink = this.sink;
+		final byte[] buffer = sink.buffer;
+		int position = sink.position;
+		for (int i = start; i < end; i++) {
+			final char character = sequence.charAt(i);
+			if (character < 0x80 && sink.highSurrogate == 0 && !jsonEscaper.mustEscape(character)) {
+				if (position == buffer.length) {
+					sink.position = position;
+					sink.drain();
+					position = 0;
+				}
+				buffer[position++] = (byte) character;
+			} else {
+				sink.position = position;
+				if (jsonEscaper.mustEscape(character)) {
+					jsonEscaper.escape(character, sink);
+				} else {
+					sink.encode(character);
+				}
+				position = sink.position;
+			}
+		}
+		sink.position = position;
+		return this;
+	}
+	
+	/**
+	 * Copies the provided range in blocks into {@link #block}, with the bulk copy of
+	 * {@link String}, {@link StringBuilder} or a heap {@link java.nio.CharBuffer} where
+	 * possible, and outputs each block.
+	 */
+	private Utf8JsonAppender scan(final CharSequence sequence, final int start, final int end) throws IOException {
+		final char[] block = this.block;
+		for (int i = start; i < end; i += block.length) {
+			final int count = Math.min(end - i, block.length);
+			CharSequences.getChars(sequence, i, i + count, block, 0);
+			scan(block, count);
+		}
+		return this;
+	}
+	
+	/**
+	 * Outputs the provided characters up to {@code end} (exclusive), alternating between
+	 * characters which must be escaped or encoded one at a time, and runs of ASCII
+	 * characters, found by {@link EscapeScanner}, which are copied directly into the
+	 * buffer.
+	 */
+	private void scan(final char[] characters, final int end) throws IOException {
+		final Sink sink = this.sink;
+		int i = 0;
+		while (i < end) {
+			for (; i < end; i++) {
+				final char character = characters[i];
+				if (character < 0x80 && sink.highSurrogate == 0 && !jsonEscaper.mustEscape(character)) break;
+				if (jsonEscaper.mustEscape(character)) {
+					jsonEscaper.escape(character, sink);
+				} else {
+					sink.encode(character);
+				}
+			}
+			final int run = EscapeScanner.indexOfEscapeOrNonAscii(characters, i, end);
+			sink.writeAscii(characters, i, run);
+			i = run;
+		}
+	}
+	
+	/**
+	 * The {@link Appendable} passed to the escaper, which encodes appended characters
+	 * as UTF-8 into the byte buffer.
+	 */
+	private static final class Sink implements Appendable {
+		
+		final OutputStream stream;
+		final byte[] buffer;
+		int position;
+		
+		/**
+		 * A high surrogate awaiting its low surrogate, or zero.
+		 */
+		char highSurrogate;
+		
+		Sink(final OutputStream stream, final int bufferSize) {
+			if (bufferSize < MIN_BUFFER_SIZE) throw new IllegalArgumentException("Buffer size " + bufferSize);
+			this.stream = stream;
+			this.buffer = new byte[bufferSize];
+		}
+		
+		void drain() throws IOException {
+			if (position != 0) {
+				stream.write(buffer, 0, position);
+				position = 0;
+			}
+		}
+		
+		/**
+		 * Ensures that the buffer has room for the provided number of bytes, after
+		 * replacing any unpaired high surrogate.
+		 */
+		private void reserve(final int length) throws IOException {
+			if (highSurrogate != 0) {
+				highSurrogate = 0;
+				if (position == buffer.length) drain();
+				buffer[position++] = REPLACEMENT;
+			}
+			if (buffer.length - position < length) drain();
+		}
+		
+		void write(final byte value) throws IOException {
+			reserve(1);
+			buffer[position++] = value;
+		}
+		
+		void write(final byte[] values) throws IOException {
+			if (values.length > buffer.length) {
+				reserve(0);
+				drain();
+				stream.write(values);
+				return;
+			}
+			reserve(values.length);
+			System.arraycopy(values, 0, buffer, position, values.length);
+			position += values.length;
+		}
+		
+		void writeAscii(final char[] characters, final int end) throws IOException {
+			reserve(end);
+			for (int i = 0; i < end; i++) {
+				buffer[position++] = (byte) characters[i];
+			}
+		}
+		
+		/**
+		 * Copies the provided range of ASCII characters into the buffer; there must be
+		 * no unpaired high surrogate.
+		 */
+		void writeAscii(final char[] characters, final int start, final int end) throws IOException {
+			int i = start;
+			while (i < end) {
+				if (position == buffer.length) drain();
+				final int count = Math.min(end - i, buffer.length - position);
+				for (int j = 0; j < count; j++) {
+					buffer[position + j] = (byte) characters[i + j];
+				}
+				position += count;
+				i += count;
+			}
+		}
+		
+		void encode(final char character) throws IOException {
+			if (highSurrogate != 0 && Character.isLowSurrogate(character)) {
+				final int codePoint = Character.toCodePoint(highSurrogate, character);
+				highSurrogate = 0;
+				reserve(4);
+				buffer[position++] = (byte) (0xF0 | codePoint >> 18);
+				buffer[position++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+				buffer[position++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+				buffer[position++] = (byte) (0x80 | codePoint & 0x3F);
+			} else if (character < 0x80) {
+				reserve(1);
+				buffer[position++] = (byte) character;
+			} else if (character < 0x800) {
+				reserve(2);
+				buffer[position++] = (byte) (0xC0 | character >> 6);
+				buffer[position++] = (byte) (0x80 | character & 0x3F);
+			} else if (Character.isHighSurrogate(character)) {
+				reserve(0);
+				highSurrogate = character;
+			} else if (Character.isLowSurrogate(character)) {
+				write(REPLACEMENT);
+			} else {
+				reserve(3);
+				buffer[position++] = (byte) (0xE0 | character >> 12);
+				buffer[position++] = (byte) (0x80 | character >> 6 & 0x3F);
+				buffer[position++] = (byte) (0x80 | character & 0x3F);
+			}
+		}
+		
+		@Override
+		public Sink append(final CharSequence sequence) throws IOException {
+			return append(sequence, 0, sequence.length());
+		}
+		
+		@Override
+		public Sink append(final CharSequence sequence, final int start, final int end) throws IOException {
+			for (int i = start; i < end; i++) {
+				encode(sequence.charAt(i));
+			}
+			return this;
+		}
+		
+		@Override
+		public Sink append(final char character) throws IOException {
+			encode(character);
+			return this;
+		}
+		
+	}
+	
+}
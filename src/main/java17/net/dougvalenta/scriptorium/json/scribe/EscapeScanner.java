@@ -0,0 +1,59 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.scribe;
+
+/**
+ * Finds the characters which {@link JsonEscaper} must escape, so that the characters
+ * between them may be output in bulk.
+ *
+ * <p>
+ * This implementation scans character arrays with {@link VectorEscapeScanner} when the
+ * {@code jdk.incubator.vector} module has been added to the boot layer, and otherwise
+ * scans with {@link SwarEscapeScanner}.
+ *
+ * @author Doug Valenta
+ */
+final class EscapeScanner {
+	
+	private static final boolean VECTOR = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+	
+	private EscapeScanner() {
+	}
+	
+	/**
+	 * Returns the index of the first character in the provided range which must be
+	 * escaped, or {@code end} if there is none.
+	 */
+	static int indexOfEscape(final char[] chars, final int start, final int end) {
+		if (VECTOR) return VectorEscapeScanner.indexOfEscape(chars, start, end);
+		return SwarEscapeScanner.indexOfEscape(chars, start, end);
+	}
+	
+	/**
+	 * Returns the index of the first character in the provided range which must be
+	 * escaped, or {@code end} if there is none.
+	 */
+	static int indexOfEscape(final CharSequence sequence, final int start, final int end) {
+		return SwarEscapeScanner.indexOfEscape(sequence, start, end);
+	}
+	
+	/**
+	 * Returns the index of the first character in the provided range which must be
+	 * escaped or is not ASCII, or {@code end} if there is none.
+	 */
+	static int indexOfEscapeOrNonAscii(final char[] chars, final int start, final int end) {
+		if (VECTOR) return VectorEscapeScanner.indexOfEscapeOrNonAscii(chars, start, end);
+		return SwarEscapeScanner.indexOfEscapeOrNonAscii(chars, start, end);
+	}
+	
+	/**
+	 * Returns the index of the first character in the provided range which must be
+	 * escaped or is not ASCII, or {@code end} if there is none.
+	 */
+	static int indexOfEscapeOrNonAscii(final CharSequence sequence, final int start, final int end) {
+		return SwarEscapeScanner.indexOfEscapeOrNonAscii(sequence, start, end);
+	}
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.scribe;
+
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Finds the characters which {@link JsonEscaper} must escape by testing as many
+ * characters at a time as the preferred vector shape holds.
+ *
+ * <p>
+ * This class must only be loaded when the {@code jdk.incubator.vector} module is
+ * present.
+ *
+ * @author Doug Valenta
+ */
+final class VectorEscapeScanner {
+	
+	private static final VectorSpecies<Short> SPECIES = ShortVector.SPECIES_PREFERRED;
+	
+	private VectorEscapeScanner() {
+	}
+	
+	/**
+	 * Returns the index of the first character in the provided range which must be
+	 * escaped, or {@code end} if there is none.
+	 */
+	static int indexOfEscape(final char[] chars, final int start, final int end) {
+		int i = start;
+		for (final int bound = end - SPECIES.length(); i <= bound; i += SPECIES.length()) {
+			final ShortVector vector = ShortVector.fromCharArray(SPECIES, chars, i);
+			final VectorMask<Short> mask = vector.compare(VectorOperators.UNSIGNED_LT, (short) 0x20)
+					.or(vector.eq((short) '"'))
+					.or(vector.eq((short) '\\'));
+			if (mask.anyTrue()) return i + mask.firstTrue();
+		}
+		return SwarEscapeScanner.indexOfEscape(chars, i, end);
+	}
+	
+	/**
+	 * Returns the index of the first character in the provided range which must be
+	 * escaped or is not ASCII, or {@code end} if there is none.
+	 */
+	static int indexOfEscapeOrNonAscii(final char[] chars, final int start, final int end) {
+		int i = start;
+		for (final int bound = end - SPECIES.length(); i <= bound; i += SPECIES.length()) {
+			final ShortVector vector = ShortVector.fromCharArray(SPECIES, chars, i);
+			final VectorMask<Short> mask = vector.compare(VectorOperators.UNSIGNED_LT, (short) 0x20)
+					.or(vector.compare(VectorOperators.UNSIGNED_GE, (short) 0x80))
+					.or(vector.eq((short) '"'))
+					.or(vector.eq((short) '\\'));
+			if (mask.anyTrue()) return i + mask.firstTrue();
+		}
+		return SwarEscapeScanner.indexOfEscapeOrNonAscii(chars, i, end);
+	}
+
+}
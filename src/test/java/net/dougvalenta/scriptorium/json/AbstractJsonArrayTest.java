@@ -7,8 +7,17 @@ package net.dougvalenta.scriptorium.json;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import org.junit.Assert;
 import net.dougvalenta.scriptorium.json.scribe.JsonScribe;
 import net.dougvalenta.scriptorium.json.scribe.MockJsonScribe;
@@ -36,6 +45,24 @@ public abstract class AbstractJsonArrayTest<A extends JsonArray<A>> {
 		Mockito.verifyNoMoreInteractions(scribe);
 	}
 	
+	@Test
+	public void testWithRaw() throws IOException {
+		final JsonScribe scribe = Mockito.mock(JsonScribe.class, Mockito.RETURNS_SELF);
+		final A array = getJsonArray(scribe);
+		Mockito.clearInvocations(scribe);
+		final A result = array.withRaw("{\"a\":1}").withRaw(null);
+		Assert.assertEquals(array, result);
+		final InOrder inOrder = Mockito.inOrder(scribe);
+		inOrder.verify(scribe).rawValue("{\"a\":1}");
+		inOrder.verify(scribe).nullValue();
+		Mockito.verifyNoMoreInteractions(scribe);
+	}
+	
+	@Test(expected=UnsupportedOperationException.class)
+	public void testWithRawUnsupported() throws IOException {
+		getJsonArray(new MockJsonScribe()).withRaw("1");
+	}
+	
 	@Test
 	public void testWithTrue() throws IOException {
 		final JsonScribe scribe = Mockito.mock(JsonScribe.class, Mockito.RETURNS_SELF);
@@ -135,6 +162,69 @@ public abstract class AbstractJsonArrayTest<A extends JsonArray<A>> {
 		Mockito.verifyNoMoreInteractions(scribe);
 	}
 	
+	@Test
+	public void testWithEnum() throws IOException {
+		final JsonScribe scribe = Mockito.mock(JsonScribe.class, Mockito.RETURNS_SELF);
+		final A array = getJsonArray(scribe);
+		Mockito.clearInvocations(scribe);
+		final A result = array.with(TimeUnit.SECONDS);
+		Assert.assertEquals(array, result);
+		Mockito.verify(scribe).value(TimeUnit.SECONDS);
+		Mockito.verifyNoMoreInteractions(scribe);
+	}
+	
+	@Test
+	public void testWithNullEnum() throws IOException {
+		final JsonScribe scribe = Mockito.mock(JsonScribe.class, Mockito.RETURNS_SELF);
+		final A array = getJsonArray(scribe);
+		Mockito.clearInvocations(scribe);
+		final A result = array.with((TimeUnit) null);
+		Assert.assertEquals(array, result);
+		Mockito.verify(scribe).nullValue();
+		Mockito.verifyNoMoreInteractions(scribe);
+	}
+	
+	@Test
+	public void testWithValue() throws IOException {
+		final JsonScribe scribe = Mockito.mock(JsonScribe.class, Mockito.RETURNS_SELF);
+		final A array = getJsonArray(scribe);
+		Mockito.clearInvocations(scribe);
+		final UUID element = UUID.randomUUID();
+		final A result = array.withValue(element);
+		Assert.assertEquals(array, result);
+		Mockito.verify(scribe).value((Object) element);
+		Mockito.verifyNoMoreInteractions(scribe);
+	}
+	
+	@Test
+	public void testWithTimes() throws IOException {
+		final JsonScribe scribe = Mockito.mock(JsonScribe.class, Mockito.RETURNS_SELF);
+		final A array = getJsonArray(scribe);
+		Mockito.clearInvocations(scribe);
+		final Instant instant = Instant.ofEpochMilli(1500000000123L);
+		final LocalDate date = LocalDate.of(2018, 1, 1);
+		final OffsetDateTime dateTime = OffsetDateTime.of(2018, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+		final A result = array.with(instant).with(date).with(dateTime).withEpochMillis(instant);
+		Assert.assertEquals(array, result);
+		final InOrder inOrder = Mockito.inOrder(scribe);
+		inOrder.verify(scribe).value(instant);
+		inOrder.verify(scribe).value(date);
+		inOrder.verify(scribe).value(dateTime);
+		inOrder.verify(scribe).value(1500000000123L);
+		Mockito.verifyNoMoreInteractions(scribe);
+	}
+	
+	@Test
+	public void testWithNullTimes() throws IOException {
+		final JsonScribe scribe = Mockito.mock(JsonScribe.class, Mockito.RETURNS_SELF);
+		final A array = getJsonArray(scribe);
+		Mockito.clearInvocations(scribe);
+		final A result = array.with((Instant) null).with((LocalDate) null).with((OffsetDateTime) null).withEpochMillis(null);
+		Assert.assertEquals(array, result);
+		Mockito.verify(scribe, Mockito.times(4)).nullValue();
+		Mockito.verifyNoMoreInteractions(scribe);
+	}
+	
 	@Test
 	public void testWithBigDecimal() throws IOException {
 		final JsonScribe scribe = Mockito.mock(JsonScribe.class, Mockito.RETURNS_SELF);
@@ -394,6 +484,38 @@ public abstract class AbstractJsonArrayTest<A extends JsonArray<A>> {
 		Mockito.verifyZeroInteractions(scribe);
 	}
 	
+	@Test
+	public void testWithAllWithPrimitiveArrays() throws IOException {
+		final JsonScribe scribe = Mockito.mock(JsonScribe.class, Mockito.RETURNS_SELF);
+		final A array = getJsonArray(scribe);
+		Mockito.clearInvocations(scribe);
+		final int[] ints = {1, 2};
+		final long[] longs = {3L};
+		final double[] doubles = {};
+		final A result = array.withAll(ints).withAll(longs).withAll(doubles).withAll((int[]) null);
+		Assert.assertEquals(array, result);
+		InOrder inOrder = Mockito.inOrder(scribe);
+		inOrder.verify(scribe).values(ints, 0, 2);
+		inOrder.verify(scribe).values(longs, 0, 1);
+		inOrder.verify(scribe).values(doubles, 0, 0);
+		Mockito.verifyNoMoreInteractions(scribe);
+	}
+	
+	@Test
+	public void testWithAllWithPrimitiveStreams() throws IOException {
+		final JsonScribe scribe = Mockito.mock(JsonScribe.class, Mockito.RETURNS_SELF);
+		final A array = getJsonArray(scribe);
+		Mockito.clearInvocations(scribe);
+		final A result = array.withAll(IntStream.range(0, 300)).withAll(LongStream.of(1L, 2L)).withAll(DoubleStream.empty())
+				.withAll((IntStream) null);
+		Assert.assertEquals(array, result);
+		InOrder inOrder = Mockito.inOrder(scribe);
+		inOrder.verify(scribe).values(Mockito.any(int[].class), Mockito.eq(0), Mockito.eq(256));
+		inOrder.verify(scribe).values(Mockito.any(int[].class), Mockito.eq(0), Mockito.eq(44));
+		inOrder.verify(scribe).values(Mockito.any(long[].class), Mockito.eq(0), Mockito.eq(2));
+		Mockito.verifyNoMoreInteractions(scribe);
+	}
+	
 	@Test
 	public void testWithAllWithIterable() throws IOException {
 		final JsonScribe scribe = Mockito.mock(JsonScribe.class, Mockito.RETURNS_SELF);
@@ -454,6 +576,7 @@ public abstract class AbstractJsonArrayTest<A extends JsonArray<A>> {
 		Mockito.clearInvocations(scribe);
 		final JsonValue<A> value = array.element();
 		Mockito.verify(scribe).pushValue();
+		Mockito.verify(scribe, Mockito.atLeast(0)).getCursor();
 		Mockito.verifyNoMoreInteractions(scribe);
 		Assert.assertEquals(array, value.then());
 	}
@@ -465,6 +588,7 @@ public abstract class AbstractJsonArrayTest<A extends JsonArray<A>> {
 		Mockito.clearInvocations(scribe);
 		final JsonValue<A> value = array.element((CharSequence) null);
 		Mockito.verify(scribe).pushValue();
+		Mockito.verify(scribe, Mockito.atLeast(0)).getCursor();
 		Mockito.verifyNoMoreInteractions(scribe);
 		Assert.assertEquals(array, value.then());
 	}
@@ -478,6 +602,7 @@ public abstract class AbstractJsonArrayTest<A extends JsonArray<A>> {
 		InOrder inOrder = Mockito.inOrder(scribe);
 		inOrder.verify(scribe).pushValue();
 		inOrder.verify(scribe).append("abc");
+		Mockito.verify(scribe, Mockito.atLeast(0)).getCursor();
 		Mockito.verifyNoMoreInteractions(scribe);
 		Assert.assertEquals(array, value.then());
 	}
@@ -491,6 +616,7 @@ public abstract class AbstractJsonArrayTest<A extends JsonArray<A>> {
 		InOrder inOrder = Mockito.inOrder(scribe);
 		inOrder.verify(scribe).pushValue();
 		inOrder.verify(scribe).append('a');
+		Mockito.verify(scribe, Mockito.atLeast(0)).getCursor();
 		Mockito.verifyNoMoreInteractions(scribe);
 		Assert.assertEquals(array, value.then());
 	}
@@ -504,6 +630,7 @@ public abstract class AbstractJsonArrayTest<A extends JsonArray<A>> {
 		InOrder inOrder = Mockito.inOrder(scribe);
 		inOrder.verify(scribe).pushValue();
 		inOrder.verify(scribe).append('a');
+		Mockito.verify(scribe, Mockito.atLeast(0)).getCursor();
 		Mockito.verifyNoMoreInteractions(scribe);
 		Assert.assertEquals(array, value.then());
 	}
@@ -515,6 +642,7 @@ public abstract class AbstractJsonArrayTest<A extends JsonArray<A>> {
 		Mockito.clearInvocations(scribe);
 		final JsonValue<A> value = array.element((Character) null);
 		Mockito.verify(scribe).pushValue();
+		Mockito.verify(scribe, Mockito.atLeast(0)).getCursor();
 		Mockito.verifyNoMoreInteractions(scribe);
 		Assert.assertEquals(array, value.then());
 	}
@@ -7,6 +7,13 @@ package net.dougvalenta.scriptorium.json;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import net.dougvalenta.scriptorium.json.scribe.JsonKeyName;
 import net.dougvalenta.scriptorium.json.scribe.JsonScribe;
 import net.dougvalenta.scriptorium.json.scribe.MockJsonScribe;
 import org.junit.Assert;
@@ -20,6 +27,8 @@ import org.mockito.Mockito;
  */
 public abstract class AbstractJsonObjectTest<O extends JsonObject<O>> {
 	
+	private static final JsonKeyName KEY_NAME = JsonKeyName.of("key");
+	
 	protected abstract O getJsonObject(JsonScribe scribe);
 	
 	@Test
@@ -222,6 +231,133 @@ public abstract class AbstractJsonObjectTest<O extends JsonObject<O>> {
 		Mockito.verifyZeroInteractions(scribe);
 	}
 	
+	@Test
+	public void testWithEnum() throws IOException {
+		final JsonScribe scribe = Mockito.mock(JsonScribe.class, Mockito.RETURNS_SELF);
+		final O object = getJsonObject(scribe);
+		Mockito.clearInvocations(scribe);
+		final O result = object.with("key", TimeUnit.SECONDS);
+		Assert.assertEquals(object, result);
+		final InOrder inOrder = Mockito.inOrder(scribe);
+		inOrder.verify(scribe).key("key");
+		inOrder.verify(scribe).value(TimeUnit.SECONDS);
+		Mockito.verifyNoMoreInteractions(scribe);
+	}
+	
+	@Test
+	public void testWithNullEnum() throws IOException {
+		final JsonScribe scribe = Mockito.mock(JsonScribe.class, Mockito.RETURNS_SELF);
+		final O object = getJsonObject(scribe);
+		Mockito.clearInvocations(scribe);
+		final O result = object.with("key", (TimeUnit) null);
+		Assert.assertEquals(object, result);
+		final InOrder inOrder = Mockito.inOrder(scribe);
+		inOrder.verify(scribe).key("key");
+		inOrder.verify(scribe).nullValue();
+		Mockito.verifyNoMoreInteractions(scribe);
+	}
+	
+	@Test
+	public void testWithEnumWithNullKey() throws IOException {
+		final JsonScribe scribe = Mockito.mock(JsonScribe.class, Mockito.RETURNS_SELF);
+		final O object = getJsonObject(scribe);
+		Mockito.clearInvocations(scribe);
+		final O result = object.with((String) null, TimeUnit.SECONDS);
+		Assert.assertEquals(object, result);
+		Mockito.verifyZeroInteractions(scribe);
+	}
+	
+	@Test
+	public void testWithValue() throws IOException {
+		final JsonScribe scribe = Mockito.mock(JsonScribe.class, Mockito.RETURNS_SELF);
+		final O object = getJsonObject(scribe);
+		Mockito.clearInvocations(scribe);
+		final UUID value = UUID.randomUUID();
+		final O result = object.withValue("key", value);
+		Assert.assertEquals(object, result);
+		final InOrder inOrder = Mockito.inOrder(scribe);
+		inOrder.verify(scribe).key("key");
+		inOrder.verify(scribe).value((Object) value);
+		Mockito.verifyNoMoreInteractions(scribe);
+	}
+	
+	@Test
+	public void testWithValueWithNullKey() throws IOException {
+		final JsonScribe scribe = Mockito.mock(JsonScribe.class, Mockito.RETURNS_SELF);
+		final O object = getJsonObject(scribe);
+		Mockito.clearInvocations(scribe);
+		final O result = object.withValue(null, UUID.randomUUID());
+		Assert.assertEquals(object, result);
+		Mockito.verifyZeroInteractions(scribe);
+	}
+	
+	@Test
+	public void testWithKeyNameEnum() throws IOException {
+		final JsonScribe scribe = Mockito.mock(JsonScribe.class, Mockito.RETURNS_SELF);
+		final O object = getJsonObject(scribe);
+		Mockito.clearInvocations(scribe);
+		final O result = object.with(KEY_NAME, TimeUnit.SECONDS).with(KEY_NAME, (TimeUnit) null);
+		Assert.assertEquals(object, result);
+		final InOrder inOrder = Mockito.inOrder(scribe);
+		inOrder.verify(scribe).key(KEY_NAME);
+		inOrder.verify(scribe).value(TimeUnit.SECONDS);
+		inOrder.verify(scribe).key(KEY_NAME);
+		inOrder.verify(scribe).nullValue();
+		Mockito.verifyNoMoreInteractions(scribe);
+	}
+	
+	@Test
+	public void testWithTimes() throws IOException {
+		final JsonScribe scribe = Mockito.mock(JsonScribe.class, Mockito.RETURNS_SELF);
+		final O object = getJsonObject(scribe);
+		Mockito.clearInvocations(scribe);
+		final Instant instant = Instant.ofEpochMilli(1500000000123L);
+		final LocalDate date = LocalDate.of(2018, 1, 1);
+		final OffsetDateTime dateTime = OffsetDateTime.of(2018, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+		final O result = object.with("a", instant).with("b", date).with("c", dateTime).withEpochMillis("d", instant)
+				.with("e", (Instant) null).withEpochMillis("f", null).with((String) null, instant);
+		Assert.assertEquals(object, result);
+		final InOrder inOrder = Mockito.inOrder(scribe);
+		inOrder.verify(scribe).key("a");
+		inOrder.verify(scribe).value(instant);
+		inOrder.verify(scribe).key("b");
+		inOrder.verify(scribe).value(date);
+		inOrder.verify(scribe).key("c");
+		inOrder.verify(scribe).value(dateTime);
+		inOrder.verify(scribe).key("d");
+		inOrder.verify(scribe).value(1500000000123L);
+		inOrder.verify(scribe).key("e");
+		inOrder.verify(scribe).nullValue();
+		inOrder.verify(scribe).key("f");
+		inOrder.verify(scribe).nullValue();
+		Mockito.verifyNoMoreInteractions(scribe);
+	}
+	
+	@Test
+	public void testWithKeyNameTimes() throws IOException {
+		final JsonScribe scribe = Mockito.mock(JsonScribe.class, Mockito.RETURNS_SELF);
+		final O object = getJsonObject(scribe);
+		Mockito.clearInvocations(scribe);
+		final Instant instant = Instant.ofEpochMilli(1500000000123L);
+		final LocalDate date = LocalDate.of(2018, 1, 1);
+		final OffsetDateTime dateTime = OffsetDateTime.of(2018, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+		final O result = object.with(KEY_NAME, instant).with(KEY_NAME, date).with(KEY_NAME, dateTime)
+				.withEpochMillis(KEY_NAME, instant).with(KEY_NAME, (LocalDate) null);
+		Assert.assertEquals(object, result);
+		final InOrder inOrder = Mockito.inOrder(scribe);
+		inOrder.verify(scribe).key(KEY_NAME);
+		inOrder.verify(scribe).value(instant);
+		inOrder.verify(scribe).key(KEY_NAME);
+		inOrder.verify(scribe).value(date);
+		inOrder.verify(scribe).key(KEY_NAME);
+		inOrder.verify(scribe).value(dateTime);
+		inOrder.verify(scribe).key(KEY_NAME);
+		inOrder.verify(scribe).value(1500000000123L);
+		inOrder.verify(scribe).key(KEY_NAME);
+		inOrder.verify(scribe).nullValue();
+		Mockito.verifyNoMoreInteractions(scribe);
+	}
+	
 	@Test
 	public void testWithBigDecimal() throws IOException {
 		final JsonScribe scribe = Mockito.mock(JsonScribe.class, Mockito.RETURNS_SELF);
@@ -942,6 +1078,34 @@ public abstract class AbstractJsonObjectTest<O extends JsonObject<O>> {
 		Mockito.verifyZeroInteractions(scribe);
 	}
 	
+	@Test
+	public void testWithIfNotNullEnum() throws IOException {
+		final JsonScribe scribe = Mockito.mock(JsonScribe.class, Mockito.RETURNS_SELF);
+		final O object = getJsonObject(scribe);
+		Mockito.clearInvocations(scribe);
+		final O result = object.withIfNotNull("key", TimeUnit.SECONDS).withIfNotNull("key", (TimeUnit) null);
+		Assert.assertEquals(object, result);
+		final InOrder inOrder = Mockito.inOrder(scribe);
+		inOrder.verify(scribe).key("key");
+		inOrder.verify(scribe).value(TimeUnit.SECONDS);
+		Mockito.verifyNoMoreInteractions(scribe);
+	}
+	
+	@Test
+	public void testWithIfNotNullTimes() throws IOException {
+		final JsonScribe scribe = Mockito.mock(JsonScribe.class, Mockito.RETURNS_SELF);
+		final O object = getJsonObject(scribe);
+		Mockito.clearInvocations(scribe);
+		final Instant instant = Instant.EPOCH;
+		final O result = object.withIfNotNull("a", instant).withIfNotNull("b", (Instant) null)
+				.withIfNotNull("c", (LocalDate) null).withIfNotNull("d", (OffsetDateTime) null);
+		Assert.assertEquals(object, result);
+		final InOrder inOrder = Mockito.inOrder(scribe);
+		inOrder.verify(scribe).key("a");
+		inOrder.verify(scribe).value(instant);
+		Mockito.verifyNoMoreInteractions(scribe);
+	}
+	
 	@Test
 	public void testWithIfNotNullBigDecimal() throws IOException {
 		final JsonScribe scribe = Mockito.mock(JsonScribe.class, Mockito.RETURNS_SELF);
@@ -1087,6 +1251,71 @@ public abstract class AbstractJsonObjectTest<O extends JsonObject<O>> {
 		Mockito.verifyNoMoreInteractions(scribe);
 	}
 	
+	@Test
+	public void testWithKeyName() throws IOException {
+		final JsonScribe scribe = Mockito.mock(JsonScribe.class, Mockito.RETURNS_SELF);
+		final O object = getJsonObject(scribe);
+		Mockito.clearInvocations(scribe);
+		final O result = object.withNull(KEY_NAME)
+				.with(KEY_NAME, "value")
+				.with(KEY_NAME, (Integer) null)
+				.with(KEY_NAME, 1)
+				.with(KEY_NAME, Double.valueOf(1.5))
+				.with(KEY_NAME, 'c')
+				.withTrue(KEY_NAME)
+				.withEmptyObject(KEY_NAME);
+		Assert.assertEquals(object, result);
+		final InOrder inOrder = Mockito.inOrder(scribe);
+		inOrder.verify(scribe).key(KEY_NAME);
+		inOrder.verify(scribe).nullValue();
+		inOrder.verify(scribe).key(KEY_NAME);
+		inOrder.verify(scribe).value("value");
+		inOrder.verify(scribe).key(KEY_NAME);
+		inOrder.verify(scribe).nullValue();
+		inOrder.verify(scribe).key(KEY_NAME);
+		inOrder.verify(scribe).value(1);
+		inOrder.verify(scribe).key(KEY_NAME);
+		inOrder.verify(scribe).value(1.5);
+		inOrder.verify(scribe).key(KEY_NAME);
+		inOrder.verify(scribe).value('c');
+		inOrder.verify(scribe).key(KEY_NAME);
+		inOrder.verify(scribe).trueValue();
+		inOrder.verify(scribe).key(KEY_NAME);
+		inOrder.verify(scribe).emptyObject();
+		Mockito.verifyNoMoreInteractions(scribe);
+	}
+	
+	@Test
+	public void testWithNullKeyName() throws IOException {
+		final JsonScribe scribe = Mockito.mock(JsonScribe.class, Mockito.RETURNS_SELF);
+		final O object = getJsonObject(scribe);
+		Mockito.clearInvocations(scribe);
+		final O result = object.with((JsonKeyName) null, 1).with((JsonKeyName) null, "value").withEmptyArray((JsonKeyName) null);
+		Assert.assertEquals(object, result);
+		Mockito.verifyZeroInteractions(scribe);
+	}
+	
+	@Test
+	public void testWithRaw() throws IOException {
+		final JsonScribe scribe = Mockito.mock(JsonScribe.class, Mockito.RETURNS_SELF);
+		final O object = getJsonObject(scribe);
+		Mockito.clearInvocations(scribe);
+		final O result = object.withRaw("key", "[1]")
+				.withRaw(KEY_NAME, "{}")
+				.withRaw("key", null)
+				.withRaw((CharSequence) null, "2")
+				.withRaw((JsonKeyName) null, null);
+		Assert.assertEquals(object, result);
+		final InOrder inOrder = Mockito.inOrder(scribe);
+		inOrder.verify(scribe).key("key");
+		inOrder.verify(scribe).rawValue("[1]");
+		inOrder.verify(scribe).key(KEY_NAME);
+		inOrder.verify(scribe).rawValue("{}");
+		inOrder.verify(scribe).key("key");
+		inOrder.verify(scribe).nullValue();
+		Mockito.verifyNoMoreInteractions(scribe);
+	}
+	
 	@Test
 	public void testWithEmptyArrayWithNullKey() throws IOException {
 		final JsonScribe scribe = Mockito.mock(JsonScribe.class, Mockito.RETURNS_SELF);
@@ -1127,6 +1356,7 @@ public abstract class AbstractJsonObjectTest<O extends JsonObject<O>> {
 		Mockito.clearInvocations(scribe);
 		final JsonKey<O> key = object.key();
 		Mockito.verify(scribe).pushKey();
+		Mockito.verify(scribe, Mockito.atLeast(0)).getCursor();
 		Mockito.verifyNoMoreInteractions(scribe);
 		Assert.assertEquals(object, key.thenNull());
 	}
@@ -1139,6 +1369,7 @@ public abstract class AbstractJsonObjectTest<O extends JsonObject<O>> {
 		final JsonKey<O> key = object.key('a');
 		Mockito.verify(scribe).pushKey();
 		Mockito.verify(scribe).append('a');
+		Mockito.verify(scribe, Mockito.atLeast(0)).getCursor();
 		Mockito.verifyNoMoreInteractions(scribe);
 		Assert.assertEquals(object, key.thenNull());
 	}
@@ -1151,6 +1382,7 @@ public abstract class AbstractJsonObjectTest<O extends JsonObject<O>> {
 		final JsonKey<O> key = object.key(Character.valueOf('a'));
 		Mockito.verify(scribe).pushKey();
 		Mockito.verify(scribe).append('a');
+		Mockito.verify(scribe, Mockito.atLeast(0)).getCursor();
 		Mockito.verifyNoMoreInteractions(scribe);
 		Assert.assertEquals(object, key.thenNull());
 	}
@@ -1162,6 +1394,7 @@ public abstract class AbstractJsonObjectTest<O extends JsonObject<O>> {
 		Mockito.clearInvocations(scribe);
 		final JsonKey<O> key = object.key((Character) null);
 		Mockito.verify(scribe).pushKey();
+		Mockito.verify(scribe, Mockito.atLeast(0)).getCursor();
 		Mockito.verifyNoMoreInteractions(scribe);
 		Assert.assertEquals(object, key.thenNull());
 	}
@@ -1174,6 +1407,7 @@ public abstract class AbstractJsonObjectTest<O extends JsonObject<O>> {
 		final JsonKey<O> key = object.key("abc");
 		Mockito.verify(scribe).pushKey();
 		Mockito.verify(scribe).append("abc");
+		Mockito.verify(scribe, Mockito.atLeast(0)).getCursor();
 		Mockito.verifyNoMoreInteractions(scribe);
 		Assert.assertEquals(object, key.thenNull());
 	}
@@ -1185,10 +1419,42 @@ public abstract class AbstractJsonObjectTest<O extends JsonObject<O>> {
 		Mockito.clearInvocations(scribe);
 		final JsonKey<O> key = object.key((CharSequence) null);
 		Mockito.verify(scribe).pushKey();
+		Mockito.verify(scribe, Mockito.atLeast(0)).getCursor();
 		Mockito.verifyNoMoreInteractions(scribe);
 		Assert.assertEquals(object, key.thenNull());
 	}
 	
+	@Test
+	public void testWithRawUnsupported() throws IOException {
+		final int[] keys = new int[1];
+		final JsonScribe scribe = new MockJsonScribe() {
+			
+			@Override
+			public JsonScribe key(final CharSequence key) throws IOException {
+				keys[0]++;
+				return super.key(key);
+			}
+			
+		};
+		final O object = getJsonObject(scribe);
+		keys[0] = 0;
+		try {
+			object.withRaw("key", "1");
+			Assert.fail();
+		} catch (final UnsupportedOperationException exception) {
+			// Expected
+		}
+		try {
+			object.withRaw(KEY_NAME, "1");
+			Assert.fail();
+		} catch (final UnsupportedOperationException exception) {
+			// Expected
+		}
+		Assert.assertEquals(0, keys[0]);
+		object.withRaw("key", null);
+		Assert.assertEquals(1, keys[0]);
+	}
+	
 	@Test
 	public void testWithConsumer() throws IOException {
 		final JsonScribe scribe = Mockito.spy(new MockJsonScribe());
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Doug Valenta
+ */
+public class JsonLinesWriterTest {
+
+	/**
+	 * A channel which fails every write.
+	 */
+	private static final class FailingChannel implements WritableByteChannel {
+
+		private final boolean unchecked;
+
+		FailingChannel() {
+			this(false);
+		}
+
+		FailingChannel(final boolean unchecked) {
+			this.unchecked = unchecked;
+		}
+
+		@Override
+		public int write(final ByteBuffer source) throws IOException {
+			if (unchecked) throw new NonWritableChannelException();
+			throw new IOException("Failed");
+		}
+
+		@Override
+		public boolean isOpen() {
+			return true;
+		}
+
+		@Override
+		public void close() {
+		}
+
+	}
+
+	private static String toString(final ByteArrayOutputStream stream) {
+		return new String(stream.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	@Test
+	public void testRecords() throws IOException {
+		final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		final JsonLinesWriter writer = new JsonLinesWriter(Channels.newChannel(stream));
+		writer.write((object) -> object.with("a", 1).key("b").array().with("x\ny").with(true));
+		writer.write((object) -> object.key("c").object().withNull("d"));
+		writer.write((object) -> {});
+		writer.flush();
+		Assert.assertEquals("{\"a\":1,\"b\":[\"x\\u000ay\",true]}\n{\"c\":{\"d\":null}}\n{}\n", toString(stream));
+		writer.write((object) -> object.with("Д", "😀"));
+		writer.close();
+		Assert.assertEquals("{\"a\":1,\"b\":[\"x\\u000ay\",true]}\n{\"c\":{\"d\":null}}\n{}\n{\"Д\":\"😀\"}\n", toString(stream));
+	}
+
+	@Test
+	public void testRecordsLargerThanBuffer() throws IOException {
+		final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		final JsonLinesWriter writer = new JsonLinesWriter(Channels.newChannel(stream), 16);
+		final StringBuilder expected = new StringBuilder();
+		for (int i = 0; i < 10; i++) {
+			final int length = i * 5;
+			final StringBuilder value = new StringBuilder();
+			for (int j = 0; j < length; j++) {
+				value.append('v');
+			}
+			writer.write((object) -> object.with("i", value));
+			expected.append("{\"i\":\"").append(value).append("\"}\n");
+		}
+		writer.close();
+		Assert.assertEquals(expected.toString(), toString(stream));
+	}
+
+	@Test
+	public void testConcurrentProducers() throws Exception {
+		final int threads = 8;
+		final int records = 2000;
+		final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		final JsonLinesWriter writer = new JsonLinesWriter(Channels.newChannel(stream), 1024);
+		final List<Thread> producers = new ArrayList<>();
+		final List<Throwable> failures = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			final int thread = t;
+			producers.add(new Thread(() -> {
+				try {
+					for (int i = 0; i < records; i++) {
+						final int record = i;
+						writer.write((object) -> object.with("t", thread).with("i", record));
+					}
+				} catch (final Throwable throwable) {
+					synchronized (failures) {
+						failures.add(throwable);
+					}
+				}
+			}));
+		}
+		for (final Thread producer : producers) {
+			producer.start();
+		}
+		for (final Thread producer : producers) {
+			producer.join();
+		}
+		writer.close();
+		Assert.assertEquals(new ArrayList<>(), failures);
+		final int[] next = new int[threads];
+		final String[] lines = toString(stream).split("\n", -1);
+		Assert.assertEquals(threads * records + 1, lines.length);
+		Assert.assertEquals("", lines[lines.length - 1]);
+		for (int l = 0; l < lines.length - 1; l++) {
+			final String line = lines[l];
+			final int comma = line.indexOf(',');
+			final int thread = Integer.parseInt(line.substring("{\"t\":".length(), comma));
+			Assert.assertEquals("{\"t\":" + thread + ",\"i\":" + next[thread]++ + "}", line);
+		}
+		for (int t = 0; t < threads; t++) {
+			Assert.assertEquals(records, next[t]);
+		}
+	}
+
+	@Test
+	public void testConsumerException() throws IOException {
+		final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		final JsonLinesWriter writer = new JsonLinesWriter(Channels.newChannel(stream));
+		try {
+			writer.write((object) -> {
+				object.with("partial", "\ud83d");
+				throw new IOException();
+			});
+			Assert.fail();
+		} catch (final IOException exception) {
+			// Expected
+		}
+		writer.write((object) -> object.with("a", 1));
+		writer.close();
+		Assert.assertEquals("{\"a\":1}\n", toString(stream));
+	}
+
+	@Test(expected=IOException.class)
+	public void testChannelFailure() throws IOException {
+		final JsonLinesWriter writer = new JsonLinesWriter(new FailingChannel());
+		writer.write((object) -> object.with("a", 1));
+		try {
+			writer.flush();
+		} finally {
+			writer.close();
+		}
+	}
+
+	@Test
+	public void testChannelFailureOnLaterWrite() throws IOException {
+		final JsonLinesWriter writer = new JsonLinesWriter(new FailingChannel());
+		writer.write((object) -> object.with("a", 1));
+		try {
+			writer.flush();
+			Assert.fail();
+		} catch (final IOException exception) {
+			// Expected
+		}
+		try {
+			writer.write((object) -> object.with("b", 2));
+			Assert.fail();
+		} catch (final IOException exception) {
+			// Expected
+		}
+	}
+
+	@Test(timeout=60000)
+	public void testUncheckedChannelFailure() throws IOException {
+		final JsonLinesWriter writer = new JsonLinesWriter(new FailingChannel(true), 16);
+		try {
+			// Enough records to wait for capacity if the flusher stopped
+			for (int i = 0; i <= JsonLinesWriter.MAX_PENDING_RECORDS * 2; i++) {
+				writer.write((object) -> object.with("a", 1));
+			}
+			Assert.fail();
+		} catch (final IOException exception) {
+			Assert.assertTrue(exception.getCause() instanceof NonWritableChannelException);
+		}
+		try {
+			writer.flush();
+			Assert.fail();
+		} catch (final IOException exception) {
+			Assert.assertTrue(exception.getCause() instanceof NonWritableChannelException);
+		}
+		try {
+			writer.close();
+			Assert.fail();
+		} catch (final IOException exception) {
+			Assert.assertTrue(exception.getCause() instanceof NonWritableChannelException);
+		}
+	}
+
+	@Test(timeout=60000)
+	public void testFlushConcurrentWithClose() throws Exception {
+		for (int i = 0; i < 1000; i++) {
+			final JsonLinesWriter writer = new JsonLinesWriter(Channels.newChannel(new ByteArrayOutputStream()));
+			final List<Thread> threads = new ArrayList<>();
+			for (int t = 0; t < 4; t++) {
+				final Thread thread = new Thread(() -> {
+					try {
+						while (true) {
+							writer.flush();
+						}
+					} catch (final IllegalStateException | IOException exception) {
+						// Closed
+					}
+				});
+				thread.start();
+				threads.add(thread);
+			}
+			writer.close();
+			for (final Thread thread : threads) {
+				thread.join();
+			}
+		}
+	}
+
+	@Test(expected=IllegalStateException.class)
+	public void testWriteAfterClose() throws IOException {
+		final JsonLinesWriter writer = new JsonLinesWriter(Channels.newChannel(new ByteArrayOutputStream()));
+		writer.close();
+		writer.close();
+		writer.write((object) -> object.with("a", 1));
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testMissingChannel() {
+		new JsonLinesWriter(null);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testMissingRecord() throws IOException {
+		final JsonLinesWriter writer = new JsonLinesWriter(Channels.newChannel(new ByteArrayOutputStream()));
+		try {
+			writer.write(null);
+		} finally {
+			writer.close();
+		}
+	}
+
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json;
+
+import java.io.IOException;
+import net.dougvalenta.scriptorium.json.scribe.JsonAppender;
+import net.dougvalenta.scriptorium.json.scribe.JsonEscaper;
+import net.dougvalenta.scriptorium.json.scribe.JsonScribe;
+import net.dougvalenta.scriptorium.json.scribe.SafeJsonScribe;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Doug Valenta
+ */
+public class JsonNodePoolTest {
+
+	/**
+	 * A scribe whose cursors are not its depth.
+	 */
+	private static final class OffsetCursorScribe extends SafeJsonScribe {
+
+		OffsetCursorScribe(final StringBuilder builder) {
+			super(new JsonAppender(builder, new JsonEscaper()));
+		}
+
+		@Override
+		public int getCursor() {
+			return super.getCursor() * 2 + 7;
+		}
+
+		@Override
+		public SafeJsonScribe pop(final int cursor) throws IOException {
+			return super.pop((cursor - 7) / 2);
+		}
+
+	}
+
+	private static JsonObjectDocument object(final StringBuilder builder, final boolean debug) throws IOException {
+		final JsonScribe scribe = new SafeJsonScribe(new JsonAppender(builder, new JsonEscaper())).pushObject();
+		return new JsonObjectDocument(scribe, null, new JsonNodePool(scribe, debug));
+	}
+
+	private static JsonArrayDocument array(final StringBuilder builder, final boolean debug) throws IOException {
+		final JsonScribe scribe = new SafeJsonScribe(new JsonAppender(builder, new JsonEscaper())).pushArray();
+		return new JsonArrayDocument(scribe, null, new JsonNodePool(scribe, debug));
+	}
+
+	@Test
+	public void testRecycledPerDepth() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		final JsonObjectDocument document = object(builder, false);
+		final JsonObjectNode<JsonObjectDocument> first = document.key("a").object();
+		final JsonArrayNode<JsonObjectNode<JsonObjectDocument>> nested = first.key("b").array();
+		Assert.assertSame(first, nested.then());
+		first.then();
+		final JsonObjectNode<JsonObjectDocument> second = document.key("c").object();
+		Assert.assertSame(first, second);
+		Assert.assertSame(nested, second.key("d").array());
+		second.then().close();
+		Assert.assertEquals("{\"a\":{\"b\":[]},\"c\":{\"d\":[]}}", builder.toString());
+	}
+
+	@Test
+	public void testRecycledOutput() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		final JsonArrayDocument document = array(builder, false);
+		for (int i = 0; i < 3; i++) {
+			document.object()
+					.key("value").value().append("v").append(Integer.toString(i)).then()
+					.key("list").array().element("x").then().with(i).then()
+					.with((o) -> o.key("inner").then(true))
+			.then();
+		}
+		document.close();
+		Assert.assertEquals("[{\"value\":\"v0\",\"list\":[\"x\",0],\"inner\":true},"
+				+ "{\"value\":\"v1\",\"list\":[\"x\",1],\"inner\":true},"
+				+ "{\"value\":\"v2\",\"list\":[\"x\",2],\"inner\":true}]", builder.toString());
+	}
+
+	@Test
+	public void testDeepNesting() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		final StringBuilder expected = new StringBuilder("[");
+		final JsonArrayDocument document = array(builder, false);
+		JsonArray<?> array = document;
+		for (int i = 0; i < 100; i++) {
+			array = array.array();
+			expected.append('[');
+		}
+		document.close();
+		for (int i = 0; i <= 100; i++) {
+			expected.append(']');
+		}
+		Assert.assertEquals(expected.toString(), builder.toString());
+	}
+
+	@Test
+	public void testOpaqueCursors() throws IOException {
+		for (final boolean debug : new boolean[] {false, true}) {
+			final StringBuilder builder = new StringBuilder();
+			final JsonScribe scribe = new OffsetCursorScribe(builder).pushObject();
+			final JsonObjectDocument document = new JsonObjectDocument(scribe, null, new JsonNodePool(scribe, debug));
+			document.with("a", 1)
+					.key("b").object().with("c", 2).key("d").array().with(3).then().then()
+					.with("e", 4)
+					.with((o) -> o.key("f").array().element().append("g").then().then())
+					.close();
+			Assert.assertEquals("{\"a\":1,\"b\":{\"c\":2,\"d\":[3]},\"e\":4,\"f\":[\"g\"]}", builder.toString());
+		}
+	}
+
+	@Test(expected=IllegalStateException.class)
+	public void testDebugStaleNodeWithOpaqueCursors() throws IOException {
+		final JsonScribe scribe = new OffsetCursorScribe(new StringBuilder()).pushArray();
+		final JsonArrayDocument document = new JsonArrayDocument(scribe, null, new JsonNodePool(scribe, true));
+		final JsonArrayNode<JsonArrayNode<JsonArrayDocument>> nested = document.array().array();
+		nested.then().then();
+		nested.withNull();
+	}
+
+	@Test
+	public void testDebugDoesNotRecycle() throws IOException {
+		final JsonObjectDocument document = object(new StringBuilder(), true);
+		final JsonObjectNode<JsonObjectDocument> first = document.key("a").object();
+		first.then();
+		Assert.assertNotSame(first, document.key("b").object());
+	}
+
+	@Test(expected=IllegalStateException.class)
+	public void testDebugStaleKey() throws IOException {
+		final JsonObjectDocument document = object(new StringBuilder(), true);
+		final JsonKey<JsonObjectDocument> key = document.key("a");
+		key.then(1);
+		key.then(2);
+	}
+
+	@Test(expected=IllegalStateException.class)
+	public void testDebugStaleKeyAfterValue() throws IOException {
+		final JsonObjectDocument document = object(new StringBuilder(), true);
+		final JsonKey<JsonObjectDocument> key = document.key("a");
+		key.value("b");
+		key.append("c");
+	}
+
+	@Test(expected=IllegalStateException.class)
+	public void testDebugStaleValue() throws IOException {
+		final JsonArrayDocument document = array(new StringBuilder(), true);
+		final JsonValue<JsonArrayDocument> value = document.element("a");
+		value.then();
+		value.append("b");
+	}
+
+	@Test(expected=IllegalStateException.class)
+	public void testDebugStaleNode() throws IOException {
+		final JsonArrayDocument document = array(new StringBuilder(), true);
+		final JsonObjectNode<JsonArrayDocument> first = document.object();
+		first.then();
+		document.array();
+		first.withNull("a");
+	}
+
+	@Test(expected=IllegalStateException.class)
+	public void testDebugStaleNestedNode() throws IOException {
+		final JsonArrayDocument document = array(new StringBuilder(), true);
+		final JsonArrayNode<JsonArrayNode<JsonArrayDocument>> nested = document.array().array();
+		document.close();
+		nested.withNull();
+	}
+
+	@Test(expected=IllegalStateException.class)
+	public void testDebugStaleDocument() throws IOException {
+		final JsonObjectDocument document = object(new StringBuilder(), true);
+		document.close();
+		document.withNull("a");
+	}
+
+	@Test
+	public void testDebugValidHandles() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		final JsonObjectDocument document = object(builder, true);
+		final JsonObjectNode<JsonObjectDocument> node = document.key("a").object();
+		node.key("b").array().with(1).then();
+		node.with((o) -> o.withNull("c"));
+		node.withTrue("d").then().withFalse("e").close();
+		Assert.assertEquals("{\"a\":{\"b\":[1],\"c\":null,\"d\":true},\"e\":false}", builder.toString());
+	}
+
+}
@@ -4,7 +4,15 @@
  */
 package net.dougvalenta.scriptorium.json;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import net.dougvalenta.scriptorium.json.scribe.JsonAppender;
+import net.dougvalenta.scriptorium.json.scribe.JsonEscaper;
+import net.dougvalenta.scriptorium.json.scribe.JsonKeyName;
+import net.dougvalenta.scriptorium.json.scribe.UnsafeJsonScribe;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -26,6 +34,27 @@ public class JsonTest {
 		Assert.assertEquals("{\"key1\":\"value1\",\"key2\":\"value2\",\"key3\":\"value3\"}", builder.toString());	
 	}
 	
+	@Test
+	public void testObjectWithKeyNames() throws IOException {
+		final JsonKeyName id = JsonKeyName.of("id");
+		final JsonKeyName name = JsonKeyName.of("na\"me");
+		final StringBuilder builder = new StringBuilder();
+		Json.object(builder)
+				.with(id, 1)
+				.with(name, "value")
+				.key("nested").object().with(id, 2L).withNull(name).then()
+		.close();
+		final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		Json.objectTo(stream)
+				.with(id, 1)
+				.with(name, "value")
+				.key("nested").object().with(id, 2L).withNull(name).then()
+		.close();
+		final String expected = "{\"id\":1,\"na\\\"me\":\"value\",\"nested\":{\"id\":2,\"na\\\"me\":null}}";
+		Assert.assertEquals(expected, builder.toString());
+		Assert.assertEquals(expected, new String(stream.toByteArray(), StandardCharsets.UTF_8));
+	}
+	
 	@Test(expected=IllegalArgumentException.class)
 	public void testObjectWithNullAppendable() throws IOException {
 		Json.object(null);
@@ -48,4 +77,117 @@ public class JsonTest {
 		Json.array(null);
 	}
 	
+	@Test
+	public void testObjectWithWriter() throws IOException {
+		final StringWriter writer = new StringWriter();
+		final JsonObjectDocument document = Json.object(writer);
+		document.with("key1", "value1");
+		Assert.assertEquals("{\"key1\":\"value1\"", writer.toString());
+		document.with("key2", "value2").close();
+		Assert.assertEquals("{\"key1\":\"value1\",\"key2\":\"value2\"}", writer.toString());	
+	}
+	
+	@Test
+	public void testObjectWithBufferSize() throws IOException {
+		final StringBuffer buffer = new StringBuffer();
+		final JsonObjectDocument document = Json.object(buffer, 32);
+		document
+				.with("key1", "value1")
+				.with("key2", "value2")
+				.with("key3", "value3")
+		.close();
+		Assert.assertEquals("{\"key1\":\"value1\",\"key2\":\"value2\",\"key3\":\"value3\"}", buffer.toString());	
+	}
+	
+	@Test
+	public void testArrayWithWriter() throws IOException {
+		final StringWriter writer = new StringWriter();
+		final JsonArrayDocument document = Json.array(writer);
+		document.with("element1");
+		Assert.assertEquals("[\"element1\"", writer.toString());
+		document.with("element2").close();
+		Assert.assertEquals("[\"element1\",\"element2\"]", writer.toString());	
+	}
+	
+	@Test
+	public void testArrayWithBufferSize() throws IOException {
+		final StringBuffer buffer = new StringBuffer();
+		final JsonArrayDocument document = Json.array(buffer, 32);
+		document
+				.with("element1")
+				.with("element2")
+				.with("element3")
+				.with("element4")
+		.close();
+		Assert.assertEquals("[\"element1\",\"element2\",\"element3\",\"element4\"]", buffer.toString());	
+	}
+	
+	@Test
+	public void testObjectWithOutputStream() throws IOException {
+		final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		final JsonObjectDocument document = Json.objectTo(stream);
+		document
+				.with("key1", "value1")
+				.with("key2", "\u0414")
+				.with("key3", 3)
+		.close();
+		Assert.assertEquals("{\"key1\":\"value1\",\"key2\":\"\u0414\",\"key3\":3}", new String(stream.toByteArray(), StandardCharsets.UTF_8));	
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testObjectWithNullOutputStream() throws IOException {
+		Json.objectTo(null);
+	}
+	
+	@Test
+	public void testArrayWithOutputStream() throws IOException {
+		final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		final JsonArrayDocument document = Json.arrayTo(stream);
+		document
+				.with("element1")
+				.with("\ud83d\ude00")
+				.with(3.5)
+		.close();
+		Assert.assertEquals("[\"element1\",\"\ud83d\ude00\",3.5]", new String(stream.toByteArray(), StandardCharsets.UTF_8));	
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testArrayWithNullOutputStream() throws IOException {
+		Json.arrayTo(null);
+	}
+	
+	@Test
+	public void testObjectWithScribe() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		final JsonObjectDocument document = Json.objectOf(new UnsafeJsonScribe(new JsonAppender(builder, new JsonEscaper())));
+		document
+				.with("key1", "value1")
+				.key("key2").array().with(1).with(2).then()
+				.key("key3").object().with("key4", true).then()
+		.close();
+		Assert.assertEquals("{\"key1\":\"value1\",\"key2\":[1,2],\"key3\":{\"key4\":true}}", builder.toString());	
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testObjectWithNullScribe() throws IOException {
+		Json.objectOf(null);
+	}
+	
+	@Test
+	public void testArrayWithScribe() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		final JsonArrayDocument document = Json.arrayOf(new UnsafeJsonScribe(new JsonAppender(builder, new JsonEscaper())));
+		document
+				.with("element1")
+				.object().with("key", "value").then()
+				.array().then()
+		.close();
+		Assert.assertEquals("[\"element1\",{\"key\":\"value\"},[]]", builder.toString());	
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testArrayWithNullScribe() throws IOException {
+		Json.arrayOf(null);
+	}
+	
 }
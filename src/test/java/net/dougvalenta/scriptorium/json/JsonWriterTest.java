@@ -0,0 +1,92 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Doug Valenta
+ */
+public class JsonWriterTest {
+	
+	@Test
+	public void testObjects() throws IOException {
+		final JsonWriter writer = new JsonWriter();
+		final StringBuilder first = new StringBuilder();
+		final JsonObjectDocument firstDocument = writer.object(first);
+		firstDocument
+				.with("key1", "value1")
+				.key("key2").array().with(1).with(2).then()
+		.close();
+		final StringWriter second = new StringWriter();
+		final JsonObjectDocument secondDocument = writer.object(second);
+		secondDocument
+				.with("key3", "value3")
+		.close();
+		Assert.assertSame(firstDocument, secondDocument);
+		Assert.assertEquals("{\"key1\":\"value1\",\"key2\":[1,2]}", first.toString());
+		Assert.assertEquals("{\"key3\":\"value3\"}", second.toString());
+	}
+	
+	@Test
+	public void testArrays() throws IOException {
+		final JsonWriter writer = new JsonWriter(32);
+		final StringBuilder first = new StringBuilder();
+		final JsonArrayDocument firstDocument = writer.array(first);
+		firstDocument
+				.with("element1")
+				.object().with("key", "value").then()
+				.with("element2")
+		.close();
+		final StringBuilder second = new StringBuilder();
+		final JsonArrayDocument secondDocument = writer.array(second);
+		secondDocument
+				.with(3)
+		.close();
+		Assert.assertSame(firstDocument, secondDocument);
+		Assert.assertEquals("[\"element1\",{\"key\":\"value\"},\"element2\"]", first.toString());
+		Assert.assertEquals("[3]", second.toString());
+	}
+	
+	@Test
+	public void testObjectsAndArrays() throws IOException {
+		final JsonWriter writer = new JsonWriter();
+		final StringBuilder first = new StringBuilder();
+		writer.array(first).with(1).close();
+		final StringBuilder second = new StringBuilder();
+		writer.object(second).with("key", 2).close();
+		final StringBuilder third = new StringBuilder();
+		writer.array(third).with(3).close();
+		Assert.assertEquals("[1]", first.toString());
+		Assert.assertEquals("{\"key\":2}", second.toString());
+		Assert.assertEquals("[3]", third.toString());
+	}
+	
+	@Test
+	public void testAbandonedDocument() throws IOException {
+		final JsonWriter writer = new JsonWriter();
+		final StringBuilder first = new StringBuilder();
+		writer.object(first).with("key", "value").key("array").array().with(1);
+		final StringBuilder second = new StringBuilder();
+		writer.object(second).with("key", "value").close();
+		Assert.assertEquals("", first.toString());
+		Assert.assertEquals("{\"key\":\"value\"}", second.toString());
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testObjectWithNullAppendable() throws IOException {
+		new JsonWriter().object(null);
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testArrayWithNullAppendable() throws IOException {
+		new JsonWriter().array(null);
+	}
+	
+}
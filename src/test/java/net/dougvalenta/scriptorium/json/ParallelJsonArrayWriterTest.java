@@ -0,0 +1,274 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import net.dougvalenta.scriptorium.json.scribe.JsonAppender;
+import net.dougvalenta.scriptorium.json.scribe.JsonEscaper;
+import net.dougvalenta.scriptorium.json.scribe.JsonScribe;
+import net.dougvalenta.scriptorium.json.scribe.PrettyJsonScribe;
+import net.dougvalenta.scriptorium.json.scribe.SafeJsonScribe;
+import net.dougvalenta.scriptorium.json.scribe.UnsafeJsonScribe;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Doug Valenta
+ */
+public class ParallelJsonArrayWriterTest {
+
+	private static final int CHUNK_SIZE = 16;
+
+	private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+	private static JsonArrayDocument array(final StringBuilder builder) throws IOException {
+		final JsonScribe scribe = new SafeJsonScribe(new JsonAppender(builder, new JsonEscaper())).pushArray();
+		return new JsonArrayDocument(scribe);
+	}
+
+	private static List<Object> elements(final int count) {
+		final List<Object> elements = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			elements.add(i % 3 == 0 ? (Object) ("s\"" + i) : (Object) i);
+		}
+		return elements;
+	}
+
+	private static String sequential(final List<?> elements) throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		array(builder).withAll(elements).close();
+		return builder.toString();
+	}
+
+	@Test
+	public void testMatchesSequential() throws IOException {
+		final List<Object> elements = elements(100000);
+		final StringBuilder builder = new StringBuilder();
+		final JsonArrayDocument document = array(builder);
+		document.withAllParallel(elements.spliterator(), null, POOL, ParallelJsonArrayWriter.DEFAULT_CHUNK_SIZE);
+		document.close();
+		Assert.assertEquals(sequential(elements), builder.toString());
+	}
+
+	@Test
+	public void testCommonPool() throws IOException {
+		final List<Object> elements = elements(10000);
+		final StringBuilder builder = new StringBuilder();
+		array(builder).withAllParallel(elements).close();
+		Assert.assertEquals(sequential(elements), builder.toString());
+	}
+
+	@Test
+	public void testSmallChunks() throws IOException {
+		final List<Object> elements = elements(1000);
+		final StringBuilder builder = new StringBuilder();
+		final JsonArrayDocument document = array(builder);
+		document.withAllParallel(elements.spliterator(), null, POOL, CHUNK_SIZE);
+		document.close();
+		Assert.assertEquals(sequential(elements), builder.toString());
+	}
+
+	@Test
+	public void testSingleWorker() throws IOException {
+		final List<Object> elements = elements(1000);
+		final StringBuilder builder = new StringBuilder();
+		final JsonArrayDocument document = array(builder);
+		document.withAllParallel(elements.spliterator(), null, new ForkJoinPool(1), CHUNK_SIZE);
+		document.close();
+		Assert.assertEquals(sequential(elements), builder.toString());
+	}
+
+	@Test
+	public void testSingleChunk() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		array(builder).withAllParallel(new Object[]{1, "a", null, true}).close();
+		Assert.assertEquals("[1,\"a\",null,true]", builder.toString());
+	}
+
+	@Test
+	public void testUnsizedReadsAheadBoundedly() throws IOException {
+		final int count = 1000000;
+		final AtomicInteger consumed = new AtomicInteger();
+		final AtomicInteger consumedAtOutput = new AtomicInteger(-1);
+		final Iterator<Integer> iterator = IntStream.range(0, count).peek((i) -> consumed.incrementAndGet()).iterator();
+		final StringBuilder builder = new StringBuilder();
+		final Appendable output = new Appendable() {
+
+			@Override
+			public Appendable append(final CharSequence sequence) {
+				return append(sequence, 0, sequence.length());
+			}
+
+			@Override
+			public Appendable append(final CharSequence sequence, final int start, final int end) {
+				if (builder.length() == 1) consumedAtOutput.compareAndSet(-1, consumed.get());
+				builder.append(sequence, start, end);
+				return this;
+			}
+
+			@Override
+			public Appendable append(final char character) {
+				if (builder.length() == 1) consumedAtOutput.compareAndSet(-1, consumed.get());
+				builder.append(character);
+				return this;
+			}
+
+		};
+		final JsonScribe scribe = new SafeJsonScribe(new JsonAppender(output, new JsonEscaper())).pushArray();
+		final JsonArrayDocument document = new JsonArrayDocument(scribe);
+		document.withAllParallel(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), null, POOL,
+				ParallelJsonArrayWriter.DEFAULT_CHUNK_SIZE);
+		document.close();
+		Assert.assertEquals(count, consumed.get());
+		Assert.assertTrue("Consumed " + consumedAtOutput.get() + " elements before output",
+				consumedAtOutput.get() > 0 && consumedAtOutput.get() < count / 10);
+		Assert.assertTrue(builder.toString().startsWith("[0,1,2,"));
+		Assert.assertTrue(builder.toString().endsWith("," + (count - 1) + "]"));
+	}
+
+	@Test
+	public void testAfterElements() throws IOException {
+		final List<Object> elements = elements(100);
+		final StringBuilder builder = new StringBuilder();
+		final JsonArrayDocument document = array(builder);
+		document.with("first");
+		document.withAllParallel(elements.spliterator(), null, POOL, CHUNK_SIZE);
+		document.with("last").close();
+		final String expected = sequential(elements);
+		Assert.assertEquals("[\"first\"," + expected.substring(1, expected.length() - 1) + ",\"last\"]", builder.toString());
+	}
+
+	@Test
+	public void testEmpty() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		array(builder).with(1).withAllParallel(Collections.emptyList()).with(2).close();
+		Assert.assertEquals("[1,2]", builder.toString());
+	}
+
+	@Test
+	public void testNull() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		array(builder).withAllParallel((List<?>) null).withAllParallel((Object[]) null).close();
+		Assert.assertEquals("[]", builder.toString());
+	}
+
+	@Test
+	public void testWriter() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		final StringBuilder expected = new StringBuilder("[");
+		final JsonArrayDocument document = array(builder);
+		document.withAllParallel(IntStream.range(0, 200).boxed().spliterator(), (i, array) -> {
+			array.object().key("i").then(i).key("a").array().with(i).then().then();
+			if (i % 2 == 0) array.withNull();
+		}, POOL, CHUNK_SIZE);
+		document.close();
+		for (int i = 0; i < 200; i++) {
+			if (i != 0) expected.append(',');
+			expected.append("{\"i\":").append(i).append(",\"a\":[").append(i).append("]}");
+			if (i % 2 == 0) expected.append(",null");
+		}
+		expected.append(']');
+		Assert.assertEquals(expected.toString(), builder.toString());
+	}
+
+	@Test
+	public void testWriterEmptyElements() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		final JsonArrayDocument document = array(builder);
+		document.withAllParallel(IntStream.range(0, 100).boxed().spliterator(), (i, array) -> {
+			if (i == 50) array.with(i);
+		}, POOL, CHUNK_SIZE);
+		document.close();
+		Assert.assertEquals("[50]", builder.toString());
+	}
+
+	@Test
+	public void testWriterInPlace() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		array(builder).withAllParallel(Arrays.asList(1, 2), (i, array) -> array.object().with("i", i)).close();
+		Assert.assertEquals("[{\"i\":1},{\"i\":2}]", builder.toString());
+	}
+
+	@Test(expected=IOException.class)
+	public void testWriterException() throws IOException {
+		final JsonArrayDocument document = array(new StringBuilder());
+		document.withAllParallel(IntStream.range(0, 1000).boxed().spliterator(), (i, array) -> {
+			if (i == 500) throw new IOException();
+			array.with(i);
+		}, POOL, CHUNK_SIZE);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testUnsupportedElement() throws IOException {
+		final List<Object> elements = elements(1000);
+		elements.set(500, new Object());
+		final JsonArrayDocument document = array(new StringBuilder());
+		document.withAllParallel(elements.spliterator(), null, POOL, CHUNK_SIZE);
+	}
+
+	@Test
+	public void testEscaper() throws IOException {
+		final List<Object> elements = elements(1000);
+		elements.set(500, "line\nbreak");
+		final JsonEscaper escaper = new JsonEscaper() {
+
+			@Override
+			public void escape(final char character, final Appendable appendable) throws IOException {
+				if (character == '\n') appendable.append("\\u000a");
+				else super.escape(character, appendable);
+			}
+
+		};
+		final StringBuilder builder = new StringBuilder();
+		final JsonArrayDocument document = new JsonArrayDocument(new SafeJsonScribe(new JsonAppender(builder, escaper)).pushArray());
+		document.withAllParallel(elements.spliterator(), null, POOL, CHUNK_SIZE);
+		document.close();
+		final StringBuilder expected = new StringBuilder();
+		new JsonArrayDocument(new SafeJsonScribe(new JsonAppender(expected, escaper)).pushArray()).withAll(elements).close();
+		Assert.assertEquals(expected.toString(), builder.toString());
+		Assert.assertTrue(builder.indexOf("line\\u000abreak") >= 0);
+	}
+
+	@Test
+	public void testUnsafeScribe() throws IOException {
+		final List<Object> elements = elements(1000);
+		final StringBuilder builder = new StringBuilder();
+		final JsonArrayDocument document = new JsonArrayDocument(new UnsafeJsonScribe(new JsonAppender(builder, new JsonEscaper())).pushArray());
+		document.withAllParallel(elements.spliterator(), null, POOL, CHUNK_SIZE);
+		document.close();
+		Assert.assertEquals(sequential(elements), builder.toString());
+	}
+
+	@Test
+	public void testPrettyScribe() throws IOException {
+		final List<Object> elements = elements(1000);
+		final StringBuilder builder = new StringBuilder();
+		final JsonObjectDocument document = new JsonObjectDocument(new PrettyJsonScribe(new JsonAppender(builder, new JsonEscaper())).pushObject());
+		document.key("elements").array().withAllParallel(elements.spliterator(), null, POOL, CHUNK_SIZE);
+		document.close();
+		final StringBuilder expected = new StringBuilder();
+		new JsonObjectDocument(new PrettyJsonScribe(new JsonAppender(expected, new JsonEscaper())).pushObject())
+				.key("elements").array().withAll(elements).then()
+		.close();
+		Assert.assertEquals(expected.toString(), builder.toString());
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testMissingWriter() throws IOException {
+		array(new StringBuilder()).withAllParallel(elements(10), null);
+	}
+
+}
@@ -0,0 +1,387 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.bind;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import net.dougvalenta.scriptorium.json.Json;
+import net.dougvalenta.scriptorium.json.JsonArrayDocument;
+import net.dougvalenta.scriptorium.json.JsonObjectDocument;
+import net.dougvalenta.scriptorium.json.scribe.JsonFragment;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Doug Valenta
+ */
+public class JsonBindingTest {
+
+	public static class Base {
+
+		private final long id;
+
+		Base(final long id) {
+			this.id = id;
+		}
+
+		public long getId() {
+			return id;
+		}
+
+	}
+
+	public static class Bean extends Base {
+
+		private final String name;
+		private final int count;
+		private final boolean active;
+		private transient Object ignored;
+		public double ratio = 0.5;
+		public static String constant = "constant";
+
+		Bean(final long id, final String name, final int count, final boolean active) {
+			super(id);
+			this.name = name;
+			this.count = count;
+			this.active = active;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public int getCount() {
+			return count;
+		}
+
+		public boolean isActive() {
+			return active;
+		}
+
+		public Object getIgnored() {
+			return ignored;
+		}
+
+		public char getInitial() {
+			return name == null ? '?' : name.charAt(0);
+		}
+
+		public static String getStatic() {
+			return "static";
+		}
+
+		public String describe() {
+			return "not a getter";
+		}
+
+	}
+
+	private static final class Primitives {
+
+		public byte b = 1;
+		public short s = 2;
+		public int i = 3;
+		public long l = 4;
+		public float f = 5.5f;
+		public double d = 6.5;
+		public boolean z = true;
+		public char c = 'c';
+
+	}
+
+	private static final class Boxed {
+
+		public Byte b = 1;
+		public Short s = 2;
+		public Integer i = 3;
+		public Long l = 4L;
+		public Float f = 5.5f;
+		public Double d = 6.5;
+		public Boolean z = false;
+		public Character c = 'c';
+		public BigInteger bigInteger = BigInteger.TEN;
+		public BigDecimal bigDecimal = new BigDecimal("1.25");
+		public CharSequence sequence = new StringBuilder("sb");
+		public TimeUnit unit = TimeUnit.SECONDS;
+		public Object nothing = null;
+
+	}
+
+	private static final class Node {
+
+		private final String value;
+		private final Node next;
+
+		Node(final String value, final Node next) {
+			this.value = value;
+			this.next = next;
+		}
+
+		public String getValue() {
+			return value;
+		}
+
+		public Node getNext() {
+			return next;
+		}
+
+	}
+
+	private static final class Failing {
+
+		public int getValue() throws IOException {
+			throw new IOException();
+		}
+
+	}
+
+	private static final class Uppercase {
+
+		public String getURL() {
+			return "u";
+		}
+
+		public String getX() {
+			return "x";
+		}
+
+	}
+
+	private static final class Annotated {
+
+		@JsonName("display_name")
+		public String name = "n";
+
+		@JsonOmitIfNull
+		public String note = null;
+
+		private final String code = null;
+
+		@JsonName("CODE")
+		@JsonOmitIfNull
+		public String getCode() {
+			return code;
+		}
+
+	}
+
+	@JsonWritable(omitNulls=true)
+	private static final class OmitNulls {
+
+		public String a = null;
+		public Integer b = null;
+		public String c = "c";
+
+	}
+
+	private static final class Containers {
+
+		public List<Object> list = Arrays.asList(1, "two", null, Arrays.asList(true));
+		public Map<Object, Object> map = new LinkedHashMap<>();
+		public int[] ints = {1, 2};
+		public char[] chars = {'a'};
+		public String[] strings = {"x", null};
+		public Node[] nodes = {new Node("n", null)};
+
+		Containers() {
+			map.put("k", 1L);
+			map.put(2, TimeUnit.DAYS);
+		}
+
+	}
+
+	private static final class Values {
+
+		public Instant instant = Instant.parse("2018-03-04T05:06:07.890Z");
+		public LocalDate date = LocalDate.of(2018, 3, 4);
+		public OffsetDateTime dateTime = OffsetDateTime.of(2018, 3, 4, 5, 6, 0, 0, ZoneOffset.ofHours(-5));
+		public LocalTime time = LocalTime.of(5, 6);
+		public UUID id = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+		public Optional<String> present = Optional.of("p");
+		public Optional<String> empty = Optional.empty();
+		public OptionalInt count = OptionalInt.of(3);
+		public Optional<Node> node = Optional.of(new Node("n", null));
+		public JsonFragment fragment = JsonFragment.of("[1]");
+		public List<Object> list = Arrays.asList(LocalDate.of(2018, 3, 4), Optional.of(new Node("m", null)));
+
+	}
+
+	private static String write(final Object instance) throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		Json.object(builder).with(instance, JsonBinding::write).close();
+		return builder.toString();
+	}
+
+	@Test
+	public void testBean() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		Json.object(builder).with(new Bean(7, "widget", 3, true), JsonBinding.bind(Bean.class)).close();
+		Assert.assertEquals("{\"id\":7,\"name\":\"widget\",\"count\":3,\"active\":true,\"ratio\":0.5,\"initial\":\"w\"}", builder.toString());
+	}
+
+	@Test
+	public void testNullProperty() throws IOException {
+		Assert.assertEquals("{\"id\":1,\"name\":null,\"count\":0,\"active\":false,\"ratio\":0.5,\"initial\":\"?\"}", write(new Bean(1, null, 0, false)));
+	}
+
+	@Test
+	public void testPrimitives() throws IOException {
+		Assert.assertEquals("{\"b\":1,\"s\":2,\"i\":3,\"l\":4,\"f\":5.5,\"d\":6.5,\"z\":true,\"c\":\"c\"}", write(new Primitives()));
+	}
+
+	@Test
+	public void testBoxed() throws IOException {
+		Assert.assertEquals("{\"b\":1,\"s\":2,\"i\":3,\"l\":4,\"f\":5.5,\"d\":6.5,\"z\":false,\"c\":\"c\","
+				+ "\"bigInteger\":10,\"bigDecimal\":1.25,\"sequence\":\"sb\",\"unit\":\"SECONDS\",\"nothing\":null}", write(new Boxed()));
+	}
+
+	@Test
+	public void testNested() throws IOException {
+		Assert.assertEquals("{\"value\":\"a\",\"next\":{\"value\":\"b\",\"next\":{\"value\":\"c\",\"next\":null}}}",
+				write(new Node("a", new Node("b", new Node("c", null)))));
+	}
+
+	@Test
+	public void testNestedInArray() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		Json.array(builder)
+				.object().with(new Node("a", null), JsonBinding.bind(Node.class)).then()
+				.object().with(new Node("b", null), JsonBinding.bind(Node.class)).then()
+		.close();
+		Assert.assertEquals("[{\"value\":\"a\",\"next\":null},{\"value\":\"b\",\"next\":null}]", builder.toString());
+	}
+
+	@Test
+	public void testUppercaseNames() throws IOException {
+		Assert.assertEquals("{\"URL\":\"u\",\"x\":\"x\"}", write(new Uppercase()));
+	}
+
+	@Test
+	public void testAnnotations() throws IOException {
+		Assert.assertEquals("{\"display_name\":\"n\"}", write(new Annotated()));
+	}
+
+	@Test
+	public void testOmitNulls() throws IOException {
+		Assert.assertEquals("{\"c\":\"c\"}", write(new OmitNulls()));
+	}
+
+	@Test
+	public void testContainers() throws IOException {
+		Assert.assertEquals("{\"list\":[1,\"two\",null,[true]],\"map\":{\"k\":1,\"2\":\"DAYS\"},"
+				+ "\"ints\":[1,2],\"chars\":[\"a\"],\"strings\":[\"x\",null],\"nodes\":[{\"value\":\"n\",\"next\":null}]}",
+				write(new Containers()));
+	}
+
+	@Test
+	public void testValues() throws IOException {
+		Assert.assertEquals("{\"instant\":\"2018-03-04T05:06:07.890Z\",\"date\":\"2018-03-04\","
+				+ "\"dateTime\":\"2018-03-04T05:06-05:00\",\"time\":\"05:06\","
+				+ "\"id\":\"123e4567-e89b-12d3-a456-426614174000\",\"present\":\"p\",\"empty\":null,"
+				+ "\"count\":3,\"node\":{\"value\":\"n\",\"next\":null},\"fragment\":[1],"
+				+ "\"list\":[\"2018-03-04\",{\"value\":\"m\",\"next\":null}]}",
+				write(new Values()));
+	}
+
+	@Test
+	public void testWriteElement() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		final JsonArrayDocument array = Json.array(builder);
+		JsonBinding.writeElement(array, new Node("a", null));
+		JsonBinding.writeElement(array, 1.5);
+		array.close();
+		Assert.assertEquals("[{\"value\":\"a\",\"next\":null},1.5]", builder.toString());
+	}
+
+	@Test
+	public void testWritePath() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		final JsonArrayDocument array = Json.array(builder);
+		JsonBinding.writeElement(array, Paths.get("a", "b"));
+		JsonBinding.writeElement(array, Arrays.asList(Paths.get("c")));
+		array.close();
+		Assert.assertEquals("[\"a/b\",[\"c\"]]", builder.toString());
+		builder.setLength(0);
+		final Map<String, Object> map = new LinkedHashMap<>();
+		map.put("path", Paths.get("a", "b"));
+		final JsonObjectDocument object = Json.object(builder);
+		JsonBinding.writeValue(object, "map", map);
+		object.close();
+		Assert.assertEquals("{\"map\":{\"path\":\"a/b\"}}", builder.toString());
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testBindList() {
+		JsonBinding.bind(List.class);
+	}
+
+	@Test
+	public void testCached() {
+		Assert.assertSame(JsonBinding.bind(Bean.class), JsonBinding.bind(Bean.class));
+		Assert.assertEquals(Bean.class, JsonBinding.bind(Bean.class).getType());
+	}
+
+	@Test(expected=IOException.class)
+	public void testGetterException() throws IOException {
+		write(new Failing());
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testBindString() {
+		JsonBinding.bind(String.class);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testBindPrimitive() {
+		JsonBinding.bind(int.class);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testBindUuid() {
+		JsonBinding.bind(UUID.class);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testBindInstant() {
+		JsonBinding.bind(Instant.class);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testBindOptional() {
+		JsonBinding.bind(Optional.class);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testBindArray() {
+		JsonBinding.bind(Object[].class);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testBindNull() {
+		JsonBinding.bind(null);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testWriteNull() throws IOException {
+		write(null);
+	}
+
+}
@@ -7,6 +7,11 @@ package net.dougvalenta.scriptorium.json.scribe;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
 import org.junit.Assert;
 import org.junit.Test;
 import org.mockito.InOrder;
@@ -74,6 +79,45 @@ public abstract class AbstractJsonScribeTest {
 		Mockito.verifyNoMoreInteractions(appender);
 	}
 	
+	@Test
+	public void testPushArrayAndEnumsAndPop() throws IOException {
+		final JsonAppender appender = Mockito.mock(JsonAppender.class, Mockito.RETURNS_SELF);
+		final JsonScribe scribe = getScribe(appender);
+		JsonScribe result = scribe.pushArray().value(TimeUnit.SECONDS).value((TimeUnit) null).value(TimeUnit.DAYS).pop();
+		Assert.assertEquals(scribe, result);
+		InOrder inOrder = Mockito.inOrder(appender);
+		inOrder.verify(appender).appendOpenBracket();
+		inOrder.verify(appender).appendEnumName(JsonEnumName.of(TimeUnit.SECONDS));
+		inOrder.verify(appender).appendComma();
+		inOrder.verify(appender).appendNull();
+		inOrder.verify(appender).appendComma();
+		inOrder.verify(appender).appendEnumName(JsonEnumName.of(TimeUnit.DAYS));
+		inOrder.verify(appender).appendCloseBracket();
+		Mockito.verifyNoMoreInteractions(appender);
+	}
+	
+	@Test
+	public void testPushArrayAndTimesAndPop() throws IOException {
+		final JsonAppender appender = Mockito.mock(JsonAppender.class, Mockito.RETURNS_SELF);
+		final JsonScribe scribe = getScribe(appender);
+		final Instant instant = Instant.EPOCH;
+		final LocalDate date = LocalDate.of(2018, 1, 1);
+		final OffsetDateTime dateTime = OffsetDateTime.of(2018, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+		JsonScribe result = scribe.pushArray().value(instant).value(date).value(dateTime).value((Instant) null).pop();
+		Assert.assertEquals(scribe, result);
+		InOrder inOrder = Mockito.inOrder(appender);
+		inOrder.verify(appender).appendOpenBracket();
+		inOrder.verify(appender).appendTime(instant);
+		inOrder.verify(appender).appendComma();
+		inOrder.verify(appender).appendTime(date);
+		inOrder.verify(appender).appendComma();
+		inOrder.verify(appender).appendTime(dateTime);
+		inOrder.verify(appender).appendComma();
+		inOrder.verify(appender).appendNull();
+		inOrder.verify(appender).appendCloseBracket();
+		Mockito.verifyNoMoreInteractions(appender);
+	}
+	
 	@Test
 	public void testPushArrayAndCharsAndPop() throws IOException {
 		final JsonAppender appender = Mockito.mock(JsonAppender.class, Mockito.RETURNS_SELF);
@@ -446,6 +490,67 @@ public abstract class AbstractJsonScribeTest {
 		Mockito.verifyNoMoreInteractions(appender);
 	}
 	
+	@Test
+	public void testPushObjectAndKeyNamesAndPop() throws IOException {
+		final JsonAppender appender = Mockito.mock(JsonAppender.class, Mockito.RETURNS_SELF);
+		final JsonScribe scribe = getScribe(appender);
+		final JsonKeyName key1 = JsonKeyName.of("key1");
+		final JsonKeyName key2 = JsonKeyName.of("key2");
+		JsonScribe result = scribe.pushObject()
+				.key(key1)
+				.value(1)
+				.key(key2)
+				.nullValue().pop();
+		Assert.assertEquals(scribe, result);
+		InOrder inOrder = Mockito.inOrder(appender);
+		inOrder.verify(appender).appendOpenBrace();
+		inOrder.verify(appender).appendKeyName(key1);
+		inOrder.verify(appender).appendNumber(1);
+		inOrder.verify(appender).appendComma();
+		inOrder.verify(appender).appendKeyName(key2);
+		inOrder.verify(appender).appendNull();
+		inOrder.verify(appender).appendCloseBrace();
+		Mockito.verifyNoMoreInteractions(appender);
+	}
+	
+	@Test
+	public void testPushArrayAndRawValuesAndPop() throws IOException {
+		final JsonAppender appender = Mockito.mock(JsonAppender.class, Mockito.RETURNS_SELF);
+		final JsonScribe scribe = getScribe(appender);
+		JsonScribe result = scribe.pushArray()
+				.rawValue("1,2")
+				.nullValue()
+				.rawValue("{}").pop();
+		Assert.assertEquals(scribe, result);
+		InOrder inOrder = Mockito.inOrder(appender);
+		inOrder.verify(appender).appendOpenBracket();
+		inOrder.verify(appender).appendRaw("1,2");
+		inOrder.verify(appender).appendComma();
+		inOrder.verify(appender).appendNull();
+		inOrder.verify(appender).appendComma();
+		inOrder.verify(appender).appendRaw("{}");
+		inOrder.verify(appender).appendCloseBracket();
+		Mockito.verifyNoMoreInteractions(appender);
+	}
+	
+	@Test
+	public void testPushArrayAndFragmentsAndPop() throws IOException {
+		final JsonAppender appender = Mockito.mock(JsonAppender.class, Mockito.RETURNS_SELF);
+		final JsonScribe scribe = getScribe(appender);
+		final JsonFragment fragment = JsonFragment.of("[1]");
+		JsonScribe result = scribe.pushArray()
+				.rawValue(fragment)
+				.rawValue((CharSequence) fragment).pop();
+		Assert.assertEquals(scribe, result);
+		InOrder inOrder = Mockito.inOrder(appender);
+		inOrder.verify(appender).appendOpenBracket();
+		inOrder.verify(appender).appendRaw(fragment);
+		inOrder.verify(appender).appendComma();
+		inOrder.verify(appender).appendRaw(fragment);
+		inOrder.verify(appender).appendCloseBracket();
+		Mockito.verifyNoMoreInteractions(appender);
+	}
+	
 	@Test
 	public void testPushObjectAndPushKeysAndValuesAndPop() throws IOException {
 		final JsonAppender appender = Mockito.mock(JsonAppender.class, Mockito.RETURNS_SELF);
@@ -551,4 +656,26 @@ public abstract class AbstractJsonScribeTest {
 		Mockito.verifyNoMoreInteractions(appender);
 	}
 	
+	@Test
+	public void testPushArrayAndNumberRunsAndPop() throws IOException {
+		final JsonAppender appender = Mockito.mock(JsonAppender.class, Mockito.RETURNS_SELF);
+		final JsonScribe scribe = getScribe(appender);
+		final int[] ints = {1, 2};
+		final long[] longs = {3L};
+		final double[] doubles = {4.0, 5.0};
+		JsonScribe result = scribe.pushArray().values(ints, 0, 2).values(longs, 0, 0).values(longs, 0, 1).value(6).values(doubles, 1, 2).pop();
+		Assert.assertEquals(scribe, result);
+		InOrder inOrder = Mockito.inOrder(appender);
+		inOrder.verify(appender).appendOpenBracket();
+		inOrder.verify(appender).appendNumbers(ints, 0, 2);
+		inOrder.verify(appender).appendComma();
+		inOrder.verify(appender).appendNumbers(longs, 0, 1);
+		inOrder.verify(appender).appendComma();
+		inOrder.verify(appender).appendNumber(6);
+		inOrder.verify(appender).appendComma();
+		inOrder.verify(appender).appendNumbers(doubles, 1, 2);
+		inOrder.verify(appender).appendCloseBracket();
+		Mockito.verifyNoMoreInteractions(appender);
+	}
+	
 }
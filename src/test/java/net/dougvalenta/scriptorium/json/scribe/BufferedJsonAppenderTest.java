@@ -0,0 +1,357 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.scribe;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.CharBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Doug Valenta
+ */
+public class BufferedJsonAppenderTest {
+
+	private static final char MOCK_ESCAPE_CHARACTER = '%';
+
+	/**
+	 * An {@link Appendable} which counts calls, and is neither a {@link StringBuilder}
+	 * nor a {@link java.io.Writer}.
+	 */
+	private static final class CountingAppendable implements Appendable, Flushable {
+
+		private final StringBuilder builder = new StringBuilder();
+		private int appends;
+		private int flushes;
+
+		@Override
+		public Appendable append(final CharSequence sequence) {
+			appends++;
+			builder.append(sequence);
+			return this;
+		}
+
+		@Override
+		public Appendable append(final CharSequence sequence, final int start, final int end) {
+			appends++;
+			builder.append(sequence, start, end);
+			return this;
+		}
+
+		@Override
+		public Appendable append(final char character) {
+			appends++;
+			builder.append(character);
+			return this;
+		}
+
+		@Override
+		public void flush() {
+			flushes++;
+		}
+
+	}
+
+	@Test
+	public void testAppendStructureAndLiterals() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		final BufferedJsonAppender appender = new BufferedJsonAppender(builder, new JsonEscaper());
+		appender.appendOpenBrace().appendQuote().appendCloseKey().appendOpenBracket()
+				.appendEmptyObject().appendComma().appendEmptyArray().appendComma(true).appendComma(false)
+				.appendNull().appendTrue().appendFalse().appendBoolean(true).appendBoolean(false)
+				.appendCloseBracket().appendCloseBrace();
+		Assert.assertEquals("", builder.toString());
+		appender.flush();
+		Assert.assertEquals("{\"\":[{},[],nulltruefalsetruefalse]}", builder.toString());
+	}
+
+	@Test
+	public void testAppendNumbers() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		final BufferedJsonAppender appender = new BufferedJsonAppender(builder, new JsonEscaper());
+		appender.appendNumber(Integer.MIN_VALUE).appendComma()
+				.appendNumber(Long.MAX_VALUE).appendComma()
+				.appendNumber(1.5f).appendComma()
+				.appendNumber(-2.5E-10).appendComma()
+				.appendNumber(BigInteger.TEN).appendComma()
+				.appendNumber(new BigDecimal("1.25"));
+		appender.flush();
+		Assert.assertEquals("-2147483648,9223372036854775807,1.5,-2.5E-10,10,1.25", builder.toString());
+	}
+
+	@Test
+	public void testEscapeWithJsonEscaper() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		final BufferedJsonAppender appender = new BufferedJsonAppender(builder, new JsonEscaper());
+		appender.escape("plain \"quoted\" back\\slash\u0001 Д").escape("\"ABC\"DE", 1, 6).escape('\n');
+		appender.flush();
+		Assert.assertEquals("plain \\\"quoted\\\" back\\\\slash\\u0001 ДABC\\\"D\\\n", builder.toString());
+	}
+
+	@Test
+	public void testEscapeWithMockEscaper() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		final MockEscaper escaper = new MockEscaper(MOCK_ESCAPE_CHARACTER);
+		final BufferedJsonAppender appender = new BufferedJsonAppender(builder, escaper);
+		appender.escape("ABCDE", 1, 4).escape('F');
+		appender.flush();
+		Assert.assertEquals("%%%%", builder.toString());
+		Assert.assertEquals("BCDF", escaper.spyString());
+	}
+
+	@Test
+	public void testEscapeWithEscaperOverridingEscape() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		final BufferedJsonAppender appender = new BufferedJsonAppender(builder, new SlashEscaper());
+		appender.escape("</script> and a longer run of text after it").escape("a/b", 1, 3);
+		appender.flush();
+		Assert.assertEquals("<\\/script> and a longer run of text after it\\/b", builder.toString());
+	}
+
+	@Test
+	public void testChunkedOutput() throws IOException {
+		final CountingAppendable appendable = new CountingAppendable();
+		final BufferedJsonAppender appender = new BufferedJsonAppender(appendable, new JsonEscaper(), BufferedJsonAppender.MIN_BUFFER_SIZE);
+		final StringBuilder expected = new StringBuilder();
+		appender.appendOpenBracket();
+		expected.append('[');
+		for (int i = 0; i < 100; i++) {
+			appender.appendNumber(-Double.MAX_VALUE).appendComma().appendQuote().escape("a\"b").appendQuote().appendComma();
+			expected.append("-1.7976931348623157E308,\"a\\\"b\",");
+		}
+		appender.appendNull().appendCloseBracket();
+		expected.append("null]");
+		appender.flush();
+		Assert.assertEquals(expected.toString(), appendable.builder.toString());
+		Assert.assertTrue(appendable.appends <= expected.length() / (BufferedJsonAppender.MIN_BUFFER_SIZE - FloatingPointFormatter.MAX_LENGTH) + 1);
+		Assert.assertEquals(1, appendable.flushes);
+	}
+
+	@Test
+	public void testAppendLongBigInteger() throws IOException {
+		final CountingAppendable appendable = new CountingAppendable();
+		final BufferedJsonAppender appender = new BufferedJsonAppender(appendable, new JsonEscaper(), BufferedJsonAppender.MIN_BUFFER_SIZE);
+		final StringBuilder value = new StringBuilder();
+		for (int i = 1; i < 100; i++) {
+			value.append(i);
+		}
+		appender.appendQuote().appendNumber(new BigInteger(value.toString())).appendQuote();
+		appender.flush();
+		Assert.assertEquals("\"" + value + "\"", appendable.builder.toString());
+	}
+
+	@Test
+	public void testOutputToWriter() throws IOException {
+		final StringWriter writer = new StringWriter();
+		final BufferedJsonAppender appender = new BufferedJsonAppender(writer, new JsonEscaper(), BufferedJsonAppender.MIN_BUFFER_SIZE);
+		for (int i = 0; i < 20; i++) {
+			appender.appendNumber(i).appendComma();
+		}
+		appender.appendNumber(0.1);
+		appender.flush();
+		Assert.assertEquals("0,1,2,3,4,5,6,7,8,9,10,11,12,13,14,15,16,17,18,19,0.1", writer.toString());
+	}
+
+	@Test
+	public void testOutputToStringBuffer() throws IOException {
+		final StringBuffer buffer = new StringBuffer();
+		final BufferedJsonAppender appender = new BufferedJsonAppender(buffer, new JsonEscaper(), BufferedJsonAppender.MIN_BUFFER_SIZE);
+		for (int i = 0; i < 10; i++) {
+			appender.appendQuote().escape("value\t").appendCloseKey();
+		}
+		appender.flush();
+		final StringBuilder expected = new StringBuilder();
+		for (int i = 0; i < 10; i++) {
+			expected.append("\"value\\\t\":");
+		}
+		Assert.assertEquals(expected.toString(), buffer.toString());
+	}
+
+	@Test
+	public void testAppendKeyName() throws IOException {
+		final CountingAppendable appendable = new CountingAppendable();
+		final BufferedJsonAppender appender = new BufferedJsonAppender(appendable, new JsonEscaper(), BufferedJsonAppender.MIN_BUFFER_SIZE);
+		final StringBuilder longName = new StringBuilder();
+		for (int i = 0; i < BufferedJsonAppender.MIN_BUFFER_SIZE; i++) {
+			longName.append('k');
+		}
+		appender.appendOpenBrace().appendKeyName(JsonKeyName.of("a\"b")).appendNull().appendComma()
+				.appendKeyName(JsonKeyName.of(longName)).appendNull().appendCloseBrace();
+		appender.flush();
+		Assert.assertEquals("{\"a\\\"b\":null,\"" + longName + "\":null}", appendable.builder.toString());
+	}
+	
+	@Test
+	public void testAppendKeyNameWithMockEscaper() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		final BufferedJsonAppender appender = new BufferedJsonAppender(builder, new MockEscaper(MOCK_ESCAPE_CHARACTER));
+		appender.appendKeyName(JsonKeyName.of("key"));
+		appender.flush();
+		Assert.assertEquals("\"%%%\":", builder.toString());
+	}
+	
+	@Test
+	public void testAppendEnumName() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		final BufferedJsonAppender appender = new BufferedJsonAppender(builder, new JsonEscaper(), BufferedJsonAppender.MIN_BUFFER_SIZE);
+		appender.appendOpenBracket().appendEnumName(JsonEnumName.of(TimeUnit.SECONDS)).appendComma()
+				.appendEnumName(JsonEnumName.of(TimeUnit.DAYS)).appendCloseBracket();
+		appender.flush();
+		Assert.assertEquals("[\"SECONDS\",\"DAYS\"]", builder.toString());
+	}
+	
+	@Test
+	public void testAppendEnumNameWithMockEscaper() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		final BufferedJsonAppender appender = new BufferedJsonAppender(builder, new MockEscaper(MOCK_ESCAPE_CHARACTER));
+		appender.appendEnumName(JsonEnumName.of(TimeUnit.DAYS));
+		appender.flush();
+		Assert.assertEquals("\"%%%%\"", builder.toString());
+	}
+	
+	@Test
+	public void testAppendTime() throws IOException {
+		final Instant[] values = {Instant.ofEpochSecond(1500000000, 5000000), Instant.MAX};
+		for (final int bufferSize : new int[] {BufferedJsonAppender.MIN_BUFFER_SIZE, 64}) {
+			final StringBuilder builder = new StringBuilder();
+			final BufferedJsonAppender appender = new BufferedJsonAppender(builder, new JsonEscaper(), bufferSize);
+			appender.appendOpenBracket();
+			for (int i = 0; i < 8; i++) {
+				appender.appendTime(values[i % 2]).appendComma()
+						.appendTime(LocalDate.of(2018, 3, 4)).appendComma()
+						.appendTime(OffsetDateTime.of(2018, 3, 4, 5, 6, 7, 0, ZoneOffset.ofHoursMinutes(5, 30))).appendComma();
+			}
+			appender.appendNull().appendCloseBracket();
+			appender.flush();
+			final StringBuilder expected = new StringBuilder("[");
+			for (int i = 0; i < 8; i++) {
+				expected.append('"').append(values[i % 2]).append("\",\"2018-03-04\",\"2018-03-04T05:06:07+05:30\",");
+			}
+			Assert.assertEquals(expected.append("null]").toString(), builder.toString());
+		}
+	}
+	
+	@Test
+	public void testAppendRaw() throws IOException {
+		final CountingAppendable appendable = new CountingAppendable();
+		final BufferedJsonAppender appender = new BufferedJsonAppender(appendable, new JsonEscaper(), BufferedJsonAppender.MIN_BUFFER_SIZE);
+		final StringBuilder raw = new StringBuilder();
+		for (int i = 0; i < BufferedJsonAppender.MIN_BUFFER_SIZE; i++) {
+			raw.append(i).append(',');
+		}
+		raw.append("\"\\\"\"");
+		appender.appendOpenBracket().appendRaw("1,").appendRaw(raw).appendCloseBracket();
+		appender.flush();
+		Assert.assertEquals("[1," + raw + "]", appendable.builder.toString());
+	}
+	
+	@Test
+	public void testAppendRawWithFragment() throws IOException {
+		final CountingAppendable appendable = new CountingAppendable();
+		final BufferedJsonAppender appender = new BufferedJsonAppender(appendable, new JsonEscaper(), BufferedJsonAppender.MIN_BUFFER_SIZE);
+		final StringBuilder raw = new StringBuilder("[");
+		for (int i = 0; i < BufferedJsonAppender.MIN_BUFFER_SIZE; i++) {
+			raw.append(i).append(',');
+		}
+		raw.append("\"\\\"\"]");
+		final JsonFragment fragment = JsonFragment.validated(raw);
+		appender.appendOpenBracket().appendRaw(JsonFragment.of("1")).appendComma().appendRaw(fragment).appendCloseBracket();
+		appender.flush();
+		Assert.assertEquals("[1," + raw + "]", appendable.builder.toString());
+	}
+	
+	@Test
+	public void testEscapeSequenceTypes() throws IOException {
+		final String value = "a \"long\" value\nwhich is copied in blocks\\";
+		final String escaped = "a \\\"long\\\" value\\\nwhich is copied in blocks\\\\";
+		final String expected = escaped + escaped + escaped + escaped + escaped + "a \\\"l";
+		final StringBuilder builder = new StringBuilder();
+		final BufferedJsonAppender appender = new BufferedJsonAppender(builder, new JsonEscaper(), BufferedJsonAppender.MIN_BUFFER_SIZE);
+		final CharBuffer buffer = CharBuffer.wrap(("--" + value + "-").toCharArray());
+		buffer.position(2);
+		appender.escape(value).escape(new StringBuilder(value)).escape(buffer.slice(), 0, value.length())
+				.escape(CharBuffer.wrap(value)).escape(new StringBuffer(value)).escape(value.substring(0, 4));
+		appender.flush();
+		Assert.assertEquals(expected, builder.toString());
+	}
+	
+	@Test
+	public void testEscapeMixedText() throws IOException {
+		final StringBuilder value = new StringBuilder();
+		for (int i = 0; i < 300; i++) {
+			value.append("plain text of some length ".substring(i % 17));
+			if (i % 7 == 0) value.append("\"quoted\"");
+			if (i % 11 == 0) value.append('\\');
+			if (i % 13 == 0) value.append("\n\t\u0000");
+			if (i % 5 == 0) value.append("éД€😀");
+		}
+		final StringBuilder expected = new StringBuilder();
+		final JsonEscaper escaper = new JsonEscaper();
+		for (int i = 0; i < value.length(); i++) {
+			escaper.escape(value.charAt(i), expected);
+		}
+		final CountingAppendable appendable = new CountingAppendable();
+		final BufferedJsonAppender appender = new BufferedJsonAppender(appendable, new JsonEscaper(), BufferedJsonAppender.MIN_BUFFER_SIZE);
+		appender.escape(value);
+		appender.flush();
+		Assert.assertEquals(expected.toString(), appendable.builder.toString());
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testBufferTooSmall() {
+		new BufferedJsonAppender(new StringBuilder(), new JsonEscaper(), BufferedJsonAppender.MIN_BUFFER_SIZE - 1);
+	}
+
+	@Test
+	public void testReset() throws IOException {
+		final StringBuilder first = new StringBuilder();
+		final StringWriter second = new StringWriter();
+		final BufferedJsonAppender appender = new BufferedJsonAppender(first, new JsonEscaper());
+		appender.appendOpenBracket().appendNumber(1);
+		final BufferedJsonAppender result = appender.reset(second);
+		Assert.assertEquals(appender, result);
+		appender.appendNumber(2).flush();
+		Assert.assertEquals("", first.toString());
+		Assert.assertEquals("2", second.toString());
+	}
+
+	@Test
+	public void testAppendNumbersWithArrays() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		final BufferedJsonAppender appender = new BufferedJsonAppender(builder, new JsonEscaper(), BufferedJsonAppender.MIN_BUFFER_SIZE);
+		final int[] ints = new int[100];
+		final long[] longs = new long[100];
+		final double[] doubles = new double[100];
+		final StringBuilder expected = new StringBuilder();
+		for (int i = 0; i < 100; i++) {
+			ints[i] = Integer.MIN_VALUE + i;
+			longs[i] = Long.MAX_VALUE - i;
+			doubles[i] = i % 10 == 0 ? Double.NaN : -Double.MAX_VALUE;
+		}
+		for (int i = 0; i < 100; i++) {
+			expected.append(i == 0 ? "" : ",").append(ints[i]);
+		}
+		for (int i = 0; i < 100; i++) {
+			expected.append(',').append(longs[i]);
+		}
+		for (int i = 0; i < 100; i++) {
+			expected.append(',').append(Double.isNaN(doubles[i]) ? "null" : Double.toString(doubles[i]));
+		}
+		appender.appendNumbers(ints, 0, 100).appendComma().appendNumbers(longs, 0, 100).appendComma().appendNumbers(doubles, 0, 100);
+		appender.flush();
+		Assert.assertEquals(expected.toString(), builder.toString());
+	}
+
+}
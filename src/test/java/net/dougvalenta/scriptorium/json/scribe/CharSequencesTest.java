@@ -0,0 +1,68 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.scribe;
+
+import java.nio.CharBuffer;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Doug Valenta
+ */
+public class CharSequencesTest {
+	
+	private static final String VALUE = "[\"abcdefghijklmnopqrstuvwxyz\"]";
+	
+	private static String copied(final CharSequence sequence, final int start, final int end) {
+		final char[] destination = new char[end - start + 2];
+		CharSequences.getChars(sequence, start, end, destination, 1);
+		Assert.assertEquals(0, destination[0]);
+		Assert.assertEquals(0, destination[destination.length - 1]);
+		return new String(destination, 1, end - start);
+	}
+	
+	@Test
+	public void testString() {
+		Assert.assertEquals("abcdef", copied(VALUE, 2, 8));
+	}
+	
+	@Test
+	public void testStringBuilder() {
+		Assert.assertEquals("abcdef", copied(new StringBuilder(VALUE), 2, 8));
+	}
+	
+	@Test
+	public void testStringBuffer() {
+		Assert.assertEquals("abcdef", copied(new StringBuffer(VALUE), 2, 8));
+	}
+	
+	@Test
+	public void testJsonFragment() {
+		Assert.assertEquals("abcdef", copied(JsonFragment.of(VALUE), 2, 8));
+	}
+	
+	@Test
+	public void testHeapCharBuffer() {
+		final CharBuffer buffer = CharBuffer.wrap(VALUE.toCharArray());
+		buffer.position(1);
+		final CharBuffer slice = buffer.slice();
+		slice.position(1);
+		Assert.assertEquals("cdefgh", copied(slice, 2, 8));
+	}
+	
+	@Test
+	public void testReadOnlyCharBuffer() {
+		final CharBuffer buffer = CharBuffer.wrap(VALUE.toCharArray()).asReadOnlyBuffer();
+		buffer.position(2);
+		Assert.assertEquals("abcdef", copied(buffer, 0, 6));
+	}
+	
+	@Test
+	public void testWrappedCharSequence() {
+		Assert.assertEquals("abcdef", copied(CharBuffer.wrap(VALUE), 2, 8));
+	}
+
+}
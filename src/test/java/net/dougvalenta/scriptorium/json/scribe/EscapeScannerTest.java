@@ -0,0 +1,105 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.scribe;
+
+import java.io.IOException;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Doug Valenta
+ */
+public class EscapeScannerTest {
+	
+	private static final char[] SPECIAL = {'"', '\\', '\0', '\n', 0x1F};
+	
+	private static final char[] ORDINARY = {' ', '!', '#', '[', ']', '~', 0x7F, 0x80, 0x2022, 0x8022, 0x805C, 0xFFFF};
+	
+	private static char[] filled(final int length) {
+		final char[] chars = new char[length];
+		for (int i = 0; i < length; i++) {
+			chars[i] = ORDINARY[i % ORDINARY.length];
+		}
+		return chars;
+	}
+	
+	@Test
+	public void testIndexOfEscapeAtEachPosition() {
+		for (int length = 0; length < 20; length++) {
+			final char[] chars = filled(length);
+			Assert.assertEquals(length, EscapeScanner.indexOfEscape(chars, 0, length));
+			Assert.assertEquals(length, EscapeScanner.indexOfEscape(new String(chars), 0, length));
+			for (int i = 0; i < length; i++) {
+				for (final char special : SPECIAL) {
+					final char[] escaped = chars.clone();
+					escaped[i] = special;
+					Assert.assertEquals(i, EscapeScanner.indexOfEscape(escaped, 0, length));
+					Assert.assertEquals(i, EscapeScanner.indexOfEscape(new String(escaped), 0, length));
+					Assert.assertEquals(length, EscapeScanner.indexOfEscape(escaped, i + 1, length));
+					Assert.assertEquals(i, EscapeScanner.indexOfEscape(escaped, 0, i));
+				}
+			}
+		}
+	}
+	
+	@Test
+	public void testIndexOfEscapeWithBorrows() {
+		Assert.assertEquals(0, EscapeScanner.indexOfEscape("\"# \"", 0, 4));
+		Assert.assertEquals(1, EscapeScanner.indexOfEscape("a\u001F !", 0, 4));
+		Assert.assertEquals(2, EscapeScanner.indexOfEscape("ab\\]".toCharArray(), 0, 4));
+		Assert.assertEquals(4, EscapeScanner.indexOfEscape(" !#]", 0, 4));
+	}
+	
+	@Test
+	public void testIndexOfEscapeOrNonAscii() {
+		for (int length = 0; length < 20; length++) {
+			final char[] chars = new char[length];
+			for (int i = 0; i < length; i++) {
+				chars[i] = (char) (' ' + 3 + i * 5 % 90);
+			}
+			Assert.assertEquals(length, EscapeScanner.indexOfEscapeOrNonAscii(new String(chars), 0, length));
+			Assert.assertEquals(length, EscapeScanner.indexOfEscapeOrNonAscii(chars, 0, length));
+			for (int i = 0; i < length; i++) {
+				for (final char special : new char[] {'"', '\\', '\0', 0x80, 0xFF, 0x100, 0x7FFF, 0x8000, 0xFFFF}) {
+					final char[] escaped = chars.clone();
+					escaped[i] = special;
+					Assert.assertEquals(i, EscapeScanner.indexOfEscapeOrNonAscii(new String(escaped), 0, length));
+					Assert.assertEquals(i, EscapeScanner.indexOfEscapeOrNonAscii(escaped, 0, length));
+				}
+			}
+		}
+		Assert.assertEquals(4, EscapeScanner.indexOfEscapeOrNonAscii("\u007F\u007F\u007F\u007F", 0, 4));
+	}
+	
+	@Test
+	public void testIsScannable() {
+		Assert.assertTrue(JsonEscaper.isScannable(new JsonEscaper()));
+		Assert.assertFalse(JsonEscaper.isScannable(new JsonEscaper() {
+			@Override
+			public void escape(final char character, final Appendable appendable) throws IOException {
+				super.escape(character, appendable);
+			}
+		}));
+		Assert.assertFalse(JsonEscaper.isScannable(new JsonEscaper() {
+			@Override
+			public boolean mustEscape(final char character) {
+				return character == 'x' || super.mustEscape(character);
+			}
+		}));
+		Assert.assertFalse(JsonEscaper.isScannable(new MockEscaper('%')));
+	}
+	
+	@Test
+	public void testRunEscaper() {
+		final JsonEscaper escaper = new JsonEscaper();
+		final JsonEscaper consistent = new SlashEscaper.Consistent();
+		Assert.assertSame(escaper, JsonEscaper.runEscaper(escaper));
+		Assert.assertSame(consistent, JsonEscaper.runEscaper(consistent));
+		Assert.assertNull(JsonEscaper.runEscaper(new SlashEscaper()));
+		Assert.assertNull(JsonEscaper.runEscaper(new MockEscaper('%')));
+	}
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.scribe;
+
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Doug Valenta
+ */
+public class FloatingPointFormatterTest {
+	
+	private static final int RANDOM_SAMPLES = 20000;
+	
+	private static String formatDouble(final double value) {
+		final char[] buffer = new char[FloatingPointFormatter.MAX_LENGTH + 2];
+		final int end = FloatingPointFormatter.formatDouble(value, buffer, 2);
+		return new String(buffer, 2, end - 2);
+	}
+	
+	private static String formatFloat(final float value) {
+		final char[] buffer = new char[FloatingPointFormatter.MAX_LENGTH + 2];
+		final int end = FloatingPointFormatter.formatFloat(value, buffer, 2);
+		return new String(buffer, 2, end - 2);
+	}
+	
+	@Test
+	public void testFormatDoublePlain() {
+		Assert.assertEquals("0.0", formatDouble(0.0));
+		Assert.assertEquals("-0.0", formatDouble(-0.0));
+		Assert.assertEquals("1.0", formatDouble(1.0));
+		Assert.assertEquals("-1.5", formatDouble(-1.5));
+		Assert.assertEquals("0.1", formatDouble(0.1));
+		Assert.assertEquals("0.001", formatDouble(0.001));
+		Assert.assertEquals("0.123456789", formatDouble(0.123456789));
+		Assert.assertEquals("100.0", formatDouble(100.0));
+		Assert.assertEquals("9999999.0", formatDouble(9999999.0));
+		Assert.assertEquals("3.141592653589793", formatDouble(Math.PI));
+	}
+	
+	@Test
+	public void testFormatDoubleScientific() {
+		Assert.assertEquals("1.0E7", formatDouble(1e7));
+		Assert.assertEquals("1.0E-4", formatDouble(1e-4));
+		Assert.assertEquals("1.23456789012E11", formatDouble(123456789012.0));
+		Assert.assertEquals("2.0E23", formatDouble(2e23));
+		Assert.assertEquals("1.7976931348623157E308", formatDouble(Double.MAX_VALUE));
+		Assert.assertEquals("-1.7976931348623157E308", formatDouble(-Double.MAX_VALUE));
+		Assert.assertEquals("2.2250738585072014E-308", formatDouble(Double.MIN_NORMAL));
+		Assert.assertEquals("4.9E-324", formatDouble(Double.MIN_VALUE));
+		Assert.assertEquals("9.9E-324", formatDouble(2 * Double.MIN_VALUE));
+	}
+	
+	@Test
+	public void testFormatDoubleNonFinite() {
+		Assert.assertEquals("NaN", formatDouble(Double.NaN));
+		Assert.assertEquals("Infinity", formatDouble(Double.POSITIVE_INFINITY));
+		Assert.assertEquals("-Infinity", formatDouble(Double.NEGATIVE_INFINITY));
+	}
+	
+	@Test
+	public void testFormatDoubleRoundTrip() {
+		final Random random = new Random(0);
+		for (int i = 0; i < RANDOM_SAMPLES; i++) {
+			final double value = Double.longBitsToDouble(random.nextLong());
+			if (Double.isNaN(value)) continue;
+			final String formatted = formatDouble(value);
+			Assert.assertEquals(formatted, value, Double.parseDouble(formatted), 0.0);
+			Assert.assertTrue(formatted, formatted.length() <= Double.toString(value).length());
+		}
+	}
+	
+	@Test
+	public void testFormatFloat() {
+		Assert.assertEquals("0.0", formatFloat(0.0f));
+		Assert.assertEquals("-0.0", formatFloat(-0.0f));
+		Assert.assertEquals("0.12345", formatFloat(0.12345f));
+		Assert.assertEquals("1.0E10", formatFloat(1e10f));
+		Assert.assertEquals("3.4028235E38", formatFloat(Float.MAX_VALUE));
+		Assert.assertEquals("1.4E-45", formatFloat(Float.MIN_VALUE));
+		Assert.assertEquals("1.1754944E-38", formatFloat(Float.MIN_NORMAL));
+		Assert.assertEquals("NaN", formatFloat(Float.NaN));
+		Assert.assertEquals("-Infinity", formatFloat(Float.NEGATIVE_INFINITY));
+	}
+	
+	@Test
+	public void testFormatFloatRoundTrip() {
+		final Random random = new Random(0);
+		for (int i = 0; i < RANDOM_SAMPLES; i++) {
+			final float value = Float.intBitsToFloat(random.nextInt());
+			if (Float.isNaN(value)) continue;
+			final String formatted = formatFloat(value);
+			Assert.assertEquals(formatted, value, Float.parseFloat(formatted), 0.0f);
+			Assert.assertTrue(formatted, formatted.length() <= Float.toString(value).length());
+		}
+	}
+	
+}
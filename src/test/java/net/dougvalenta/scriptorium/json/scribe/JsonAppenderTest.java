@@ -5,8 +5,15 @@
 package net.dougvalenta.scriptorium.json.scribe;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.CharBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -42,6 +49,58 @@ public class JsonAppenderTest {
 		Assert.assertEquals("", builder.toString());
 	}
 	
+	@Test
+	public void testEscapeSequenceTypes() throws IOException {
+		final String value = "a \"long\" value\nwhich is copied in blocks\\";
+		final String escaped = "a \\\"long\\\" value\\\nwhich is copied in blocks\\\\";
+		final String expected = escaped + escaped + escaped + escaped + escaped + "a \\\"l";
+		final StringBuilder builder = new StringBuilder();
+		final JsonAppender appender = new JsonAppender(builder, new JsonEscaper());
+		final CharBuffer buffer = CharBuffer.wrap(("--" + value + "-").toCharArray());
+		buffer.position(2);
+		appender.escape(value).escape(new StringBuilder(value)).escape(buffer.slice(), 0, value.length())
+				.escape(CharBuffer.wrap(value)).escape(new StringBuffer(value)).escape(value.substring(0, 4));
+		Assert.assertEquals(expected, builder.toString());
+	}
+	
+	@Test
+	public void testEscapeMixedText() throws IOException {
+		final StringBuilder value = new StringBuilder();
+		for (int i = 0; i < 300; i++) {
+			value.append("plain text of some length ".substring(i % 17));
+			if (i % 7 == 0) value.append("\"quoted\"");
+			if (i % 11 == 0) value.append('\\');
+			if (i % 13 == 0) value.append("\n\t\u0000");
+			if (i % 5 == 0) value.append("éД€😀");
+		}
+		final StringBuilder expected = new StringBuilder();
+		final JsonEscaper escaper = new JsonEscaper();
+		for (int i = 0; i < value.length(); i++) {
+			escaper.escape(value.charAt(i), expected);
+		}
+		final StringBuilder builder = new StringBuilder();
+		new JsonAppender(builder, new JsonEscaper()).escape(value);
+		Assert.assertEquals(expected.toString(), builder.toString());
+	}
+	
+	@Test
+	public void testEscapeWithEscaperOverridingEscape() throws IOException {
+		final String value = "</script> is escaped as <\\/script> by some writers";
+		final String escaped = "<\\/script> is escaped as <\\\\\\/script> by some writers";
+		final StringBuilder builder = new StringBuilder();
+		new JsonAppender(builder, new SlashEscaper()).escape(value).escape("a/b");
+		Assert.assertEquals(escaped + "a\\/b", builder.toString());
+	}
+	
+	@Test
+	public void testEscapeWithEscaperOverridingEscapeAndMustEscape() throws IOException {
+		final String value = "</script> is escaped as <\\/script> by some writers";
+		final String escaped = "<\\/script> is escaped as <\\\\\\/script> by some writers";
+		final StringBuilder builder = new StringBuilder();
+		new JsonAppender(builder, new SlashEscaper.Consistent()).escape(value).escape("a/b");
+		Assert.assertEquals(escaped + "a\\/b", builder.toString());
+	}
+	
 	@Test
 	public void testAppendOpenBrace() throws IOException {
 		final StringBuilder builder = new StringBuilder();
@@ -164,6 +223,38 @@ public class JsonAppenderTest {
 		Assert.assertEquals("123456789123456789", builder.toString());
 	}
 	
+	@Test
+	public void testAppendNumberWithNegativeInt() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		final JsonAppender appender = new JsonAppender(builder, new MockEscaper(MOCK_ESCAPE_CHARACTER));
+		appender.appendNumber(Integer.MIN_VALUE);
+		Assert.assertEquals("-2147483648", builder.toString());
+	}
+	
+	@Test
+	public void testAppendNumberWithNegativeLong() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		final JsonAppender appender = new JsonAppender(builder, new MockEscaper(MOCK_ESCAPE_CHARACTER));
+		appender.appendNumber(Long.MIN_VALUE);
+		Assert.assertEquals("-9223372036854775808", builder.toString());
+	}
+	
+	@Test
+	public void testAppendNumbersWithWriter() throws IOException {
+		final StringWriter writer = new StringWriter();
+		final JsonAppender appender = new JsonAppender(writer, new MockEscaper(MOCK_ESCAPE_CHARACTER));
+		appender.appendNumber(123).appendComma().appendNumber(-123456789123456789L);
+		Assert.assertEquals("123,-123456789123456789", writer.toString());
+	}
+	
+	@Test
+	public void testAppendNumbersWithAppendable() throws IOException {
+		final StringBuffer buffer = new StringBuffer();
+		final JsonAppender appender = new JsonAppender(buffer, new MockEscaper(MOCK_ESCAPE_CHARACTER));
+		appender.appendNumber(123).appendComma().appendNumber(-123456789123456789L);
+		Assert.assertEquals("123,-123456789123456789", buffer.toString());
+	}
+	
 	@Test
 	public void testAppendNumberWithFloat() throws IOException {
 		final StringBuilder builder = new StringBuilder();
@@ -204,6 +295,85 @@ public class JsonAppenderTest {
 		Assert.assertEquals(new String(new char[]{MOCK_ESCAPE_CHARACTER}), builder.toString());
 	}
 	
+	@Test
+	public void testAppendKeyName() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		final JsonAppender appender = new JsonAppender(builder, new JsonEscaper());
+		appender.appendKeyName(JsonKeyName.of("a\"b"));
+		Assert.assertEquals("\"a\\\"b\":", builder.toString());
+	}
+	
+	@Test
+	public void testAppendKeyNameToWriter() throws IOException {
+		final StringWriter writer = new StringWriter();
+		final JsonAppender appender = new JsonAppender(writer, new JsonEscaper());
+		appender.appendKeyName(JsonKeyName.of("key"));
+		Assert.assertEquals("\"key\":", writer.toString());
+	}
+	
+	@Test
+	public void testAppendKeyNameWithMockEscaper() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		final MockEscaper escaper = new MockEscaper(MOCK_ESCAPE_CHARACTER);
+		final JsonAppender appender = new JsonAppender(builder, escaper);
+		appender.appendKeyName(JsonKeyName.of("key"));
+		Assert.assertEquals("\"%%%\":", builder.toString());
+		Assert.assertEquals("key", escaper.spyString());
+	}
+	
+	@Test
+	public void testAppendEnumName() throws IOException {
+		final StringWriter writer = new StringWriter();
+		final JsonAppender appender = new JsonAppender(writer, new JsonEscaper());
+		appender.appendEnumName(JsonEnumName.of(TimeUnit.SECONDS));
+		Assert.assertEquals("\"SECONDS\"", writer.toString());
+	}
+	
+	@Test
+	public void testAppendEnumNameWithMockEscaper() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		final MockEscaper escaper = new MockEscaper(MOCK_ESCAPE_CHARACTER);
+		final JsonAppender appender = new JsonAppender(builder, escaper);
+		appender.appendEnumName(JsonEnumName.of(TimeUnit.DAYS));
+		Assert.assertEquals("\"%%%%\"", builder.toString());
+		Assert.assertEquals("DAYS", escaper.spyString());
+	}
+	
+	@Test
+	public void testAppendTime() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		final JsonAppender appender = new JsonAppender(builder, new JsonEscaper());
+		appender.appendTime(Instant.ofEpochSecond(1500000000, 5000000)).appendComma()
+				.appendTime(LocalDate.of(2018, 3, 4)).appendComma()
+				.appendTime(OffsetDateTime.of(2018, 3, 4, 5, 6, 0, 0, ZoneOffset.ofHours(-8))).appendComma()
+				.appendTime(LocalDate.of(12018, 3, 4));
+		Assert.assertEquals("\"2017-07-14T02:40:00.005Z\",\"2018-03-04\",\"2018-03-04T05:06-08:00\",\"+12018-03-04\"", builder.toString());
+	}
+	
+	@Test
+	public void testAppendRaw() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		final MockEscaper escaper = new MockEscaper(MOCK_ESCAPE_CHARACTER);
+		final JsonAppender appender = new JsonAppender(builder, escaper);
+		appender.appendRaw("{\"a\":[1,\"\\n\"]}");
+		Assert.assertEquals("{\"a\":[1,\"\\n\"]}", builder.toString());
+		Assert.assertEquals("", escaper.spyString());
+	}
+	
+	@Test
+	public void testAppendRawWithFragment() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		final StringWriter writer = new StringWriter();
+		final StringBuffer buffer = new StringBuffer();
+		final JsonFragment fragment = JsonFragment.of("{\"a\":[1,\"\\n\"]}");
+		new JsonAppender(builder, new JsonEscaper()).appendRaw(fragment);
+		new JsonAppender(writer, new JsonEscaper()).appendRaw(fragment);
+		new JsonAppender(buffer, new JsonEscaper()).appendRaw(fragment);
+		Assert.assertEquals(fragment.toString(), builder.toString());
+		Assert.assertEquals(fragment.toString(), writer.toString());
+		Assert.assertEquals(fragment.toString(), buffer.toString());
+	}
+	
 	@Test
 	public void testEscapeWithCharSequence() throws IOException {
 		final StringBuilder builder = new StringBuilder();
@@ -224,4 +394,39 @@ public class JsonAppenderTest {
 		Assert.assertEquals("BCD", escaper.spyString());
 	}
 	
+	@Test
+	public void testEscapeWithCharSequenceAndJsonEscaper() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		final JsonAppender appender = new JsonAppender(builder, new JsonEscaper());
+		appender.escape("plain \"quoted\" back\\slash\u0001");
+		Assert.assertEquals("plain \\\"quoted\\\" back\\\\slash\\u0001", builder.toString());
+	}
+	
+	@Test
+	public void testEscapeWithCharSequenceRangeAndJsonEscaper() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		final JsonAppender appender = new JsonAppender(builder, new JsonEscaper());
+		appender.escape("\"ABC\"DE", 1, 6);
+		Assert.assertEquals("ABC\\\"D", builder.toString());
+	}
+	
+	@Test
+	public void testEscapeWithUnescapedCharSequenceAndJsonEscaper() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		final JsonAppender appender = new JsonAppender(builder, new JsonEscaper());
+		appender.escape("ABC \u0414");
+		Assert.assertEquals("ABC \u0414", builder.toString());
+	}
+	
+	@Test
+	public void testAppendNumbersWithArrays() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		final JsonAppender appender = new JsonAppender(builder, new MockEscaper(MOCK_ESCAPE_CHARACTER));
+		appender.appendNumbers(new int[] {0, 1, 2, 3}, 1, 3).appendComma()
+				.appendNumbers(new long[] {4L, 5L}, 0, 2).appendComma()
+				.appendNumbers(new double[] {6.5, Double.NaN, Double.NEGATIVE_INFINITY}, 0, 3)
+				.appendNumbers(new int[] {7}, 1, 1);
+		Assert.assertEquals("1,2,4,5,6.5,null,null", builder.toString());
+	}
+	
 }
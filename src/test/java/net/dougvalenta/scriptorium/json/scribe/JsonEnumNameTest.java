@@ -0,0 +1,98 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.scribe;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Doug Valenta
+ */
+public class JsonEnumNameTest {
+	
+	private enum Suit {
+		
+		HEARTS, SPADES {
+			
+			@Override
+			public String toString() {
+				return "spades";
+			}
+			
+		};
+		
+	}
+	
+	@After
+	public void unregister() {
+		JsonEnumName.unregister(Suit.class);
+	}
+	
+	@Test
+	public void testOf() {
+		final JsonEnumName name = JsonEnumName.of(Suit.HEARTS);
+		Assert.assertEquals("HEARTS", name.toString());
+		Assert.assertEquals(6, name.length());
+		Assert.assertEquals('E', name.charAt(1));
+		Assert.assertEquals("EA", name.subSequence(1, 3).toString());
+		Assert.assertEquals("\"HEARTS\"", name.quoted.string);
+	}
+	
+	@Test
+	public void testOfConstantWithBody() {
+		Assert.assertEquals("\"SPADES\"", JsonEnumName.of(Suit.SPADES).quoted.string);
+	}
+	
+	@Test
+	public void testCached() {
+		Assert.assertSame(JsonEnumName.of(Suit.HEARTS), JsonEnumName.of(Suit.HEARTS));
+	}
+	
+	@Test
+	public void testRegister() {
+		JsonEnumName.register(Suit.class, suit -> "a\"b\\" + suit.ordinal() + "Д");
+		final JsonEnumName name = JsonEnumName.of(Suit.SPADES);
+		Assert.assertEquals("a\"b\\1Д", name.toString());
+		Assert.assertEquals("\"a\\\"b\\\\1Д\"", name.quoted.string);
+		Assert.assertArrayEquals(name.quoted.string.toCharArray(), name.quoted.chars);
+		Assert.assertArrayEquals(name.quoted.string.getBytes(StandardCharsets.UTF_8), name.quoted.bytes);
+		JsonEnumName.unregister(Suit.class);
+		Assert.assertEquals("SPADES", JsonEnumName.of(Suit.SPADES).toString());
+	}
+	
+	@Test
+	public void testRegisteredNameWithScribe() throws IOException {
+		JsonEnumName.register(Suit.class, Suit::toString);
+		final StringBuilder builder = new StringBuilder();
+		new SafeJsonScribe(new JsonAppender(builder, new JsonEscaper())).pushArray().value(Suit.HEARTS).value(Suit.SPADES).close();
+		Assert.assertEquals("[\"HEARTS\",\"spades\"]", builder.toString());
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testRegisterNullName() {
+		JsonEnumName.register(Suit.class, suit -> null);
+		JsonEnumName.of(Suit.HEARTS);
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testRegisterNullType() {
+		JsonEnumName.register(null, suit -> "");
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testRegisterNullNaming() {
+		JsonEnumName.register(Suit.class, null);
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testOfNull() {
+		JsonEnumName.of(null);
+	}
+	
+}
@@ -40,6 +40,32 @@ public class JsonEscaperTest {
 		Assert.assertEquals("\\u0000\\u0001\\u0002\\u0003\\u0004\\u0005\\u0006\\u0007\\\b\\\t\\\n\\u000b\\\f\\\r\\u000e\\u000f\\u0010\\u0011\\u0012\\u0013\\u0014\\u0015\\u0016\\u0017\\u0018\\u0019\\u001a\\u001b\\u001c\\u001d\\u001e\\u001f", builder.toString());
 	}
 	
+	@Test
+	public void testEscapeAscii() throws IOException {
+		final JsonEscaper escaper = new JsonEscaper();
+		final StringBuilder all = new StringBuilder();
+		final StringBuilder expected = new StringBuilder();
+		for (char i = 0; i < 128; i++) {
+			final String sequence;
+			if (i == '\b' || i == '\f' || i == '\n' || i == '\r' || i == '\t' || i == '"' || i == '\\') {
+				sequence = "\\" + i;
+			} else if (i < 32) {
+				sequence = String.format("\\u%04x", (int) i);
+			} else {
+				sequence = String.valueOf(i);
+			}
+			final StringBuilder builder = new StringBuilder();
+			escaper.escape(i, builder);
+			Assert.assertEquals(sequence, builder.toString());
+			Assert.assertEquals(sequence.length() > 1, escaper.mustEscape(i));
+			all.append(i);
+			expected.append(sequence);
+		}
+		final StringBuilder builder = new StringBuilder();
+		new JsonAppender(builder, escaper).escape(all);
+		Assert.assertEquals(expected.toString(), builder.toString());
+	}
+	
 	@Test
 	public void testUnescapedCharacters() throws IOException {
 		final JsonEscaper escaper = new JsonEscaper();
@@ -50,4 +76,17 @@ public class JsonEscaperTest {
 		Assert.assertEquals("A Д", builder.toString());
 	}
 	
+	@Test
+	public void testMustEscape() {
+		final JsonEscaper escaper = new JsonEscaper();
+		for (char i = 0; i < 32; i++) {
+			Assert.assertTrue(escaper.mustEscape(i));
+		}
+		Assert.assertTrue(escaper.mustEscape('"'));
+		Assert.assertTrue(escaper.mustEscape('\\'));
+		Assert.assertFalse(escaper.mustEscape('A'));
+		Assert.assertFalse(escaper.mustEscape(' '));
+		Assert.assertFalse(escaper.mustEscape('Д'));
+	}
+	
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.scribe;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import net.dougvalenta.scriptorium.json.Json;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Doug Valenta
+ */
+public class JsonFragmentTest {
+	
+	private static void assertInvalid(final String json) {
+		try {
+			JsonFragment.validated(json);
+		} catch (final IllegalArgumentException exception) {
+			return;
+		}
+		Assert.fail("Accepted " + json);
+	}
+	
+	@Test
+	public void testOf() {
+		final JsonFragment fragment = JsonFragment.of(new StringBuilder("{\"é\":1}"));
+		Assert.assertEquals("{\"é\":1}", fragment.toString());
+		Assert.assertArrayEquals("{\"é\":1}".getBytes(StandardCharsets.UTF_8), fragment.bytes);
+		Assert.assertSame(fragment, JsonFragment.of(fragment));
+		Assert.assertEquals("not json", JsonFragment.of("not json").toString());
+	}
+	
+	@Test
+	public void testOfBytes() {
+		final byte[] bytes = "[\"Д\"]".getBytes(StandardCharsets.UTF_8);
+		final JsonFragment fragment = JsonFragment.of(bytes);
+		bytes[0] = '{';
+		Assert.assertEquals("[\"Д\"]", fragment.toString());
+		Assert.assertArrayEquals("[\"Д\"]".getBytes(StandardCharsets.UTF_8), fragment.bytes);
+	}
+	
+	@Test
+	public void testValidated() {
+		for (final String json : new String[] {"1", " true ", "\"a\\\"]\"", "{}", "[[],{\"a\":[1,{\"b\":null}]}]", "{\"]\":\"}\"}\n"}) {
+			Assert.assertEquals(json, JsonFragment.validated(json).toString());
+		}
+		Assert.assertEquals("[1]", JsonFragment.validated("[1]".getBytes(StandardCharsets.UTF_8)).toString());
+	}
+	
+	@Test
+	public void testValidatedWhenInvalid() {
+		for (final String json : new String[] {"", " ", "[", "]", "{]", "[}", "[1]]", "\"a", "\"a\\\"", "1 2", "1,2", "{}[]", "\"a\"1", "a:1"}) {
+			assertInvalid(json);
+		}
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testOfMissing() {
+		JsonFragment.of((CharSequence) null);
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testValidatedMissing() {
+		JsonFragment.validated((byte[]) null);
+	}
+	
+	@Test
+	public void testWithRaw() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		final JsonFragment fragment = JsonFragment.validated("{\"cached\":[1,2]}");
+		Json.object(builder).withRaw("a", fragment).withRaw(JsonKeyName.of("b"), "[]").close();
+		Json.array(builder).withRaw(fragment).withAll(new Object[] {fragment}).close();
+		Assert.assertEquals("{\"a\":{\"cached\":[1,2]},\"b\":[]}[{\"cached\":[1,2]},{\"cached\":[1,2]}]", builder.toString());
+	}
+	
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.scribe;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Doug Valenta
+ */
+public class JsonKeyNameTest {
+	
+	@Test
+	public void testOf() {
+		final JsonKeyName name = JsonKeyName.of("key");
+		Assert.assertEquals("key", name.toString());
+		Assert.assertEquals(3, name.length());
+		Assert.assertEquals('e', name.charAt(1));
+		Assert.assertEquals("ey", name.subSequence(1, 3).toString());
+		Assert.assertEquals("\"key\":", name.string);
+	}
+	
+	@Test
+	public void testInterned() {
+		Assert.assertSame(JsonKeyName.of("interned"), JsonKeyName.of(new StringBuilder("interned")));
+	}
+	
+	@Test
+	public void testEscaped() {
+		final JsonKeyName name = JsonKeyName.of("a\"b\\c\u0001Д");
+		Assert.assertEquals("\"a\\\"b\\\\c\\u0001Д\":", name.string);
+		Assert.assertArrayEquals(name.string.toCharArray(), name.chars);
+		Assert.assertArrayEquals(name.string.getBytes(StandardCharsets.UTF_8), name.bytes);
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testOfNull() {
+		JsonKeyName.of(null);
+	}
+	
+}
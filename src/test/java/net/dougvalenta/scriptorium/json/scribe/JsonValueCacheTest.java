@@ -0,0 +1,145 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.scribe;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Doug Valenta
+ */
+public class JsonValueCacheTest {
+	
+	@Test
+	public void testGet() {
+		final JsonValueCache cache = new JsonValueCache(4);
+		Assert.assertNull(cache.get("a\"b\\c"));
+		final JsonFragment fragment = cache.get("a\"b\\c");
+		Assert.assertEquals("\"a\\\"b\\\\c\"", fragment.toString());
+		Assert.assertSame(fragment, cache.get("a\"b\\c"));
+		Assert.assertSame(fragment, cache.get(new String("a\"b\\c")));
+		Assert.assertEquals(1, cache.getSize());
+		Assert.assertEquals(2, cache.getHits());
+		Assert.assertEquals(2, cache.getMisses());
+		Assert.assertEquals(0, cache.getEvictions());
+	}
+	
+	@Test
+	public void testGetUncacheable() {
+		final JsonValueCache cache = new JsonValueCache(4, 3);
+		Assert.assertNull(cache.get(new StringBuilder("abc")));
+		Assert.assertNull(cache.get(new StringBuilder("abc")));
+		Assert.assertNull(cache.get("abcd"));
+		Assert.assertNull(cache.get("abcd"));
+		Assert.assertNull(cache.get("abc"));
+		Assert.assertNotNull(cache.get("abc"));
+		Assert.assertEquals(1, cache.getSize());
+		Assert.assertEquals(0, cache.getHits());
+		Assert.assertEquals(2, cache.getMisses());
+	}
+	
+	@Test
+	public void testEviction() {
+		final JsonValueCache cache = new JsonValueCache(2);
+		cache.get("a");
+		final JsonFragment a = cache.get("a");
+		cache.get("b");
+		cache.get("b");
+		Assert.assertSame(a, cache.get("a"));
+		cache.get("c");
+		cache.get("c");
+		Assert.assertEquals(2, cache.getSize());
+		Assert.assertEquals(1, cache.getEvictions());
+		Assert.assertSame(a, cache.get("a"));
+		Assert.assertEquals(2, cache.getHits());
+		Assert.assertNotNull(cache.get("b"));
+		Assert.assertEquals(7, cache.getMisses());
+		Assert.assertEquals(2, cache.getEvictions());
+		Assert.assertSame(a, cache.get("a"));
+		Assert.assertEquals(2, cache.getSize());
+	}
+	
+	@Test
+	public void testValuesSeenOnce() {
+		final JsonValueCache cache = new JsonValueCache(2);
+		cache.get("a");
+		cache.get("a");
+		for (int i = 0; i < 100; i++) {
+			Assert.assertNull(cache.get("value" + i));
+		}
+		Assert.assertNotNull(cache.get("a"));
+		Assert.assertEquals(1, cache.getSize());
+		Assert.assertEquals(0, cache.getEvictions());
+	}
+	
+	@Test
+	public void testConcurrentCounts() throws InterruptedException {
+		final JsonValueCache cache = new JsonValueCache(4);
+		cache.get("a");
+		cache.get("a");
+		final Thread[] threads = new Thread[4];
+		for (int i = 0; i < threads.length; i++) {
+			final int first = i * 10000;
+			threads[i] = new Thread(() -> {
+				for (int j = first; j < first + 10000; j++) {
+					cache.get("a");
+					cache.get(Integer.toString(j));
+				}
+			});
+			threads[i].start();
+		}
+		for (final Thread thread : threads) thread.join();
+		Assert.assertEquals(40000, cache.getHits());
+		Assert.assertEquals(40002, cache.getMisses());
+	}
+	
+	@Test
+	public void testSafeScribe() throws IOException {
+		final JsonValueCache cache = new JsonValueCache(16);
+		final StringBuilder builder = new StringBuilder();
+		new SafeJsonScribe(new JsonAppender(builder, new JsonEscaper()), cache)
+				.pushArray().value("ok").value("ok").value("ok").value(new StringBuilder("ok")).value("\"no\"").close();
+		Assert.assertEquals("[\"ok\",\"ok\",\"ok\",\"ok\",\"\\\"no\\\"\"]", builder.toString());
+		Assert.assertEquals(1, cache.getHits());
+		Assert.assertEquals(3, cache.getMisses());
+	}
+	
+	@Test
+	public void testUnsafeScribe() throws IOException {
+		final JsonValueCache cache = new JsonValueCache(16);
+		final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		final Utf8JsonAppender appender = new Utf8JsonAppender(stream, new JsonEscaper());
+		new UnsafeJsonScribe(appender, cache).pushObject().key("é").value("ü").key("b").value("ü").key("c").value("ü").close();
+		appender.flush();
+		Assert.assertEquals("{\"é\":\"ü\",\"b\":\"ü\",\"c\":\"ü\"}", new String(stream.toByteArray(), StandardCharsets.UTF_8));
+		Assert.assertEquals(1, cache.getHits());
+		Assert.assertEquals(2, cache.getMisses());
+	}
+	
+	@Test
+	public void testScribeWithOtherEscaper() throws IOException {
+		final JsonValueCache cache = new JsonValueCache(16);
+		final StringBuilder builder = new StringBuilder();
+		new SafeJsonScribe(new JsonAppender(builder, new MockEscaper('%')), cache).pushArray().value("a\"").value("a\"").close();
+		Assert.assertEquals("[\"%%\",\"%%\"]", builder.toString());
+		Assert.assertEquals(0, cache.getHits());
+		Assert.assertEquals(0, cache.getMisses());
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testZeroCapacity() {
+		new JsonValueCache(0);
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testNegativeMaxLength() {
+		new JsonValueCache(1, -1);
+	}
+
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.scribe;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import net.dougvalenta.scriptorium.json.Json;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+/**
+ *
+ * @author Doug Valenta
+ */
+public class JsonValueWritersTest {
+
+	private static class Point {
+
+		final int x;
+		final int y;
+
+		Point(final int x, final int y) {
+			this.x = x;
+			this.y = y;
+		}
+
+	}
+
+	private static final class Point3 extends Point {
+
+		Point3(final int x, final int y) {
+			super(x, y);
+		}
+
+	}
+
+	private interface Named {
+
+		String name();
+
+	}
+
+	private static final class Tag implements Named {
+
+		@Override
+		public String name() {
+			return "tag";
+		}
+
+	}
+
+	private static String write(final Object... elements) throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		Json.array(builder).withAll(elements).close();
+		return builder.toString();
+	}
+
+	@Test
+	public void testScalars() throws IOException {
+		Assert.assertEquals("[\"a\",\"b\",\"c\",1,2,3,4,5.5,6.5,true,1.25,null]", write("a", new StringBuilder("b"), 'c',
+				(byte) 1, (short) 2, 3, 4L, 5.5f, 6.5, true, new BigDecimal("1.25"), null));
+	}
+
+	@Test
+	public void testMapsAndIterables() throws IOException {
+		final Map<Object, Object> map = new LinkedHashMap<>();
+		map.put("a", 1);
+		map.put(2, Arrays.asList("x", null));
+		map.put("c", null);
+		Assert.assertEquals("[{\"a\":1,\"2\":[\"x\",null],\"c\":null},[[]]]", write(map, Arrays.asList(Arrays.asList())));
+	}
+
+	@Test
+	public void testArrays() throws IOException {
+		Assert.assertEquals("[[1],[2],[3.5],[4.5],[5],[6],[\"c\"],[true],[\"s\",[1]]]", write(new int[] {1}, new long[] {2},
+				new double[] {3.5}, new float[] {4.5f}, new short[] {5}, new byte[] {6}, new char[] {'c'},
+				new boolean[] {true}, new Object[] {"s", new Integer[] {1}}));
+	}
+
+	@Test
+	public void testPrimitiveArraysInBulk() throws IOException {
+		final JsonScribe scribe = Mockito.mock(JsonScribe.class, Mockito.RETURNS_SELF);
+		final int[] ints = {1, 2};
+		final long[] longs = {3};
+		final double[] doubles = {4.5};
+		JsonValueWriters.write(ints, scribe);
+		JsonValueWriters.write(longs, scribe);
+		JsonValueWriters.write(doubles, scribe);
+		final InOrder inOrder = Mockito.inOrder(scribe);
+		inOrder.verify(scribe).pushArray();
+		inOrder.verify(scribe).values(ints, 0, 2);
+		inOrder.verify(scribe).pop();
+		inOrder.verify(scribe).pushArray();
+		inOrder.verify(scribe).values(longs, 0, 1);
+		inOrder.verify(scribe).pop();
+		inOrder.verify(scribe).pushArray();
+		inOrder.verify(scribe).values(doubles, 0, 1);
+		inOrder.verify(scribe).pop();
+		Mockito.verifyNoMoreInteractions(scribe);
+	}
+
+	@Test
+	public void testEnumsAndOptionals() throws IOException {
+		Assert.assertEquals("[\"SECONDS\",\"x\",null,1,null,2,null,3.5,null]", write(TimeUnit.SECONDS, Optional.of("x"),
+				Optional.empty(), OptionalInt.of(1), OptionalInt.empty(), OptionalLong.of(2), OptionalLong.empty(),
+				OptionalDouble.of(3.5), OptionalDouble.empty()));
+	}
+
+	@Test
+	public void testStrings() throws IOException {
+		final UUID uuid = new UUID(1, 2);
+		Assert.assertEquals("[\"" + uuid + "\",\"1970-01-01T00:00:00Z\",\"2018-03-04\",\"PT1M\",\"Europe/Paris\",\"+01:00\"]",
+				write(uuid, Instant.EPOCH, LocalDate.of(2018, 3, 4), Duration.ofMinutes(1), ZoneId.of("Europe/Paris"),
+				ZoneOffset.ofHours(1)));
+	}
+
+	@Test
+	public void testPaths() throws IOException {
+		Assert.assertEquals("[\"a/b\",\"c\"]", write(Paths.get("a", "b"), Paths.get("c")));
+	}
+
+	@Test
+	public void testRegister() throws IOException {
+		JsonValueWriters.register(Point.class, (point, scribe) -> scribe.pushArray().value(point.x).value(point.y).pop());
+		JsonValueWriters.register(Named.class, (named, scribe) -> scribe.value(named.name()));
+		try {
+			Assert.assertEquals("[[1,2],[3,4],\"tag\"]", write(new Point(1, 2), new Point3(3, 4), new Tag()));
+		} finally {
+			JsonValueWriters.unregister(Point.class);
+			JsonValueWriters.unregister(Named.class);
+		}
+		try {
+			write(new Point(1, 2));
+			Assert.fail();
+		} catch (final IllegalArgumentException exception) {
+			// Expected
+		}
+	}
+
+	@Test
+	public void testWriteToOtherScribe() throws IOException {
+		final JsonScribe scribe = Mockito.mock(JsonScribe.class, Mockito.RETURNS_SELF);
+		JsonValueWriters.write(Arrays.asList(1, "a"), scribe);
+		JsonValueWriters.write(null, scribe);
+		final InOrder inOrder = Mockito.inOrder(scribe);
+		inOrder.verify(scribe).pushArray();
+		inOrder.verify(scribe).value((Object) 1);
+		inOrder.verify(scribe).value((Object) "a");
+		inOrder.verify(scribe).pop();
+		inOrder.verify(scribe).nullValue();
+		Mockito.verifyNoMoreInteractions(scribe);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testUnsupported() throws IOException {
+		write(new Object());
+	}
+
+	@Test
+	public void testIsSupported() {
+		Assert.assertTrue(JsonValueWriters.isSupported(String.class));
+		Assert.assertTrue(JsonValueWriters.isSupported(UUID.class));
+		Assert.assertTrue(JsonValueWriters.isSupported(Optional.class));
+		Assert.assertTrue(JsonValueWriters.isSupported(ArrayList.class));
+		Assert.assertFalse(JsonValueWriters.isSupported(Object.class));
+		Assert.assertFalse(JsonValueWriters.isSupported(Point.class));
+		Assert.assertFalse(JsonValueWriters.isSupported(null));
+		JsonValueWriters.register(Point.class, (point, scribe) -> scribe.nullValue());
+		try {
+			Assert.assertTrue(JsonValueWriters.isSupported(Point3.class));
+		} finally {
+			JsonValueWriters.unregister(Point.class);
+		}
+		Assert.assertFalse(JsonValueWriters.isSupported(Point.class));
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testRegisterMissingType() {
+		JsonValueWriters.register(null, (value, scribe) -> {});
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testRegisterMissingWriter() {
+		JsonValueWriters.register(Point.class, null);
+	}
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.scribe;
+
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Doug Valenta
+ */
+public class NumberFormatterTest {
+	
+	private static final int RANDOM_SAMPLES = 100000;
+	
+	private static String formatInt(final int value) {
+		final char[] buffer = new char[NumberFormatter.MAX_INTEGER_LENGTH + 2];
+		final int end = NumberFormatter.formatInt(value, buffer, 2);
+		return new String(buffer, 2, end - 2);
+	}
+	
+	private static String formatLong(final long value) {
+		final char[] buffer = new char[NumberFormatter.MAX_INTEGER_LENGTH + 2];
+		final int end = NumberFormatter.formatLong(value, buffer, 2);
+		return new String(buffer, 2, end - 2);
+	}
+	
+	@Test
+	public void testFormatIntBoundaries() {
+		final int[] values = {0, 1, -1, 9, 10, 99, 100, -100, 999999999, 1000000000, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE + 1};
+		for (int value : values) {
+			Assert.assertEquals(String.valueOf(value), formatInt(value));
+		}
+	}
+	
+	@Test
+	public void testFormatIntPowersOfTen() {
+		for (int value = 1; value > 0 && value <= 1000000000; value *= 10) {
+			Assert.assertEquals(String.valueOf(value), formatInt(value));
+			Assert.assertEquals(String.valueOf(value - 1), formatInt(value - 1));
+			Assert.assertEquals(String.valueOf(-value), formatInt(-value));
+		}
+	}
+	
+	@Test
+	public void testFormatIntRandom() {
+		final Random random = new Random(0);
+		for (int i = 0; i < RANDOM_SAMPLES; i++) {
+			final int value = random.nextInt();
+			Assert.assertEquals(String.valueOf(value), formatInt(value));
+		}
+	}
+	
+	@Test
+	public void testFormatLongBoundaries() {
+		final long[] values = {0, 1, -1, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE + 1L, Integer.MIN_VALUE - 1L, 999999999999999999L, 1000000000000000000L, Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE + 1};
+		for (long value : values) {
+			Assert.assertEquals(String.valueOf(value), formatLong(value));
+		}
+	}
+	
+	@Test
+	public void testFormatLongPowersOfTen() {
+		long value = 1;
+		for (int i = 0; i < 19; i++) {
+			Assert.assertEquals(String.valueOf(value), formatLong(value));
+			Assert.assertEquals(String.valueOf(value - 1), formatLong(value - 1));
+			Assert.assertEquals(String.valueOf(-value), formatLong(-value));
+			value *= 10;
+		}
+	}
+	
+	@Test
+	public void testFormatLongRandom() {
+		final Random random = new Random(0);
+		for (int i = 0; i < RANDOM_SAMPLES; i++) {
+			final long value = random.nextLong() >> random.nextInt(64);
+			Assert.assertEquals(String.valueOf(value), formatLong(value));
+		}
+	}
+	
+}
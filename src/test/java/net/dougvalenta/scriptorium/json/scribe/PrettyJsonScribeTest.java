@@ -0,0 +1,166 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.scribe;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import net.dougvalenta.scriptorium.json.Json;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Doug Valenta
+ */
+public class PrettyJsonScribeTest {
+	
+	private final StringBuilder builder = new StringBuilder();
+	
+	private PrettyJsonScribe getScribe() {
+		return new PrettyJsonScribe(new JsonAppender(builder, new JsonEscaper()));
+	}
+	
+	private PrettyJsonScribe getScribe(final int indentWidth, final boolean keySpacing, final int maxInlineArrayWidth) {
+		return new PrettyJsonScribe(new JsonAppender(builder, new JsonEscaper()), indentWidth, keySpacing, maxInlineArrayWidth);
+	}
+	
+	@Test
+	public void testObject() throws IOException {
+		getScribe().pushObject()
+				.key("a").value(1)
+				.key(JsonKeyName.of("b")).pushArray().value("x").nullValue().pushObject().pop().pop()
+				.key("c").pushObject().key("d").trueValue().pop()
+				.pushKey().append("e").pop().pushValue().append('f').pop()
+				.key("g").emptyArray()
+				.close();
+		Assert.assertEquals("{\n"
+				+ "  \"a\": 1,\n"
+				+ "  \"b\": [\n"
+				+ "    \"x\",\n"
+				+ "    null,\n"
+				+ "    {}\n"
+				+ "  ],\n"
+				+ "  \"c\": {\n"
+				+ "    \"d\": true\n"
+				+ "  },\n"
+				+ "  \"e\": \"f\",\n"
+				+ "  \"g\": []\n"
+				+ "}", builder.toString());
+	}
+	
+	@Test
+	public void testStyle() throws IOException {
+		getScribe(1, false, 0).pushArray().pushObject().key("a").value(1.5).pop().value(false).close();
+		Assert.assertEquals("[\n {\n  \"a\":1.5\n },\n false\n]", builder.toString());
+	}
+	
+	@Test
+	public void testEnum() throws IOException {
+		getScribe(1, false, 0).pushObject().key("unit").value(TimeUnit.SECONDS).close();
+		Assert.assertEquals("{\n \"unit\":\"SECONDS\"\n}", builder.toString());
+	}
+	
+	@Test
+	public void testTime() throws IOException {
+		getScribe(1, false, 0).pushObject().key("at").value(Instant.EPOCH).close();
+		Assert.assertEquals("{\n \"at\":\"1970-01-01T00:00:00Z\"\n}", builder.toString());
+	}
+	
+	@Test
+	public void testInlineArrays() throws IOException {
+		getScribe(2, true, 12).pushObject()
+				.key("short").pushArray().value(1).value(2).value(3).pop()
+				.key("long").pushArray().value(1000).value(2000).value(3000).pop()
+				.key("nested").pushArray().value(1).pushArray().value(2).pop().emptyObject().pop()
+				.key("empty").pushArray().pop()
+				.close();
+		Assert.assertEquals("{\n"
+				+ "  \"short\": [1, 2, 3],\n"
+				+ "  \"long\": [\n"
+				+ "    1000,\n"
+				+ "    2000,\n"
+				+ "    3000\n"
+				+ "  ],\n"
+				+ "  \"nested\": [\n"
+				+ "    1,\n"
+				+ "    [2],\n"
+				+ "    {}\n"
+				+ "  ],\n"
+				+ "  \"empty\": []\n"
+				+ "}", builder.toString());
+	}
+	
+	@Test
+	public void testInlineArrayWithWideValue() throws IOException {
+		getScribe(2, false, 8).pushArray().value(1).value("abcdefgh").value(2).pushValue().append("x").pop().close();
+		Assert.assertEquals("[\n  1,\n  \"abcdefgh\",\n  2,\n  \"x\"\n]", builder.toString());
+	}
+	
+	@Test
+	public void testDeepNesting() throws IOException {
+		final PrettyJsonScribe scribe = getScribe(1, true, 0);
+		for (int i = 0; i < 20; i++) {
+			scribe.pushArray();
+		}
+		scribe.value(0).close();
+		final StringBuilder expected = new StringBuilder();
+		for (int i = 0; i < 20; i++) {
+			if (i != 0) expected.append('\n');
+			for (int j = 0; j < i; j++) expected.append(' ');
+			expected.append('[');
+		}
+		expected.append('\n');
+		for (int j = 0; j < 20; j++) expected.append(' ');
+		expected.append('0');
+		for (int i = 19; i >= 0; i--) {
+			expected.append('\n');
+			for (int j = 0; j < i; j++) expected.append(' ');
+			expected.append(']');
+		}
+		Assert.assertEquals(expected.toString(), builder.toString());
+	}
+	
+	@Test
+	public void testBufferedAppender() throws IOException {
+		final StringWriter writer = new StringWriter();
+		final BufferedJsonAppender appender = new BufferedJsonAppender(writer, new JsonEscaper());
+		Json.objectOf(new PrettyJsonScribe(appender, 2, true, 80)).with("a", 1).key("b").array().with(2).with(3).then().close();
+		appender.flush();
+		Assert.assertEquals("{\n  \"a\": 1,\n  \"b\": [2, 3]\n}", writer.toString());
+	}
+	
+	@Test(expected=IllegalStateException.class)
+	public void testKeyWhenArray() throws IOException {
+		getScribe().pushArray().key("a");
+	}
+	
+	@Test(expected=IllegalStateException.class)
+	public void testValueWhenObject() throws IOException {
+		getScribe().pushObject().value(1);
+	}
+	
+	@Test(expected=IllegalStateException.class)
+	public void testPopWhenEmpty() throws IOException {
+		getScribe().pop();
+	}
+	
+	@Test(expected=IllegalStateException.class)
+	public void testPopAfterKey() throws IOException {
+		getScribe().pushObject().key("a").pop();
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testNegativeIndentWidth() {
+		getScribe(-1, true, 0);
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testNegativeInlineArrayWidth() {
+		getScribe(2, true, -1);
+	}
+
+}
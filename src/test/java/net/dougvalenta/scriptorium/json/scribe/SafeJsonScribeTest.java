@@ -908,4 +908,60 @@ public class SafeJsonScribeTest extends AbstractJsonScribeTest {
 		Assert.fail("Did not throw");
 	}
 	
+	@Test
+	public void testDeepNestingAndPopToCursor() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		final JsonScribe scribe = getScribe(new JsonAppender(builder, new JsonEscaper())).pushArray();
+		final int cursor = scribe.getCursor();
+		for (int i = 0; i < 100; i++) {
+			scribe.pushObject().key("k").pushArray();
+		}
+		Assert.assertEquals(cursor + 200, scribe.getCursor());
+		scribe.pop(cursor).nullValue().close();
+		final StringBuilder expected = new StringBuilder("[");
+		for (int i = 0; i < 100; i++) expected.append("{\"k\":[");
+		for (int i = 0; i < 100; i++) expected.append("]}");
+		expected.append(",null]");
+		Assert.assertEquals(expected.toString(), builder.toString());
+		Assert.assertEquals(0, scribe.getCursor());
+	}
+	
+	@Test
+	public void testReset() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		final SafeJsonScribe scribe = new SafeJsonScribe(new JsonAppender(builder, new JsonEscaper()));
+		scribe.pushArray().value(1).pushObject().key("a");
+		final JsonScribe result = scribe.reset();
+		Assert.assertEquals(scribe, result);
+		Assert.assertEquals(0, scribe.getCursor());
+		builder.setLength(0);
+		scribe.pushArray().value(2).close();
+		Assert.assertEquals("[2]", builder.toString());
+	}
+	
+	@Test(expected=IllegalStateException.class)
+	public void testValuesWhenNotArray() throws IOException {
+		final JsonAppender appender = Mockito.mock(JsonAppender.class, Mockito.RETURNS_SELF);
+		getScribe(appender).pushObject().values(new int[] {1}, 0, 1);
+	}
+	
+	@Test
+	public void testCopy() throws IOException {
+		final JsonEscaper escaper = new JsonEscaper();
+		final SafeJsonScribe scribe = new SafeJsonScribe(new JsonAppender(new StringBuilder(), escaper));
+		scribe.pushArray().value(1);
+		final StringBuilder builder = new StringBuilder();
+		final JsonScribe copy = scribe.copy(builder);
+		Assert.assertTrue(copy instanceof SafeJsonScribe);
+		Assert.assertEquals(0, copy.getCursor());
+		copy.pushArray().value("a\"b").close();
+		Assert.assertEquals("[\"a\\\"b\"]", builder.toString());
+	}
+	
+	@Test
+	public void testCopySubclass() {
+		final JsonScribe scribe = new SafeJsonScribe(new JsonAppender(new StringBuilder(), new JsonEscaper())) {};
+		Assert.assertNull(scribe.copy(new StringBuilder()));
+	}
+	
 }
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.scribe;
+
+import java.io.IOException;
+
+/**
+ *
+ * @author Doug Valenta
+ */
+public class SlashEscaper extends JsonEscaper {
+	
+	@Override
+	public void escape(final char character, final Appendable appendable) throws IOException {
+		if (character == '/') {
+			appendable.append("\\/");
+		} else {
+			super.escape(character, appendable);
+		}
+	}
+	
+	public static class Consistent extends SlashEscaper {
+		
+		@Override
+		public boolean mustEscape(final char character) {
+			return character == '/' || super.mustEscape(character);
+		}
+		
+	}
+	
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.scribe;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Doug Valenta
+ */
+public class TimeFormatterTest {
+	
+	private static final int RANDOM_SAMPLES = 100000;
+	
+	private static final long MIN_EPOCH_SECOND = LocalDateTime.of(0, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+	private static final long MAX_EPOCH_SECOND = LocalDateTime.of(9999, 12, 31, 23, 59, 59).toEpochSecond(ZoneOffset.UTC);
+	
+	private static final int[] NANOS = {0, 1, 10, 999, 1000, 120000, 999999, 1000000, 5000000, 123000000, 123456789, 999999999};
+	
+	private static String quoted(final Object value) {
+		return "\"" + value + "\"";
+	}
+	
+	private static String formatInstant(final Instant value) {
+		final char[] buffer = new char[TimeFormatter.MAX_LENGTH + 2];
+		final int end = TimeFormatter.formatInstant(value, buffer, 2);
+		return end < 0 ? null : new String(buffer, 2, end - 2);
+	}
+	
+	private static String formatDate(final LocalDate value) {
+		final char[] buffer = new char[TimeFormatter.MAX_LENGTH + 2];
+		final int end = TimeFormatter.formatDate(value, buffer, 2);
+		return end < 0 ? null : new String(buffer, 2, end - 2);
+	}
+	
+	private static String formatDateTime(final OffsetDateTime value) {
+		final char[] buffer = new char[TimeFormatter.MAX_LENGTH + 2];
+		final int end = TimeFormatter.formatDateTime(value, buffer, 2);
+		return end < 0 ? null : new String(buffer, 2, end - 2);
+	}
+	
+	@Test
+	public void testFormatInstantBoundaries() {
+		final Instant[] values = {Instant.EPOCH, Instant.ofEpochSecond(-1), Instant.ofEpochSecond(MIN_EPOCH_SECOND),
+				Instant.ofEpochSecond(MAX_EPOCH_SECOND, 999999999), Instant.parse("2000-02-29T12:00:00Z"),
+				Instant.parse("1900-03-01T00:00:00Z"), Instant.parse("1600-02-29T23:59:59Z")};
+		for (final Instant value : values) {
+			Assert.assertEquals(quoted(value), formatInstant(value));
+		}
+	}
+	
+	@Test
+	public void testFormatInstantNanos() {
+		for (final int nano : NANOS) {
+			final Instant value = Instant.ofEpochSecond(1500000000, nano);
+			Assert.assertEquals(quoted(value), formatInstant(value));
+		}
+	}
+	
+	@Test
+	public void testFormatInstantRandom() {
+		final Random random = new Random(0);
+		for (int i = 0; i < RANDOM_SAMPLES; i++) {
+			final long second = MIN_EPOCH_SECOND + (long) (random.nextDouble() * (MAX_EPOCH_SECOND - MIN_EPOCH_SECOND));
+			final Instant value = Instant.ofEpochSecond(second, NANOS[random.nextInt(NANOS.length)]);
+			Assert.assertEquals(quoted(value), formatInstant(value));
+		}
+	}
+	
+	@Test
+	public void testFormatInstantOutOfRange() {
+		Assert.assertNull(formatInstant(Instant.ofEpochSecond(MIN_EPOCH_SECOND - 1)));
+		Assert.assertNull(formatInstant(Instant.ofEpochSecond(MAX_EPOCH_SECOND + 1)));
+		Assert.assertNull(formatInstant(Instant.MIN));
+		Assert.assertNull(formatInstant(Instant.MAX));
+	}
+	
+	@Test
+	public void testFormatDate() {
+		final LocalDate[] values = {LocalDate.of(0, 1, 1), LocalDate.of(9, 2, 3), LocalDate.of(999, 10, 31),
+				LocalDate.of(2000, 2, 29), LocalDate.of(9999, 12, 31)};
+		for (final LocalDate value : values) {
+			Assert.assertEquals(quoted(value), formatDate(value));
+		}
+		Assert.assertNull(formatDate(LocalDate.of(-1, 12, 31)));
+		Assert.assertNull(formatDate(LocalDate.of(10000, 1, 1)));
+	}
+	
+	@Test
+	public void testFormatDateTime() {
+		final ZoneOffset[] offsets = {ZoneOffset.UTC, ZoneOffset.ofHours(-8), ZoneOffset.ofHoursMinutes(5, 30),
+				ZoneOffset.ofHoursMinutesSeconds(-3, -25, -15), ZoneOffset.MAX, ZoneOffset.MIN};
+		final Random random = new Random(0);
+		for (int i = 0; i < RANDOM_SAMPLES; i++) {
+			final int second = random.nextInt(4) == 0 ? 0 : random.nextInt(60);
+			final int nano = NANOS[random.nextInt(NANOS.length)];
+			final OffsetDateTime value = OffsetDateTime.of(random.nextInt(10000), 1 + random.nextInt(12), 1 + random.nextInt(28),
+					random.nextInt(24), random.nextInt(60), second, nano, offsets[random.nextInt(offsets.length)]);
+			Assert.assertEquals(quoted(value), formatDateTime(value));
+		}
+		Assert.assertEquals(TimeFormatter.MAX_LENGTH, formatDateTime(OffsetDateTime.of(9999, 12, 31, 23, 59, 59, 123456789,
+				ZoneOffset.ofHoursMinutesSeconds(-3, -25, -15))).length());
+		Assert.assertNull(formatDateTime(OffsetDateTime.of(10000, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC)));
+	}
+	
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.scribe;
+
+import java.io.IOException;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Doug Valenta
+ */
+public class UnsafeJsonScribeTest extends AbstractJsonScribeTest {
+	
+	@Override
+	protected JsonScribe getScribe(final JsonAppender appender) {
+		return new UnsafeJsonScribe(appender);
+	}
+	
+	@Test
+	public void testNestedNodesAndPopToCursor() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		final JsonScribe scribe = getScribe(new JsonAppender(builder, new JsonEscaper()));
+		scribe.pushArray().pushObject().key("a").pushArray();
+		final int cursor = scribe.getCursor();
+		scribe.value(1).pushObject().pushKey().append("b").pop().pushValue().append('c').pop();
+		scribe.pop(cursor).value(2).pop().pushKey().append("d").pop().emptyObject().close();
+		Assert.assertEquals("[{\"a\":[1,{\"b\":\"c\"},2],\"d\":{}}]", builder.toString());
+	}
+	
+	@Test
+	public void testDocumentsInSuccession() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		final JsonScribe scribe = getScribe(new JsonAppender(builder, new JsonEscaper()));
+		scribe.pushArray().value(1).pop().pushObject().key("a").value(2).pop();
+		Assert.assertEquals("[1]{\"a\":2}", builder.toString());
+	}
+	
+	@Test
+	public void testCopy() throws IOException {
+		final JsonEscaper escaper = new JsonEscaper();
+		final UnsafeJsonScribe scribe = new UnsafeJsonScribe(new JsonAppender(new StringBuilder(), escaper));
+		scribe.pushArray().value(1);
+		final StringBuilder builder = new StringBuilder();
+		final JsonScribe copy = scribe.copy(builder);
+		Assert.assertTrue(copy instanceof UnsafeJsonScribe);
+		Assert.assertEquals(0, copy.getCursor());
+		copy.pushArray().value("a\"b").close();
+		Assert.assertEquals("[\"a\\\"b\"]", builder.toString());
+	}
+	
+	@Test
+	public void testCopySubclass() {
+		final JsonScribe scribe = new UnsafeJsonScribe(new JsonAppender(new StringBuilder(), new JsonEscaper())) {};
+		Assert.assertNull(scribe.copy(new StringBuilder()));
+	}
+	
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright 2018 Doug Valenta.
+ * Licensed under the terms of the MIT License.
+ */
+package net.dougvalenta.scriptorium.json.scribe;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Doug Valenta
+ */
+public class Utf8JsonAppenderTest {
+
+	private static final char MOCK_ESCAPE_CHARACTER = '%';
+
+	private static String flushed(final Utf8JsonAppender appender, final ByteArrayOutputStream stream) throws IOException {
+		appender.flush();
+		return new String(stream.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	@Test
+	public void testAppendStructure() throws IOException {
+		final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		final Utf8JsonAppender appender = new Utf8JsonAppender(stream, new JsonEscaper());
+		appender.appendOpenBrace().appendQuote().appendCloseKey().appendOpenBracket()
+				.appendEmptyObject().appendComma().appendEmptyArray().appendComma(true).appendComma(false)
+				.appendCloseBracket().appendCloseBrace();
+		Assert.assertEquals("{\"\":[{},[],]}", flushed(appender, stream));
+	}
+
+	@Test
+	public void testAppendLiterals() throws IOException {
+		final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		final Utf8JsonAppender appender = new Utf8JsonAppender(stream, new JsonEscaper());
+		appender.appendNull().appendTrue().appendFalse().appendBoolean(true).appendBoolean(false);
+		Assert.assertEquals("nulltruefalsetruefalse", flushed(appender, stream));
+	}
+
+	@Test
+	public void testAppendNumbers() throws IOException {
+		final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		final Utf8JsonAppender appender = new Utf8JsonAppender(stream, new JsonEscaper());
+		appender.appendNumber(Integer.MIN_VALUE).appendComma()
+				.appendNumber(Long.MAX_VALUE).appendComma()
+				.appendNumber(1.5f).appendComma()
+				.appendNumber(-2.5E-10).appendComma()
+				.appendNumber(BigInteger.TEN).appendComma()
+				.appendNumber(new BigDecimal("1.25"));
+		Assert.assertEquals("-2147483648,9223372036854775807,1.5,-2.5E-10,10,1.25", flushed(appender, stream));
+	}
+
+	@Test
+	public void testEscapeWithJsonEscaper() throws IOException {
+		final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		final Utf8JsonAppender appender = new Utf8JsonAppender(stream, new JsonEscaper());
+		appender.escape("plain \"quoted\" back\\slash\u0001").escape("\"ABC\"DE", 1, 6).escape('\n');
+		Assert.assertEquals("plain \\\"quoted\\\" back\\\\slash\\u0001ABC\\\"D\\\n", flushed(appender, stream));
+	}
+
+	@Test
+	public void testEscapeWithMockEscaper() throws IOException {
+		final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		final MockEscaper escaper = new MockEscaper(MOCK_ESCAPE_CHARACTER);
+		final Utf8JsonAppender appender = new Utf8JsonAppender(stream, escaper);
+		appender.escape("ABCDE", 1, 4).escape('Д');
+		Assert.assertEquals("%%%%", flushed(appender, stream));
+		Assert.assertEquals("BCDД", escaper.spyString());
+	}
+
+	@Test
+	public void testEscapeWithEscaperOverridingEscape() throws IOException {
+		final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		final Utf8JsonAppender appender = new Utf8JsonAppender(stream, new SlashEscaper());
+		appender.escape("</script> and a longer run of text after it").escape("a/Д", 1, 3);
+		Assert.assertEquals("<\\/script> and a longer run of text after it\\/Д", flushed(appender, stream));
+	}
+
+	@Test
+	public void testAppendRaw() throws IOException {
+		final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		final Utf8JsonAppender appender = new Utf8JsonAppender(stream, new JsonEscaper());
+		appender.appendOpenBracket().appendRaw("\"Д\\n\",{\"😀\":null}").appendCloseBracket();
+		Assert.assertEquals("[\"Д\\n\",{\"😀\":null}]", flushed(appender, stream));
+	}
+
+	@Test
+	public void testAppendRawWithFragment() throws IOException {
+		final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		final Utf8JsonAppender appender = new Utf8JsonAppender(stream, new JsonEscaper());
+		final JsonFragment fragment = JsonFragment.of("{\"😀\":\"Д\"}".getBytes(StandardCharsets.UTF_8));
+		appender.appendOpenBracket().appendRaw(fragment).appendComma().appendRaw(JsonFragment.of("\"é\"")).appendCloseBracket();
+		Assert.assertEquals("[{\"😀\":\"Д\"},\"é\"]", flushed(appender, stream));
+	}
+
+	@Test
+	public void testEscapeNonAscii() throws IOException {
+		final String value = "éД€😀 ￿";
+		final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		final Utf8JsonAppender appender = new Utf8JsonAppender(stream, new JsonEscaper());
+		appender.escape(value);
+		final byte[] expected = value.getBytes(StandardCharsets.UTF_8);
+		appender.flush();
+		Assert.assertArrayEquals(expected, stream.toByteArray());
+	}
+
+	@Test
+	public void testEscapeSequenceTypes() throws IOException {
+		final String value = "a \"long\" value\nwhich is copied in blocks\\";
+		final String escaped = "a \\\"long\\\" value\\\nwhich is copied in blocks\\\\";
+		final String expected = escaped + escaped + escaped + escaped + escaped + "a \\\"l";
+		final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		final Utf8JsonAppender appender = new Utf8JsonAppender(stream, new JsonEscaper());
+		final CharBuffer buffer = CharBuffer.wrap(("--" + value + "-").toCharArray());
+		buffer.position(2);
+		appender.escape(value).escape(new StringBuilder(value)).escape(buffer.slice(), 0, value.length())
+				.escape(CharBuffer.wrap(value)).escape(new StringBuffer(value)).escape(value.substring(0, 4));
+		Assert.assertEquals(expected, flushed(appender, stream));
+	}
+
+	@Test
+	public void testEscapeMixedText() throws IOException {
+		final StringBuilder value = new StringBuilder();
+		for (int i = 0; i < 300; i++) {
+			value.append("plain text of some length ".substring(i % 17));
+			if (i % 7 == 0) value.append("\"quoted\"");
+			if (i % 11 == 0) value.append('\\');
+			if (i % 13 == 0) value.append("\n\t\u0000");
+			if (i % 5 == 0) value.append("éД€😀");
+			if (i % 23 == 1) value.append("\ud83d");
+		}
+		final StringBuilder expected = new StringBuilder();
+		final JsonEscaper escaper = new JsonEscaper();
+		for (int i = 0; i < value.length(); i++) {
+			escaper.escape(value.charAt(i), expected);
+		}
+		final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		final Utf8JsonAppender appender = new Utf8JsonAppender(stream, new JsonEscaper());
+		appender.escape(value);
+		appender.flush();
+		Assert.assertArrayEquals(expected.toString().getBytes(StandardCharsets.UTF_8), stream.toByteArray());
+	}
+
+	@Test
+	public void testEscapeSplitSurrogatePair() throws IOException {
+		final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		final Utf8JsonAppender appender = new Utf8JsonAppender(stream, new JsonEscaper());
+		appender.escape("a\ud83d").escape('\ude00').escape("b");
+		Assert.assertEquals("a😀b", flushed(appender, stream));
+	}
+
+	@Test
+	public void testEscapeUnpairedSurrogates() throws IOException {
+		final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		final Utf8JsonAppender appender = new Utf8JsonAppender(stream, new JsonEscaper());
+		appender.escape("a\ude00b\ud83dc\ud83d😀").escape("\ud83d").appendQuote();
+		Assert.assertEquals("a?b?c?😀?\"", flushed(appender, stream));
+	}
+
+	@Test
+	public void testSmallBuffer() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < 100; i++) {
+			builder.append("Д😀\"x");
+		}
+		final String value = builder.toString();
+		final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		final Utf8JsonAppender appender = new Utf8JsonAppender(stream, new JsonEscaper(), Utf8JsonAppender.MIN_BUFFER_SIZE);
+		appender.appendOpenBracket();
+		for (int i = 0; i < 10; i++) {
+			appender.appendNumber(-Double.MIN_VALUE).appendComma().appendQuote().escape(value).appendQuote().appendComma();
+		}
+		appender.appendNull().appendCloseBracket();
+		final StringBuilder expected = new StringBuilder("[");
+		for (int i = 0; i < 10; i++) {
+			expected.append("-4.9E-324,\"").append(value.replace("\"", "\\\"")).append("\",");
+		}
+		expected.append("null]");
+		Assert.assertEquals(expected.toString(), flushed(appender, stream));
+	}
+
+	@Test
+	public void testNoOutputBeforeFlush() throws IOException {
+		final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		final Utf8JsonAppender appender = new Utf8JsonAppender(stream, new JsonEscaper());
+		appender.appendOpenBracket().appendCloseBracket();
+		Assert.assertEquals(0, stream.size());
+		Assert.assertEquals("[]", flushed(appender, stream));
+	}
+
+	@Test
+	public void testAppendKeyName() throws IOException {
+		final StringBuilder longName = new StringBuilder();
+		for (int i = 0; i < Utf8JsonAppender.MIN_BUFFER_SIZE; i++) {
+			longName.append('Д');
+		}
+		final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		final Utf8JsonAppender appender = new Utf8JsonAppender(stream, new JsonEscaper(), Utf8JsonAppender.MIN_BUFFER_SIZE);
+		appender.appendOpenBrace().appendKeyName(JsonKeyName.of("a\"Д")).appendNull().appendComma()
+				.appendKeyName(JsonKeyName.of(longName)).appendNull().appendCloseBrace();
+		Assert.assertEquals("{\"a\\\"Д\":null,\"" + longName + "\":null}", flushed(appender, stream));
+	}
+	
+	@Test
+	public void testAppendKeyNameWithMockEscaper() throws IOException {
+		final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		final Utf8JsonAppender appender = new Utf8JsonAppender(stream, new MockEscaper(MOCK_ESCAPE_CHARACTER));
+		appender.appendKeyName(JsonKeyName.of("key"));
+		Assert.assertEquals("\"%%%\":", flushed(appender, stream));
+	}
+	
+	@Test
+	public void testAppendEnumName() throws IOException {
+		final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		final Utf8JsonAppender appender = new Utf8JsonAppender(stream, new JsonEscaper(), Utf8JsonAppender.MIN_BUFFER_SIZE);
+		appender.appendOpenBracket().appendEnumName(JsonEnumName.of(TimeUnit.SECONDS)).appendComma()
+				.appendEnumName(JsonEnumName.of(TimeUnit.DAYS)).appendCloseBracket();
+		Assert.assertEquals("[\"SECONDS\",\"DAYS\"]", flushed(appender, stream));
+	}
+	
+	@Test
+	public void testAppendEnumNameWithMockEscaper() throws IOException {
+		final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		final Utf8JsonAppender appender = new Utf8JsonAppender(stream, new MockEscaper(MOCK_ESCAPE_CHARACTER));
+		appender.appendEnumName(JsonEnumName.of(TimeUnit.DAYS));
+		Assert.assertEquals("\"%%%%\"", flushed(appender, stream));
+	}
+	
+	@Test
+	public void testAppendTime() throws IOException {
+		final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		final Utf8JsonAppender appender = new Utf8JsonAppender(stream, new JsonEscaper(), Utf8JsonAppender.MIN_BUFFER_SIZE);
+		appender.appendOpenBracket().appendTime(Instant.ofEpochSecond(1500000000, 5000000)).appendComma()
+				.appendTime(LocalDate.of(2018, 3, 4)).appendComma()
+				.appendTime(OffsetDateTime.of(2018, 3, 4, 5, 6, 0, 0, ZoneOffset.UTC)).appendComma()
+				.appendTime(Instant.MIN).appendCloseBracket();
+		Assert.assertEquals("[\"2017-07-14T02:40:00.005Z\",\"2018-03-04\",\"2018-03-04T05:06Z\",\"" + Instant.MIN + "\"]",
+				flushed(appender, stream));
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testBufferTooSmall() {
+		new Utf8JsonAppender(new ByteArrayOutputStream(), new JsonEscaper(), Utf8JsonAppender.MIN_BUFFER_SIZE - 1);
+	}
+
+	@Test
+	public void testAppendNumbersWithArrays() throws IOException {
+		final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		final Utf8JsonAppender appender = new Utf8JsonAppender(stream, new JsonEscaper(), Utf8JsonAppender.MIN_BUFFER_SIZE);
+		final StringBuilder expected = new StringBuilder();
+		final int[] ints = new int[50];
+		final long[] longs = new long[50];
+		final double[] doubles = new double[50];
+		for (int i = 0; i < 50; i++) {
+			ints[i] = Integer.MIN_VALUE + i;
+			longs[i] = Long.MIN_VALUE + i;
+			doubles[i] = i % 10 == 0 ? Double.POSITIVE_INFINITY : -Double.MIN_VALUE;
+		}
+		for (int i = 0; i < 50; i++) {
+			expected.append(i == 0 ? "" : ",").append(ints[i]);
+		}
+		for (int i = 0; i < 50; i++) {
+			expected.append(',').append(longs[i]);
+		}
+		for (int i = 0; i < 50; i++) {
+			expected.append(',').append(Double.isInfinite(doubles[i]) ? "null" : Double.toString(doubles[i]));
+		}
+		appender.appendNumbers(ints, 0, 50).appendComma().appendNumbers(longs, 0, 50).appendComma().appendNumbers(doubles, 0, 50);
+		Assert.assertEquals(expected.toString(), flushed(appender, stream));
+	}
+
+}